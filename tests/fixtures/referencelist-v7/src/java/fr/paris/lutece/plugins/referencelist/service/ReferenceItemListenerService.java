@@ -34,19 +34,66 @@
 package fr.paris.lutece.plugins.referencelist.service;
 
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 
 import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+import fr.paris.lutece.portal.service.plugin.PluginEvent;
+import fr.paris.lutece.portal.service.plugin.PluginEventListener;
+import fr.paris.lutece.portal.service.plugin.PluginService;
 import fr.paris.lutece.portal.service.spring.SpringContextService;
+import fr.paris.lutece.portal.service.util.AppLogService;
+import fr.paris.lutece.portal.service.util.AppPropertiesService;
 
 /**
- * Service that calls the {@link IReferenceItemListener}
+ * Service that calls the {@link IReferenceItemListener}. <br>
+ * The listeners are called in background by a bounded pool of threads fed by a bounded queue. When the queue is full, the event is either processed by the
+ * calling thread, which slows down bulk operations such as imports to the pace of the listeners, or dropped, depending on the configuration. The listeners
+ * are looked up once and looked up again when a plugin is installed or uninstalled.
  */
-public class ReferenceItemListenerService
+public class ReferenceItemListenerService implements PluginEventListener
 {
+    private static final String PROPERTY_THREADS = "referencelist.listeners.threads";
+    private static final String PROPERTY_QUEUE_SIZE = "referencelist.listeners.queueSize";
+    private static final String PROPERTY_REJECTION_POLICY = "referencelist.listeners.rejectionPolicy";
+    private static final int DEFAULT_THREADS = 2;
+    private static final int DEFAULT_QUEUE_SIZE = 10000;
+    private static final String POLICY_DROP = "drop";
+    private static final String THREAD_NAME_PREFIX = "referencelist-listener-";
+
     private static final ReferenceItemListenerService INSTANCE = new ReferenceItemListenerService( );
 
+    private final ThreadPoolExecutor _executor;
+    private volatile List<IReferenceItemListener> _listListeners;
+
+    // metrics
+    private final AtomicLong _lDispatchedCount = new AtomicLong( );
+    private final AtomicLong _lCallerRunsCount = new AtomicLong( );
+    private final AtomicLong _lDroppedCount = new AtomicLong( );
+    private final AtomicLong _lListenerCallCount = new AtomicLong( );
+    private final AtomicLong _lListenerErrorCount = new AtomicLong( );
+    private final AtomicLong _lListenerTotalNanos = new AtomicLong( );
+    private final AtomicLong _lListenerMaxNanos = new AtomicLong( );
+
     private ReferenceItemListenerService( )
     {
+        int nThreads = Math.max( 1, AppPropertiesService.getPropertyInt( PROPERTY_THREADS, DEFAULT_THREADS ) );
+        int nQueueSize = Math.max( 1, AppPropertiesService.getPropertyInt( PROPERTY_QUEUE_SIZE, DEFAULT_QUEUE_SIZE ) );
+        boolean bDrop = POLICY_DROP.equalsIgnoreCase( AppPropertiesService.getProperty( PROPERTY_REJECTION_POLICY ) );
+        AtomicInteger nThreadNumber = new AtomicInteger( );
+
+        _executor = new ThreadPoolExecutor( nThreads, nThreads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>( nQueueSize ), runnable -> {
+            Thread thread = new Thread( runnable, THREAD_NAME_PREFIX + nThreadNumber.incrementAndGet( ) );
+            thread.setDaemon( true );
+            return thread;
+        }, bDrop ? new DropPolicy( ) : new CallerRunsPolicy( ) );
+
+        PluginService.registerPluginEventListener( this );
     }
 
     public static ReferenceItemListenerService getInstance( )
@@ -61,13 +108,7 @@ public class ReferenceItemListenerService
      */
     public void fireAddEvent( ReferenceItem item )
     {
-        new Thread( ( ) -> {
-            List<IReferenceItemListener> listeners = SpringContextService.getBeansOfType( IReferenceItemListener.class );
-            for ( IReferenceItemListener listener : listeners )
-            {
-                listener.addReferenceItem( item );
-            }
-        } ).start( );
+        dispatch( item, IReferenceItemListener::addReferenceItem );
     }
 
     /**
@@ -77,13 +118,7 @@ public class ReferenceItemListenerService
      */
     public void fireDeleteEvent( ReferenceItem item )
     {
-        new Thread( ( ) -> {
-            List<IReferenceItemListener> listeners = SpringContextService.getBeansOfType( IReferenceItemListener.class );
-            for ( IReferenceItemListener listener : listeners )
-            {
-                listener.removeReferenceItem( item );
-            }
-        } ).start( );
+        dispatch( item, IReferenceItemListener::removeReferenceItem );
     }
 
     /**
@@ -93,12 +128,214 @@ public class ReferenceItemListenerService
      */
     public void fireUpdateEvent( ReferenceItem item )
     {
-        new Thread( ( ) -> {
-            List<IReferenceItemListener> listeners = SpringContextService.getBeansOfType( IReferenceItemListener.class );
-            for ( IReferenceItemListener listener : listeners )
+        dispatch( item, IReferenceItemListener::updateReferenceItem );
+    }
+
+    /**
+     * Forgets the listeners when a plugin is installed or uninstalled, so that they are looked up again
+     * 
+     * @param event
+     *            the plugin event
+     */
+    @Override
+    public void processPluginEvent( PluginEvent event )
+    {
+        _listListeners = null;
+    }
+
+    /**
+     * Returns the number of events waiting for a thread
+     * 
+     * @return the queue depth
+     */
+    public int getQueueDepth( )
+    {
+        return _executor.getQueue( ).size( );
+    }
+
+    /**
+     * Returns the number of events being processed
+     * 
+     * @return the number of busy threads
+     */
+    public int getActiveCount( )
+    {
+        return _executor.getActiveCount( );
+    }
+
+    /**
+     * Returns the number of events queued since the startup
+     * 
+     * @return the number of dispatched events
+     */
+    public long getDispatchedCount( )
+    {
+        return _lDispatchedCount.get( );
+    }
+
+    /**
+     * Returns the number of events processed by the calling thread because the queue was full
+     * 
+     * @return the number of events processed by the caller
+     */
+    public long getCallerRunsCount( )
+    {
+        return _lCallerRunsCount.get( );
+    }
+
+    /**
+     * Returns the number of events dropped because the queue was full
+     * 
+     * @return the number of dropped events
+     */
+    public long getDroppedCount( )
+    {
+        return _lDroppedCount.get( );
+    }
+
+    /**
+     * Returns the number of listener calls
+     * 
+     * @return the number of listener calls
+     */
+    public long getListenerCallCount( )
+    {
+        return _lListenerCallCount.get( );
+    }
+
+    /**
+     * Returns the number of listener calls which threw an exception
+     * 
+     * @return the number of failed listener calls
+     */
+    public long getListenerErrorCount( )
+    {
+        return _lListenerErrorCount.get( );
+    }
+
+    /**
+     * Returns the average duration of a listener call
+     * 
+     * @return the average duration in microseconds
+     */
+    public long getListenerAverageMicros( )
+    {
+        long lCount = _lListenerCallCount.get( );
+
+        return ( lCount == 0 ) ? 0 : TimeUnit.NANOSECONDS.toMicros( _lListenerTotalNanos.get( ) / lCount );
+    }
+
+    /**
+     * Returns the longest duration of a listener call
+     * 
+     * @return the maximum duration in microseconds
+     */
+    public long getListenerMaxMicros( )
+    {
+        return TimeUnit.NANOSECONDS.toMicros( _lListenerMaxNanos.get( ) );
+    }
+
+    /**
+     * Queues the notification of the listeners
+     * 
+     * @param item
+     *            the item
+     * @param call
+     *            the listener method to call
+     */
+    private void dispatch( ReferenceItem item, BiConsumer<IReferenceItemListener, ReferenceItem> call )
+    {
+        List<IReferenceItemListener> listeners = getListeners( );
+
+        if ( listeners.isEmpty( ) )
+        {
+            return;
+        }
+
+        _lDispatchedCount.incrementAndGet( );
+        _executor.execute( ( ) -> notifyListeners( listeners, item, call ) );
+    }
+
+    /**
+     * Calls the listeners, one failing listener does not prevent the others from being called
+     * 
+     * @param listeners
+     *            the listeners
+     * @param item
+     *            the item
+     * @param call
+     *            the listener method to call
+     */
+    private void notifyListeners( List<IReferenceItemListener> listeners, ReferenceItem item, BiConsumer<IReferenceItemListener, ReferenceItem> call )
+    {
+        for ( IReferenceItemListener listener : listeners )
+        {
+            long lStart = System.nanoTime( );
+
+            try
+            {
+                call.accept( listener, item );
+            }
+            catch( RuntimeException e )
+            {
+                _lListenerErrorCount.incrementAndGet( );
+                AppLogService.error( "Error in the reference item listener " + listener.getClass( ).getName( ), e );
+            }
+
+            long lDuration = System.nanoTime( ) - lStart;
+            _lListenerCallCount.incrementAndGet( );
+            _lListenerTotalNanos.addAndGet( lDuration );
+            _lListenerMaxNanos.accumulateAndGet( lDuration, Math::max );
+        }
+    }
+
+    /**
+     * Returns the listeners, looking them up if needed
+     * 
+     * @return the listeners
+     */
+    private List<IReferenceItemListener> getListeners( )
+    {
+        List<IReferenceItemListener> listeners = _listListeners;
+
+        if ( listeners == null )
+        {
+            listeners = SpringContextService.getBeansOfType( IReferenceItemListener.class );
+            _listListeners = listeners;
+        }
+
+        return listeners;
+    }
+
+    /**
+     * Processes the event in the calling thread when the queue is full
+     */
+    private final class CallerRunsPolicy implements RejectedExecutionHandler
+    {
+        @Override
+        public void rejectedExecution( Runnable runnable, ThreadPoolExecutor executor )
+        {
+            _lCallerRunsCount.incrementAndGet( );
+
+            if ( !executor.isShutdown( ) )
+            {
+                runnable.run( );
+            }
+        }
+    }
+
+    /**
+     * Drops the event when the queue is full
+     */
+    private final class DropPolicy implements RejectedExecutionHandler
+    {
+        @Override
+        public void rejectedExecution( Runnable runnable, ThreadPoolExecutor executor )
+        {
+            if ( _lDroppedCount.incrementAndGet( ) % 1000 == 1 )
             {
-                listener.updateReferenceItem( item );
+                AppLogService.error( "Reference item listeners queue full, " + _lDroppedCount.get( ) + " events dropped so far" );
             }
-        } ).start( );
+        }
     }
 }
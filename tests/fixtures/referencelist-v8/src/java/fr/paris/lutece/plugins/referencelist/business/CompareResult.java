@@ -33,6 +33,7 @@
  */
 package fr.paris.lutece.plugins.referencelist.business;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 
@@ -46,6 +47,7 @@ public class CompareResult
     private static final String INFO_REFERENCEITEM_DUPLICATE_IN_TABLE = "referencelist.info.referenceitem.import.duplicateintable";
     private static final String INFO_REFERENCEITEM_TO_UPDATE = "referencelist.info.referenceitem.import.updated";
     private static final String INFO_REFERENCEITEM_TO_INSERT = "referencelist.info.referenceitem.import.toinsert";
+    private static final String INFO_REFERENCEITEM_NOT_IN_FILE = "referencelist.info.referenceitem.import.notinfile";
 
     private static final String TAG_OPEN_STRONG = "<strong>";
     private static final String TAG_CLOSE_STRONG = "</strong> ";
@@ -53,6 +55,8 @@ public class CompareResult
     private List<ReferenceItem> _updateListCandidateReferenceItems;
     private List<ReferenceItem> _duplicateListCandidateReferenceItems;
     private List<ReferenceItem> _insertListCandidateReferenceItems;
+    private List<ReferenceItem> _deleteListCandidateReferenceItems;
+    private int _nDuplicateCount;
     private String _messageResult = "";
 
     /**
@@ -60,13 +64,35 @@ public class CompareResult
      * @param insertListCandidateReferenceItems
      * @param updateListCandidateReferenceItems
      * @param duplicateListCandidateReferenceItems
+     * @deprecated use {@link #CompareResult(List, List, int, List)} which does not hold the duplicates
      */
+    @Deprecated
     public CompareResult( List<ReferenceItem> insertListCandidateReferenceItems, List<ReferenceItem> updateListCandidateReferenceItems,
             List<ReferenceItem> duplicateListCandidateReferenceItems )
     {
-        _updateListCandidateReferenceItems = updateListCandidateReferenceItems;
+        this( insertListCandidateReferenceItems, updateListCandidateReferenceItems, duplicateListCandidateReferenceItems.size( ), Collections.emptyList( ) );
         _duplicateListCandidateReferenceItems = duplicateListCandidateReferenceItems;
+    }
+
+    /**
+     * 
+     * @param insertListCandidateReferenceItems
+     *            the candidate items to insert
+     * @param updateListCandidateReferenceItems
+     *            the candidate items to update
+     * @param nDuplicateCount
+     *            the number of candidate items identical to an existing item
+     * @param deleteListCandidateReferenceItems
+     *            the existing items missing from the candidates
+     */
+    public CompareResult( List<ReferenceItem> insertListCandidateReferenceItems, List<ReferenceItem> updateListCandidateReferenceItems, int nDuplicateCount,
+            List<ReferenceItem> deleteListCandidateReferenceItems )
+    {
+        _updateListCandidateReferenceItems = updateListCandidateReferenceItems;
+        _duplicateListCandidateReferenceItems = Collections.emptyList( );
         _insertListCandidateReferenceItems = insertListCandidateReferenceItems;
+        _deleteListCandidateReferenceItems = deleteListCandidateReferenceItems;
+        _nDuplicateCount = nDuplicateCount;
     }
 
     public String getMessageResult( )
@@ -84,11 +110,44 @@ public class CompareResult
         return _updateListCandidateReferenceItems;
     }
 
+    /**
+     * @return the duplicates given to the deprecated constructor, an empty list otherwise
+     * @deprecated duplicates are no longer held, use {@link #getDuplicateCount()}
+     */
+    @Deprecated
     public List<ReferenceItem> getDuplicateListCandidateReferenceItems( )
     {
         return _duplicateListCandidateReferenceItems;
     }
 
+    /**
+     * @return the existing items missing from the candidates, to be removed by a full synchronisation
+     */
+    public List<ReferenceItem> getDeleteListCandidateReferenceItems( )
+    {
+        return _deleteListCandidateReferenceItems;
+    }
+
+    public int getInsertCount( )
+    {
+        return _insertListCandidateReferenceItems.size( );
+    }
+
+    public int getUpdateCount( )
+    {
+        return _updateListCandidateReferenceItems.size( );
+    }
+
+    public int getDuplicateCount( )
+    {
+        return _nDuplicateCount;
+    }
+
+    public int getDeleteCount( )
+    {
+        return _deleteListCandidateReferenceItems.size( );
+    }
+
     public List<ReferenceItem> getInsertListCandidateReferenceItems( )
     {
         return _insertListCandidateReferenceItems;
@@ -97,9 +156,10 @@ public class CompareResult
     public String createMessage( Locale locale )
     {
         String message = "";
-        int update = _updateListCandidateReferenceItems.size( );
-        int duplicate = _duplicateListCandidateReferenceItems.size( );
-        int insert = _insertListCandidateReferenceItems.size( );
+        int update = getUpdateCount( );
+        int duplicate = getDuplicateCount( );
+        int insert = getInsertCount( );
+        int delete = getDeleteCount( );
 
         if ( duplicate > 0 )
         {
@@ -113,7 +173,11 @@ public class CompareResult
         if ( insert > 0 )
         {
             message = message + TAG_OPEN_STRONG + insert + TAG_CLOSE_STRONG
-                    + I18nService.getLocalizedString( INFO_REFERENCEITEM_TO_INSERT, Locale.getDefault( ) );
+                    + I18nService.getLocalizedString( INFO_REFERENCEITEM_TO_INSERT, Locale.getDefault( ) ) + " <br>";
+        }
+        if ( delete > 0 )
+        {
+            message = message + TAG_OPEN_STRONG + delete + TAG_CLOSE_STRONG + I18nService.getLocalizedString( INFO_REFERENCEITEM_NOT_IN_FILE, locale );
         }
         return message;
     }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.business;
+
+import fr.paris.lutece.portal.service.plugin.Plugin;
+
+/**
+ * IImportJobDAO Interface
+ */
+public interface IImportJobDAO
+{
+    /**
+     * Insert a new record in the table.
+     * 
+     * @param importJob
+     *            instance of the ImportJob object to insert
+     * @param plugin
+     *            the Plugin
+     */
+    void insert( ImportJob importJob, Plugin plugin );
+
+    /**
+     * Update the record in the table
+     * 
+     * @param importJob
+     *            the reference of the ImportJob
+     * @param plugin
+     *            the Plugin
+     */
+    void store( ImportJob importJob, Plugin plugin );
+
+    /**
+     * Load the data from the table
+     * 
+     * @param nKey
+     *            The identifier of the importJob
+     * @param plugin
+     *            the Plugin
+     * @return The instance of the importJob
+     */
+    ImportJob load( int nKey, Plugin plugin );
+
+    /**
+     * Sets the status failed on the jobs of a node which are not finished
+     * 
+     * @param strNode
+     *            the node of the cluster
+     * @param strErrorMessage
+     *            the error message of the jobs
+     * @param plugin
+     *            the Plugin
+     */
+    void failUnfinished( String strNode, String strErrorMessage, Plugin plugin );
+}
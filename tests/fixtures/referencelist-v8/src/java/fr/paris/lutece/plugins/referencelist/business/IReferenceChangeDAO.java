@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.business;
+
+import java.util.List;
+import java.util.Map;
+
+import fr.paris.lutece.portal.service.event.EventAction;
+import fr.paris.lutece.portal.service.plugin.Plugin;
+
+/**
+ * IReferenceChangeDAO Interface
+ */
+public interface IReferenceChangeDAO
+{
+    /**
+     * Increments the version of a reference. Must be called within a transaction, so that the new version is read before any other change.
+     * 
+     * @param nIdReference
+     *            the reference id
+     * @param plugin
+     *            the Plugin
+     * @return the new version, 0 if the reference does not exist
+     */
+    long incrementVersion( int nIdReference, Plugin plugin );
+
+    /**
+     * Load the version of a reference
+     * 
+     * @param nIdReference
+     *            the reference id
+     * @param plugin
+     *            the Plugin
+     * @return the version, 0 if the reference does not exist
+     */
+    long loadVersion( int nIdReference, Plugin plugin );
+
+    /**
+     * Load the versions of all the references
+     * 
+     * @param plugin
+     *            the Plugin
+     * @return the versions by reference id
+     */
+    Map<Integer, Long> loadVersions( Plugin plugin );
+
+    /**
+     * Insert the changes of a set of items in the log with their code, in a single JDBC batch
+     * 
+     * @param nIdReference
+     *            the reference id
+     * @param lVersion
+     *            the version of the reference the changes were made at
+     * @param action
+     *            the action performed on the items
+     * @param listItems
+     *            the items
+     * @param plugin
+     *            the Plugin
+     */
+    void insertBatch( int nIdReference, long lVersion, EventAction action, List<ReferenceItem> listItems, Plugin plugin );
+
+    /**
+     * Load the changes of a reference made after a version and up to another, in the order they were made
+     * 
+     * @param nIdReference
+     *            the reference id
+     * @param lFromVersion
+     *            the version the changes are made after
+     * @param lToVersion
+     *            the last version of the changes
+     * @param plugin
+     *            the Plugin
+     * @return the changes with the current code and name of the items, the code logged with the change and no name if the item does not exist
+     *         anymore
+     */
+    List<ReferenceChange> selectChangesBetween( int nIdReference, long lFromVersion, long lToVersion, Plugin plugin );
+
+    /**
+     * Load the oldest version of a reference still in the change log
+     * 
+     * @param nIdReference
+     *            the reference id
+     * @param plugin
+     *            the Plugin
+     * @return the version, 0 if the change log of the reference is empty
+     */
+    long selectOldestVersion( int nIdReference, Plugin plugin );
+
+    /**
+     * Delete the changes of a reference made up to a version
+     * 
+     * @param nIdReference
+     *            the reference id
+     * @param lVersion
+     *            the last version deleted
+     * @param plugin
+     *            the Plugin
+     */
+    void deleteUpTo( int nIdReference, long lVersion, Plugin plugin );
+
+    /**
+     * Delete all the changes of a reference
+     * 
+     * @param nIdReference
+     *            the reference id
+     * @param plugin
+     *            the Plugin
+     */
+    void deleteAll( int nIdReference, Plugin plugin );
+}
@@ -62,6 +62,27 @@ public interface IReferenceItemDAO
      */
     void store( ReferenceItem referenceItem, Plugin plugin );
 
+    /**
+     * Insert new records in the table using a single JDBC batch. The generated keys are set on the items : if the driver does not return a key per item, an
+     * AppException is thrown so that the transaction of the caller is rolled back.
+     * 
+     * @param listReferenceItems
+     *            the ReferenceItem objects to insert
+     * @param plugin
+     *            the Plugin
+     */
+    void insertBatch( List<ReferenceItem> listReferenceItems, Plugin plugin );
+
+    /**
+     * Update records in the table using a single JDBC batch
+     * 
+     * @param listReferenceItems
+     *            the ReferenceItem objects to update
+     * @param plugin
+     *            the Plugin
+     */
+    void storeBatch( List<ReferenceItem> listReferenceItems, Plugin plugin );
+
     /**
      * Delete a record from the table
      * 
@@ -81,6 +102,16 @@ public interface IReferenceItemDAO
      */
     void deleteAll( int nIdReference, Plugin plugin );
 
+    /**
+     * Delete a set of records with a single batch of statements
+     * 
+     * @param listIdReferenceItems
+     *            The identifiers of the ReferenceItems to delete
+     * @param plugin
+     *            the Plugin
+     */
+    void deleteBatch( List<Integer> listIdReferenceItems, Plugin plugin );
+
     // /////////////////////////////////////////////////////////////////////////
     // Finders
 
@@ -116,6 +147,44 @@ public interface IReferenceItemDAO
      * @return The list which contains the data of all the referenceItem objects
      */
     List<ReferenceItem> selectReferenceItemsList( int nIdReference, Plugin plugin );
+
+    /**
+     * Reads the items of a reference without their translations, passing them to a handler as they are read, in the order of their ids
+     * 
+     * @param nIdReference
+     *            the reference id
+     * @param handler
+     *            the handler of the rows, receiving no language nor translation
+     * @param plugin
+     *            the Plugin
+     */
+    void selectReferenceItems( int nIdReference, IItemTranslationRowHandler handler, Plugin plugin );
+
+    /**
+     * Load a page of the referenceItem objects of a reference, ordered by code
+     * 
+     * @param nIdReference
+     *            the reference id
+     * @param nOffset
+     *            the number of items to skip
+     * @param nLimit
+     *            the maximum number of items to return
+     * @param plugin
+     *            the Plugin
+     * @return The list which contains the data of the referenceItem objects of the page
+     */
+    List<ReferenceItem> selectReferenceItemsList( int nIdReference, int nOffset, int nLimit, Plugin plugin );
+
+    /**
+     * Count the referenceItem objects of a reference
+     * 
+     * @param nIdReference
+     *            the reference id
+     * @param plugin
+     *            the Plugin
+     * @return The number of referenceItem objects of the reference
+     */
+    int countReferenceItems( int nIdReference, Plugin plugin );
    
     /**
      * Load the data of all the referenceItem objects and returns them as a list
@@ -146,6 +215,19 @@ public interface IReferenceItemDAO
      */
     List<Integer> selectIdReferenceItemsList( Plugin plugin );
 
+    /**
+     * Load the id of the first referenceItem objects of a reference, in the order of their ids
+     * 
+     * @param nIdReference
+     *            The identifier of the reference
+     * @param nLimit
+     *            The maximum number of ids to load
+     * @param plugin
+     *            the Plugin
+     * @return The list which contains the ids
+     */
+    List<Integer> selectIdReferenceItemsList( int nIdReference, int nLimit, Plugin plugin );
+
     /**
      * Load the data of all the referenceItem objects and returns them as a referenceList
      * 
@@ -72,24 +72,24 @@ public interface ITranslationItemDAO
     void delete( int nKey, Plugin plugin );
 
     /**
-     * Delete a list of records linked to a Reference
+     * Delete a list of records linked to a ReferenceItem
      * 
      * @param nId
-     *            The identifier of the Reference
+     *            The identifier of the ReferenceItem
      * @param plugin
      *            the Plugin
      */
-    void deleteAllFromReferenceId( int nId, Plugin plugin );
+    void deleteAllFromReferenceItemId( int nId, Plugin plugin );
 
     /**
-     * Delete a list of records linked to a ReferenceItem
+     * Delete the records linked to a set of ReferenceItems with a single batch of statements
      * 
-     * @param nId
-     *            The identifier of the ReferenceItem
+     * @param listIdReferenceItems
+     *            The identifiers of the ReferenceItems
      * @param plugin
      *            the Plugin
      */
-    void deleteAllFromReferenceItemId( int nId, Plugin plugin );
+    void deleteAllFromReferenceItemIds( List<Integer> listIdReferenceItems, Plugin plugin );
 
     // /////////////////////////////////////////////////////////////////////////
     // Finders
@@ -116,4 +116,41 @@ public interface ITranslationItemDAO
      */
     List<TranslationItem> selectTranslationItems( int nIdReference, Plugin plugin );
 
+    /**
+     * Load all the items of a reference with all their translations in a single query. An item appears once per translation, or once with a null
+     * language if it has no translation. The rows of an item are consecutive, ordered by language.
+     * 
+     * @param nIdReference
+     *            the reference id
+     * @param plugin
+     *            the Plugin
+     * @return The list of the items with their code, default name, language and translation
+     */
+    List<TranslationItem> selectItemsWithTranslations( int nIdReference, Plugin plugin );
+
+    /**
+     * Reads all the items of a reference with all their translations in a single query, passing the rows to a handler as they are read
+     * 
+     * @param nIdReference
+     *            the reference id
+     * @param handler
+     *            the handler of the rows
+     * @param plugin
+     *            the Plugin
+     */
+    void selectItemsWithTranslations( int nIdReference, IItemTranslationRowHandler handler, Plugin plugin );
+
+    /**
+     * Reads the items of all the references with all their translations in a single query, ordered by reference, passing the rows to a handler as they are
+     * read
+     * 
+     * @param nFetchSize
+     *            the number of rows fetched from the database at a time
+     * @param handler
+     *            the handler of the rows
+     * @param plugin
+     *            the Plugin
+     */
+    void selectAllItemsWithTranslations( int nFetchSize, IReferenceTranslationRowHandler handler, Plugin plugin );
+
 }
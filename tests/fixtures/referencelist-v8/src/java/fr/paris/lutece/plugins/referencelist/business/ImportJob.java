@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.business;
+
+import java.io.Serializable;
+import java.sql.Timestamp;
+
+/**
+ * This is the business class for the object ImportJob : an import of reference items running in background
+ */
+public class ImportJob implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    /** Checked, waiting for the confirmation of the user */
+    public static final String STATUS_PENDING = "pending";
+    /** Confirmed, waiting for a thread */
+    public static final String STATUS_QUEUED = "queued";
+    public static final String STATUS_RUNNING = "running";
+    public static final String STATUS_DONE = "done";
+    public static final String STATUS_FAILED = "failed";
+
+    // Variables declarations
+    private int _nId;
+    private int _nIdReference;
+    private String _strNode;
+    private String _strStatus;
+    private int _nRowsTotal;
+    private int _nRowsProcessed;
+    private String _strErrorMessage;
+    private Timestamp _dateCreation;
+    private Timestamp _dateUpdate;
+
+    /**
+     * Returns the Id
+     * 
+     * @return The Id
+     */
+    public int getId( )
+    {
+        return _nId;
+    }
+
+    /**
+     * Sets the Id
+     * 
+     * @param nId
+     *            The Id
+     */
+    public void setId( int nId )
+    {
+        _nId = nId;
+    }
+
+    /**
+     * Returns the IdReference
+     * 
+     * @return The IdReference
+     */
+    public int getIdReference( )
+    {
+        return _nIdReference;
+    }
+
+    /**
+     * Sets the IdReference
+     * 
+     * @param nIdReference
+     *            The IdReference
+     */
+    public void setIdReference( int nIdReference )
+    {
+        _nIdReference = nIdReference;
+    }
+
+    /**
+     * Returns the node of the cluster which prepared and runs the job
+     * 
+     * @return The Node
+     */
+    public String getNode( )
+    {
+        return _strNode;
+    }
+
+    /**
+     * Sets the node of the cluster which prepared and runs the job
+     * 
+     * @param strNode
+     *            The Node
+     */
+    public void setNode( String strNode )
+    {
+        _strNode = strNode;
+    }
+
+    /**
+     * Returns the Status
+     * 
+     * @return The Status
+     */
+    public String getStatus( )
+    {
+        return _strStatus;
+    }
+
+    /**
+     * Sets the Status
+     * 
+     * @param strStatus
+     *            The Status
+     */
+    public void setStatus( String strStatus )
+    {
+        _strStatus = strStatus;
+    }
+
+    /**
+     * Returns the number of rows to import
+     * 
+     * @return The RowsTotal
+     */
+    public int getRowsTotal( )
+    {
+        return _nRowsTotal;
+    }
+
+    /**
+     * Sets the number of rows to import
+     * 
+     * @param nRowsTotal
+     *            The RowsTotal
+     */
+    public void setRowsTotal( int nRowsTotal )
+    {
+        _nRowsTotal = nRowsTotal;
+    }
+
+    /**
+     * Returns the number of rows already imported
+     * 
+     * @return The RowsProcessed
+     */
+    public int getRowsProcessed( )
+    {
+        return _nRowsProcessed;
+    }
+
+    /**
+     * Sets the number of rows already imported
+     * 
+     * @param nRowsProcessed
+     *            The RowsProcessed
+     */
+    public void setRowsProcessed( int nRowsProcessed )
+    {
+        _nRowsProcessed = nRowsProcessed;
+    }
+
+    /**
+     * Returns the ErrorMessage
+     * 
+     * @return The ErrorMessage
+     */
+    public String getErrorMessage( )
+    {
+        return _strErrorMessage;
+    }
+
+    /**
+     * Sets the ErrorMessage
+     * 
+     * @param strErrorMessage
+     *            The ErrorMessage
+     */
+    public void setErrorMessage( String strErrorMessage )
+    {
+        _strErrorMessage = strErrorMessage;
+    }
+
+    /**
+     * Returns the DateCreation
+     * 
+     * @return The DateCreation
+     */
+    public Timestamp getDateCreation( )
+    {
+        return _dateCreation;
+    }
+
+    /**
+     * Sets the DateCreation
+     * 
+     * @param dateCreation
+     *            The DateCreation
+     */
+    public void setDateCreation( Timestamp dateCreation )
+    {
+        _dateCreation = dateCreation;
+    }
+
+    /**
+     * Returns the DateUpdate
+     * 
+     * @return The DateUpdate
+     */
+    public Timestamp getDateUpdate( )
+    {
+        return _dateUpdate;
+    }
+
+    /**
+     * Sets the DateUpdate
+     * 
+     * @param dateUpdate
+     *            The DateUpdate
+     */
+    public void setDateUpdate( Timestamp dateUpdate )
+    {
+        _dateUpdate = dateUpdate;
+    }
+
+    /**
+     * Tells if the job is over
+     * 
+     * @return true if the job is done or failed
+     */
+    public boolean isFinished( )
+    {
+        return STATUS_DONE.equals( _strStatus ) || STATUS_FAILED.equals( _strStatus );
+    }
+
+    /**
+     * Returns the progress of the job
+     * 
+     * @return the percentage of rows processed
+     */
+    public int getPercent( )
+    {
+        return ( _nRowsTotal > 0 ) ? (int) ( _nRowsProcessed * 100L / _nRowsTotal ) : ( isFinished( ) ? 100 : 0 );
+    }
+}
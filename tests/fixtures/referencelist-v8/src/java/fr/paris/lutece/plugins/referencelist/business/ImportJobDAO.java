@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.business;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+
+import fr.paris.lutece.portal.service.plugin.Plugin;
+import fr.paris.lutece.util.sql.DAOUtil;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * This class provides Data Access methods for ImportJob objects
+ */
+@ApplicationScoped
+public final class ImportJobDAO implements IImportJobDAO
+{
+    // Constants
+    private static final String SQL_QUERY_SELECT = "SELECT id_import_job, id_reference, node, status, rows_total, rows_processed, error_message, date_creation, date_update FROM referencelist_import_job WHERE id_import_job = ?";
+    private static final String SQL_QUERY_INSERT = "INSERT INTO referencelist_import_job ( id_reference, node, status, rows_total, rows_processed, error_message, date_creation, date_update ) VALUES ( ?, ?, ?, ?, ?, ?, ?, ? ) ";
+    private static final String SQL_QUERY_UPDATE = "UPDATE referencelist_import_job SET status = ?, rows_total = ?, rows_processed = ?, error_message = ?, date_update = ? WHERE id_import_job = ?";
+    private static final String SQL_QUERY_FAIL_UNFINISHED = "UPDATE referencelist_import_job SET status = ?, error_message = ?, date_update = ? WHERE node = ? AND status IN ( ?, ?, ? )";
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void insert( ImportJob importJob, Plugin plugin )
+    {
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_INSERT, Statement.RETURN_GENERATED_KEYS, plugin ) )
+        {
+            int nIndex = 1;
+            daoUtil.setInt( nIndex++, importJob.getIdReference( ) );
+            daoUtil.setString( nIndex++, importJob.getNode( ) );
+            daoUtil.setString( nIndex++, importJob.getStatus( ) );
+            daoUtil.setInt( nIndex++, importJob.getRowsTotal( ) );
+            daoUtil.setInt( nIndex++, importJob.getRowsProcessed( ) );
+            daoUtil.setString( nIndex++, importJob.getErrorMessage( ) );
+            daoUtil.setTimestamp( nIndex++, importJob.getDateCreation( ) );
+            daoUtil.setTimestamp( nIndex, importJob.getDateUpdate( ) );
+
+            daoUtil.executeUpdate( );
+            if ( daoUtil.nextGeneratedKey( ) )
+            {
+                importJob.setId( daoUtil.getGeneratedKeyInt( 1 ) );
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void store( ImportJob importJob, Plugin plugin )
+    {
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_UPDATE, plugin ) )
+        {
+            int nIndex = 1;
+            daoUtil.setString( nIndex++, importJob.getStatus( ) );
+            daoUtil.setInt( nIndex++, importJob.getRowsTotal( ) );
+            daoUtil.setInt( nIndex++, importJob.getRowsProcessed( ) );
+            daoUtil.setString( nIndex++, importJob.getErrorMessage( ) );
+            daoUtil.setTimestamp( nIndex++, importJob.getDateUpdate( ) );
+            daoUtil.setInt( nIndex, importJob.getId( ) );
+
+            daoUtil.executeUpdate( );
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public ImportJob load( int nKey, Plugin plugin )
+    {
+        ImportJob importJob = null;
+
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_SELECT, plugin ) )
+        {
+            daoUtil.setInt( 1, nKey );
+            daoUtil.executeQuery( );
+
+            if ( daoUtil.next( ) )
+            {
+                importJob = new ImportJob( );
+                int nIndex = 1;
+
+                importJob.setId( daoUtil.getInt( nIndex++ ) );
+                importJob.setIdReference( daoUtil.getInt( nIndex++ ) );
+                importJob.setNode( daoUtil.getString( nIndex++ ) );
+                importJob.setStatus( daoUtil.getString( nIndex++ ) );
+                importJob.setRowsTotal( daoUtil.getInt( nIndex++ ) );
+                importJob.setRowsProcessed( daoUtil.getInt( nIndex++ ) );
+                importJob.setErrorMessage( daoUtil.getString( nIndex++ ) );
+                importJob.setDateCreation( daoUtil.getTimestamp( nIndex++ ) );
+                importJob.setDateUpdate( daoUtil.getTimestamp( nIndex ) );
+            }
+        }
+
+        return importJob;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void failUnfinished( String strNode, String strErrorMessage, Plugin plugin )
+    {
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_FAIL_UNFINISHED, plugin ) )
+        {
+            int nIndex = 1;
+            daoUtil.setString( nIndex++, ImportJob.STATUS_FAILED );
+            daoUtil.setString( nIndex++, strErrorMessage );
+            daoUtil.setTimestamp( nIndex++, new Timestamp( System.currentTimeMillis( ) ) );
+            daoUtil.setString( nIndex++, strNode );
+            daoUtil.setString( nIndex++, ImportJob.STATUS_PENDING );
+            daoUtil.setString( nIndex++, ImportJob.STATUS_QUEUED );
+            daoUtil.setString( nIndex, ImportJob.STATUS_RUNNING );
+
+            daoUtil.executeUpdate( );
+        }
+    }
+}
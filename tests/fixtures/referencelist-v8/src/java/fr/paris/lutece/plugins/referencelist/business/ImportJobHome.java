@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.business;
+
+import java.sql.Timestamp;
+
+import fr.paris.lutece.plugins.referencelist.service.metrics.ReferenceListMetrics;
+import fr.paris.lutece.portal.service.plugin.Plugin;
+import fr.paris.lutece.portal.service.plugin.PluginService;
+import jakarta.enterprise.inject.spi.CDI;
+
+/**
+ * This class provides instances management methods (create, find, ...) for ImportJob objects
+ */
+public final class ImportJobHome
+{
+    // Static variable pointed at the DAO instance
+    private static IImportJobDAO _dao = ReferenceListMetrics.instrument( IImportJobDAO.class, CDI.current( ).select( IImportJobDAO.class ).get( ) );
+    private static Plugin _plugin = PluginService.getPlugin( "referencelist" );
+
+    /**
+     * Private constructor - this class need not be instantiated
+     */
+    private ImportJobHome( )
+    {
+    }
+
+    /**
+     * Create an instance of the importJob class
+     * 
+     * @param importJob
+     *            The instance of the ImportJob which contains the informations to store
+     * @return The instance of importJob which has been created with its primary key.
+     */
+    public static ImportJob create( ImportJob importJob )
+    {
+        Timestamp now = new Timestamp( System.currentTimeMillis( ) );
+        importJob.setDateCreation( now );
+        importJob.setDateUpdate( now );
+        _dao.insert( importJob, _plugin );
+
+        return importJob;
+    }
+
+    /**
+     * Update of the importJob which is specified in parameter
+     * 
+     * @param importJob
+     *            The instance of the ImportJob which contains the data to store
+     * @return The instance of the importJob which has been updated
+     */
+    public static ImportJob update( ImportJob importJob )
+    {
+        importJob.setDateUpdate( new Timestamp( System.currentTimeMillis( ) ) );
+        _dao.store( importJob, _plugin );
+
+        return importJob;
+    }
+
+    /**
+     * Returns an instance of a importJob whose identifier is specified in parameter
+     * 
+     * @param nKey
+     *            The importJob primary key
+     * @return an instance of ImportJob
+     */
+    public static ImportJob findByPrimaryKey( int nKey )
+    {
+        return _dao.load( nKey, _plugin );
+    }
+
+    /**
+     * Sets the status failed on the jobs of a node which are not finished, e.g. interrupted by a shutdown of this node. The jobs of the other nodes of
+     * a cluster are left untouched.
+     * 
+     * @param strNode
+     *            the node of the cluster
+     * @param strErrorMessage
+     *            the error message of the jobs
+     */
+    public static void failUnfinished( String strNode, String strErrorMessage )
+    {
+        _dao.failUnfinished( strNode, strErrorMessage, _plugin );
+    }
+}
@@ -34,6 +34,7 @@
 package fr.paris.lutece.plugins.referencelist.business;
 
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import fr.paris.lutece.portal.service.rbac.RBACResource;
 import java.io.Serializable;
 
@@ -54,6 +55,7 @@ public class Reference implements Serializable, RBACResource
     private int _nId;
 
     @NotEmpty( message = "#i18n{referencelist.validation.reference.Name.notEmpty}" )
+    @Size( max = 255, message = "#i18n{referencelist.validation.reference.Name.size}" )
     private String _strName;
 
     @NotEmpty( message = "#i18n{referencelist.validation.reference.Description.notEmpty}" )
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.business;
+
+import java.io.Serializable;
+
+import fr.paris.lutece.portal.service.event.EventAction;
+
+/**
+ * This is the business class for the object ReferenceChange : an entry of the change log of a reference, telling that an item was created, updated or
+ * removed at a given version of the reference. The code and name are the current values of the item. Once the item is removed, the code is the one it
+ * had when removed and the name is null.
+ */
+public class ReferenceChange implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    // Variables declarations
+    private long _lVersion;
+    private int _nIdReferenceItem;
+    private EventAction _action;
+    private String _strCode;
+    private String _strName;
+
+    /**
+     * Returns the version of the reference the change was made at
+     * 
+     * @return The version
+     */
+    public long getVersion( )
+    {
+        return _lVersion;
+    }
+
+    /**
+     * Sets the version of the reference the change was made at
+     * 
+     * @param lVersion
+     *            The version
+     */
+    public void setVersion( long lVersion )
+    {
+        _lVersion = lVersion;
+    }
+
+    /**
+     * Returns the IdReferenceItem
+     * 
+     * @return The IdReferenceItem
+     */
+    public int getIdReferenceItem( )
+    {
+        return _nIdReferenceItem;
+    }
+
+    /**
+     * Sets the IdReferenceItem
+     * 
+     * @param nIdReferenceItem
+     *            The IdReferenceItem
+     */
+    public void setIdReferenceItem( int nIdReferenceItem )
+    {
+        _nIdReferenceItem = nIdReferenceItem;
+    }
+
+    /**
+     * Returns the action performed on the item
+     * 
+     * @return The action
+     */
+    public EventAction getAction( )
+    {
+        return _action;
+    }
+
+    /**
+     * Sets the action performed on the item
+     * 
+     * @param action
+     *            The action
+     */
+    public void setAction( EventAction action )
+    {
+        _action = action;
+    }
+
+    /**
+     * Returns the current code of the item
+     * 
+     * @return The code
+     */
+    public String getCode( )
+    {
+        return _strCode;
+    }
+
+    /**
+     * Sets the current code of the item
+     * 
+     * @param strCode
+     *            The code
+     */
+    public void setCode( String strCode )
+    {
+        _strCode = strCode;
+    }
+
+    /**
+     * Returns the current name of the item
+     * 
+     * @return The name, null if the item does not exist anymore
+     */
+    public String getName( )
+    {
+        return _strName;
+    }
+
+    /**
+     * Sets the current name of the item
+     * 
+     * @param strName
+     *            The name
+     */
+    public void setName( String strName )
+    {
+        _strName = strName;
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.business;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import fr.paris.lutece.portal.service.event.EventAction;
+import fr.paris.lutece.portal.service.plugin.Plugin;
+import fr.paris.lutece.util.sql.DAOUtil;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * This class provides Data Access methods for the versions and the change log of the references
+ */
+@ApplicationScoped
+public final class ReferenceChangeDAO implements IReferenceChangeDAO
+{
+    // Constants
+    private static final String SQL_QUERY_INCREMENT_VERSION = "UPDATE referencelist_reference SET version = version + 1 WHERE id_reference = ?";
+    private static final String SQL_QUERY_SELECT_VERSION = "SELECT version FROM referencelist_reference WHERE id_reference = ?";
+    private static final String SQL_QUERY_SELECT_VERSIONS = "SELECT id_reference, version FROM referencelist_reference";
+    private static final String SQL_QUERY_INSERT = "INSERT INTO referencelist_change ( idreference, version, id_reference_item, code, action ) VALUES ( ?, ?, ?, ?, ? ) ";
+    private static final String SQL_QUERY_SELECT_BETWEEN = "SELECT c.version, c.id_reference_item, c.action, COALESCE( i.code, c.code ), i.name FROM referencelist_change c LEFT JOIN referencelist_item i ON i.id_reference_item = c.id_reference_item WHERE c.idreference = ? AND c.version > ? AND c.version <= ? ORDER BY c.version, c.id_change";
+    private static final String SQL_QUERY_SELECT_OLDEST_VERSION = "SELECT MIN( version ) FROM referencelist_change WHERE idreference = ?";
+    private static final String SQL_QUERY_DELETE_UP_TO = "DELETE FROM referencelist_change WHERE idreference = ? AND version <= ?";
+    private static final String SQL_QUERY_DELETE_ALL = "DELETE FROM referencelist_change WHERE idreference = ?";
+
+    // One character per action, the log may hold a row per item of each import
+    private static final String ACTION_CREATE = "C";
+    private static final String ACTION_UPDATE = "U";
+    private static final String ACTION_REMOVE = "R";
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public long incrementVersion( int nIdReference, Plugin plugin )
+    {
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_INCREMENT_VERSION, plugin ) )
+        {
+            daoUtil.setInt( 1, nIdReference );
+            daoUtil.executeUpdate( );
+        }
+
+        return loadVersion( nIdReference, plugin );
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public long loadVersion( int nIdReference, Plugin plugin )
+    {
+        long lVersion = 0;
+
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_SELECT_VERSION, plugin ) )
+        {
+            daoUtil.setInt( 1, nIdReference );
+            daoUtil.executeQuery( );
+
+            if ( daoUtil.next( ) )
+            {
+                lVersion = daoUtil.getLong( 1 );
+            }
+        }
+
+        return lVersion;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public long selectOldestVersion( int nIdReference, Plugin plugin )
+    {
+        long lVersion = 0;
+
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_SELECT_OLDEST_VERSION, plugin ) )
+        {
+            daoUtil.setInt( 1, nIdReference );
+            daoUtil.executeQuery( );
+
+            if ( daoUtil.next( ) )
+            {
+                // MIN of no row is NULL, read as 0
+                lVersion = daoUtil.getLong( 1 );
+            }
+        }
+
+        return lVersion;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public Map<Integer, Long> loadVersions( Plugin plugin )
+    {
+        Map<Integer, Long> mapVersions = new HashMap<>( );
+
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_SELECT_VERSIONS, plugin ) )
+        {
+            daoUtil.executeQuery( );
+
+            while ( daoUtil.next( ) )
+            {
+                mapVersions.put( daoUtil.getInt( 1 ), daoUtil.getLong( 2 ) );
+            }
+        }
+
+        return mapVersions;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void insertBatch( int nIdReference, long lVersion, EventAction action, List<ReferenceItem> listItems, Plugin plugin )
+    {
+        if ( listItems.isEmpty( ) )
+        {
+            return;
+        }
+
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_INSERT, plugin ) )
+        {
+            for ( ReferenceItem item : listItems )
+            {
+                int nIndex = 1;
+                daoUtil.setInt( nIndex++, nIdReference );
+                daoUtil.setLong( nIndex++, lVersion );
+                daoUtil.setInt( nIndex++, item.getId( ) );
+                daoUtil.setString( nIndex++, item.getCode( ) );
+                daoUtil.setString( nIndex, toCode( action ) );
+                daoUtil.addBatch( );
+            }
+            daoUtil.executeBatch( );
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public List<ReferenceChange> selectChangesBetween( int nIdReference, long lFromVersion, long lToVersion, Plugin plugin )
+    {
+        List<ReferenceChange> listChanges = new ArrayList<>( );
+
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_SELECT_BETWEEN, plugin ) )
+        {
+            daoUtil.setInt( 1, nIdReference );
+            daoUtil.setLong( 2, lFromVersion );
+            daoUtil.setLong( 3, lToVersion );
+            daoUtil.executeQuery( );
+
+            while ( daoUtil.next( ) )
+            {
+                ReferenceChange change = new ReferenceChange( );
+                int nIndex = 1;
+
+                change.setVersion( daoUtil.getLong( nIndex++ ) );
+                change.setIdReferenceItem( daoUtil.getInt( nIndex++ ) );
+                change.setAction( toAction( daoUtil.getString( nIndex++ ) ) );
+                change.setCode( daoUtil.getString( nIndex++ ) );
+                change.setName( daoUtil.getString( nIndex ) );
+
+                listChanges.add( change );
+            }
+        }
+
+        return listChanges;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void deleteUpTo( int nIdReference, long lVersion, Plugin plugin )
+    {
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_DELETE_UP_TO, plugin ) )
+        {
+            daoUtil.setInt( 1, nIdReference );
+            daoUtil.setLong( 2, lVersion );
+            daoUtil.executeUpdate( );
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void deleteAll( int nIdReference, Plugin plugin )
+    {
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_DELETE_ALL, plugin ) )
+        {
+            daoUtil.setInt( 1, nIdReference );
+            daoUtil.executeUpdate( );
+        }
+    }
+
+    /**
+     * Returns the code stored for an action
+     * 
+     * @param action
+     *            the action
+     * @return the code
+     */
+    private static String toCode( EventAction action )
+    {
+        if ( action == EventAction.CREATE )
+        {
+            return ACTION_CREATE;
+        }
+
+        return ( action == EventAction.REMOVE ) ? ACTION_REMOVE : ACTION_UPDATE;
+    }
+
+    /**
+     * Returns the action of a stored code
+     * 
+     * @param strCode
+     *            the code
+     * @return the action
+     */
+    private static EventAction toAction( String strCode )
+    {
+        if ( ACTION_CREATE.equals( strCode ) )
+        {
+            return EventAction.CREATE;
+        }
+
+        return ACTION_REMOVE.equals( strCode ) ? EventAction.REMOVE : EventAction.UPDATE;
+    }
+}
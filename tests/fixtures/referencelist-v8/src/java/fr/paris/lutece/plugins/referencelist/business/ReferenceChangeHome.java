@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.business;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import fr.paris.lutece.plugins.referencelist.service.metrics.ReferenceListMetrics;
+import fr.paris.lutece.portal.service.event.EventAction;
+import fr.paris.lutece.portal.service.plugin.Plugin;
+import fr.paris.lutece.portal.service.plugin.PluginService;
+import fr.paris.lutece.portal.service.util.AppException;
+import fr.paris.lutece.portal.service.util.AppPropertiesService;
+import fr.paris.lutece.util.sql.TransactionManager;
+import jakarta.enterprise.inject.spi.CDI;
+
+/**
+ * This class provides the versions of the references and their change log. <br>
+ * Each change of the items or translations of a reference increments its version, in the same transaction as the change, and logs the ids of the items
+ * concerned. A client holding a reference at a given version can then fetch the changes made since instead of the whole reference, as long as that
+ * version is still in the log.
+ */
+public final class ReferenceChangeHome
+{
+    private static final String PROPERTY_RETENTION = "referencelist.changes.retention";
+    private static final int DEFAULT_RETENTION = 1000;
+
+    // Static variable pointed at the DAO instance
+    private static IReferenceChangeDAO _dao = ReferenceListMetrics.instrument( IReferenceChangeDAO.class,
+            CDI.current( ).select( IReferenceChangeDAO.class ).get( ) );
+    private static Plugin _plugin = PluginService.getPlugin( "referencelist" );
+
+    /**
+     * Private constructor - this class need not be instantiated
+     */
+    private ReferenceChangeHome( )
+    {
+    }
+
+    /**
+     * Returns the current version of a reference
+     * 
+     * @param nIdReference
+     *            the reference id
+     * @return the version, 0 if the reference was never changed or does not exist
+     */
+    public static long getVersion( int nIdReference )
+    {
+        return _dao.loadVersion( nIdReference, _plugin );
+    }
+
+    /**
+     * Returns the current version of all the references
+     * 
+     * @return the versions by reference id
+     */
+    public static Map<Integer, Long> getVersions( )
+    {
+        return _dao.loadVersions( _plugin );
+    }
+
+    /**
+     * Returns the net changes of a reference made after a version and up to another, usually the current one. Successive changes of the same item are
+     * merged : an item created then updated is reported as created, an item created then removed is not reported.
+     * 
+     * @param nIdReference
+     *            the reference id
+     * @param lFromVersion
+     *            the version held by the client
+     * @param lToVersion
+     *            the version to reach
+     * @return the changes with the current code and name of the items, or null if the changes are not in the log anymore and the whole reference must be
+     *         reloaded
+     */
+    public static List<ReferenceChange> getChanges( int nIdReference, long lFromVersion, long lToVersion )
+    {
+        if ( lFromVersion < 0 || lFromVersion > lToVersion )
+        {
+            return null;
+        }
+
+        if ( lFromVersion == lToVersion )
+        {
+            return Collections.emptyList( );
+        }
+
+        List<ReferenceChange> listChanges = _dao.selectChangesBetween( nIdReference, lFromVersion, lToVersion, _plugin );
+
+        // checked against the oldest version actually logged, once the changes are read : the log is only pruned from its oldest versions, so if the
+        // version following lFromVersion is still logged now, none of the changes read had been pruned
+        long lOldestVersion = _dao.selectOldestVersion( nIdReference, _plugin );
+
+        if ( lOldestVersion == 0 || lFromVersion < lOldestVersion - 1 )
+        {
+            return null;
+        }
+
+        Map<Integer, ReferenceChange> mapChanges = new LinkedHashMap<>( );
+
+        for ( ReferenceChange change : listChanges )
+        {
+            ReferenceChange previous = mapChanges.get( change.getIdReferenceItem( ) );
+
+            if ( previous != null )
+            {
+                EventAction merged = merge( previous.getAction( ), change.getAction( ) );
+
+                if ( merged == null )
+                {
+                    mapChanges.remove( change.getIdReferenceItem( ) );
+                    continue;
+                }
+                change.setAction( merged );
+            }
+            mapChanges.put( change.getIdReferenceItem( ), change );
+        }
+
+        return new ArrayList<>( mapChanges.values( ) );
+    }
+
+    /**
+     * Runs a change of an item and logs it in the change log of its reference within a single transaction
+     * 
+     * @param item
+     *            the item, its id is read once the change is run. If null, the change is run without being logged
+     * @param action
+     *            the action performed on the item
+     * @param change
+     *            the change
+     */
+    static void execute( ReferenceItem item, EventAction action, Runnable change )
+    {
+        if ( item == null )
+        {
+            change.run( );
+            return;
+        }
+
+        TransactionManager.beginTransaction( _plugin );
+
+        try
+        {
+            change.run( );
+
+            List<ReferenceItem> listItems = Collections.singletonList( item );
+            List<ReferenceItem> listNone = Collections.emptyList( );
+            record( item.getIdreference( ), ( action == EventAction.CREATE ) ? listItems : listNone, ( action == EventAction.UPDATE ) ? listItems : listNone,
+                    ( action == EventAction.REMOVE ) ? listItems : listNone );
+
+            TransactionManager.commitTransaction( _plugin );
+        }
+        catch( Exception e )
+        {
+            TransactionManager.rollBack( _plugin, e );
+            throw new AppException( e.getMessage( ), e );
+        }
+    }
+
+    /**
+     * Increments the version of a reference and logs the items changed at that version. Must be called within the transaction of the changes.
+     * 
+     * @param nIdReference
+     *            the reference id
+     * @param listCreated
+     *            the created items
+     * @param listUpdated
+     *            the updated items
+     * @param listRemoved
+     *            the removed items
+     * @return the new version
+     */
+    static long record( int nIdReference, List<ReferenceItem> listCreated, List<ReferenceItem> listUpdated, List<ReferenceItem> listRemoved )
+    {
+        long lVersion = _dao.incrementVersion( nIdReference, _plugin );
+
+        _dao.insertBatch( nIdReference, lVersion, EventAction.CREATE, listCreated, _plugin );
+        _dao.insertBatch( nIdReference, lVersion, EventAction.UPDATE, listUpdated, _plugin );
+        _dao.insertBatch( nIdReference, lVersion, EventAction.REMOVE, listRemoved, _plugin );
+
+        int nRetention = getRetention( );
+
+        if ( lVersion > nRetention )
+        {
+            _dao.deleteUpTo( nIdReference, lVersion - nRetention, _plugin );
+        }
+
+        return lVersion;
+    }
+
+    /**
+     * Increments the version of a reference and drops its change log, so that the clients holding a previous version reload the whole reference. Used
+     * when the changes made can not be logged. Must be called within a transaction.
+     * 
+     * @param nIdReference
+     *            the reference id
+     * @return the new version
+     */
+    static long reset( int nIdReference )
+    {
+        _dao.deleteAll( nIdReference, _plugin );
+
+        return _dao.incrementVersion( nIdReference, _plugin );
+    }
+
+    /**
+     * Remove the change log of a reference
+     * 
+     * @param nIdReference
+     *            the reference id
+     */
+    public static void removeAll( int nIdReference )
+    {
+        _dao.deleteAll( nIdReference, _plugin );
+    }
+
+    /**
+     * Returns the number of versions kept in the change log
+     * 
+     * @return the number of versions
+     */
+    private static int getRetention( )
+    {
+        return Math.max( 1, AppPropertiesService.getPropertyInt( PROPERTY_RETENTION, DEFAULT_RETENTION ) );
+    }
+
+    /**
+     * Merges two successive actions on the same item
+     * 
+     * @param previous
+     *            the first action
+     * @param next
+     *            the second action
+     * @return the net action, or null if the item did not exist before the first action and does not exist after the second one
+     */
+    private static EventAction merge( EventAction previous, EventAction next )
+    {
+        if ( previous == EventAction.CREATE )
+        {
+            return ( next == EventAction.REMOVE ) ? null : EventAction.CREATE;
+        }
+
+        return next;
+    }
+}
@@ -34,10 +34,19 @@
 package fr.paris.lutece.plugins.referencelist.business;
 
 import java.util.List;
+import java.util.function.IntConsumer;
 
+import fr.paris.lutece.plugins.referencelist.service.ReferenceEvent;
+import fr.paris.lutece.plugins.referencelist.service.ReferenceItemListenerService;
+import fr.paris.lutece.plugins.referencelist.service.metrics.ReferenceListMetrics;
+import fr.paris.lutece.portal.service.event.EventAction;
+import fr.paris.lutece.portal.service.event.Type.TypeQualifier;
 import fr.paris.lutece.portal.service.plugin.Plugin;
 import fr.paris.lutece.portal.service.plugin.PluginService;
+import fr.paris.lutece.portal.service.util.AppException;
+import fr.paris.lutece.portal.service.util.AppPropertiesService;
 import fr.paris.lutece.util.ReferenceList;
+import fr.paris.lutece.util.sql.TransactionManager;
 import jakarta.enterprise.inject.spi.CDI;
 
 /**
@@ -45,13 +54,18 @@ import jakarta.enterprise.inject.spi.CDI;
  */
 public final class ReferenceHome
 {
+    private static final String PROPERTY_PURGE_CHUNK_SIZE = "referencelist.purge.chunkSize";
+    private static final int DEFAULT_PURGE_CHUNK_SIZE = 1000;
+
     // Static variable pointed at the DAO instance
-    private static IReferenceDAO _dao = CDI.current( ).select( IReferenceDAO.class ).get( );
+    private static IReferenceDAO _dao = ReferenceListMetrics.instrument( IReferenceDAO.class, CDI.current( ).select( IReferenceDAO.class ).get( ) );
 
     private static IReferenceItemDAO _itemdao = CDI.current( ).select( IReferenceItemDAO.class ).get( );
 
     private static ITranslationItemDAO _translationDao = CDI.current( ).select( ITranslationItemDAO.class ).get( );
 
+    private static ReferenceItemListenerService _refItemListenerService = CDI.current( ).select( ReferenceItemListenerService.class ).get( );
+
     private static Plugin _plugin = PluginService.getPlugin( "referencelist" );
 
     /**
@@ -71,6 +85,7 @@ public final class ReferenceHome
     public static Reference create( Reference reference )
     {
         _dao.insert( reference, _plugin );
+        fireReferenceEvent( reference, EventAction.CREATE );
 
         return reference;
     }
@@ -85,23 +100,148 @@ public final class ReferenceHome
     public static Reference update( Reference reference )
     {
         _dao.store( reference, _plugin );
+        fireReferenceEvent( reference, EventAction.UPDATE );
 
         return reference;
     }
 
     /**
-     * Remove the reference whose identifier is specified in parameter
+     * Remove the reference whose identifier is specified in parameter, with its items and their translations
      * 
      * @param nKey
      *            The reference Id
      */
     public static void remove( int nKey )
     {
-        _translationDao.deleteAllFromReferenceId( nKey, _plugin );
+        purge( nKey, getPurgeChunkSize( ), nItemsRemoved -> {
+        } );
+    }
+
+    /**
+     * Returns the number of items deleted per transaction when a reference is removed
+     * 
+     * @return the number of items
+     */
+    public static int getPurgeChunkSize( )
+    {
+        return AppPropertiesService.getPropertyInt( PROPERTY_PURGE_CHUNK_SIZE, DEFAULT_PURGE_CHUNK_SIZE );
+    }
+
+    /**
+     * Remove the reference whose identifier is specified in parameter, with its items and their translations. <br>
+     * The items are deleted by chunks, each chunk in its own transaction, so that removing a large reference neither holds the locks on its items nor grows
+     * the undo log until the end. The reference and its change log are deleted in a last transaction : if a chunk fails, the reference remains with the items
+     * not deleted yet and may be removed again. Its labels, cached lists and search index are then dropped, and its version is incremented with its change
+     * log reset, so that its clients reload what remains of it. <br>
+     * Once done, the removal of the reference is notified synchronously, then the removal of its items by a single asynchronous event instead of an event
+     * per item.
+     * 
+     * @param nKey
+     *            The reference Id
+     * @param nChunkSize
+     *            the number of items deleted per transaction
+     * @param progressListener
+     *            receives the number of items deleted so far after each chunk
+     * @return the number of items deleted
+     */
+    public static int purge( int nKey, int nChunkSize, IntConsumer progressListener )
+    {
+        Reference reference = findByPrimaryKey( nKey );
+        int nLimit = Math.max( 1, nChunkSize );
+        int nItemsRemoved = 0;
+
+        try
+        {
+            List<Integer> listIdItems = _itemdao.selectIdReferenceItemsList( nKey, nLimit, _plugin );
+
+            while ( !listIdItems.isEmpty( ) )
+            {
+                TransactionManager.beginTransaction( _plugin );
+
+                try
+                {
+                    _translationDao.deleteAllFromReferenceItemIds( listIdItems, _plugin );
+                    _itemdao.deleteBatch( listIdItems, _plugin );
+
+                    TransactionManager.commitTransaction( _plugin );
+                }
+                catch( Exception e )
+                {
+                    TransactionManager.rollBack( _plugin, e );
+                    throw new AppException( e.getMessage( ), e );
+                }
+
+                nItemsRemoved += listIdItems.size( );
+                progressListener.accept( nItemsRemoved );
+
+                listIdItems = _itemdao.selectIdReferenceItemsList( nKey, nLimit, _plugin );
+            }
+
+            TransactionManager.beginTransaction( _plugin );
+
+            try
+            {
+                ReferenceChangeHome.removeAll( nKey );
+                _dao.delete( nKey, _plugin );
+
+                TransactionManager.commitTransaction( _plugin );
+            }
+            catch( Exception e )
+            {
+                TransactionManager.rollBack( _plugin, e );
+                throw new AppException( e.getMessage( ), e );
+            }
+        }
+        catch( RuntimeException e )
+        {
+            if ( nItemsRemoved > 0 )
+            {
+                try
+                {
+                    resetInterruptedPurge( nKey );
+                }
+                catch( RuntimeException eReset )
+                {
+                    e.addSuppressed( eReset );
+                }
+            }
+
+            throw e;
+        }
+
+        if ( reference != null )
+        {
+            fireReferenceEvent( reference, EventAction.REMOVE );
+            _refItemListenerService.firePurgeEvent( reference, nItemsRemoved );
+        }
+
+        return nItemsRemoved;
+    }
+
+    /**
+     * Drops what is built from the items of a reference whose removal failed after some of its items were deleted, and increments its version with its
+     * change log reset, since the deleted items were not logged
+     * 
+     * @param nKey
+     *            The reference Id
+     */
+    private static void resetInterruptedPurge( int nKey )
+    {
+        _refItemListenerService.invalidate( nKey );
 
-        _itemdao.deleteAll( nKey, _plugin );
+        TransactionManager.beginTransaction( _plugin );
 
-        _dao.delete( nKey, _plugin );
+        try
+        {
+            ReferenceChangeHome.reset( nKey );
+
+            TransactionManager.commitTransaction( _plugin );
+        }
+        catch( Exception e )
+        {
+            TransactionManager.rollBack( _plugin, e );
+            throw new AppException( e.getMessage( ), e );
+        }
     }
 
     /**
@@ -157,4 +297,17 @@ public final class ReferenceHome
     {
         return _dao.selectReferencesReferenceList( _plugin );
     }
+
+    /**
+     * Notifies the observers of a change on a reference. The event is fired synchronously so that caches are up to date when the call returns.
+     * 
+     * @param reference
+     *            The reference
+     * @param action
+     *            The action performed on the reference
+     */
+    private static void fireReferenceEvent( Reference reference, EventAction action )
+    {
+        CDI.current( ).getBeanManager( ).getEvent( ).select( ReferenceEvent.class, new TypeQualifier( action ) ).fire( new ReferenceEvent( reference ) );
+    }
 }
@@ -38,6 +38,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import fr.paris.lutece.portal.service.plugin.Plugin;
+import fr.paris.lutece.portal.service.util.AppException;
 import fr.paris.lutece.util.ReferenceList;
 import fr.paris.lutece.util.sql.DAOUtil;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -56,13 +57,19 @@ public final class ReferenceItemDAO implements IReferenceItemDAO
     private static final String SQL_QUERY_UPDATE = "UPDATE referencelist_item SET name = ?, code = ? WHERE id_reference_item = ?";
     private static final String SQL_QUERY_SELECTALL = "SELECT id_reference_item, name, code, idreference FROM referencelist_item";
     private static final String SQL_QUERY_SELECTALL_ID = "SELECT id_reference_item FROM referencelist_item";
+    private static final String SQL_QUERY_SELECT_ID_CHUNK = SQL_QUERY_SELECTALL_ID + " WHERE idreference = ? ORDER BY id_reference_item LIMIT ?";
 
     private static final String SQL_QUERY_SELECT_ID = "SELECT id_reference_item, name, code, idreference FROM referencelist_item WHERE idreference = ?";
+    private static final String SQL_QUERY_SELECT_PAGE = SQL_QUERY_SELECT_ID + " ORDER BY code, id_reference_item LIMIT ? OFFSET ?";
+    private static final String SQL_QUERY_SELECT_ROWS = "SELECT id_reference_item, code, name FROM referencelist_item WHERE idreference = ? ORDER BY id_reference_item";
+    private static final String SQL_QUERY_COUNT = "SELECT COUNT(*) FROM referencelist_item WHERE idreference = ?";
     private static final String SQL_QUERY_SELECT_TRANSLATION = "SELECT i.code, i.name, t.name FROM referencelist_item i LEFT OUTER JOIN referencelist_translation t "
-            + " ON i.id_reference_item = t.id_reference_item WHERE i.idreference = ? " + " AND (t.lang = ? OR t.lang IS NULL) ";
+            + " ON i.id_reference_item = t.id_reference_item AND t.lang = ? WHERE i.idreference = ? ";
 
     private static final String SQL_QUERY_DELETE_ALL_FROM_REFERENCE_ID = "DELETE FROM referencelist_item WHERE idreference = ? ";
 
+    private static final String MESSAGE_MISSING_GENERATED_KEYS = "The driver returned fewer generated keys than the ";
+
     /**
      * {@inheritDoc }
      */
@@ -84,6 +91,41 @@ public final class ReferenceItemDAO implements IReferenceItemDAO
 
     }
 
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void insertBatch( List<ReferenceItem> listReferenceItems, Plugin plugin )
+    {
+        if ( listReferenceItems.isEmpty( ) )
+        {
+            return;
+        }
+
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_INSERT, Statement.RETURN_GENERATED_KEYS, plugin ) )
+        {
+            for ( ReferenceItem referenceItem : listReferenceItems )
+            {
+                int nIndex = 1;
+                daoUtil.setString( nIndex++, referenceItem.getName( ) );
+                daoUtil.setString( nIndex++, referenceItem.getCode( ) );
+                daoUtil.setInt( nIndex++, referenceItem.getIdreference( ) );
+                daoUtil.addBatch( );
+            }
+            daoUtil.executeBatch( );
+
+            for ( ReferenceItem referenceItem : listReferenceItems )
+            {
+                // the ids are logged and indexed afterwards : the insertion fails, rolling back the transaction, rather than leaving items without id
+                if ( !daoUtil.nextGeneratedKey( ) )
+                {
+                    throw new AppException( MESSAGE_MISSING_GENERATED_KEYS + listReferenceItems.size( ) + " rows inserted" );
+                }
+                referenceItem.setId( daoUtil.getGeneratedKeyInt( 1 ) );
+            }
+        }
+    }
+
     /**
      * {@inheritDoc }
      */
@@ -138,6 +180,28 @@ public final class ReferenceItemDAO implements IReferenceItemDAO
         }
     }
 
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void deleteBatch( List<Integer> listIdReferenceItems, Plugin plugin )
+    {
+        if ( listIdReferenceItems.isEmpty( ) )
+        {
+            return;
+        }
+
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_DELETE, plugin ) )
+        {
+            for ( Integer nIdReferenceItem : listIdReferenceItems )
+            {
+                daoUtil.setInt( 1, nIdReferenceItem );
+                daoUtil.addBatch( );
+            }
+            daoUtil.executeBatch( );
+        }
+    }
+
     /**
      * {@inheritDoc }
      */
@@ -156,6 +220,32 @@ public final class ReferenceItemDAO implements IReferenceItemDAO
         }
     }
 
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void storeBatch( List<ReferenceItem> listReferenceItems, Plugin plugin )
+    {
+        if ( listReferenceItems.isEmpty( ) )
+        {
+            return;
+        }
+
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_UPDATE, plugin ) )
+        {
+            for ( ReferenceItem referenceItem : listReferenceItems )
+            {
+                int nIndex = 1;
+
+                daoUtil.setString( nIndex++, referenceItem.getName( ) );
+                daoUtil.setString( nIndex++, referenceItem.getCode( ) );
+                daoUtil.setInt( nIndex, referenceItem.getId( ) );
+                daoUtil.addBatch( );
+            }
+            daoUtil.executeBatch( );
+        }
+    }
+
     /**
      * {@inheritDoc }
      */
@@ -187,6 +277,85 @@ public final class ReferenceItemDAO implements IReferenceItemDAO
         return referenceItemList;
     }
 
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void selectReferenceItems( int nIdReference, IItemTranslationRowHandler handler, Plugin plugin )
+    {
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_SELECT_ROWS, plugin ) )
+        {
+            daoUtil.setInt( 1, nIdReference );
+
+            daoUtil.executeQuery( );
+
+            while ( daoUtil.next( ) )
+            {
+                int nIndex = 1;
+                int nIdItem = daoUtil.getInt( nIndex++ );
+                String strCode = daoUtil.getString( nIndex++ );
+
+                handler.handleRow( nIdItem, strCode, daoUtil.getString( nIndex ), null, null );
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public List<ReferenceItem> selectReferenceItemsList( int idReference, int nOffset, int nLimit, Plugin plugin )
+    {
+        List<ReferenceItem> referenceItemList = new ArrayList<>( nLimit );
+
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_SELECT_PAGE, plugin ) )
+        {
+            daoUtil.setInt( 1, idReference );
+            daoUtil.setInt( 2, nLimit );
+            daoUtil.setInt( 3, nOffset );
+
+            daoUtil.executeQuery( );
+
+            while ( daoUtil.next( ) )
+            {
+                ReferenceItem referenceItem = new ReferenceItem( );
+                int nIndex = 1;
+
+                referenceItem.setId( daoUtil.getInt( nIndex++ ) );
+                referenceItem.setName( daoUtil.getString( nIndex++ ) );
+                referenceItem.setCode( daoUtil.getString( nIndex++ ) );
+                referenceItem.setIdreference( daoUtil.getInt( nIndex++ ) );
+
+                referenceItemList.add( referenceItem );
+            }
+        }
+
+        return referenceItemList;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int countReferenceItems( int idReference, Plugin plugin )
+    {
+        int nCount = 0;
+
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_COUNT, plugin ) )
+        {
+            daoUtil.setInt( 1, idReference );
+
+            daoUtil.executeQuery( );
+
+            if ( daoUtil.next( ) )
+            {
+                nCount = daoUtil.getInt( 1 );
+            }
+        }
+
+        return nCount;
+    }
+
     /**
      * {@inheritDoc }
      */
@@ -197,8 +366,8 @@ public final class ReferenceItemDAO implements IReferenceItemDAO
 
         try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_SELECT_TRANSLATION, plugin ) )
         {
-            daoUtil.setInt( 1, idReference );
-            daoUtil.setString( 2, strLang );
+            daoUtil.setString( 1, strLang );
+            daoUtil.setInt( 2, idReference );
 
             daoUtil.executeQuery( );
 
@@ -247,6 +416,30 @@ public final class ReferenceItemDAO implements IReferenceItemDAO
         return referenceItemList;
     }
 
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public List<Integer> selectIdReferenceItemsList( int nIdReference, int nLimit, Plugin plugin )
+    {
+        List<Integer> listIdReferenceItems = new ArrayList<>( );
+
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_SELECT_ID_CHUNK, plugin ) )
+        {
+            int nIndex = 1;
+            daoUtil.setInt( nIndex++, nIdReference );
+            daoUtil.setInt( nIndex++, nLimit );
+            daoUtil.executeQuery( );
+
+            while ( daoUtil.next( ) )
+            {
+                listIdReferenceItems.add( daoUtil.getInt( 1 ) );
+            }
+        }
+
+        return listIdReferenceItems;
+    }
+
     /**
      * {@inheritDoc }
      */
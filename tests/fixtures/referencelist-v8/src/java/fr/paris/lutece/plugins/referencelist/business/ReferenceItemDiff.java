@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.business;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import fr.paris.lutece.plugins.referencelist.service.metrics.ReferenceListMetrics;
+
+/**
+ * Compares candidate items with the items of a reference. The existing items are indexed by code once, then each candidate is classified in constant time
+ * as an item to insert, an item to update or a duplicate. Candidates may be fed in several batches before the result is built.
+ */
+public class ReferenceItemDiff
+{
+    private final Map<String, ReferenceItem> _mapExistingItemsByCode;
+    private final Set<String> _setMatchedCodes = new HashSet<>( );
+    private final List<ReferenceItem> _listItemsToInsert = new ArrayList<>( );
+    private final List<ReferenceItem> _listItemsToUpdate = new ArrayList<>( );
+    private int _nDuplicateCount;
+
+    /**
+     * Creates a new diff against the given existing items
+     *
+     * @param listExistingItems
+     *            the items of the reference
+     */
+    public ReferenceItemDiff( List<ReferenceItem> listExistingItems )
+    {
+        _mapExistingItemsByCode = new LinkedHashMap<>( Math.max( 16, (int) ( listExistingItems.size( ) / 0.75f ) + 1 ) );
+
+        for ( ReferenceItem item : listExistingItems )
+        {
+            // the first item wins if the table holds the same code twice
+            _mapExistingItemsByCode.putIfAbsent( item.getCode( ), item );
+        }
+    }
+
+    /**
+     * Classifies a candidate item. A candidate matching an existing item gets its id.
+     *
+     * @param candidateItem
+     *            the candidate item
+     */
+    public void accept( ReferenceItem candidateItem )
+    {
+        ReferenceItem existingItem = _mapExistingItemsByCode.get( candidateItem.getCode( ) );
+
+        if ( existingItem == null )
+        {
+            _listItemsToInsert.add( candidateItem );
+            return;
+        }
+
+        _setMatchedCodes.add( existingItem.getCode( ) );
+
+        if ( existingItem.getName( ).equals( candidateItem.getName( ) ) )
+        {
+            _nDuplicateCount++;
+        }
+        else
+        {
+            candidateItem.setId( existingItem.getId( ) );
+            _listItemsToUpdate.add( candidateItem );
+        }
+    }
+
+    /**
+     * Classifies a batch of candidate items
+     *
+     * @param listCandidateItems
+     *            the candidate items
+     */
+    public void acceptAll( List<ReferenceItem> listCandidateItems )
+    {
+        long lStart = ReferenceListMetrics.start( );
+
+        for ( ReferenceItem candidateItem : listCandidateItems )
+        {
+            accept( candidateItem );
+        }
+
+        ReferenceListMetrics.stop( ReferenceListMetrics.TIMER_IMPORT_COMPARE, lStart );
+    }
+
+    /**
+     * Returns the existing items that no candidate matched so far
+     *
+     * @return the items that are in the reference but not in the candidates
+     */
+    public List<ReferenceItem> getDeleteCandidates( )
+    {
+        List<ReferenceItem> listItemsToDelete = new ArrayList<>( );
+
+        for ( Map.Entry<String, ReferenceItem> entry : _mapExistingItemsByCode.entrySet( ) )
+        {
+            if ( !_setMatchedCodes.contains( entry.getKey( ) ) )
+            {
+                listItemsToDelete.add( entry.getValue( ) );
+            }
+        }
+
+        return listItemsToDelete;
+    }
+
+    /**
+     * Builds the result of the comparison
+     *
+     * @return the compare result
+     */
+    public CompareResult getResult( )
+    {
+        return new CompareResult( _listItemsToInsert, _listItemsToUpdate, _nDuplicateCount, getDeleteCandidates( ) );
+    }
+}
@@ -34,12 +34,22 @@
 package fr.paris.lutece.plugins.referencelist.business;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
 
 import fr.paris.lutece.plugins.referencelist.service.ReferenceItemListenerService;
+import fr.paris.lutece.plugins.referencelist.service.metrics.ReferenceListMetrics;
+import fr.paris.lutece.portal.service.event.EventAction;
 import fr.paris.lutece.portal.service.plugin.Plugin;
 import fr.paris.lutece.portal.service.plugin.PluginService;
+import fr.paris.lutece.portal.service.util.AppException;
 import fr.paris.lutece.util.ReferenceList;
+import fr.paris.lutece.util.sql.TransactionManager;
 import jakarta.enterprise.inject.spi.CDI;
 
 /**
@@ -48,7 +58,8 @@ import jakarta.enterprise.inject.spi.CDI;
 public final class ReferenceItemHome
 {
     // Static variable pointed at the DAO instance
-    private static IReferenceItemDAO _dao = CDI.current( ).select( IReferenceItemDAO.class ).get( );
+    private static IReferenceItemDAO _dao = ReferenceListMetrics.instrument( IReferenceItemDAO.class,
+            CDI.current( ).select( IReferenceItemDAO.class ).get( ) );
 
     private static ITranslationItemDAO _translationDao = CDI.current( ).select( ITranslationItemDAO.class ).get( );
 
@@ -72,7 +83,7 @@ public final class ReferenceItemHome
      */
     public static ReferenceItem create( ReferenceItem referenceItem )
     {
-        _dao.insert( referenceItem, _plugin );
+        ReferenceChangeHome.execute( referenceItem, EventAction.CREATE, ( ) -> _dao.insert( referenceItem, _plugin ) );
         _refItemListenerService.fireAddEvent( referenceItem );
         return referenceItem;
     }
@@ -86,11 +97,108 @@ public final class ReferenceItemHome
      */
     public static ReferenceItem update( ReferenceItem referenceItem )
     {
-        _dao.store( referenceItem, _plugin );
+        ReferenceChangeHome.execute( referenceItem, EventAction.UPDATE, ( ) -> _dao.store( referenceItem, _plugin ) );
         _refItemListenerService.fireUpdateEvent( referenceItem );
         return referenceItem;
     }
 
+    /**
+     * Creates and updates a set of referenceItems within a single transaction. Rows are sent to the database in JDBC batches of the given size, the version
+     * of each reference concerned is incremented once and a single {@link fr.paris.lutece.plugins.referencelist.service.ReferenceItemBatchEvent} is fired
+     * once the transaction is committed.
+     * 
+     * @param listItemsToCreate
+     *            The referenceItems to create, their ids are set once created
+     * @param listItemsToUpdate
+     *            The referenceItems to update
+     * @param nBatchSize
+     *            The maximum number of rows per JDBC batch
+     */
+    public static void createAndUpdate( List<ReferenceItem> listItemsToCreate, List<ReferenceItem> listItemsToUpdate, int nBatchSize )
+    {
+        createAndUpdate( listItemsToCreate, listItemsToUpdate, nBatchSize, nRowsProcessed -> {
+        } );
+    }
+
+    /**
+     * Creates and updates a set of referenceItems within a single transaction, reporting the progress after each JDBC batch.
+     * 
+     * @param listItemsToCreate
+     *            The referenceItems to create, their ids are set once created
+     * @param listItemsToUpdate
+     *            The referenceItems to update
+     * @param nBatchSize
+     *            The maximum number of rows per JDBC batch
+     * @param progressListener
+     *            receives the number of rows sent so far. They are only visible to other connections once all the rows are sent.
+     */
+    public static void createAndUpdate( List<ReferenceItem> listItemsToCreate, List<ReferenceItem> listItemsToUpdate, int nBatchSize,
+            IntConsumer progressListener )
+    {
+        int nChunkSize = Math.max( 1, nBatchSize );
+        int nRowsProcessed = 0;
+
+        TransactionManager.beginTransaction( _plugin );
+
+        try
+        {
+            for ( int i = 0; i < listItemsToCreate.size( ); i += nChunkSize )
+            {
+                List<ReferenceItem> listChunk = listItemsToCreate.subList( i, Math.min( i + nChunkSize, listItemsToCreate.size( ) ) );
+                _dao.insertBatch( listChunk, _plugin );
+                nRowsProcessed += listChunk.size( );
+                progressListener.accept( nRowsProcessed );
+            }
+
+            for ( int i = 0; i < listItemsToUpdate.size( ); i += nChunkSize )
+            {
+                List<ReferenceItem> listChunk = listItemsToUpdate.subList( i, Math.min( i + nChunkSize, listItemsToUpdate.size( ) ) );
+                _dao.storeBatch( listChunk, _plugin );
+                nRowsProcessed += listChunk.size( );
+                progressListener.accept( nRowsProcessed );
+            }
+
+            Map<Integer, List<ReferenceItem>> mapCreated = groupByReference( listItemsToCreate );
+            Map<Integer, List<ReferenceItem>> mapUpdated = groupByReference( listItemsToUpdate );
+            Set<Integer> setReferences = new LinkedHashSet<>( mapCreated.keySet( ) );
+            setReferences.addAll( mapUpdated.keySet( ) );
+
+            for ( Integer nIdReference : setReferences )
+            {
+                ReferenceChangeHome.record( nIdReference, mapCreated.getOrDefault( nIdReference, Collections.emptyList( ) ),
+                        mapUpdated.getOrDefault( nIdReference, Collections.emptyList( ) ), Collections.emptyList( ) );
+            }
+
+            TransactionManager.commitTransaction( _plugin );
+        }
+        catch( Exception e )
+        {
+            TransactionManager.rollBack( _plugin, e );
+            throw new AppException( e.getMessage( ), e );
+        }
+
+        _refItemListenerService.fireBatchEvent( listItemsToCreate, listItemsToUpdate, null );
+    }
+
+    /**
+     * Groups a set of referenceItems by reference
+     * 
+     * @param listItems
+     *            the referenceItems
+     * @return the referenceItems by reference id
+     */
+    private static Map<Integer, List<ReferenceItem>> groupByReference( List<ReferenceItem> listItems )
+    {
+        Map<Integer, List<ReferenceItem>> mapItems = new LinkedHashMap<>( );
+
+        for ( ReferenceItem item : listItems )
+        {
+            mapItems.computeIfAbsent( item.getIdreference( ), nIdReference -> new ArrayList<>( ) ).add( item );
+        }
+
+        return mapItems;
+    }
+
     /**
      * Remove the referenceItem whose identifier is specified in parameter and its translations
      * 
@@ -100,10 +208,12 @@ public final class ReferenceItemHome
     public static void remove( int nKey )
     {
         ReferenceItem item = findByPrimaryKey( nKey );
-        _dao.delete( nKey, _plugin );
-        _refItemListenerService.fireDeleteEvent( item );
 
-        _translationDao.deleteAllFromReferenceItemId( nKey, _plugin );
+        ReferenceChangeHome.execute( item, EventAction.REMOVE, ( ) -> {
+            _dao.delete( nKey, _plugin );
+            _translationDao.deleteAllFromReferenceItemId( nKey, _plugin );
+        } );
+        _refItemListenerService.fireDeleteEvent( item );
     }
 
     /**
@@ -127,6 +237,34 @@ public final class ReferenceItemHome
     {
         return _dao.selectReferenceItemsList( nIdReference, _plugin );
     }
+
+    /**
+     * Load a page of the referenceItem objects of a reference, ordered by code
+     * 
+     * @param nIdReference
+     *            the reference id
+     * @param nOffset
+     *            the number of items to skip
+     * @param nLimit
+     *            the maximum number of items to return
+     * @return the list which contains the data of the referenceItem objects of the page
+     */
+    public static List<ReferenceItem> getReferenceItemsList( int nIdReference, int nOffset, int nLimit )
+    {
+        return _dao.selectReferenceItemsList( nIdReference, nOffset, nLimit, _plugin );
+    }
+
+    /**
+     * Count the referenceItem objects of a reference
+     * 
+     * @param nIdReference
+     *            the reference id
+     * @return the number of referenceItem objects of the reference
+     */
+    public static int countReferenceItems( int nIdReference )
+    {
+        return _dao.countReferenceItems( nIdReference, _plugin );
+    }
     /**
      * Load the data of all the referenceItem objects and returns them as a list
      * @return The list which contains the data of all the referenceItem objects
@@ -150,6 +288,19 @@ public final class ReferenceItemHome
         return _dao.selectReferenceItemsTranslatedList( nIdReference, strLang, _plugin );
     }
 
+    /**
+     * Reads the items of a reference without their translations in a single query, without loading them in memory
+     * 
+     * @param nIdReference
+     *            the reference id
+     * @param handler
+     *            the handler receiving the items as they are read, with no language nor translation
+     */
+    public static void readReferenceItems( int nIdReference, IItemTranslationRowHandler handler )
+    {
+        _dao.selectReferenceItems( nIdReference, handler, _plugin );
+    }
+
     /**
      * Load the id of all the referenceItem objects and returns them as a list
      * 
@@ -185,50 +336,21 @@ public final class ReferenceItemHome
 
     }
 
+    /**
+     * Compares candidate items with the items of a reference
+     * 
+     * @param candidateItems
+     *            The candidate items
+     * @param refId
+     *            The reference id
+     * @return the items to insert, the items to update, the number of duplicates and the items of the reference missing from the candidates
+     */
     public static CompareResult compareReferenceItems( List<ReferenceItem> candidateItems, int refId )
     {
+        ReferenceItemDiff diff = new ReferenceItemDiff( ReferenceItemHome.getReferenceItemsList( refId ) );
+        diff.acceptAll( candidateItems );
 
-        // lists to compare
-        List<ReferenceItem> currentListCandidateItems = candidateItems;
-        List<ReferenceItem> currentListReferenceItems = ReferenceItemHome.getReferenceItemsList( refId );
-
-        // lists to return
-        List<ReferenceItem> updateListCandidateReferenceItems = new ArrayList<>( );
-        List<ReferenceItem> duplicateListCandidateReferenceItems = new ArrayList<>( );
-        List<ReferenceItem> insertListCandidateReferenceItems = new ArrayList<>( );
-
-        // Compare
-        for ( ReferenceItem candidateItem : currentListCandidateItems )
-        {
-            boolean founded = false;
-            for ( ReferenceItem referenceItem : currentListReferenceItems )
-            {
-                // compare codes
-                if ( candidateItem.getCode( ).equals( referenceItem.getCode( ) ) )
-                {
-                    founded = true;
-                    // compare values
-                    if ( candidateItem.getName( ).equals( referenceItem.getName( ) ) )
-                    {
-                        // duplicate candidateItem.
-                        duplicateListCandidateReferenceItems.add( candidateItem );
-                    }
-                    else
-                    {
-                        // candidateItem to update.
-                        candidateItem.setId( referenceItem.getId( ) );
-
-                        updateListCandidateReferenceItems.add( candidateItem );
-                    }
-                }
-            }
-            // candidateItem to insert.
-            if ( !founded )
-            {
-                insertListCandidateReferenceItems.add( candidateItem );
-            }
-        }
-        return new CompareResult( insertListCandidateReferenceItems, updateListCandidateReferenceItems, duplicateListCandidateReferenceItems );
+        return diff.getResult( );
     }
 
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.business;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import fr.paris.lutece.portal.service.database.PluginConnectionService;
+import fr.paris.lutece.portal.service.plugin.Plugin;
+import fr.paris.lutece.portal.service.util.AppException;
+
+/**
+ * Runs a read only query whose rows are streamed from the database instead of being read in memory before the first one is returned. DAOUtil can not be
+ * used : it neither exposes the fetch size of its statement nor lets the query run outside the auto commit mode, both required by the drivers to stream
+ * the rows.
+ */
+final class StreamingQuery
+{
+    private static final String DRIVER_MYSQL = "MySQL Connector";
+    private static final String PARAMETER_CURSOR_FETCH = "useCursorFetch=true";
+
+    /**
+     * Reads the current row of a result set
+     */
+    @FunctionalInterface
+    interface IRowReader
+    {
+        /**
+         * Reads the current row
+         * 
+         * @param resultSet
+         *            the result set, positioned on the row
+         * @throws SQLException
+         *             if a column can not be read
+         */
+        void readRow( ResultSet resultSet ) throws SQLException;
+    }
+
+    /**
+     * Private constructor
+     */
+    private StreamingQuery( )
+    {
+    }
+
+    /**
+     * Runs a query without parameters, passing its rows to a reader as they are fetched from the database
+     * 
+     * @param strSql
+     *            the query
+     * @param nFetchSize
+     *            the number of rows fetched from the database at a time
+     * @param reader
+     *            the reader of the rows
+     * @param plugin
+     *            the Plugin
+     */
+    static void execute( String strSql, int nFetchSize, IRowReader reader, Plugin plugin )
+    {
+        PluginConnectionService connectionService = plugin.getConnectionService( );
+        Connection connection = connectionService.getConnection( );
+
+        try
+        {
+            boolean bAutoCommit = connection.getAutoCommit( );
+
+            // PostgreSQL only fetches the rows by blocks inside a transaction
+            connection.setAutoCommit( false );
+
+            try ( PreparedStatement statement = connection.prepareStatement( strSql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY ) )
+            {
+                DatabaseMetaData metaData = connection.getMetaData( );
+                statement.setFetchSize( getFetchSize( metaData.getDriverName( ), metaData.getURL( ), nFetchSize ) );
+
+                try ( ResultSet resultSet = statement.executeQuery( ) )
+                {
+                    while ( resultSet.next( ) )
+                    {
+                        reader.readRow( resultSet );
+                    }
+                }
+            }
+            finally
+            {
+                connection.rollback( );
+                connection.setAutoCommit( bAutoCommit );
+            }
+        }
+        catch( SQLException e )
+        {
+            throw new AppException( e.getMessage( ), e );
+        }
+        finally
+        {
+            connectionService.freeConnection( connection );
+        }
+    }
+
+    /**
+     * Gives the fetch size to set on a statement of a driver. MySQL Connector/J ignores a positive fetch size and reads the whole result unless the
+     * connection uses a server cursor (useCursorFetch=true) : otherwise the result is streamed row by row, the only mode it offers with Integer.MIN_VALUE.
+     * 
+     * @param strDriverName
+     *            the name of the JDBC driver
+     * @param strUrl
+     *            the URL of the connection, may be null
+     * @param nFetchSize
+     *            the number of rows fetched from the database at a time
+     * @return the fetch size to set on the statement
+     */
+    static int getFetchSize( String strDriverName, String strUrl, int nFetchSize )
+    {
+        if ( strDriverName != null && strDriverName.startsWith( DRIVER_MYSQL ) && ( strUrl == null || !strUrl.contains( PARAMETER_CURSOR_FETCH ) ) )
+        {
+            return Integer.MIN_VALUE;
+        }
+
+        return nFetchSize;
+    }
+}
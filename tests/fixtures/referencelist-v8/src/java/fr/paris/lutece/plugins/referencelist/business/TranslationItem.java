@@ -53,6 +53,8 @@ public class TranslationItem implements Serializable
 
     private int _nIdItem;
 
+    private String _strCode;
+
     /**
      * Returns the Id
      * 
@@ -151,4 +153,21 @@ public class TranslationItem implements Serializable
         this._nIdItem = nIdItem;
     }
 
+    /**
+     * @return the code of the reference item
+     */
+    public String getCode( )
+    {
+        return _strCode;
+    }
+
+    /**
+     * @param strCode
+     *            the code of the reference item to set
+     */
+    public void setCode( String strCode )
+    {
+        this._strCode = strCode;
+    }
+
 }
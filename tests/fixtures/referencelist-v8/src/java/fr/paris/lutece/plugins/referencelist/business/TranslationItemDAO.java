@@ -58,9 +58,12 @@ public final class TranslationItemDAO implements ITranslationItemDAO
     private static final String SQL_QUERY_SELECTALL = SQL_QUERY_SELECT + " and i.idreference = ? ORDER BY t.lang, i.name";
     private static final String SQL_QUERY_SELECTONE = SQL_QUERY_SELECT + " and t.id_translation = ?";
 
+    private static final String SQL_QUERY_SELECT_WITH_TRANSLATIONS = "SELECT i.id_reference_item, i.code, i.name, t.lang, t.name FROM referencelist_item i LEFT OUTER JOIN referencelist_translation t "
+            + " ON i.id_reference_item = t.id_reference_item WHERE i.idreference = ? ORDER BY i.id_reference_item, t.lang";
+    private static final String SQL_QUERY_SELECT_ALL_WITH_TRANSLATIONS = "SELECT i.idreference, i.id_reference_item, i.code, i.name, t.lang, t.name FROM referencelist_item i LEFT OUTER JOIN referencelist_translation t "
+            + " ON i.id_reference_item = t.id_reference_item ORDER BY i.idreference, i.id_reference_item, t.lang";
+
     private static final String SQL_QUERY_DELETE_ALL_FROM_REFERENCE_ITEM_ID = "DELETE FROM referencelist_translation WHERE id_reference_item = ? ";
-    private static final String SQL_QUERY_DELETE_ALL_FROM_REFERENCE_ID = "DELETE FROM referencelist_translation WHERE id_reference_item IN ( "
-            + "SELECT id_reference_item FROM referencelist_item WHERE idreference = ?) AND id_translation > 0";
 
     /**
      * {@inheritDoc }
@@ -132,9 +135,9 @@ public final class TranslationItemDAO implements ITranslationItemDAO
      * {@inheritDoc }
      */
     @Override
-    public void deleteAllFromReferenceId( int nId, Plugin plugin )
+    public void deleteAllFromReferenceItemId( int nId, Plugin plugin )
     {
-        String query = SQL_QUERY_DELETE_ALL_FROM_REFERENCE_ID;
+        String query = SQL_QUERY_DELETE_ALL_FROM_REFERENCE_ITEM_ID;
 
         try ( DAOUtil daoUtil = new DAOUtil( query, plugin ) )
         {
@@ -147,14 +150,21 @@ public final class TranslationItemDAO implements ITranslationItemDAO
      * {@inheritDoc }
      */
     @Override
-    public void deleteAllFromReferenceItemId( int nId, Plugin plugin )
+    public void deleteAllFromReferenceItemIds( List<Integer> listIdReferenceItems, Plugin plugin )
     {
-        String query = SQL_QUERY_DELETE_ALL_FROM_REFERENCE_ITEM_ID;
+        if ( listIdReferenceItems.isEmpty( ) )
+        {
+            return;
+        }
 
-        try ( DAOUtil daoUtil = new DAOUtil( query, plugin ) )
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_DELETE_ALL_FROM_REFERENCE_ITEM_ID, plugin ) )
         {
-            daoUtil.setInt( 1, nId );
-            daoUtil.executeUpdate( );
+            for ( Integer nIdReferenceItem : listIdReferenceItems )
+            {
+                daoUtil.setInt( 1, nIdReferenceItem );
+                daoUtil.addBatch( );
+            }
+            daoUtil.executeBatch( );
         }
     }
 
@@ -209,4 +219,70 @@ public final class TranslationItemDAO implements ITranslationItemDAO
         return listTranslationItems;
     }
 
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public List<TranslationItem> selectItemsWithTranslations( int nIdReference, Plugin plugin )
+    {
+        List<TranslationItem> listTranslationItems = new ArrayList<>( );
+
+        selectItemsWithTranslations( nIdReference, ( nIdItem, strCode, strName, strLang, strTranslation ) -> {
+            TranslationItem item = new TranslationItem( );
+
+            item.setIdItem( nIdItem );
+            item.setCode( strCode );
+            item.setName( strName );
+            item.setLang( strLang );
+            item.setTranslation( strTranslation );
+
+            listTranslationItems.add( item );
+        }, plugin );
+
+        return listTranslationItems;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void selectItemsWithTranslations( int nIdReference, IItemTranslationRowHandler handler, Plugin plugin )
+    {
+        try ( DAOUtil daoUtil = new DAOUtil( SQL_QUERY_SELECT_WITH_TRANSLATIONS, plugin ) )
+        {
+            daoUtil.setInt( 1, nIdReference );
+
+            daoUtil.executeQuery( );
+
+            while ( daoUtil.next( ) )
+            {
+                int nIndex = 1;
+                int nIdItem = daoUtil.getInt( nIndex++ );
+                String strCode = daoUtil.getString( nIndex++ );
+                String strName = daoUtil.getString( nIndex++ );
+                String strLang = daoUtil.getString( nIndex++ );
+
+                handler.handleRow( nIdItem, strCode, strName, strLang, daoUtil.getString( nIndex ) );
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void selectAllItemsWithTranslations( int nFetchSize, IReferenceTranslationRowHandler handler, Plugin plugin )
+    {
+        StreamingQuery.execute( SQL_QUERY_SELECT_ALL_WITH_TRANSLATIONS, nFetchSize, resultSet -> {
+            int nIndex = 1;
+            int nIdReference = resultSet.getInt( nIndex++ );
+            int nIdItem = resultSet.getInt( nIndex++ );
+            String strCode = resultSet.getString( nIndex++ );
+            String strName = resultSet.getString( nIndex++ );
+            String strLang = resultSet.getString( nIndex++ );
+
+            handler.handleRow( nIdReference, nIdItem, strCode, strName, strLang, resultSet.getString( nIndex ) );
+        }, plugin );
+    }
+
 }
@@ -35,6 +35,10 @@ package fr.paris.lutece.plugins.referencelist.business;
 
 import java.util.List;
 
+import fr.paris.lutece.plugins.referencelist.service.TranslationItemEvent;
+import fr.paris.lutece.plugins.referencelist.service.metrics.ReferenceListMetrics;
+import fr.paris.lutece.portal.service.event.EventAction;
+import fr.paris.lutece.portal.service.event.Type.TypeQualifier;
 import fr.paris.lutece.portal.service.plugin.Plugin;
 import fr.paris.lutece.portal.service.plugin.PluginService;
 import jakarta.enterprise.inject.spi.CDI;
@@ -45,7 +49,10 @@ import jakarta.enterprise.inject.spi.CDI;
 public final class TranslationItemHome
 {
     // Static variable pointed at the DAO instance
-    private static ITranslationItemDAO _dao = CDI.current( ).select( ITranslationItemDAO.class ).get( );
+    private static ITranslationItemDAO _dao = ReferenceListMetrics.instrument( ITranslationItemDAO.class,
+            CDI.current( ).select( ITranslationItemDAO.class ).get( ) );
+
+    private static IReferenceItemDAO _itemDao = CDI.current( ).select( IReferenceItemDAO.class ).get( );
 
     private static Plugin _plugin = PluginService.getPlugin( "referencelist" );
 
@@ -57,7 +64,7 @@ public final class TranslationItemHome
     }
 
     /**
-     * Create an instance of the translationItem class
+     * Create an instance of the translationItem class. The translated item is logged as updated in the change log of its reference.
      * 
      * @param translationItem
      *            The instance of the TranslationItem which contains the informations to store
@@ -65,13 +72,16 @@ public final class TranslationItemHome
      */
     public static TranslationItem create( TranslationItem translationItem )
     {
-        _dao.insert( translationItem, _plugin );
+        ReferenceItem item = _itemDao.load( translationItem.getIdItem( ), _plugin );
+
+        ReferenceChangeHome.execute( item, EventAction.UPDATE, ( ) -> _dao.insert( translationItem, _plugin ) );
+        fireTranslationItemEvent( translationItem, item, EventAction.CREATE );
 
         return translationItem;
     }
 
     /**
-     * Update of the translationItem which is specified in parameter
+     * Update of the translationItem which is specified in parameter. The translated item is logged as updated in the change log of its reference.
      * 
      * @param translationItem
      *            The instance of the TranslationItem which contains the data to store
@@ -79,20 +89,34 @@ public final class TranslationItemHome
      */
     public static TranslationItem update( TranslationItem translationItem )
     {
-        _dao.store( translationItem, _plugin );
+        ReferenceItem item = _itemDao.load( translationItem.getIdItem( ), _plugin );
+
+        ReferenceChangeHome.execute( item, EventAction.UPDATE, ( ) -> _dao.store( translationItem, _plugin ) );
+        fireTranslationItemEvent( translationItem, item, EventAction.UPDATE );
 
         return translationItem;
     }
 
     /**
-     * Remove the translationItem whose identifier is specified in parameter
+     * Remove the translationItem whose identifier is specified in parameter. The translated item is logged as updated in the change log of its reference.
      * 
      * @param nKey
      *            The translationItem Id
      */
     public static void remove( int nKey )
     {
-        _dao.delete( nKey, _plugin );
+        TranslationItem translationItem = findByPrimaryKey( nKey );
+
+        if ( translationItem == null )
+        {
+            _dao.delete( nKey, _plugin );
+            return;
+        }
+
+        ReferenceItem item = _itemDao.load( translationItem.getIdItem( ), _plugin );
+
+        ReferenceChangeHome.execute( item, EventAction.UPDATE, ( ) -> _dao.delete( nKey, _plugin ) );
+        fireTranslationItemEvent( translationItem, item, EventAction.REMOVE );
     }
 
     /**
@@ -117,4 +141,60 @@ public final class TranslationItemHome
         return _dao.selectTranslationItems( nIdReference, _plugin );
     }
 
+    /**
+     * Load all the items of a reference with all their translations in a single query
+     * 
+     * @param nIdReference
+     *            the reference id
+     * @return the items with their code, default name, language and translation. An item without translation has a null language.
+     */
+    public static List<TranslationItem> getItemsWithTranslations( int nIdReference )
+    {
+        return _dao.selectItemsWithTranslations( nIdReference, _plugin );
+    }
+
+    /**
+     * Reads all the items of a reference with all their translations in a single query, without loading them in memory
+     * 
+     * @param nIdReference
+     *            the reference id
+     * @param handler
+     *            the handler receiving the rows as they are read
+     */
+    public static void readItemsWithTranslations( int nIdReference, IItemTranslationRowHandler handler )
+    {
+        _dao.selectItemsWithTranslations( nIdReference, handler, _plugin );
+    }
+
+    /**
+     * Reads the items of all the references with all their translations in a single query ordered by reference, without loading them in memory
+     * 
+     * @param nFetchSize
+     *            the number of rows fetched from the database at a time
+     * @param handler
+     *            the handler receiving the rows as they are read
+     */
+    public static void readAllItemsWithTranslations( int nFetchSize, IReferenceTranslationRowHandler handler )
+    {
+        _dao.selectAllItemsWithTranslations( nFetchSize, handler, _plugin );
+    }
+
+    /**
+     * Notifies the observers of a change on a translation. The event is fired synchronously so that caches are up to date when the call returns.
+     * 
+     * @param translationItem
+     *            The translation item
+     * @param item
+     *            The translated item, null if it does not exist
+     * @param action
+     *            The action performed on the translation item
+     */
+    private static void fireTranslationItemEvent( TranslationItem translationItem, ReferenceItem item, EventAction action )
+    {
+        int nIdReference = ( item != null ) ? item.getIdreference( ) : 0;
+
+        CDI.current( ).getBeanManager( ).getEvent( ).select( TranslationItemEvent.class, new TypeQualifier( action ) )
+                .fire( new TranslationItemEvent( translationItem, nIdReference ) );
+    }
+
 }
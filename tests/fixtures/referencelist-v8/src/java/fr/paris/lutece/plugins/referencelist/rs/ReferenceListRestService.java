@@ -0,0 +1,562 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.rs;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import fr.paris.lutece.plugins.referencelist.business.ReferenceChange;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceChangeHome;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+import fr.paris.lutece.plugins.referencelist.service.ReferenceLabels;
+import fr.paris.lutece.plugins.referencelist.service.ReferenceRegistry;
+import fr.paris.lutece.plugins.referencelist.service.ReferenceTranslationService;
+import fr.paris.lutece.plugins.referencelist.service.ReferenceWarmUpService;
+import fr.paris.lutece.plugins.referencelist.service.search.ReferenceSearchService;
+import fr.paris.lutece.plugins.referencelist.service.snapshot.ReferenceSnapshotService;
+import fr.paris.lutece.plugins.referencelist.service.snapshot.SnapshotFormat;
+import fr.paris.lutece.portal.service.event.EventAction;
+import fr.paris.lutece.portal.service.util.AppPropertiesService;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+
+/**
+ * Read only REST access to the reference lists : <code>GET /rest/referencelist/{name}?lang=fr&amp;offset=0&amp;limit=100</code>. <br>
+ * The items are served from the labels kept in memory by the {@link ReferenceTranslationService}. Each response carries a strong ETag built from the
+ * version of the reference the labels were read at, so that a conditional request on an unchanged reference is answered with a 304 without building any
+ * content. Responses are gzip compressed when the client accepts it. <br>
+ * A client holding a reference at a given version gets the items changed since with <code>GET /rest/referencelist/{name}/changes?since=12</code>, or a
+ * 410 if that version is not in the change log anymore and the whole reference must be reloaded. <br>
+ * A whole reference with all its translations is downloaded as a gzip compressed snapshot with
+ * <code>GET /rest/referencelist/{name}/snapshot?format=binary</code>, JSON lines by default. Its ETag is built from the version of the reference as
+ * well. <br>
+ * Autocomplete widgets search the items with <code>GET /rest/referencelist/{name}/search?q=par&amp;lang=fr&amp;limit=10</code>. <br>
+ * Load balancers probe <code>GET /rest/referencelist/_ready</code>, answered with a 503 while the references are warmed up at startup.
+ */
+@Path( "/referencelist" )
+@RequestScoped
+public class ReferenceListRestService
+{
+    private static final String PATH_NAME = "name";
+    private static final String PARAMETER_LANG = "lang";
+    private static final String PARAMETER_OFFSET = "offset";
+    private static final String PARAMETER_LIMIT = "limit";
+    private static final String PARAMETER_SINCE = "since";
+    private static final String PATH_CHANGES = "changes";
+    private static final String PARAMETER_QUERY = "q";
+    private static final String PATH_SEARCH = "search";
+    private static final String PATH_READY = "_ready";
+    private static final String PATH_SNAPSHOT = "snapshot";
+    private static final String PARAMETER_FORMAT = "format";
+    private static final String FORMAT_BINARY = "binary";
+    private static final String MEDIA_TYPE_GZIP = "application/gzip";
+    private static final String HEADER_CONTENT_DISPOSITION = "Content-Disposition";
+    private static final String PROPERTY_SEARCH_MAX_RESULTS = "referencelist.search.maxResults";
+    private static final int DEFAULT_SEARCH_MAX_RESULTS = 50;
+    private static final String ENCODING_GZIP = "gzip";
+    private static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
+    private static final String HEADER_VARY = "Vary";
+    private static final String ETAG_SEPARATOR = "-";
+    private static final String FIELD_NAME = "name";
+    private static final String FIELD_VERSION = "version";
+    private static final String FIELD_TOTAL = "total";
+    private static final String FIELD_OFFSET = "offset";
+    private static final String FIELD_ITEMS = "items";
+    private static final String FIELD_CODE = "code";
+    private static final String FIELD_SINCE = "since";
+    private static final String FIELD_CHANGES = "changes";
+    private static final String FIELD_ACTION = "action";
+    private static final String FIELD_READY = "ready";
+    private static final String FIELD_LOADED = "loaded";
+    private static final String FIELD_FAILED = "failed";
+    private static final String FIELD_DURATION = "durationMillis";
+    private static final int BUFFER_SIZE = 8192;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory( ).disable( JsonGenerator.Feature.AUTO_CLOSE_TARGET );
+
+    @Inject
+    private ReferenceRegistry _registry;
+
+    @Inject
+    private ReferenceTranslationService _translationService;
+
+    @Inject
+    private ReferenceSearchService _searchService;
+
+    @Inject
+    private ReferenceWarmUpService _warmUpService;
+
+    @Inject
+    private ReferenceSnapshotService _snapshotService;
+
+    /**
+     * Tells whether the references are loaded
+     *
+     * @return the progress of the warm-up as JSON, with a 503 while it is running
+     */
+    @GET
+    @Path( PATH_READY )
+    @Produces( MediaType.APPLICATION_JSON )
+    public Response getReadiness( )
+    {
+        boolean bReady = _warmUpService.isReady( );
+        int nTotal = _warmUpService.getTotalCount( );
+        int nLoaded = _warmUpService.getWarmedCount( );
+        int nFailed = _warmUpService.getFailedCount( );
+        long lDuration = _warmUpService.getDurationMillis( );
+        CacheControl cacheControl = new CacheControl( );
+        cacheControl.setNoStore( true );
+
+        return Response.status( bReady ? Response.Status.OK : Response.Status.SERVICE_UNAVAILABLE ).cacheControl( cacheControl )
+                .entity( (StreamingOutput) out -> writeReadiness( out, bReady, nTotal, nLoaded, nFailed, lDuration ) ).build( );
+    }
+
+    /**
+     * Returns the items of a reference
+     *
+     * @param strName
+     *            the reference name
+     * @param strLang
+     *            the language of the labels, the default names if missing
+     * @param nOffset
+     *            the position of the first item returned
+     * @param nLimit
+     *            the maximum number of items returned, 0 for all the items
+     * @param request
+     *            the request, holding the conditions
+     * @param headers
+     *            the headers of the request
+     * @return the items as JSON, 304 if the client has them already, 404 if the reference does not exist
+     */
+    @GET
+    @Path( "{" + PATH_NAME + "}" )
+    @Produces( MediaType.APPLICATION_JSON )
+    public Response getReferenceList( @PathParam( PATH_NAME ) String strName, @QueryParam( PARAMETER_LANG ) String strLang,
+            @QueryParam( PARAMETER_OFFSET ) @DefaultValue( "0" ) int nOffset, @QueryParam( PARAMETER_LIMIT ) @DefaultValue( "0" ) int nLimit,
+            @Context Request request, @Context HttpHeaders headers )
+    {
+        int nIdReference = _registry.getIdByName( strName );
+
+        if ( nIdReference == ReferenceRegistry.NOT_FOUND )
+        {
+            return Response.status( Response.Status.NOT_FOUND ).build( );
+        }
+
+        if ( nOffset < 0 || nLimit < 0 )
+        {
+            return Response.status( Response.Status.BAD_REQUEST ).build( );
+        }
+
+        ReferenceLabels labels = _translationService.getLabels( nIdReference );
+        boolean bGzip = acceptsGzip( headers );
+        EntityTag etag = new EntityTag( String.join( ETAG_SEPARATOR, String.valueOf( nIdReference ), String.valueOf( labels.getVersion( ) ),
+                ( strLang == null ) ? "" : strLang, String.valueOf( nOffset ), String.valueOf( nLimit ), bGzip ? ENCODING_GZIP : "" ) );
+        CacheControl cacheControl = new CacheControl( );
+        cacheControl.setNoCache( true );
+
+        Response.ResponseBuilder builder = request.evaluatePreconditions( etag );
+
+        if ( builder == null )
+        {
+            builder = Response.ok( (StreamingOutput) out -> writeItems( out, bGzip, strName, labels, strLang, nOffset, nLimit ) );
+
+            if ( bGzip )
+            {
+                builder.header( HEADER_CONTENT_ENCODING, ENCODING_GZIP );
+            }
+        }
+
+        return builder.tag( etag ).cacheControl( cacheControl ).header( HEADER_VARY, HttpHeaders.ACCEPT_ENCODING ).build( );
+    }
+
+    /**
+     * Returns the items of a reference changed since a version, up to the version of the labels served by {@link #getReferenceList}
+     *
+     * @param strName
+     *            the reference name
+     * @param strLang
+     *            the language of the labels, the default names if missing
+     * @param lSince
+     *            the version held by the client
+     * @param headers
+     *            the headers of the request
+     * @return the changes as JSON, 404 if the reference does not exist, 410 if the changes are not in the change log anymore
+     */
+    @GET
+    @Path( "{" + PATH_NAME + "}/" + PATH_CHANGES )
+    @Produces( MediaType.APPLICATION_JSON )
+    public Response getChanges( @PathParam( PATH_NAME ) String strName, @QueryParam( PARAMETER_LANG ) String strLang,
+            @QueryParam( PARAMETER_SINCE ) @DefaultValue( "0" ) long lSince, @Context HttpHeaders headers )
+    {
+        int nIdReference = _registry.getIdByName( strName );
+
+        if ( nIdReference == ReferenceRegistry.NOT_FOUND )
+        {
+            return Response.status( Response.Status.NOT_FOUND ).build( );
+        }
+
+        // the labels are read first, so that the names are never older than the changes
+        ReferenceLabels labels = _translationService.getLabels( nIdReference );
+        List<ReferenceChange> listChanges = ReferenceChangeHome.getChanges( nIdReference, lSince, labels.getVersion( ) );
+
+        if ( listChanges == null )
+        {
+            return Response.status( Response.Status.GONE ).build( );
+        }
+
+        boolean bGzip = acceptsGzip( headers );
+        CacheControl cacheControl = new CacheControl( );
+        cacheControl.setNoCache( true );
+
+        Response.ResponseBuilder builder = Response
+                .ok( (StreamingOutput) out -> writeChanges( out, bGzip, strName, labels, strLang, lSince, listChanges ) );
+
+        if ( bGzip )
+        {
+            builder.header( HEADER_CONTENT_ENCODING, ENCODING_GZIP );
+        }
+
+        return builder.cacheControl( cacheControl ).header( HEADER_VARY, HttpHeaders.ACCEPT_ENCODING ).build( );
+    }
+
+    /**
+     * Returns the snapshot of a reference with all its translations. The etag is read from the version of the reference, so that a conditional request
+     * on an unchanged reference is answered with a 304 without reading any item.
+     *
+     * @param strName
+     *            the reference name
+     * @param strFormat
+     *            binary for the binary format, JSON lines otherwise
+     * @param request
+     *            the request, holding the conditions
+     * @param headers
+     *            the headers of the request
+     * @return the snapshot, 304 if the client has it already, 404 if the reference does not exist
+     */
+    @GET
+    @Path( "{" + PATH_NAME + "}/" + PATH_SNAPSHOT )
+    public Response getSnapshot( @PathParam( PATH_NAME ) String strName, @QueryParam( PARAMETER_FORMAT ) String strFormat, @Context Request request,
+            @Context HttpHeaders headers )
+    {
+        int nIdReference = _registry.getIdByName( strName );
+        String strETag = ( nIdReference == ReferenceRegistry.NOT_FOUND ) ? null : _snapshotService.getETag( nIdReference );
+
+        if ( strETag == null )
+        {
+            return Response.status( Response.Status.NOT_FOUND ).build( );
+        }
+
+        SnapshotFormat format = FORMAT_BINARY.equals( strFormat ) ? SnapshotFormat.BINARY : SnapshotFormat.JSON_LINES;
+        boolean bGzip = acceptsGzip( headers );
+        EntityTag etag = new EntityTag( String.join( ETAG_SEPARATOR, strETag, format.getExtension( ), bGzip ? ENCODING_GZIP : "" ) );
+        CacheControl cacheControl = new CacheControl( );
+        cacheControl.setNoCache( true );
+
+        Response.ResponseBuilder builder = request.evaluatePreconditions( etag );
+
+        if ( builder == null )
+        {
+            builder = Response.ok( (StreamingOutput) out -> _snapshotService.export( nIdReference, format, out ) );
+
+            // the snapshot is compressed already : it is sent as is, either decoded by the client or saved as a gzip file
+            if ( bGzip )
+            {
+                builder.type( format.getContentType( ) ).header( HEADER_CONTENT_ENCODING, ENCODING_GZIP );
+            }
+            else
+            {
+                builder.type( MEDIA_TYPE_GZIP ).header( HEADER_CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + strName.replace( "\"", "" ) + "." + format.getExtension( ) + "\"" );
+            }
+        }
+
+        return builder.tag( etag ).cacheControl( cacheControl ).header( HEADER_VARY, HttpHeaders.ACCEPT_ENCODING ).build( );
+    }
+
+    /**
+     * Searches the items of a reference whose label or code starts with a text, then the items having a word of their label starting with it
+     *
+     * @param strName
+     *            the reference name
+     * @param strQuery
+     *            the text typed
+     * @param strLang
+     *            the language of the labels, the default names if missing
+     * @param nLimit
+     *            the maximum number of items, bounded by the referencelist.search.maxResults property
+     * @return the items as JSON, 404 if the reference does not exist
+     */
+    @GET
+    @Path( "{" + PATH_NAME + "}/" + PATH_SEARCH )
+    @Produces( MediaType.APPLICATION_JSON )
+    public Response search( @PathParam( PATH_NAME ) String strName, @QueryParam( PARAMETER_QUERY ) String strQuery,
+            @QueryParam( PARAMETER_LANG ) String strLang, @QueryParam( PARAMETER_LIMIT ) @DefaultValue( "10" ) int nLimit )
+    {
+        int nIdReference = _registry.getIdByName( strName );
+
+        if ( nIdReference == ReferenceRegistry.NOT_FOUND )
+        {
+            return Response.status( Response.Status.NOT_FOUND ).build( );
+        }
+
+        if ( nLimit < 0 )
+        {
+            return Response.status( Response.Status.BAD_REQUEST ).build( );
+        }
+
+        int nMax = Math.min( nLimit, AppPropertiesService.getPropertyInt( PROPERTY_SEARCH_MAX_RESULTS, DEFAULT_SEARCH_MAX_RESULTS ) );
+        List<ReferenceItem> listItems = _searchService.search( nIdReference, strQuery, strLang, nMax );
+
+        return Response.ok( (StreamingOutput) out -> writeSearchResults( out, strName, listItems ) ).build( );
+    }
+
+    /**
+     * Tells whether the client accepts gzip compressed responses
+     *
+     * @param headers
+     *            the headers of the request
+     * @return true if gzip is accepted
+     */
+    private static boolean acceptsGzip( HttpHeaders headers )
+    {
+        List<String> listEncodings = headers.getRequestHeader( HttpHeaders.ACCEPT_ENCODING );
+
+        if ( listEncodings != null )
+        {
+            for ( String strEncodings : listEncodings )
+            {
+                if ( strEncodings.contains( ENCODING_GZIP ) )
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Writes a page of items
+     *
+     * @param out
+     *            the output stream of the response
+     * @param bGzip
+     *            true to compress the content
+     * @param strName
+     *            the reference name
+     * @param labels
+     *            the labels of the reference
+     * @param strLang
+     *            the language of the labels
+     * @param nOffset
+     *            the position of the first item
+     * @param nLimit
+     *            the maximum number of items, 0 for all
+     * @throws IOException
+     *             if the response can not be written
+     */
+    private static void writeItems( OutputStream out, boolean bGzip, String strName, ReferenceLabels labels, String strLang, int nOffset, int nLimit )
+            throws IOException
+    {
+        OutputStream content = bGzip ? new GZIPOutputStream( out, BUFFER_SIZE ) : out;
+        int nEnd = ( nLimit == 0 ) ? labels.size( ) : (int) Math.min( labels.size( ), (long) nOffset + nLimit );
+
+        try ( JsonGenerator generator = JSON_FACTORY.createGenerator( content ) )
+        {
+            generator.writeStartObject( );
+            generator.writeStringField( FIELD_NAME, strName );
+            generator.writeNumberField( FIELD_VERSION, labels.getVersion( ) );
+            generator.writeNumberField( FIELD_TOTAL, labels.size( ) );
+            generator.writeNumberField( FIELD_OFFSET, nOffset );
+            generator.writeArrayFieldStart( FIELD_ITEMS );
+
+            for ( int i = nOffset; i < nEnd; i++ )
+            {
+                generator.writeStartObject( );
+                generator.writeStringField( FIELD_CODE, labels.getCode( i ) );
+                generator.writeStringField( FIELD_NAME, labels.getLabelAt( i, strLang ) );
+                generator.writeEndObject( );
+            }
+
+            generator.writeEndArray( );
+            generator.writeEndObject( );
+        }
+
+        if ( bGzip )
+        {
+            ( (GZIPOutputStream) content ).finish( );
+        }
+    }
+
+    /**
+     * Writes the changes of a reference
+     *
+     * @param out
+     *            the output stream of the response
+     * @param bGzip
+     *            true to compress the content
+     * @param strName
+     *            the reference name
+     * @param labels
+     *            the labels of the reference
+     * @param strLang
+     *            the language of the labels
+     * @param lSince
+     *            the version held by the client
+     * @param listChanges
+     *            the changes
+     * @throws IOException
+     *             if the response can not be written
+     */
+    private static void writeChanges( OutputStream out, boolean bGzip, String strName, ReferenceLabels labels, String strLang, long lSince,
+            List<ReferenceChange> listChanges ) throws IOException
+    {
+        OutputStream content = bGzip ? new GZIPOutputStream( out, BUFFER_SIZE ) : out;
+
+        try ( JsonGenerator generator = JSON_FACTORY.createGenerator( content ) )
+        {
+            generator.writeStartObject( );
+            generator.writeStringField( FIELD_NAME, strName );
+            generator.writeNumberField( FIELD_VERSION, labels.getVersion( ) );
+            generator.writeNumberField( FIELD_SINCE, lSince );
+            generator.writeArrayFieldStart( FIELD_CHANGES );
+
+            for ( ReferenceChange change : listChanges )
+            {
+                generator.writeStartObject( );
+                generator.writeStringField( FIELD_ACTION, change.getAction( ).name( ).toLowerCase( Locale.ROOT ) );
+                generator.writeStringField( FIELD_CODE, change.getCode( ) );
+
+                if ( change.getAction( ) != EventAction.REMOVE )
+                {
+                    String strLabel = labels.getLabel( change.getCode( ), strLang );
+                    generator.writeStringField( FIELD_NAME, ( strLabel != null ) ? strLabel : change.getName( ) );
+                }
+                generator.writeEndObject( );
+            }
+
+            generator.writeEndArray( );
+            generator.writeEndObject( );
+        }
+
+        if ( bGzip )
+        {
+            ( (GZIPOutputStream) content ).finish( );
+        }
+    }
+
+    /**
+     * Writes the items found by a search
+     *
+     * @param out
+     *            the output stream of the response
+     * @param strName
+     *            the reference name
+     * @param listItems
+     *            the items found
+     * @throws IOException
+     *             if the response can not be written
+     */
+    private static void writeSearchResults( OutputStream out, String strName, List<ReferenceItem> listItems ) throws IOException
+    {
+        try ( JsonGenerator generator = JSON_FACTORY.createGenerator( out ) )
+        {
+            generator.writeStartObject( );
+            generator.writeStringField( FIELD_NAME, strName );
+            generator.writeArrayFieldStart( FIELD_ITEMS );
+
+            for ( ReferenceItem item : listItems )
+            {
+                generator.writeStartObject( );
+                generator.writeStringField( FIELD_CODE, item.getCode( ) );
+                generator.writeStringField( FIELD_NAME, item.getName( ) );
+                generator.writeEndObject( );
+            }
+
+            generator.writeEndArray( );
+            generator.writeEndObject( );
+        }
+    }
+
+    /**
+     * Writes the progress of the warm-up
+     *
+     * @param out
+     *            the output stream of the response
+     * @param bReady
+     *            true if the references are loaded
+     * @param nTotal
+     *            the number of references to load
+     * @param nLoaded
+     *            the number of references loaded
+     * @param nFailed
+     *            the number of references that failed to load
+     * @param lDuration
+     *            the duration of the warm-up in milliseconds, 0 while running
+     * @throws IOException
+     *             if the response can not be written
+     */
+    private static void writeReadiness( OutputStream out, boolean bReady, int nTotal, int nLoaded, int nFailed, long lDuration ) throws IOException
+    {
+        try ( JsonGenerator generator = JSON_FACTORY.createGenerator( out ) )
+        {
+            generator.writeStartObject( );
+            generator.writeBooleanField( FIELD_READY, bReady );
+            generator.writeNumberField( FIELD_TOTAL, nTotal );
+            generator.writeNumberField( FIELD_LOADED, nLoaded );
+            generator.writeNumberField( FIELD_FAILED, nFailed );
+            generator.writeNumberField( FIELD_DURATION, lDuration );
+            generator.writeEndObject( );
+        }
+    }
+}
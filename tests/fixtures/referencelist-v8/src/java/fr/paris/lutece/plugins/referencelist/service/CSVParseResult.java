@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+/**
+ * Result of the parsing of an import file : counters and validation errors. The candidate items themselves are handed over batch by batch while parsing.
+ */
+public class CSVParseResult
+{
+    private final StringBuilder _sbErrors = new StringBuilder( );
+    private int _nRecordCount;
+    private int _nCandidateCount;
+    private int _nErrorCount;
+
+    /**
+     * Returns the number of records read
+     *
+     * @return the number of records
+     */
+    public int getRecordCount( )
+    {
+        return _nRecordCount;
+    }
+
+    /**
+     * Returns the number of candidate items produced
+     *
+     * @return the number of candidate items
+     */
+    public int getCandidateCount( )
+    {
+        return _nCandidateCount;
+    }
+
+    /**
+     * Returns the number of errors found
+     *
+     * @return the number of errors
+     */
+    public int getErrorCount( )
+    {
+        return _nErrorCount;
+    }
+
+    /**
+     * Tells if errors were found
+     *
+     * @return true if the file contains errors
+     */
+    public boolean hasErrors( )
+    {
+        return _nErrorCount > 0;
+    }
+
+    /**
+     * Returns the error messages, one per line
+     *
+     * @return the error messages
+     */
+    public String getErrors( )
+    {
+        return _sbErrors.toString( );
+    }
+
+    /**
+     * Counts a record
+     */
+    void addRecord( )
+    {
+        _nRecordCount++;
+    }
+
+    /**
+     * Counts a candidate item
+     */
+    void addCandidate( )
+    {
+        _nCandidateCount++;
+    }
+
+    /**
+     * Adds an error message
+     *
+     * @param strError
+     *            the message, terminated by a line break
+     */
+    void addError( String strError )
+    {
+        _nErrorCount++;
+        _sbErrors.append( strError );
+    }
+}
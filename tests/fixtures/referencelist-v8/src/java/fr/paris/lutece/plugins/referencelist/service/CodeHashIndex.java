@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Open addressing hash table giving the position of a code in a {@link PackedStrings}. The table only holds positions, the codes are compared in their
+ * packed form, so that no string or boxed integer is kept per code. When a code is present several times, its first position is found.
+ */
+final class CodeHashIndex
+{
+    private static final int EMPTY = -1;
+
+    private final PackedStrings _codes;
+    private final int [ ] _table;
+    private final int _nMask;
+
+    /**
+     * Builds the index of the codes
+     *
+     * @param codes
+     *            the codes
+     */
+    CodeHashIndex( PackedStrings codes )
+    {
+        _codes = codes;
+
+        // at most half full, so that the probe sequences stay short
+        int nCapacity = Integer.highestOneBit( Math.max( 1, codes.size( ) ) * 2 - 1 ) << 1;
+        _table = new int [ nCapacity];
+        _nMask = nCapacity - 1;
+        Arrays.fill( _table, EMPTY );
+
+        for ( int nIndex = 0; nIndex < codes.size( ); nIndex++ )
+        {
+            if ( codes.isNull( nIndex ) )
+            {
+                continue;
+            }
+
+            int nSlot = codes.hashAt( nIndex ) & _nMask;
+            boolean bDuplicate = false;
+
+            while ( _table [nSlot] != EMPTY && !bDuplicate )
+            {
+                bDuplicate = codes.equalsAt( _table [nSlot], nIndex );
+                nSlot = ( nSlot + 1 ) & _nMask;
+            }
+
+            if ( !bDuplicate )
+            {
+                _table [nSlot] = nIndex;
+            }
+        }
+    }
+
+    /**
+     * Returns the position of a code
+     *
+     * @param strCode
+     *            the code
+     * @return the first position of the code, -1 if not found
+     */
+    int indexOf( String strCode )
+    {
+        if ( strCode == null )
+        {
+            return -1;
+        }
+
+        byte [ ] code = strCode.getBytes( StandardCharsets.UTF_8 );
+
+        for ( int nSlot = PackedStrings.hash( code, 0, code.length ) & _nMask; _table [nSlot] != EMPTY; nSlot = ( nSlot + 1 ) & _nMask )
+        {
+            if ( _codes.equalsAt( _table [nSlot], code ) )
+            {
+                return _table [nSlot];
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the approximate number of bytes used by the table
+     *
+     * @return the number of bytes
+     */
+    long getFootprint( )
+    {
+        return 4L * _table.length;
+    }
+}
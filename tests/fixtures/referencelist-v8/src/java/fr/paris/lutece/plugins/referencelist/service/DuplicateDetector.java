@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Detects the values seen more than once in an import file, in constant time per value, and remembers the line of their first occurrence. <br>
+ * The values are kept in a hash map until a threshold is reached. Above it only a 64 bits hash of each value is kept in an open addressing table, which
+ * needs 24 to 48 bytes per value instead of the whole strings. Two different values may then be taken for duplicates if their hashes collide, which is
+ * very unlikely below billions of values.
+ */
+public class DuplicateDetector
+{
+    /** Returned when a value is seen for the first time */
+    public static final int NOT_FOUND = -1;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long EMPTY = 0L;
+
+    private final int _nCompactThreshold;
+    private Map<String, Integer> _mapValues = new HashMap<>( );
+
+    // compact mode
+    private long [ ] _hashes;
+    private int [ ] _lines;
+    private int _nSize;
+
+    /**
+     * Creates a detector
+     *
+     * @param nCompactThreshold
+     *            the number of values above which only the hashes of the values are kept, 0 to always keep them in a hash map
+     */
+    public DuplicateDetector( int nCompactThreshold )
+    {
+        _nCompactThreshold = nCompactThreshold;
+    }
+
+    /**
+     * Adds a value
+     *
+     * @param strValue
+     *            the value
+     * @param nLine
+     *            the line of the value
+     * @return the line of the first occurrence of the value if it was already added, {@link #NOT_FOUND} otherwise
+     */
+    public int add( String strValue, int nLine )
+    {
+        if ( _mapValues != null )
+        {
+            Integer nFirstLine = _mapValues.putIfAbsent( strValue, nLine );
+
+            if ( nFirstLine != null )
+            {
+                return nFirstLine;
+            }
+
+            if ( _nCompactThreshold > 0 && _mapValues.size( ) > _nCompactThreshold )
+            {
+                compact( );
+            }
+
+            return NOT_FOUND;
+        }
+
+        return addHash( hash( strValue ), nLine );
+    }
+
+    /**
+     * Tells if only the hashes of the values are kept
+     *
+     * @return true in compact mode
+     */
+    public boolean isCompact( )
+    {
+        return _mapValues == null;
+    }
+
+    /**
+     * Moves the values of the hash map into the hash table
+     */
+    private void compact( )
+    {
+        int nCapacity = Integer.highestOneBit( _mapValues.size( ) * 4 );
+        _hashes = new long [ nCapacity];
+        _lines = new int [ nCapacity];
+        _nSize = 0;
+
+        for ( Map.Entry<String, Integer> entry : _mapValues.entrySet( ) )
+        {
+            addHash( hash( entry.getKey( ) ), entry.getValue( ) );
+        }
+
+        _mapValues = null;
+    }
+
+    /**
+     * Adds a hash to the table
+     *
+     * @param lHash
+     *            the hash, not {@link #EMPTY}
+     * @param nLine
+     *            the line of the value
+     * @return the line of the first occurrence if the hash was already in the table, {@link #NOT_FOUND} otherwise
+     */
+    private int addHash( long lHash, int nLine )
+    {
+        int nMask = _hashes.length - 1;
+        int nIndex = (int) ( lHash ^ ( lHash >>> 32 ) ) & nMask;
+
+        while ( _hashes [nIndex] != EMPTY )
+        {
+            if ( _hashes [nIndex] == lHash )
+            {
+                return _lines [nIndex];
+            }
+            nIndex = ( nIndex + 1 ) & nMask;
+        }
+
+        _hashes [nIndex] = lHash;
+        _lines [nIndex] = nLine;
+        _nSize++;
+
+        // keep the load factor under 1/2
+        if ( _nSize * 2 > _hashes.length )
+        {
+            grow( );
+        }
+
+        return NOT_FOUND;
+    }
+
+    /**
+     * Doubles the capacity of the table
+     */
+    private void grow( )
+    {
+        long [ ] hashes = _hashes;
+        int [ ] lines = _lines;
+
+        _hashes = new long [ hashes.length * 2];
+        _lines = new int [ lines.length * 2];
+        _nSize = 0;
+
+        for ( int i = 0; i < hashes.length; i++ )
+        {
+            if ( hashes [i] != EMPTY )
+            {
+                addHash( hashes [i], lines [i] );
+            }
+        }
+    }
+
+    /**
+     * Computes the 64 bits hash of a value (FNV-1a followed by a mix of the bits)
+     *
+     * @param strValue
+     *            the value
+     * @return the hash, never {@link #EMPTY}
+     */
+    private static long hash( String strValue )
+    {
+        long lHash = FNV_OFFSET_BASIS;
+
+        for ( int i = 0; i < strValue.length( ); i++ )
+        {
+            lHash ^= strValue.charAt( i );
+            lHash *= FNV_PRIME;
+        }
+
+        lHash ^= lHash >>> 33;
+        lHash *= 0xff51afd7ed558ccdL;
+        lHash ^= lHash >>> 33;
+
+        return ( lHash == EMPTY ) ? 1L : lHash;
+    }
+}
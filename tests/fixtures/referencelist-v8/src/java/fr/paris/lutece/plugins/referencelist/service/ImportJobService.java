@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.StringUtils;
+
+import fr.paris.lutece.plugins.referencelist.business.CompareResult;
+import fr.paris.lutece.plugins.referencelist.business.ImportJob;
+import fr.paris.lutece.plugins.referencelist.business.ImportJobHome;
+import fr.paris.lutece.plugins.referencelist.service.diagnostics.DAOCallDiagnostics;
+import fr.paris.lutece.portal.service.util.AppLogService;
+import fr.paris.lutece.portal.service.util.AppPropertiesService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.servlet.ServletContext;
+
+/**
+ * Runs the imports of reference items in background. <br>
+ * An import is first prepared : the result of the comparison of the file with the reference is kept in memory by this service, so that only the id of the
+ * job has to be kept in the session of the user. Once confirmed, the job is queued to a bounded pool of threads. The state of the jobs is persisted, the
+ * progress of a running job is served from memory. <br>
+ * The imports not confirmed in time are discarded by a background task. Each job is stamped with the node of the cluster which prepared it : when the
+ * application starts, only the jobs of this node left unfinished by its previous run are failed.
+ */
+@ApplicationScoped
+public class ImportJobService
+{
+    private static final String PROPERTY_THREADS = "referencelist.import.jobs.threads";
+    private static final String PROPERTY_QUEUE_SIZE = "referencelist.import.jobs.queueSize";
+    private static final String PROPERTY_PENDING_TIMEOUT = "referencelist.import.jobs.pendingTimeout";
+    private static final String PROPERTY_NODE = "referencelist.import.jobs.node";
+    private static final int DEFAULT_THREADS = 2;
+    private static final int DEFAULT_QUEUE_SIZE = 20;
+    private static final int DEFAULT_PENDING_TIMEOUT = 30;
+    private static final int ERROR_MESSAGE_MAX_LENGTH = 255;
+    private static final String THREAD_NAME_PREFIX = "referencelist-import-";
+    private static final String THREAD_NAME_PURGE = "referencelist-import-purge";
+    private static final String DEFAULT_NODE = "localhost";
+    private static final String SCOPE_IMPORT_JOB = "import job ";
+
+    private static final String ERROR_INTERRUPTED = "Interrupted by a shutdown of the application";
+    private static final String ERROR_EXPIRED = "Not confirmed in time";
+
+    private final Map<Integer, PendingImport> _mapPendingImports = new ConcurrentHashMap<>( );
+    private final Map<Integer, AtomicInteger> _mapProgress = new ConcurrentHashMap<>( );
+    private ExecutorService _executor;
+    private ScheduledExecutorService _purgeScheduler;
+    private long _lPendingTimeoutMillis;
+    private String _strNode;
+
+    /**
+     * Creates the pool of threads and schedules the purge of the imports not confirmed in time
+     */
+    @PostConstruct
+    public void init( )
+    {
+        int nThreads = Math.max( 1, AppPropertiesService.getPropertyInt( PROPERTY_THREADS, DEFAULT_THREADS ) );
+        int nQueueSize = Math.max( 1, AppPropertiesService.getPropertyInt( PROPERTY_QUEUE_SIZE, DEFAULT_QUEUE_SIZE ) );
+        AtomicInteger nThreadNumber = new AtomicInteger( );
+
+        _lPendingTimeoutMillis = TimeUnit.MINUTES.toMillis( AppPropertiesService.getPropertyInt( PROPERTY_PENDING_TIMEOUT, DEFAULT_PENDING_TIMEOUT ) );
+        _executor = new ThreadPoolExecutor( nThreads, nThreads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>( nQueueSize ), runnable -> {
+            Thread thread = new Thread( runnable, THREAD_NAME_PREFIX + nThreadNumber.incrementAndGet( ) );
+            thread.setDaemon( true );
+            return thread;
+        } );
+        _purgeScheduler = Executors.newSingleThreadScheduledExecutor( runnable -> {
+            Thread thread = new Thread( runnable, THREAD_NAME_PURGE );
+            thread.setDaemon( true );
+            return thread;
+        } );
+        long lPurgePeriod = Math.max( 1L, _lPendingTimeoutMillis / 2 );
+        _purgeScheduler.scheduleWithFixedDelay( this::purgeExpiredImports, lPurgePeriod, lPurgePeriod, TimeUnit.MILLISECONDS );
+        _strNode = AppPropertiesService.getProperty( PROPERTY_NODE, getHostName( ) );
+    }
+
+    /**
+     * Fails the jobs of this node left unfinished by its previous run, once the application is started
+     * 
+     * @param context
+     *            the servlet context
+     */
+    public void onStartup( @Observes @Initialized( ApplicationScoped.class ) ServletContext context )
+    {
+        ImportJobHome.failUnfinished( _strNode, ERROR_INTERRUPTED );
+    }
+
+    /**
+     * Stops the running jobs. Their transaction is rolled back.
+     */
+    @PreDestroy
+    public void shutdown( )
+    {
+        _purgeScheduler.shutdownNow( );
+        _executor.shutdownNow( );
+
+        try
+        {
+            _executor.awaitTermination( 10, TimeUnit.SECONDS );
+        }
+        catch( InterruptedException e )
+        {
+            Thread.currentThread( ).interrupt( );
+        }
+    }
+
+    /**
+     * Prepares an import, waiting for the confirmation of the user
+     * 
+     * @param nIdReference
+     *            the reference id
+     * @param compareResult
+     *            the items to insert and to update
+     * @return the job
+     */
+    public ImportJob prepare( int nIdReference, CompareResult compareResult )
+    {
+        ImportJob job = new ImportJob( );
+        job.setIdReference( nIdReference );
+        job.setNode( _strNode );
+        job.setStatus( ImportJob.STATUS_PENDING );
+        job.setRowsTotal( compareResult.getInsertCount( ) + compareResult.getUpdateCount( ) );
+        ImportJobHome.create( job );
+
+        _mapPendingImports.put( job.getId( ), new PendingImport( compareResult ) );
+
+        return job;
+    }
+
+    /**
+     * Returns the result of the comparison of an import waiting for confirmation
+     * 
+     * @param nIdJob
+     *            the job id
+     * @return the result or null if the job is not waiting for confirmation or not confirmed in time
+     */
+    public CompareResult getPendingResult( int nIdJob )
+    {
+        PendingImport pendingImport = _mapPendingImports.get( nIdJob );
+
+        return ( pendingImport != null && !isExpired( pendingImport, System.currentTimeMillis( ) ) ) ? pendingImport._compareResult : null;
+    }
+
+    /**
+     * Queues a prepared import
+     * 
+     * @param nIdJob
+     *            the job id
+     * @return false if the job is not waiting for confirmation, not confirmed in time or if too many jobs are already queued
+     */
+    public boolean submit( int nIdJob )
+    {
+        PendingImport pendingImport = _mapPendingImports.remove( nIdJob );
+        ImportJob job = ImportJobHome.findByPrimaryKey( nIdJob );
+
+        if ( pendingImport == null || job == null )
+        {
+            return false;
+        }
+
+        if ( isExpired( pendingImport, System.currentTimeMillis( ) ) )
+        {
+            expire( job );
+
+            return false;
+        }
+
+        job.setStatus( ImportJob.STATUS_QUEUED );
+        ImportJobHome.update( job );
+
+        try
+        {
+            _executor.execute( ( ) -> run( job, pendingImport._compareResult ) );
+        }
+        catch( RejectedExecutionException e )
+        {
+            // keep it pending so that the user may try again
+            job.setStatus( ImportJob.STATUS_PENDING );
+            ImportJobHome.update( job );
+            _mapPendingImports.put( nIdJob, pendingImport );
+
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns a job, with the progress of the rows if it is running
+     * 
+     * @param nIdJob
+     *            the job id
+     * @return the job or null if not found
+     */
+    public ImportJob getImportJob( int nIdJob )
+    {
+        ImportJob job = ImportJobHome.findByPrimaryKey( nIdJob );
+        AtomicInteger nRowsProcessed = _mapProgress.get( nIdJob );
+
+        if ( job != null && nRowsProcessed != null )
+        {
+            job.setRowsProcessed( nRowsProcessed.get( ) );
+        }
+
+        return job;
+    }
+
+    /**
+     * Runs an import
+     * 
+     * @param job
+     *            the job
+     * @param compareResult
+     *            the items to insert and to update
+     */
+    private void run( ImportJob job, CompareResult compareResult )
+    {
+        AtomicInteger nRowsProcessed = new AtomicInteger( );
+        _mapProgress.put( job.getId( ), nRowsProcessed );
+        DAOCallDiagnostics.open( SCOPE_IMPORT_JOB + job.getId( ) );
+
+        try
+        {
+            job.setStatus( ImportJob.STATUS_RUNNING );
+            ImportJobHome.update( job );
+
+            ReferenceImport.doImportCSV( compareResult, nRowsProcessed::set );
+
+            job.setStatus( ImportJob.STATUS_DONE );
+            job.setRowsProcessed( nRowsProcessed.get( ) );
+        }
+        catch( Exception e )
+        {
+            AppLogService.error( "Import job " + job.getId( ) + " of reference " + job.getIdReference( ) + " failed : " + e.getMessage( ), e );
+            job.setStatus( ImportJob.STATUS_FAILED );
+            job.setRowsProcessed( 0 );
+            job.setErrorMessage( StringUtils.abbreviate( e.getMessage( ), ERROR_MESSAGE_MAX_LENGTH ) );
+        }
+        finally
+        {
+            ImportJobHome.update( job );
+            _mapProgress.remove( job.getId( ) );
+            DAOCallDiagnostics.close( );
+        }
+    }
+
+    /**
+     * Fails the imports which were not confirmed in time and releases their result. Run in background : an error is logged and the purge is retried at
+     * the next run.
+     */
+    private void purgeExpiredImports( )
+    {
+        try
+        {
+            doPurgeExpiredImports( );
+        }
+        catch( Exception e )
+        {
+            AppLogService.error( "Purge of the expired imports failed : " + e.getMessage( ), e );
+        }
+    }
+
+    /**
+     * Fails the imports which were not confirmed in time and releases their result
+     */
+    private void doPurgeExpiredImports( )
+    {
+        long lNow = System.currentTimeMillis( );
+        Iterator<Map.Entry<Integer, PendingImport>> iterator = _mapPendingImports.entrySet( ).iterator( );
+
+        while ( iterator.hasNext( ) )
+        {
+            Map.Entry<Integer, PendingImport> entry = iterator.next( );
+
+            if ( isExpired( entry.getValue( ), lNow ) && _mapPendingImports.remove( entry.getKey( ), entry.getValue( ) ) )
+            {
+                ImportJob job = ImportJobHome.findByPrimaryKey( entry.getKey( ) );
+                if ( job != null )
+                {
+                    expire( job );
+                }
+            }
+        }
+    }
+
+    /**
+     * Tells if an import was not confirmed in time
+     * 
+     * @param pendingImport
+     *            the import
+     * @param lNow
+     *            the current time in milliseconds
+     * @return true if the import is expired
+     */
+    private boolean isExpired( PendingImport pendingImport, long lNow )
+    {
+        return lNow - pendingImport._lCreationTime > _lPendingTimeoutMillis;
+    }
+
+    /**
+     * Fails a job which was not confirmed in time
+     * 
+     * @param job
+     *            the job
+     */
+    private static void expire( ImportJob job )
+    {
+        job.setStatus( ImportJob.STATUS_FAILED );
+        job.setErrorMessage( ERROR_EXPIRED );
+        ImportJobHome.update( job );
+    }
+
+    /**
+     * Returns the name of the host, used as the node of the jobs when none is configured
+     * 
+     * @return the host name
+     */
+    private static String getHostName( )
+    {
+        try
+        {
+            return InetAddress.getLocalHost( ).getHostName( );
+        }
+        catch( UnknownHostException e )
+        {
+            AppLogService.error( "Unable to get the host name, the import jobs are stamped with " + DEFAULT_NODE, e );
+
+            return DEFAULT_NODE;
+        }
+    }
+
+    /**
+     * An import waiting for confirmation
+     */
+    private static final class PendingImport
+    {
+        private final CompareResult _compareResult;
+        private final long _lCreationTime = System.currentTimeMillis( );
+
+        private PendingImport( CompareResult compareResult )
+        {
+            _compareResult = compareResult;
+        }
+    }
+}
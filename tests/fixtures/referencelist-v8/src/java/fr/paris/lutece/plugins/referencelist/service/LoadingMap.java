@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A concurrent map of values loaded from the database on demand. A value is loaded once even if requested by several threads at the same time, and the
+ * load runs outside of any lock of the map : the other keys are neither blocked nor delayed by a slow query. <br>
+ * A value removed or updated while it is loaded is not kept, since the load may have read the data before the change : the threads waiting for this load
+ * still receive it.
+ *
+ * @param <K>
+ *            the type of the keys
+ * @param <V>
+ *            the type of the values
+ */
+public final class LoadingMap<K, V>
+{
+    private final Map<K, V> _mapValues = new ConcurrentHashMap<>( );
+    private final Map<K, CompletableFuture<V>> _mapLoads = new ConcurrentHashMap<>( );
+
+    /**
+     * Returns the value of a key, loading it if needed
+     *
+     * @param key
+     *            the key
+     * @param loader
+     *            loads the value of a key from the database, must not return null
+     * @return the value
+     */
+    public V get( K key, Function<K, V> loader )
+    {
+        V value = _mapValues.get( key );
+
+        if ( value != null )
+        {
+            return value;
+        }
+
+        CompletableFuture<V> load = new CompletableFuture<>( );
+        CompletableFuture<V> runningLoad = _mapLoads.putIfAbsent( key, load );
+
+        if ( runningLoad != null )
+        {
+            return await( runningLoad );
+        }
+
+        try
+        {
+            // a load may have completed between the read of the value and the registration of this one
+            value = _mapValues.get( key );
+
+            if ( value == null )
+            {
+                value = loader.apply( key );
+                _mapValues.put( key, value );
+
+                // checked once put : a removal running meanwhile either dropped this load and is seen here, or removes the value itself
+                if ( !_mapLoads.remove( key, load ) )
+                {
+                    _mapValues.remove( key, value );
+                }
+            }
+            else
+            {
+                _mapLoads.remove( key, load );
+            }
+
+            load.complete( value );
+
+            return value;
+        }
+        catch( RuntimeException | Error e )
+        {
+            _mapLoads.remove( key, load );
+            load.completeExceptionally( e );
+
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the value of a key if it is loaded
+     *
+     * @param key
+     *            the key
+     * @return the value or null
+     */
+    public V getIfPresent( K key )
+    {
+        return _mapValues.get( key );
+    }
+
+    /**
+     * Adds a value loaded by other means, unless the key already has one
+     *
+     * @param key
+     *            the key
+     * @param value
+     *            the value
+     * @return the previous value or null if the value was added
+     */
+    public V putIfAbsent( K key, V value )
+    {
+        return _mapValues.putIfAbsent( key, value );
+    }
+
+    /**
+     * Updates the value of a key if it is loaded. A load running for this key is not kept.
+     *
+     * @param key
+     *            the key
+     * @param function
+     *            computes the new value from the current one, returns null to remove it. Called under the lock of the key : it must not query the
+     *            database.
+     * @return the new value or null
+     */
+    public V computeIfPresent( K key, BiFunction<K, V, V> function )
+    {
+        _mapLoads.remove( key );
+
+        return _mapValues.computeIfPresent( key, function );
+    }
+
+    /**
+     * Removes the value of a key. A load running for this key is not kept.
+     *
+     * @param key
+     *            the key
+     */
+    public void remove( K key )
+    {
+        _mapLoads.remove( key );
+        _mapValues.remove( key );
+    }
+
+    /**
+     * Removes the value of a key if it is still a given value
+     *
+     * @param key
+     *            the key
+     * @param value
+     *            the value
+     * @return true if the value was removed
+     */
+    public boolean remove( K key, V value )
+    {
+        return _mapValues.remove( key, value );
+    }
+
+    /**
+     * Waits for a load run by another thread
+     *
+     * @param load
+     *            the load
+     * @return the value loaded
+     */
+    private static <V> V await( CompletableFuture<V> load )
+    {
+        try
+        {
+            return load.join( );
+        }
+        catch( CompletionException e )
+        {
+            if ( e.getCause( ) instanceof RuntimeException )
+            {
+                throw (RuntimeException) e.getCause( );
+            }
+            if ( e.getCause( ) instanceof Error )
+            {
+                throw (Error) e.getCause( );
+            }
+
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Immutable list of strings packed as UTF-8 in a single byte array, with the offset of each string. Compared to an array of strings, it saves the header,
+ * the hash and the backing array of each string, and keeps the characters of the usual reference values on one byte each. The strings are decoded on each
+ * access. Null strings are allowed.
+ */
+final class PackedStrings
+{
+    static final PackedStrings EMPTY = new Builder( ).build( 0 );
+
+    private final byte [ ] _bytes;
+    private final int [ ] _offsets;
+    private final BitSet _nulls;
+
+    /**
+     * Constructor
+     *
+     * @param bytes
+     *            the UTF-8 bytes of all the strings
+     * @param offsets
+     *            the offset of each string, followed by the total length
+     * @param nulls
+     *            the positions of the null strings, null if there is none
+     */
+    private PackedStrings( byte [ ] bytes, int [ ] offsets, BitSet nulls )
+    {
+        _bytes = bytes;
+        _offsets = offsets;
+        _nulls = nulls;
+    }
+
+    /**
+     * Returns the number of strings
+     *
+     * @return the number of strings
+     */
+    int size( )
+    {
+        return _offsets.length - 1;
+    }
+
+    /**
+     * Returns a string
+     *
+     * @param nIndex
+     *            the position
+     * @return the string, may be null
+     */
+    String get( int nIndex )
+    {
+        if ( isNull( nIndex ) )
+        {
+            return null;
+        }
+
+        return new String( _bytes, _offsets [nIndex], _offsets [nIndex + 1] - _offsets [nIndex], StandardCharsets.UTF_8 );
+    }
+
+    /**
+     * Tells whether a string is null
+     *
+     * @param nIndex
+     *            the position
+     * @return true if null
+     */
+    boolean isNull( int nIndex )
+    {
+        return _nulls != null && _nulls.get( nIndex );
+    }
+
+    /**
+     * Tells whether two strings are equal, without decoding them
+     *
+     * @param nIndex
+     *            the position of the first string
+     * @param nOtherIndex
+     *            the position of the second string
+     * @return true if equal, false if one of them is null
+     */
+    boolean equalsAt( int nIndex, int nOtherIndex )
+    {
+        if ( isNull( nIndex ) || isNull( nOtherIndex ) )
+        {
+            return false;
+        }
+
+        return Arrays.equals( _bytes, _offsets [nIndex], _offsets [nIndex + 1], _bytes, _offsets [nOtherIndex], _offsets [nOtherIndex + 1] );
+    }
+
+    /**
+     * Tells whether a string is equal to a value, without decoding it
+     *
+     * @param nIndex
+     *            the position
+     * @param value
+     *            the UTF-8 bytes of the value
+     * @return true if equal
+     */
+    boolean equalsAt( int nIndex, byte [ ] value )
+    {
+        if ( isNull( nIndex ) )
+        {
+            return false;
+        }
+
+        return Arrays.equals( _bytes, _offsets [nIndex], _offsets [nIndex + 1], value, 0, value.length );
+    }
+
+    /**
+     * Returns the hash of a string, computed on its UTF-8 bytes
+     *
+     * @param nIndex
+     *            the position
+     * @return the hash, 0 for a null string
+     */
+    int hashAt( int nIndex )
+    {
+        if ( isNull( nIndex ) )
+        {
+            return 0;
+        }
+
+        return hash( _bytes, _offsets [nIndex], _offsets [nIndex + 1] );
+    }
+
+    /**
+     * Returns the hash of UTF-8 bytes
+     *
+     * @param bytes
+     *            the bytes
+     * @param nFrom
+     *            the first byte
+     * @param nTo
+     *            the byte after the last one
+     * @return the hash
+     */
+    static int hash( byte [ ] bytes, int nFrom, int nTo )
+    {
+        int nHash = 1;
+
+        for ( int i = nFrom; i < nTo; i++ )
+        {
+            nHash = 31 * nHash + bytes [i];
+        }
+
+        return nHash ^ ( nHash >>> 16 );
+    }
+
+    /**
+     * Returns the approximate number of bytes used
+     *
+     * @return the number of bytes
+     */
+    long getFootprint( )
+    {
+        return (long) _bytes.length + 4L * _offsets.length + ( ( _nulls == null ) ? 0 : _nulls.size( ) / 8 );
+    }
+
+    /**
+     * Builds a PackedStrings by appending strings at increasing positions
+     */
+    static final class Builder
+    {
+        private static final int INITIAL_BYTES = 1024;
+        private static final int INITIAL_STRINGS = 64;
+
+        private byte [ ] _bytes = new byte [ INITIAL_BYTES];
+        private int _nLength;
+        private int [ ] _offsets = new int [ INITIAL_STRINGS + 1];
+        private int _nCount;
+        private BitSet _nulls;
+
+        /**
+         * Appends a string
+         *
+         * @param strValue
+         *            the string, may be null
+         * @return this builder
+         */
+        Builder add( String strValue )
+        {
+            return set( _nCount, strValue );
+        }
+
+        /**
+         * Sets the string at a position, the positions skipped being null. A position already set is kept.
+         *
+         * @param nIndex
+         *            the position
+         * @param strValue
+         *            the string, may be null
+         * @return this builder
+         */
+        Builder set( int nIndex, String strValue )
+        {
+            if ( nIndex < _nCount )
+            {
+                return this;
+            }
+
+            while ( _nCount < nIndex )
+            {
+                append( null );
+            }
+            append( strValue );
+
+            return this;
+        }
+
+        /**
+         * Builds the PackedStrings, the positions not set up to the given size being null
+         *
+         * @param nSize
+         *            the number of strings
+         * @return the PackedStrings
+         */
+        PackedStrings build( int nSize )
+        {
+            while ( _nCount < nSize )
+            {
+                append( null );
+            }
+
+            return new PackedStrings( Arrays.copyOf( _bytes, _nLength ), Arrays.copyOf( _offsets, _nCount + 1 ), _nulls );
+        }
+
+        /**
+         * Appends a string
+         *
+         * @param strValue
+         *            the string, may be null
+         */
+        private void append( String strValue )
+        {
+            if ( strValue == null )
+            {
+                if ( _nulls == null )
+                {
+                    _nulls = new BitSet( );
+                }
+                _nulls.set( _nCount );
+            }
+            else
+            {
+                byte [ ] value = strValue.getBytes( StandardCharsets.UTF_8 );
+
+                if ( _nLength + value.length > _bytes.length )
+                {
+                    _bytes = Arrays.copyOf( _bytes, Math.max( _bytes.length * 2, _nLength + value.length ) );
+                }
+                System.arraycopy( value, 0, _bytes, _nLength, value.length );
+                _nLength += value.length;
+            }
+
+            if ( _nCount + 2 > _offsets.length )
+            {
+                _offsets = Arrays.copyOf( _offsets, _offsets.length * 2 );
+            }
+            _nCount++;
+            _offsets [_nCount] = _nLength;
+        }
+    }
+}
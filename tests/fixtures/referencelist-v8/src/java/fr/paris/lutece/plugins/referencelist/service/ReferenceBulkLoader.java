@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import fr.paris.lutece.plugins.referencelist.business.IReferenceTranslationRowHandler;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceChangeHome;
+import fr.paris.lutece.plugins.referencelist.business.TranslationItemHome;
+
+/**
+ * Loads the labels of all the references with a single query. The rows come ordered by reference, so that the labels of a reference are built as soon as
+ * its last row is read and only the rows of one reference are pending at a time.
+ */
+final class ReferenceBulkLoader implements IReferenceTranslationRowHandler
+{
+    private static final int NO_REFERENCE = -1;
+
+    private final Map<Integer, Long> _mapVersions;
+    private final Map<Integer, ReferenceLabels> _mapLabels = new HashMap<>( );
+    private int _nIdReference = NO_REFERENCE;
+    private ReferenceLabels.Builder _builder;
+    private int _nRowCount;
+
+    /**
+     * Constructor
+     *
+     * @param mapVersions
+     *            the versions of the references, read before the rows
+     */
+    ReferenceBulkLoader( Map<Integer, Long> mapVersions )
+    {
+        _mapVersions = mapVersions;
+    }
+
+    /**
+     * Loads the labels of all the references
+     *
+     * @param nFetchSize
+     *            the number of rows fetched from the database at a time
+     * @return the loader, holding the labels by reference id
+     */
+    static ReferenceBulkLoader load( int nFetchSize )
+    {
+        // the versions are read first, so that the labels are never older than their version
+        ReferenceBulkLoader loader = new ReferenceBulkLoader( ReferenceChangeHome.getVersions( ) );
+        TranslationItemHome.readAllItemsWithTranslations( nFetchSize, loader );
+        loader.finish( );
+
+        return loader;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void handleRow( int nIdReference, int nIdItem, String strCode, String strName, String strLang, String strTranslation )
+    {
+        if ( nIdReference != _nIdReference )
+        {
+            buildCurrentReference( );
+            _nIdReference = nIdReference;
+            _builder = new ReferenceLabels.Builder( _mapVersions.getOrDefault( nIdReference, 0L ) );
+        }
+
+        _builder.handleRow( nIdItem, strCode, strName, strLang, strTranslation );
+        _nRowCount++;
+    }
+
+    /**
+     * Builds the labels of the last reference read, then the labels of the references without any item
+     */
+    void finish( )
+    {
+        buildCurrentReference( );
+
+        for ( Map.Entry<Integer, Long> entry : _mapVersions.entrySet( ) )
+        {
+            if ( !_mapLabels.containsKey( entry.getKey( ) ) )
+            {
+                _mapLabels.put( entry.getKey( ), new ReferenceLabels.Builder( entry.getValue( ) ).build( ) );
+            }
+        }
+    }
+
+    /**
+     * Returns the labels read
+     *
+     * @return the labels by reference id
+     */
+    Map<Integer, ReferenceLabels> getLabels( )
+    {
+        return _mapLabels;
+    }
+
+    /**
+     * Returns the number of rows read
+     *
+     * @return the number of rows
+     */
+    int getRowCount( )
+    {
+        return _nRowCount;
+    }
+
+    /**
+     * Builds the labels of the reference whose rows are pending
+     */
+    private void buildCurrentReference( )
+    {
+        if ( _builder != null )
+        {
+            _mapLabels.put( _nIdReference, _builder.build( ) );
+            _builder = null;
+        }
+    }
+}
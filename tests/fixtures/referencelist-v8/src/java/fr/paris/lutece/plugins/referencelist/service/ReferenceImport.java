@@ -34,20 +34,25 @@
 package fr.paris.lutece.plugins.referencelist.service;
 
 import java.util.List;
+import java.util.function.IntConsumer;
 
 import fr.paris.lutece.api.user.User;
 import fr.paris.lutece.plugins.referencelist.business.CompareResult;
 import fr.paris.lutece.plugins.referencelist.business.Reference;
 import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
 import fr.paris.lutece.plugins.referencelist.business.ReferenceItemHome;
+import fr.paris.lutece.plugins.referencelist.service.metrics.ReferenceListMetrics;
 import fr.paris.lutece.portal.business.user.AdminUser;
 import fr.paris.lutece.portal.service.rbac.RBACService;
+import fr.paris.lutece.portal.service.util.AppPropertiesService;
 
 /**
  * Check & Import CSV File
  */
 public final class ReferenceImport
 {
+    private static final String PROPERTY_IMPORT_BATCH_SIZE = "referencelist.import.batchSize";
+    private static final int DEFAULT_IMPORT_BATCH_SIZE = 1000;
 
     private ReferenceImport( )
     {
@@ -66,38 +71,50 @@ public final class ReferenceImport
      */
     public static boolean doImportCSV( CompareResult compareResult, int refId, AdminUser adminUser )
     {
-        if ( !RBACService.isAuthorized( Reference.RESOURCE_TYPE, String.valueOf( refId ), Reference.PERMISSION_CREATE, (User) adminUser ) )
+        if ( !isImportAuthorized( refId, adminUser ) )
         {
             return false;
         }
-        return doImportCSV( compareResult );
+        doImportCSV( compareResult, nRowsProcessed -> {
+        } );
+        return true;
     }
 
     /**
-     * CSV Import for a specific Referential.
+     * Check if a user may import items in a specific Referential.
+     * 
+     * @param refId
+     *            ID of Reference
+     * @param adminUser
+     *            Current Admin user
+     * @return true if the user has the permission
+     */
+    public static boolean isImportAuthorized( int refId, AdminUser adminUser )
+    {
+        return RBACService.isAuthorized( Reference.RESOURCE_TYPE, String.valueOf( refId ), Reference.PERMISSION_CREATE, (User) adminUser );
+    }
+
+    /**
+     * CSV Import for a specific Referential, without permission check.
      * 
      * @param compareResult
      *            Lists to insert or update;
-     * @return a String with the import source result or null if an error occurs during the instantiation of the import source.
+     * @param progressListener
+     *            receives the number of rows imported so far
      */
-    private static boolean doImportCSV( CompareResult compareResult )
+    public static void doImportCSV( CompareResult compareResult, IntConsumer progressListener )
     {
-
         List<ReferenceItem> updateReferenceItems = compareResult.getUpdateListCandidateReferenceItems( );
         List<ReferenceItem> insertReferenceItems = compareResult.getInsertListCandidateReferenceItems( );
-        // insert
-        for ( ReferenceItem candidateItem : insertReferenceItems )
-        {
-            ReferenceItemHome.create( candidateItem );
-        }
-        // update
-        for ( ReferenceItem candidateItem : updateReferenceItems )
-        {
-            ReferenceItemHome.update( candidateItem );
-        }
+        int nBatchSize = AppPropertiesService.getPropertyInt( PROPERTY_IMPORT_BATCH_SIZE, DEFAULT_IMPORT_BATCH_SIZE );
 
-        return true;
+        long lStart = ReferenceListMetrics.start( );
+
+        // insert and update in batches within a single transaction
+        ReferenceItemHome.createAndUpdate( insertReferenceItems, updateReferenceItems, nBatchSize, progressListener );
 
+        ReferenceListMetrics.stop( ReferenceListMetrics.TIMER_IMPORT_WRITE, lStart );
+        ReferenceListMetrics.count( ReferenceListMetrics.COUNTER_IMPORT_ROWS, (long) insertReferenceItems.size( ) + updateReferenceItems.size( ) );
     }
 
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+
+/**
+ * Event carrying a set of {@link ReferenceItem} changes at once, grouped by action. It is fired instead of one {@link ReferenceItemEvent} per item for bulk
+ * operations such as CSV imports.
+ */
+public class ReferenceItemBatchEvent
+{
+    private final List<ReferenceItem> _listCreatedItems;
+    private final List<ReferenceItem> _listUpdatedItems;
+    private final List<ReferenceItem> _listRemovedItems;
+
+    /**
+     * Creates a new instance of ReferenceItemBatchEvent
+     *
+     * @param listCreatedItems
+     *            The created items
+     * @param listUpdatedItems
+     *            The updated items
+     * @param listRemovedItems
+     *            The removed items
+     */
+    public ReferenceItemBatchEvent( List<ReferenceItem> listCreatedItems, List<ReferenceItem> listUpdatedItems, List<ReferenceItem> listRemovedItems )
+    {
+        _listCreatedItems = ( listCreatedItems != null ) ? Collections.unmodifiableList( listCreatedItems ) : Collections.emptyList( );
+        _listUpdatedItems = ( listUpdatedItems != null ) ? Collections.unmodifiableList( listUpdatedItems ) : Collections.emptyList( );
+        _listRemovedItems = ( listRemovedItems != null ) ? Collections.unmodifiableList( listRemovedItems ) : Collections.emptyList( );
+    }
+
+    /**
+     * Returns the created items
+     *
+     * @return The created items
+     */
+    public List<ReferenceItem> getCreatedItems( )
+    {
+        return _listCreatedItems;
+    }
+
+    /**
+     * Returns the updated items
+     *
+     * @return The updated items
+     */
+    public List<ReferenceItem> getUpdatedItems( )
+    {
+        return _listUpdatedItems;
+    }
+
+    /**
+     * Returns the removed items
+     *
+     * @return The removed items
+     */
+    public List<ReferenceItem> getRemovedItems( )
+    {
+        return _listRemovedItems;
+    }
+
+    /**
+     * Returns the identifiers of the references concerned by the changes
+     *
+     * @return The reference identifiers
+     */
+    public Set<Integer> getReferenceIds( )
+    {
+        Set<Integer> setIdReferences = new HashSet<>( );
+
+        addReferenceIds( setIdReferences, _listCreatedItems );
+        addReferenceIds( setIdReferences, _listUpdatedItems );
+        addReferenceIds( setIdReferences, _listRemovedItems );
+
+        return setIdReferences;
+    }
+
+    /**
+     * Returns the total number of changes carried by the event
+     *
+     * @return The number of changes
+     */
+    public int size( )
+    {
+        return _listCreatedItems.size( ) + _listUpdatedItems.size( ) + _listRemovedItems.size( );
+    }
+
+    /**
+     * Adds the reference ids of a list of items to a set
+     *
+     * @param setIdReferences
+     *            The set
+     * @param listItems
+     *            The items
+     */
+    private static void addReferenceIds( Set<Integer> setIdReferences, List<ReferenceItem> listItems )
+    {
+        for ( ReferenceItem item : listItems )
+        {
+            if ( item != null )
+            {
+                setIdReferences.add( item.getIdreference( ) );
+            }
+        }
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+
+import fr.paris.lutece.plugins.referencelist.business.IItemTranslationRowHandler;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItemHome;
+import fr.paris.lutece.plugins.referencelist.business.TranslationItemHome;
+
+/**
+ * Exports the items of a reference as CSV. The rows are written as they are read from the database, so the memory used does not depend on the number of
+ * items. Two layouts are available :
+ * <ul>
+ * <li>the items layout, one <code>code;name</code> record per item without header, as accepted by the import</li>
+ * <li>the translations layout, a header <code>code;name;lang1;lang2...</code> then one record per item with its translation in each language</li>
+ * </ul>
+ * Fields holding the delimiter, a double quote or a line break are enclosed in double quotes.
+ */
+public class ReferenceItemCSVExport
+{
+    private static final char QUOTE = '"';
+    private static final String ESCAPED_QUOTE = "\"\"";
+    private static final String QUOTE_STRING = "\"";
+    private static final String LINE_BREAK = "\r\n";
+    private static final String HEADER_CODE = "code";
+    private static final String HEADER_NAME = "name";
+
+    private final char _cDelimiter;
+
+    /**
+     * Creates an export using the delimiter of the import
+     */
+    public ReferenceItemCSVExport( )
+    {
+        this( ReferenceItemCSVParser.getConfiguredDelimiter( ) );
+    }
+
+    /**
+     * Creates an export
+     *
+     * @param cDelimiter
+     *            the field delimiter
+     */
+    public ReferenceItemCSVExport( char cDelimiter )
+    {
+        _cDelimiter = cDelimiter;
+    }
+
+    /**
+     * Writes the items of a reference in the layout of the import
+     *
+     * @param nIdReference
+     *            the reference id
+     * @param writer
+     *            the writer. It is flushed but not closed.
+     * @return the number of items written
+     * @throws IOException
+     *             if an error occurs
+     */
+    public int exportItems( int nIdReference, Writer writer ) throws IOException
+    {
+        return export( nIdReference, null, writer );
+    }
+
+    /**
+     * Writes the items of a reference with their translations, one column per language
+     *
+     * @param nIdReference
+     *            the reference id
+     * @param listLangs
+     *            the languages of the columns. The translations in other languages are not written.
+     * @param writer
+     *            the writer. It is flushed but not closed.
+     * @return the number of items written
+     * @throws IOException
+     *             if an error occurs
+     */
+    public int exportTranslations( int nIdReference, List<String> listLangs, Writer writer ) throws IOException
+    {
+        writeField( writer, HEADER_CODE );
+        writer.write( _cDelimiter );
+        writeField( writer, HEADER_NAME );
+
+        for ( String strLang : listLangs )
+        {
+            writer.write( _cDelimiter );
+            writeField( writer, strLang );
+        }
+
+        writer.write( LINE_BREAK );
+
+        return export( nIdReference, listLangs, writer );
+    }
+
+    /**
+     * Writes the records of the items
+     *
+     * @param nIdReference
+     *            the reference id
+     * @param listLangs
+     *            the languages of the translation columns, null for the items layout
+     * @param writer
+     *            the writer
+     * @return the number of items written
+     * @throws IOException
+     *             if an error occurs
+     */
+    private int export( int nIdReference, List<String> listLangs, Writer writer ) throws IOException
+    {
+        RecordWriter recordWriter = new RecordWriter( listLangs, writer );
+
+        try
+        {
+            // the items layout has no use of the translations : the items are read without joining them
+            if ( listLangs == null )
+            {
+                ReferenceItemHome.readReferenceItems( nIdReference, recordWriter );
+            }
+            else
+            {
+                TranslationItemHome.readItemsWithTranslations( nIdReference, recordWriter );
+            }
+            recordWriter.endRecord( );
+        }
+        catch( UncheckedIOException e )
+        {
+            throw e.getCause( );
+        }
+
+        writer.flush( );
+
+        return recordWriter._nCount;
+    }
+
+    /**
+     * Writes a field, enclosed in double quotes if needed
+     *
+     * @param writer
+     *            the writer
+     * @param strValue
+     *            the value, null for an empty field
+     * @throws IOException
+     *             if an error occurs
+     */
+    private void writeField( Writer writer, String strValue ) throws IOException
+    {
+        if ( strValue == null )
+        {
+            return;
+        }
+
+        if ( strValue.indexOf( _cDelimiter ) >= 0 || strValue.indexOf( QUOTE ) >= 0 || strValue.indexOf( '\r' ) >= 0 || strValue.indexOf( '\n' ) >= 0 )
+        {
+            writer.write( QUOTE );
+            writer.write( strValue.replace( QUOTE_STRING, ESCAPED_QUOTE ) );
+            writer.write( QUOTE );
+        }
+        else
+        {
+            writer.write( strValue );
+        }
+    }
+
+    /**
+     * Groups the rows of each item into a record
+     */
+    private final class RecordWriter implements IItemTranslationRowHandler
+    {
+        private final List<String> _listLangs;
+        private final String [ ] _translations;
+        private final Writer _writer;
+        private boolean _bPending;
+        private int _nId;
+        private int _nCount;
+
+        /**
+         * Constructor
+         *
+         * @param listLangs
+         *            the languages of the translation columns, may be null
+         * @param writer
+         *            the writer
+         */
+        RecordWriter( List<String> listLangs, Writer writer )
+        {
+            _listLangs = listLangs;
+            _translations = ( listLangs != null ) ? new String [ listLangs.size( )] : null;
+            _writer = writer;
+        }
+
+        /**
+         * {@inheritDoc }
+         */
+        @Override
+        public void handleRow( int nIdItem, String strCode, String strName, String strLang, String strTranslation )
+        {
+            try
+            {
+                if ( !_bPending || nIdItem != _nId )
+                {
+                    endRecord( );
+                    _bPending = true;
+                    _nId = nIdItem;
+                    writeField( _writer, strCode );
+                    _writer.write( _cDelimiter );
+                    writeField( _writer, strName );
+                }
+
+                if ( _translations != null && strLang != null )
+                {
+                    int nColumn = _listLangs.indexOf( strLang );
+
+                    if ( nColumn >= 0 )
+                    {
+                        _translations [nColumn] = strTranslation;
+                    }
+                }
+            }
+            catch( IOException e )
+            {
+                throw new UncheckedIOException( e );
+            }
+        }
+
+        /**
+         * Ends the record of the pending item
+         *
+         * @throws IOException
+         *             if an error occurs
+         */
+        void endRecord( ) throws IOException
+        {
+            if ( !_bPending )
+            {
+                return;
+            }
+
+            if ( _translations != null )
+            {
+                for ( int i = 0; i < _translations.length; i++ )
+                {
+                    _writer.write( _cDelimiter );
+                    writeField( _writer, _translations [i] );
+                    _translations [i] = null;
+                }
+            }
+
+            _writer.write( LINE_BREAK );
+            _bPending = false;
+            _nCount++;
+        }
+    }
+}
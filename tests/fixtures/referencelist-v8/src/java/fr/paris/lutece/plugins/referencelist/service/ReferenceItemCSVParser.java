@@ -0,0 +1,528 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.StringUtils;
+
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+import fr.paris.lutece.portal.service.util.AppPropertiesService;
+
+/**
+ * Single pass parser of the CSV import files. The file is validated and turned into candidate items in the same read. Candidate items are handed over in
+ * batches, so the parser itself only holds a batch of items, but it keeps every name read (and every code if the duplicate codes are rejected) to detect
+ * the duplicates : the memory used still grows with the file, see {@link DuplicateDetector}. <br>
+ * Files are read as UTF-8 unless they start with a UTF-16 byte order mark, a UTF-8 byte order mark is skipped. Fields may be enclosed in double quotes to
+ * hold the delimiter, line breaks or escaped double quotes ("").
+ */
+public class ReferenceItemCSVParser
+{
+    private static final String PROPERTY_DELIMITER = "referencelist.import.csv.delimiter";
+    private static final String PROPERTY_BATCH_SIZE = "referencelist.import.batchSize";
+    private static final String PROPERTY_CHECK_DUPLICATE_CODE = "referencelist.import.checkDuplicateCode";
+    private static final String PROPERTY_DUPLICATES_COMPACT_THRESHOLD = "referencelist.import.duplicates.compactThreshold";
+    private static final char DEFAULT_DELIMITER = ';';
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final int DEFAULT_DUPLICATES_COMPACT_THRESHOLD = 500000;
+    private static final int NUMOFCOLS = 2;
+    private static final int MAX_LENGTH = 255;
+    private static final int BUFFER_SIZE = 8192;
+    private static final char QUOTE = '"';
+
+    private static final String CONSTANT_ERROR_INVALID_RECORD = "Invalid record on line ";
+    private static final String CONSTANT_ERROR_INVALID_DUPLICATE = "Duplicate name on line ";
+    private static final String CONSTANT_ERROR_INVALID_DUPLICATE_CODE = "Duplicate code on line ";
+    private static final String CONSTANT_ERROR_FIRST_OCCURRENCE = " (first occurrence on line ";
+    private static final String CONSTANT_ERROR_INVALID_NUMOFCOLS = "Num of Col is not equal of 2";
+    private static final String CONSTANT_ERROR_INVALID_LENGTH = "Code or name longer than " + MAX_LENGTH + " characters";
+    private static final String CONSTANT_ERROR_UNTERMINATED_QUOTE = "Quoted field opened on line %d is not closed before the end of the file";
+    private static final String CONSTANT_LINE_BREAK = "\r\n";
+
+    private final char _cDelimiter;
+    private final int _nBatchSize;
+    private final boolean _bCheckDuplicateCode;
+    private final int _nDuplicatesCompactThreshold;
+
+    // reading state
+    private Reader _reader;
+    private final char [ ] _buffer = new char [ BUFFER_SIZE];
+    private int _nPosition;
+    private int _nLimit;
+    private int _nLine;
+    private int _nUnterminatedQuoteLine;
+    private final StringBuilder _sbField = new StringBuilder( );
+
+    /**
+     * Creates a parser using the configuration
+     */
+    public ReferenceItemCSVParser( )
+    {
+        this( getConfiguredDelimiter( ), AppPropertiesService.getPropertyInt( PROPERTY_BATCH_SIZE, DEFAULT_BATCH_SIZE ),
+                Boolean.parseBoolean( AppPropertiesService.getProperty( PROPERTY_CHECK_DUPLICATE_CODE ) ),
+                AppPropertiesService.getPropertyInt( PROPERTY_DUPLICATES_COMPACT_THRESHOLD, DEFAULT_DUPLICATES_COMPACT_THRESHOLD ) );
+    }
+
+    /**
+     * Creates a parser which only rejects the duplicate names
+     *
+     * @param cDelimiter
+     *            the field delimiter
+     * @param nBatchSize
+     *            the number of candidate items per batch
+     */
+    public ReferenceItemCSVParser( char cDelimiter, int nBatchSize )
+    {
+        this( cDelimiter, nBatchSize, false, DEFAULT_DUPLICATES_COMPACT_THRESHOLD );
+    }
+
+    /**
+     * Creates a parser
+     *
+     * @param cDelimiter
+     *            the field delimiter
+     * @param nBatchSize
+     *            the number of candidate items per batch
+     * @param bCheckDuplicateCode
+     *            true to reject the duplicate codes as well as the duplicate names
+     * @param nDuplicatesCompactThreshold
+     *            the number of distinct values above which the duplicates are detected on hashes, see {@link DuplicateDetector}
+     */
+    public ReferenceItemCSVParser( char cDelimiter, int nBatchSize, boolean bCheckDuplicateCode, int nDuplicatesCompactThreshold )
+    {
+        _cDelimiter = cDelimiter;
+        _nBatchSize = Math.max( 1, nBatchSize );
+        _bCheckDuplicateCode = bCheckDuplicateCode;
+        _nDuplicatesCompactThreshold = nDuplicatesCompactThreshold;
+    }
+
+    /**
+     * Parses an import file. Each record must have a code and a name, and a name (and a code if configured) may appear only once in the file. Records
+     * in error are reported with the line of the first occurrence for duplicates, and are not handed over.
+     *
+     * @param inputStream
+     *            the file content
+     * @param nIdReference
+     *            the reference the candidate items belong to
+     * @param batchConsumer
+     *            receives the candidate items, batch by batch. The lists are not reused.
+     * @return the result of the parsing
+     * @throws IOException
+     *             if the file could not be read
+     */
+    public CSVParseResult parse( InputStream inputStream, int nIdReference, Consumer<List<ReferenceItem>> batchConsumer ) throws IOException
+    {
+        CSVParseResult result = new CSVParseResult( );
+        DuplicateDetector names = new DuplicateDetector( _nDuplicatesCompactThreshold );
+        DuplicateDetector codes = _bCheckDuplicateCode ? new DuplicateDetector( _nDuplicatesCompactThreshold ) : null;
+        List<ReferenceItem> listBatch = new ArrayList<>( _nBatchSize );
+        List<String> listFields = new ArrayList<>( NUMOFCOLS + 1 );
+
+        _reader = openReader( inputStream );
+        _nPosition = 0;
+        _nLimit = 0;
+        _nLine = 1;
+
+        try
+        {
+            int nRecordLine = _nLine;
+
+            while ( readRecord( listFields ) )
+            {
+                result.addRecord( );
+
+                boolean bUnterminated = _nUnterminatedQuoteLine > 0;
+
+                if ( bUnterminated )
+                {
+                    // the rest of the file was read as a single field
+                    result.addError( CONSTANT_ERROR_INVALID_RECORD + nRecordLine + " : "
+                            + String.format( CONSTANT_ERROR_UNTERMINATED_QUOTE, _nUnterminatedQuoteLine ) + CONSTANT_LINE_BREAK );
+                }
+
+                if ( !bUnterminated && checkRecord( result, listFields, nRecordLine, names, codes ) )
+                {
+                    ReferenceItem item = new ReferenceItem( );
+                    item.setCode( listFields.get( 0 ) );
+                    item.setName( listFields.get( 1 ) );
+                    item.setIdreference( nIdReference );
+                    listBatch.add( item );
+                    result.addCandidate( );
+
+                    if ( listBatch.size( ) >= _nBatchSize )
+                    {
+                        batchConsumer.accept( listBatch );
+                        listBatch = new ArrayList<>( _nBatchSize );
+                    }
+                }
+
+                nRecordLine = _nLine;
+            }
+
+            if ( !listBatch.isEmpty( ) )
+            {
+                batchConsumer.accept( listBatch );
+            }
+        }
+        finally
+        {
+            _reader = null;
+        }
+
+        return result;
+    }
+
+    /**
+     * Checks a record and reports its errors
+     *
+     * @param result
+     *            the result of the parsing
+     * @param listFields
+     *            the fields of the record
+     * @param nLine
+     *            the line of the record
+     * @param names
+     *            the names already read
+     * @param codes
+     *            the codes already read, null if the duplicate codes are allowed
+     * @return true if the record is valid
+     */
+    private static boolean checkRecord( CSVParseResult result, List<String> listFields, int nLine, DuplicateDetector names, DuplicateDetector codes )
+    {
+        if ( listFields.size( ) != NUMOFCOLS )
+        {
+            result.addError( CONSTANT_ERROR_INVALID_RECORD + nLine + " : " + CONSTANT_ERROR_INVALID_NUMOFCOLS + " (=" + listFields.size( ) + ")  "
+                    + CONSTANT_LINE_BREAK );
+            return false;
+        }
+
+        if ( listFields.get( 0 ).length( ) > MAX_LENGTH || listFields.get( 1 ).length( ) > MAX_LENGTH )
+        {
+            result.addError( CONSTANT_ERROR_INVALID_RECORD + nLine + " : " + CONSTANT_ERROR_INVALID_LENGTH + CONSTANT_LINE_BREAK );
+            return false;
+        }
+
+        boolean bValid = checkDuplicate( result, names, listFields.get( 1 ), nLine, CONSTANT_ERROR_INVALID_DUPLICATE );
+
+        if ( codes != null )
+        {
+            // checked even if the name is a duplicate, so that every duplicate code is reported
+            bValid = checkDuplicate( result, codes, listFields.get( 0 ), nLine, CONSTANT_ERROR_INVALID_DUPLICATE_CODE ) && bValid;
+        }
+
+        return bValid;
+    }
+
+    /**
+     * Checks that a value was not already read and reports it otherwise
+     *
+     * @param result
+     *            the result of the parsing
+     * @param detector
+     *            the values already read
+     * @param strValue
+     *            the value
+     * @param nLine
+     *            the line of the record
+     * @param strError
+     *            the error to report
+     * @return true if the value was not already read
+     */
+    private static boolean checkDuplicate( CSVParseResult result, DuplicateDetector detector, String strValue, int nLine, String strError )
+    {
+        int nFirstLine = detector.add( strValue, nLine );
+
+        if ( nFirstLine == DuplicateDetector.NOT_FOUND )
+        {
+            return true;
+        }
+
+        result.addError( strError + nLine + CONSTANT_ERROR_FIRST_OCCURRENCE + nFirstLine + ")" + CONSTANT_LINE_BREAK );
+
+        return false;
+    }
+
+    /**
+     * Reads the next record. If the end of the file is reached inside a quoted field, the line of its opening quote is kept in _nUnterminatedQuoteLine.
+     *
+     * @param listFields
+     *            the list to fill with the fields of the record, cleared first
+     * @return false if the end of the file is reached
+     * @throws IOException
+     *             if the file could not be read
+     */
+    private boolean readRecord( List<String> listFields ) throws IOException
+    {
+        listFields.clear( );
+        _sbField.setLength( 0 );
+
+        boolean bInQuotes = false;
+        boolean bQuoted = false;
+        boolean bEmpty = true;
+        int nQuoteLine = 0;
+        int c;
+
+        while ( ( c = read( ) ) != -1 )
+        {
+            bEmpty = false;
+
+            if ( bInQuotes )
+            {
+                bInQuotes = readQuoted( c );
+                continue;
+            }
+
+            if ( c == QUOTE && !bQuoted && _sbField.length( ) == 0 )
+            {
+                bInQuotes = true;
+                bQuoted = true;
+                nQuoteLine = _nLine;
+                continue;
+            }
+
+            if ( c == _cDelimiter )
+            {
+                endField( listFields, bQuoted );
+                bQuoted = false;
+                continue;
+            }
+
+            if ( c == '\n' || c == '\r' )
+            {
+                if ( c == '\r' && peek( ) == '\n' )
+                {
+                    _nPosition++;
+                }
+                _nLine++;
+                break;
+            }
+
+            _sbField.append( (char) c );
+        }
+
+        _nUnterminatedQuoteLine = bInQuotes ? nQuoteLine : 0;
+
+        if ( bEmpty )
+        {
+            return false;
+        }
+
+        endField( listFields, bQuoted );
+
+        // drop the trailing empty fields as String.split used to do
+        while ( listFields.size( ) > 1 && listFields.get( listFields.size( ) - 1 ) == null )
+        {
+            listFields.remove( listFields.size( ) - 1 );
+        }
+        for ( int i = 0; i < listFields.size( ); i++ )
+        {
+            if ( listFields.get( i ) == null )
+            {
+                listFields.set( i, StringUtils.EMPTY );
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Handles a character read inside a quoted field
+     *
+     * @param c
+     *            the character
+     * @return true if the quoted field goes on, false if the closing quote was read
+     * @throws IOException
+     *             if the file could not be read
+     */
+    private boolean readQuoted( int c ) throws IOException
+    {
+        if ( c == QUOTE )
+        {
+            if ( peek( ) != QUOTE )
+            {
+                return false;
+            }
+
+            // escaped quote
+            _nPosition++;
+        }
+        else
+            if ( c == '\n' )
+            {
+                _nLine++;
+            }
+
+        _sbField.append( (char) c );
+
+        return true;
+    }
+
+    /**
+     * Ends the current field. An empty unquoted field is added as null so that it can be dropped if it ends the record.
+     *
+     * @param listFields
+     *            the fields of the record
+     * @param bQuoted
+     *            true if the field was quoted
+     */
+    private void endField( List<String> listFields, boolean bQuoted )
+    {
+        listFields.add( ( _sbField.length( ) == 0 && !bQuoted ) ? null : _sbField.toString( ) );
+        _sbField.setLength( 0 );
+    }
+
+    /**
+     * Reads the next character
+     *
+     * @return the character or -1 at the end of the file
+     * @throws IOException
+     *             if the file could not be read
+     */
+    private int read( ) throws IOException
+    {
+        if ( _nPosition >= _nLimit && !fill( ) )
+        {
+            return -1;
+        }
+
+        return _buffer [_nPosition++];
+    }
+
+    /**
+     * Returns the next character without consuming it
+     *
+     * @return the character or -1 at the end of the file
+     * @throws IOException
+     *             if the file could not be read
+     */
+    private int peek( ) throws IOException
+    {
+        if ( _nPosition >= _nLimit && !fill( ) )
+        {
+            return -1;
+        }
+
+        return _buffer [_nPosition];
+    }
+
+    /**
+     * Fills the buffer
+     *
+     * @return false if the end of the file is reached
+     * @throws IOException
+     *             if the file could not be read
+     */
+    private boolean fill( ) throws IOException
+    {
+        int nRead;
+
+        do
+        {
+            nRead = _reader.read( _buffer, 0, _buffer.length );
+        }
+        while ( nRead == 0 );
+
+        _nPosition = 0;
+        _nLimit = Math.max( nRead, 0 );
+
+        return nRead > 0;
+    }
+
+    /**
+     * Opens a reader on the file, detecting the byte order mark if any
+     *
+     * @param inputStream
+     *            the file content
+     * @return the reader, positioned after the byte order mark
+     * @throws IOException
+     *             if the file could not be read
+     */
+    private static Reader openReader( InputStream inputStream ) throws IOException
+    {
+        BufferedInputStream in = new BufferedInputStream( inputStream, BUFFER_SIZE );
+        Charset charset = StandardCharsets.UTF_8;
+
+        in.mark( 3 );
+        int b0 = in.read( );
+        int b1 = in.read( );
+        int b2 = in.read( );
+        in.reset( );
+
+        if ( b0 == 0xEF && b1 == 0xBB && b2 == 0xBF )
+        {
+            in.skip( 3 );
+        }
+        else
+            if ( b0 == 0xFE && b1 == 0xFF )
+            {
+                in.skip( 2 );
+                charset = StandardCharsets.UTF_16BE;
+            }
+            else
+                if ( b0 == 0xFF && b1 == 0xFE )
+                {
+                    in.skip( 2 );
+                    charset = StandardCharsets.UTF_16LE;
+                }
+
+        return new InputStreamReader( in, charset );
+    }
+
+    /**
+     * Returns the delimiter defined in the configuration
+     *
+     * @return the delimiter
+     */
+    static char getConfiguredDelimiter( )
+    {
+        String strDelimiter = AppPropertiesService.getProperty( PROPERTY_DELIMITER );
+
+        if ( StringUtils.isEmpty( strDelimiter ) )
+        {
+            return DEFAULT_DELIMITER;
+        }
+
+        // allows to configure a tabulation
+        return "\\t".equals( strDelimiter ) ? '\t' : strDelimiter.charAt( 0 );
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+import fr.paris.lutece.portal.service.event.EventAction;
+
+/**
+ * Net changes of a set of {@link ReferenceItem} events. Successive events on the same item are merged into the one that leaves the observers in the same
+ * state : an item created then updated is reported as created with its last values, an item created then removed is not reported, an item updated several
+ * times is reported once with its last values. This class is not thread safe.
+ */
+public class ReferenceItemChangeSet
+{
+    private final Map<Integer, Change> _mapChanges = new LinkedHashMap<>( );
+
+    /**
+     * Adds an event
+     *
+     * @param action
+     *            the action performed on the item
+     * @param item
+     *            the item
+     */
+    public void add( EventAction action, ReferenceItem item )
+    {
+        if ( item == null || action == null )
+        {
+            return;
+        }
+
+        Change previous = _mapChanges.get( item.getId( ) );
+        EventAction merged = ( previous == null ) ? action : merge( previous._action, action );
+
+        if ( merged == null )
+        {
+            _mapChanges.remove( item.getId( ) );
+        }
+        else
+        {
+            _mapChanges.put( item.getId( ), new Change( merged, item ) );
+        }
+    }
+
+    /**
+     * Merges two successive actions on the same item
+     *
+     * @param previous
+     *            the first action
+     * @param next
+     *            the second action
+     * @return the net action, or null if the item is back to its initial state
+     */
+    private static EventAction merge( EventAction previous, EventAction next )
+    {
+        if ( previous == EventAction.CREATE )
+        {
+            return ( next == EventAction.REMOVE ) ? null : EventAction.CREATE;
+        }
+
+        if ( previous == EventAction.REMOVE && next == EventAction.CREATE )
+        {
+            return EventAction.UPDATE;
+        }
+
+        return next;
+    }
+
+    /**
+     * Returns the number of items changed
+     *
+     * @return the number of items
+     */
+    public int size( )
+    {
+        return _mapChanges.size( );
+    }
+
+    /**
+     * Tells whether there is no change
+     *
+     * @return true if there is no change
+     */
+    public boolean isEmpty( )
+    {
+        return _mapChanges.isEmpty( );
+    }
+
+    /**
+     * Builds the batch event of the changes, in the order of the first event of each item
+     *
+     * @return the batch event
+     */
+    public ReferenceItemBatchEvent toBatchEvent( )
+    {
+        List<ReferenceItem> listCreatedItems = new ArrayList<>( );
+        List<ReferenceItem> listUpdatedItems = new ArrayList<>( );
+        List<ReferenceItem> listRemovedItems = new ArrayList<>( );
+
+        for ( Change change : _mapChanges.values( ) )
+        {
+            if ( change._action == EventAction.CREATE )
+            {
+                listCreatedItems.add( change._item );
+            }
+            else
+                if ( change._action == EventAction.UPDATE )
+                {
+                    listUpdatedItems.add( change._item );
+                }
+                else
+                {
+                    listRemovedItems.add( change._item );
+                }
+        }
+
+        return new ReferenceItemBatchEvent( listCreatedItems, listUpdatedItems, listRemovedItems );
+    }
+
+    /**
+     * Net change of an item
+     */
+    private static final class Change
+    {
+        private final EventAction _action;
+        private final ReferenceItem _item;
+
+        Change( EventAction action, ReferenceItem item )
+        {
+            _action = action;
+            _item = item;
+        }
+    }
+}
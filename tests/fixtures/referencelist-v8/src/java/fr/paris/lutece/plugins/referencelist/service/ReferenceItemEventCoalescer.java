@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+import fr.paris.lutece.plugins.referencelist.service.metrics.ReferenceListMetrics;
+import fr.paris.lutece.portal.service.event.EventAction;
+import fr.paris.lutece.portal.service.util.AppPropertiesService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+
+/**
+ * Collects the item events fired one by one and delivers them as {@link ReferenceItemBatchEvent}. The events are merged per item by a
+ * {@link ReferenceItemChangeSet} and delivered once the window following the first pending event has elapsed, or as soon as the number of pending items
+ * reaches the maximum size of a batch.
+ */
+@ApplicationScoped
+public class ReferenceItemEventCoalescer
+{
+    private static final String PROPERTY_WINDOW = "referencelist.events.batch.window";
+    private static final String PROPERTY_MAX_SIZE = "referencelist.events.batch.maxSize";
+    private static final int DEFAULT_WINDOW = 200;
+    private static final int DEFAULT_MAX_SIZE = 1000;
+    private static final String THREAD_NAME = "referencelist-events";
+
+    @Inject
+    private Event<ReferenceItemBatchEvent> _referenceItemBatchEvent;
+
+    private final Object _lock = new Object( );
+    private final LongAdder _receivedCount = new LongAdder( );
+    private final LongAdder _batchCount = new LongAdder( );
+    private ReferenceItemChangeSet _changeSet = new ReferenceItemChangeSet( );
+    private boolean _bFlushScheduled;
+    private ScheduledExecutorService _scheduler;
+    private long _lWindowMillis;
+    private int _nMaxSize;
+
+    /**
+     * Creates the thread delivering the batches
+     */
+    @PostConstruct
+    public void init( )
+    {
+        _lWindowMillis = Math.max( 0, AppPropertiesService.getPropertyInt( PROPERTY_WINDOW, DEFAULT_WINDOW ) );
+        _nMaxSize = Math.max( 1, AppPropertiesService.getPropertyInt( PROPERTY_MAX_SIZE, DEFAULT_MAX_SIZE ) );
+        _scheduler = Executors.newSingleThreadScheduledExecutor( runnable -> {
+            Thread thread = new Thread( runnable, THREAD_NAME );
+            thread.setDaemon( true );
+            return thread;
+        } );
+    }
+
+    /**
+     * Delivers the pending events and stops the thread
+     */
+    @PreDestroy
+    public void shutdown( )
+    {
+        _scheduler.shutdownNow( );
+        flush( );
+    }
+
+    /**
+     * Adds an item event to the pending batch
+     *
+     * @param action
+     *            the action performed on the item
+     * @param item
+     *            the item, ignored if null
+     */
+    public void add( EventAction action, ReferenceItem item )
+    {
+        if ( item == null )
+        {
+            return;
+        }
+
+        ReferenceItemChangeSet full = null;
+
+        synchronized( _lock )
+        {
+            _receivedCount.increment( );
+            _changeSet.add( action, item );
+
+            if ( _changeSet.size( ) >= _nMaxSize || _lWindowMillis == 0 || _scheduler.isShutdown( ) )
+            {
+                full = _changeSet;
+                _changeSet = new ReferenceItemChangeSet( );
+            }
+            else
+                if ( !_bFlushScheduled )
+                {
+                    _bFlushScheduled = true;
+                    _scheduler.schedule( this::flush, _lWindowMillis, TimeUnit.MILLISECONDS );
+                }
+        }
+
+        fire( full );
+    }
+
+    /**
+     * Delivers the pending events now
+     */
+    public void flush( )
+    {
+        ReferenceItemChangeSet pending;
+
+        synchronized( _lock )
+        {
+            pending = _changeSet;
+            _changeSet = new ReferenceItemChangeSet( );
+            _bFlushScheduled = false;
+        }
+
+        fire( pending );
+    }
+
+    /**
+     * Fires the batch event of a change set
+     *
+     * @param changeSet
+     *            the change set, may be null
+     */
+    private void fire( ReferenceItemChangeSet changeSet )
+    {
+        if ( changeSet != null && !changeSet.isEmpty( ) )
+        {
+            ReferenceItemBatchEvent batchEvent = changeSet.toBatchEvent( );
+
+            _batchCount.increment( );
+            _referenceItemBatchEvent.fireAsync( batchEvent );
+            ReferenceListMetrics.countAsyncEvent( ReferenceListMetrics.COUNTER_BATCH_EVENTS, ReferenceListMetrics.COUNTER_BATCH_NOTIFICATIONS, batchEvent );
+            ReferenceListMetrics.count( ReferenceListMetrics.COUNTER_BATCH_ITEMS, batchEvent.size( ) );
+        }
+    }
+
+    /**
+     * Returns the number of items waiting to be delivered
+     *
+     * @return the number of pending items
+     */
+    public int getPendingCount( )
+    {
+        synchronized( _lock )
+        {
+            return _changeSet.size( );
+        }
+    }
+
+    /**
+     * Returns the number of item events received
+     *
+     * @return the number of events
+     */
+    public long getReceivedCount( )
+    {
+        return _receivedCount.sum( );
+    }
+
+    /**
+     * Returns the number of batch events fired
+     *
+     * @return the number of batches
+     */
+    public long getBatchCount( )
+    {
+        return _batchCount.sum( );
+    }
+}
@@ -34,19 +34,30 @@
 package fr.paris.lutece.plugins.referencelist.service;
 
 
+import java.util.List;
+
+import fr.paris.lutece.plugins.referencelist.business.Reference;
 import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+import fr.paris.lutece.plugins.referencelist.service.metrics.ReferenceListMetrics;
+import fr.paris.lutece.plugins.referencelist.service.search.ReferenceSearchService;
 import fr.paris.lutece.portal.service.event.EventAction;
 import fr.paris.lutece.portal.service.event.Type.TypeQualifier;
+import fr.paris.lutece.portal.service.util.AppPropertiesService;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 
 /**
- * Service that notify listeners when a {@link ReferenceItem} is created/updated/deleted
+ * Service that notify listeners when a {@link ReferenceItem} is created/updated/deleted. The labels and the cached lists of the reference are dropped
+ * synchronously, so that the next read sees the change. Each change is then notified by a {@link ReferenceItemEvent} and collected by the
+ * {@link ReferenceItemEventCoalescer}, which notifies the changes of a short period at once by a {@link ReferenceItemBatchEvent}. The
+ * {@link ReferenceItemEvent} can be disabled once all the observers handle the batch events.
  */
 @ApplicationScoped
 public class ReferenceItemListenerService
 {
+    private static final String PROPERTY_PER_ITEM_ENABLED = "referencelist.events.perItem.enabled";
 
     ReferenceItemListenerService( )
     {
@@ -55,6 +66,32 @@ public class ReferenceItemListenerService
     @Inject
     private Event<ReferenceItemEvent> _referenceItemEvent;
 
+    @Inject
+    private Event<ReferenceItemBatchEvent> _referenceItemBatchEvent;
+
+    @Inject
+    private Event<ReferenceItemPurgeEvent> _referenceItemPurgeEvent;
+
+    @Inject
+    private ReferenceItemEventCoalescer _coalescer;
+
+    @Inject
+    private ReferenceTranslationService _translationService;
+
+    @Inject
+    private ReferenceSearchService _searchService;
+
+    private boolean _bPerItemEnabled;
+
+    /**
+     * Reads the configuration
+     */
+    @PostConstruct
+    public void init( )
+    {
+        _bPerItemEnabled = AppPropertiesService.getPropertyBoolean( PROPERTY_PER_ITEM_ENABLED, true );
+    }
+
     /**
      * Called when a {@link ReferenceItem} is added
      * 
@@ -62,9 +99,7 @@ public class ReferenceItemListenerService
      */
     public void fireAddEvent( ReferenceItem item )
     {
-    	ReferenceItemEvent refItemEvent = new ReferenceItemEvent( item );
-    	
-    	_referenceItemEvent.select( ReferenceItemEvent.class, new TypeQualifier( EventAction.CREATE ) ).fireAsync( refItemEvent );
+        fireItemEvent( EventAction.CREATE, item );
     }
 
     /**
@@ -74,9 +109,7 @@ public class ReferenceItemListenerService
      */
     public void fireDeleteEvent( ReferenceItem item )
     {
-    	ReferenceItemEvent refItemEvent = new ReferenceItemEvent( item );
-    	
-    	_referenceItemEvent.select( ReferenceItemEvent.class, new TypeQualifier( EventAction.REMOVE ) ).fireAsync( refItemEvent );
+        fireItemEvent( EventAction.REMOVE, item );
     }
 
     /**
@@ -86,8 +119,91 @@ public class ReferenceItemListenerService
      */
     public void fireUpdateEvent( ReferenceItem item )
     {
-    	ReferenceItemEvent refItemEvent = new ReferenceItemEvent( item );
-    	
-    	_referenceItemEvent.select( ReferenceItemEvent.class, new TypeQualifier( EventAction.UPDATE ) ).fireAsync( refItemEvent );
+        fireItemEvent( EventAction.UPDATE, item );
+    }
+
+    /**
+     * Notifies the change of an item
+     * 
+     * @param action
+     *            the action performed on the item
+     * @param item
+     *            the item
+     */
+    private void fireItemEvent( EventAction action, ReferenceItem item )
+    {
+        // an item removed twice is not found anymore : there is nothing to notify
+        if ( item == null )
+        {
+            return;
+        }
+
+        // the caches of this plugin are not left to the batch event, which may be fired after the next read
+        _translationService.invalidate( item.getIdreference( ) );
+
+        if ( _bPerItemEnabled )
+        {
+            ReferenceItemEvent event = new ReferenceItemEvent( item );
+            TypeQualifier qualifier = new TypeQualifier( action );
+
+            _referenceItemEvent.select( ReferenceItemEvent.class, qualifier ).fireAsync( event );
+            ReferenceListMetrics.countAsyncEvent( ReferenceListMetrics.COUNTER_ITEM_EVENTS, ReferenceListMetrics.COUNTER_ITEM_NOTIFICATIONS, event, qualifier );
+        }
+
+        _coalescer.add( action, item );
+    }
+
+    /**
+     * Called when a set of {@link ReferenceItem} is created/updated/deleted at once. A single event is fired for the whole set, without waiting for the
+     * events collected by the coalescer.
+     * 
+     * @param listCreatedItems
+     *            the created items
+     * @param listUpdatedItems
+     *            the updated items
+     * @param listRemovedItems
+     *            the removed items
+     */
+    public void fireBatchEvent( List<ReferenceItem> listCreatedItems, List<ReferenceItem> listUpdatedItems, List<ReferenceItem> listRemovedItems )
+    {
+        ReferenceItemBatchEvent batchEvent = new ReferenceItemBatchEvent( listCreatedItems, listUpdatedItems, listRemovedItems );
+
+        for ( Integer nIdReference : batchEvent.getReferenceIds( ) )
+        {
+            _translationService.invalidate( nIdReference );
+        }
+
+        if ( batchEvent.size( ) > 0 )
+        {
+            _referenceItemBatchEvent.fireAsync( batchEvent );
+            ReferenceListMetrics.countAsyncEvent( ReferenceListMetrics.COUNTER_BATCH_EVENTS, ReferenceListMetrics.COUNTER_BATCH_NOTIFICATIONS, batchEvent );
+            ReferenceListMetrics.count( ReferenceListMetrics.COUNTER_BATCH_ITEMS, batchEvent.size( ) );
+        }
+    }
+
+    /**
+     * Called when the items of a reference are changed without any item or batch event, such as a removal interrupted after some of the items were
+     * deleted : the labels, cached lists and search index of the reference are dropped, to be rebuilt from the database.
+     * 
+     * @param nIdReference
+     *            the reference id
+     */
+    public void invalidate( int nIdReference )
+    {
+        _translationService.invalidate( nIdReference );
+        _searchService.invalidate( nIdReference );
+    }
+
+    /**
+     * Called when a {@link Reference} is removed with all its items. A single event is fired for the reference instead of an event per item.
+     * 
+     * @param reference
+     *            the removed reference
+     * @param nItemCount
+     *            the number of removed items
+     */
+    public void firePurgeEvent( Reference reference, int nItemCount )
+    {
+        _referenceItemPurgeEvent.fireAsync( new ReferenceItemPurgeEvent( reference, nItemCount ) );
     }
 }
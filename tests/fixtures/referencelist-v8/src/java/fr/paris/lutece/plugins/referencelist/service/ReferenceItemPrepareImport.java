@@ -33,30 +33,25 @@
  */
 package fr.paris.lutece.plugins.referencelist.service;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
+import java.util.function.Consumer;
 
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang3.StringUtils;
 
 import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+import fr.paris.lutece.plugins.referencelist.service.metrics.ReferenceListMetrics;
+import fr.paris.lutece.portal.service.util.AppException;
 
 public class ReferenceItemPrepareImport
 {
 
     private static final String CONSTANT_POINT = ".";
-    private static final String CONSTANT_SEPARATOR = ";";
     private static final String CONSTANT_FILE_EXTENTION = "csv";
-    private static final int CONSTANT_FILE_NUMOFCOLS = 2;
-
-    private static final String CONSTANT_ERROR_INVALID_RECORD = "Invalid record on line ";
-    private static final String CONSTANT_ERROR_INVALID_DUPLICATE = "Duplicate name on line ";
-    private static final String CONSTANT_ERROR_INVALID_NUMOFCOLS = "Num of Col is not equal of 2";
 
     private ReferenceItemPrepareImport( )
     {
@@ -72,6 +67,24 @@ public class ReferenceItemPrepareImport
      * @return false if FileName || FileExtention || FileSize doesnt match to constraints.
      */
     public static boolean isImportableCSVFile( String strFileName, long fileSize )
+    {
+        long lStart = ReferenceListMetrics.start( );
+        boolean bImportable = checkCSVFile( strFileName, fileSize );
+        ReferenceListMetrics.stop( ReferenceListMetrics.TIMER_IMPORT_FILE_CHECK, lStart );
+
+        return bImportable;
+    }
+
+    /**
+     * Check CSV File name and size.
+     * 
+     * @param strFileName
+     *            The filename
+     * @param fileSize
+     *            The size of file
+     * @return false if FileName || FileExtention || FileSize doesnt match to constraints.
+     */
+    private static boolean checkCSVFile( String strFileName, long fileSize )
     {
         String strFileExtention;
 
@@ -96,63 +109,68 @@ public class ReferenceItemPrepareImport
     }
 
     /**
-     * Check if CSV file contains errors
+     * Validates a CSV file and extracts its candidate items in a single pass.
      * 
      * @param fileInputStream
-     *            The fileInputStream to check
-     * @return a String with the import source errors
+     *            The fileInputStream to read data from
+     * @param refId
+     *            ID of Reference
+     * @param batchConsumer
+     *            receives the candidate items batch by batch, the batches already handed over must be discarded if the result has errors
+     * @return the result of the parsing
+     * @throws IOException
+     *             if the file could not be read
      */
-    public static String isErrorInCSVFile( InputStream fileInputStream )
+    public static CSVParseResult parseCSVFile( InputStream fileInputStream, int refId, Consumer<List<ReferenceItem>> batchConsumer ) throws IOException
     {
-        StringBuilder errorsMessages = new StringBuilder( );
-
-        List<ReferenceItem> list = new ArrayList<>( );
-        Reader reader = new InputStreamReader( fileInputStream );
-
-        int i = 0;
-        Scanner scanner = new Scanner( reader );
-
-        while ( scanner.hasNextLine( ) )
+        if ( !ReferenceListMetrics.isEnabled( ) )
         {
-            i++;
-            String strLine = scanner.nextLine( );
-            String [ ] strFields = strLine.split( CONSTANT_SEPARATOR );
-
-            if ( strFields.length == CONSTANT_FILE_NUMOFCOLS )
-            {
-                if ( isDuplicateName( list, strFields [1] ) )
-                {
-                    errorsMessages.append( CONSTANT_ERROR_INVALID_DUPLICATE ).append( i ).append( "\r\n" );
-                }
-                else
-                {
-                    ReferenceItem referenceItem = new ReferenceItem( );
-
-                    referenceItem.setCode( strFields [0] );
-                    referenceItem.setName( strFields [1] );
-
-                    list.add( referenceItem );
-                }
+            return new ReferenceItemCSVParser( ).parse( fileInputStream, refId, batchConsumer );
+        }
 
-            }
-            else
-            {
-                errorsMessages.append( CONSTANT_ERROR_INVALID_RECORD ).append( i ).append( " : " ).append( CONSTANT_ERROR_INVALID_NUMOFCOLS ).append( " (=" )
-                        .append( strFields.length ).append( ")  \r\n" );
-            }
+        // the time spent by the consumer, usually comparing the candidates, is not part of the parsing
+        long [ ] consumerNanos = new long [ 1];
+        long lStart = System.nanoTime( );
+        CSVParseResult result = new ReferenceItemCSVParser( ).parse( fileInputStream, refId, batch -> {
+            long lConsumerStart = System.nanoTime( );
+            batchConsumer.accept( batch );
+            consumerNanos [0] += System.nanoTime( ) - lConsumerStart;
+        } );
+        ReferenceListMetrics.getTimer( ReferenceListMetrics.TIMER_IMPORT_PARSE ).record( System.nanoTime( ) - lStart - consumerNanos [0] );
+
+        return result;
+    }
 
-        }
-        scanner.close( );
+    /**
+     * Returns the errors of a parsing as a base64 text file
+     * 
+     * @param result
+     *            the result of the parsing
+     * @return the base64 text file or null if there is no error
+     */
+    public static String getErrorsBase64( CSVParseResult result )
+    {
+        return result.hasErrors( ) ? getHtmlLinkBase64Src( result.getErrors( ) ) : null;
+    }
 
-        if ( errorsMessages.length( ) > 0 )
+    /**
+     * Check if CSV file contains errors
+     * 
+     * @param fileInputStream
+     *            The fileInputStream to check
+     * @return a String with the import source errors
+     */
+    public static String isErrorInCSVFile( InputStream fileInputStream )
+    {
+        try
         {
-            return getHtmlLinkBase64Src( errorsMessages.toString( ) );
+            return getErrorsBase64( parseCSVFile( fileInputStream, 0, batch -> {
+            } ) );
         }
-        else
+        catch( IOException e )
         {
-            return null;
+            throw new AppException( e.getMessage( ), e );
         }
-
     }
 
     /**
@@ -168,45 +186,41 @@ public class ReferenceItemPrepareImport
     {
         List<ReferenceItem> list = new ArrayList<>( );
 
-        Reader reader = new InputStreamReader( fileInputStream );
-
-        Scanner scanner = new Scanner( reader );
-
-        while ( scanner.hasNextLine( ) )
+        try
         {
-            String strLine = scanner.nextLine( );
-            String [ ] strFields = strLine.split( CONSTANT_SEPARATOR );
-
-            if ( strFields.length == CONSTANT_FILE_NUMOFCOLS && !isDuplicateName( list, strFields [1] ) )
-            {
-                ReferenceItem referenceItem = new ReferenceItem( );
-
-                referenceItem.setCode( strFields [0] );
-                referenceItem.setName( strFields [1] );
-
-                referenceItem.setIdreference( refId );
-                list.add( referenceItem );
-            }
+            parseCSVFile( fileInputStream, refId, list::addAll );
         }
-        scanner.close( );
+        catch( IOException e )
+        {
+            throw new AppException( e.getMessage( ), e );
+        }
+
         return list;
     }
 
+    /**
+     * Check if a name is already used by an item of a list
+     * 
+     * @param list
+     *            the items
+     * @param candidateItemName
+     *            the name
+     * @return true if an item of the list has the name
+     * @deprecated scans the whole list, the import files are now checked by {@link ReferenceItemCSVParser} with a {@link DuplicateDetector}
+     */
+    @Deprecated
     public static boolean isDuplicateName( List<ReferenceItem> list, String candidateItemName )
     {
-        boolean checker = false;
-
         for ( ReferenceItem referenceItem : list )
         {
             // compare names
             if ( candidateItemName.equals( referenceItem.getName( ) ) )
             {
-                checker = true;
+                return true;
             }
         }
 
-        return checker;
-
+        return false;
     }
 
     /**
@@ -223,7 +237,7 @@ public class ReferenceItemPrepareImport
      */
     private static String getHtmlLinkBase64Src( String strFileMessage )
     {
-        byte [ ] encodedBytes = Base64.encodeBase64( strFileMessage.getBytes( ) );
+        byte [ ] encodedBytes = Base64.encodeBase64( strFileMessage.getBytes( StandardCharsets.UTF_8 ) );
         return new String( encodedBytes, StandardCharsets.UTF_8 );
     }
 
@@ -0,0 +1,379 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import fr.paris.lutece.plugins.referencelist.business.IItemTranslationRowHandler;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+import fr.paris.lutece.plugins.referencelist.business.TranslationItem;
+import fr.paris.lutece.util.ReferenceList;
+
+/**
+ * Immutable labels of all the items of a reference, in every language. The ids are kept in an array, the codes, the default names and the translations of
+ * each language are packed in {@link PackedStrings} aligned on the same positions, and the codes are resolved by an open addressing {@link CodeHashIndex}.
+ * A reference thus costs a few bytes per item instead of several objects per item, the {@link ReferenceList} and {@link ReferenceItem} objects being only
+ * built on demand.
+ */
+public final class ReferenceLabels
+{
+    private static final ReferenceLabels EMPTY = new ReferenceLabels( new int [ 0], PackedStrings.EMPTY, PackedStrings.EMPTY, Collections.emptyMap( ), 0 );
+
+    private final int [ ] _ids;
+    private final PackedStrings _codes;
+    private final PackedStrings _names;
+    private final CodeHashIndex _codeIndex;
+    private final Map<String, PackedStrings> _mapTranslationsByLang;
+    private final long _lVersion;
+
+    /**
+     * Constructor
+     *
+     * @param ids
+     *            the ids of the items
+     * @param codes
+     *            the codes of the items
+     * @param names
+     *            the default names of the items
+     * @param mapTranslationsByLang
+     *            the translations of each language
+     * @param lVersion
+     *            the version of the reference the labels were read at
+     */
+    private ReferenceLabels( int [ ] ids, PackedStrings codes, PackedStrings names, Map<String, PackedStrings> mapTranslationsByLang, long lVersion )
+    {
+        _ids = ids;
+        _codes = codes;
+        _names = names;
+        _codeIndex = new CodeHashIndex( codes );
+        _mapTranslationsByLang = mapTranslationsByLang;
+        _lVersion = lVersion;
+    }
+
+    /**
+     * Returns the labels of a reference without items
+     *
+     * @return the empty labels
+     */
+    public static ReferenceLabels empty( )
+    {
+        return EMPTY;
+    }
+
+    /**
+     * Builds the labels from the items of a reference joined with their translations. The rows of an item must be consecutive, an item without translation
+     * having a single row with a null language. When a code is used by several items, the first one is resolved.
+     *
+     * @param listRows
+     *            the items with their translations
+     * @return the labels
+     */
+    public static ReferenceLabels build( List<TranslationItem> listRows )
+    {
+        return build( listRows, 0 );
+    }
+
+    /**
+     * Builds the labels from the items of a reference joined with their translations, see {@link #build(List)}
+     *
+     * @param listRows
+     *            the items with their translations
+     * @param lVersion
+     *            the version of the reference, read before the rows
+     * @return the labels
+     */
+    public static ReferenceLabels build( List<TranslationItem> listRows, long lVersion )
+    {
+        Builder builder = new Builder( lVersion );
+
+        if ( listRows != null )
+        {
+            for ( TranslationItem row : listRows )
+            {
+                builder.handleRow( row.getIdItem( ), row.getCode( ), row.getName( ), row.getLang( ), row.getTranslation( ) );
+            }
+        }
+
+        return builder.build( );
+    }
+
+    /**
+     * Returns the number of items
+     *
+     * @return the number of items
+     */
+    public int size( )
+    {
+        return _ids.length;
+    }
+
+    /**
+     * Returns the version of the reference the labels were read at. The labels may be more recent than this version, never older.
+     *
+     * @return the version
+     */
+    public long getVersion( )
+    {
+        return _lVersion;
+    }
+
+    /**
+     * Returns the id of the item at a position
+     *
+     * @param nIndex
+     *            the position, between 0 and size - 1
+     * @return the id
+     */
+    public int getId( int nIndex )
+    {
+        return _ids [nIndex];
+    }
+
+    /**
+     * Returns the code of the item at a position
+     *
+     * @param nIndex
+     *            the position, between 0 and size - 1
+     * @return the code
+     */
+    public String getCode( int nIndex )
+    {
+        return _codes.get( nIndex );
+    }
+
+    /**
+     * Returns the label of the item at a position in a language, or its default name if it is not translated in that language
+     *
+     * @param nIndex
+     *            the position, between 0 and size - 1
+     * @param strLang
+     *            the language, null or empty for the default name
+     * @return the label
+     */
+    public String getLabelAt( int nIndex, String strLang )
+    {
+        return getLabel( nIndex, getTranslations( strLang ) );
+    }
+
+    /**
+     * Builds the item at a position, with its label in a language as name
+     *
+     * @param nIndex
+     *            the position, between 0 and size - 1
+     * @param strLang
+     *            the language, null or empty for the default name
+     * @return a new item
+     */
+    public ReferenceItem getItem( int nIndex, String strLang )
+    {
+        ReferenceItem item = new ReferenceItem( );
+        item.setId( _ids [nIndex] );
+        item.setCode( _codes.get( nIndex ) );
+        item.setName( getLabelAt( nIndex, strLang ) );
+
+        return item;
+    }
+
+    /**
+     * Tells whether an item has the given code
+     *
+     * @param strCode
+     *            the code
+     * @return true if the code exists
+     */
+    public boolean contains( String strCode )
+    {
+        return _codeIndex.indexOf( strCode ) >= 0;
+    }
+
+    /**
+     * Returns the label of a code in a language, or its default name if it is not translated in that language
+     *
+     * @param strCode
+     *            the code
+     * @param strLang
+     *            the language, null or empty for the default name
+     * @return the label, or null if the code does not exist
+     */
+    public String getLabel( String strCode, String strLang )
+    {
+        int nIndex = _codeIndex.indexOf( strCode );
+
+        return ( nIndex < 0 ) ? null : getLabel( nIndex, getTranslations( strLang ) );
+    }
+
+    /**
+     * Returns the label at a position
+     *
+     * @param nIndex
+     *            the position
+     * @param translations
+     *            the translations of the language, may be null
+     * @return the translation if any, the default name otherwise
+     */
+    private String getLabel( int nIndex, PackedStrings translations )
+    {
+        if ( translations != null && !translations.isNull( nIndex ) )
+        {
+            return translations.get( nIndex );
+        }
+
+        return _names.get( nIndex );
+    }
+
+    /**
+     * Returns the translations of a language
+     *
+     * @param strLang
+     *            the language
+     * @return the translations, or null for the default names or an unknown language
+     */
+    private PackedStrings getTranslations( String strLang )
+    {
+        return ( strLang == null || strLang.isEmpty( ) ) ? null : _mapTranslationsByLang.get( strLang );
+    }
+
+    /**
+     * Builds the list of all the items in a language. Items without translation in that language keep their default name.
+     *
+     * @param strLang
+     *            the language, null or empty for the default names
+     * @return a new list
+     */
+    public ReferenceList toReferenceList( String strLang )
+    {
+        PackedStrings translations = getTranslations( strLang );
+        ReferenceList list = new ReferenceList( );
+
+        for ( int i = 0; i < _ids.length; i++ )
+        {
+            list.addItem( _codes.get( i ), getLabel( i, translations ) );
+        }
+
+        return list;
+    }
+
+    /**
+     * Returns the approximate number of bytes used by the labels, to compare the memory used by the references
+     *
+     * @return the number of bytes
+     */
+    public long getFootprint( )
+    {
+        long lFootprint = 4L * _ids.length + _codes.getFootprint( ) + _names.getFootprint( ) + _codeIndex.getFootprint( );
+
+        for ( PackedStrings translations : _mapTranslationsByLang.values( ) )
+        {
+            lFootprint += translations.getFootprint( );
+        }
+
+        return lFootprint;
+    }
+
+    /**
+     * Builds the labels from the rows of the items of a reference joined with their translations, as they are read. The rows of an item must be consecutive,
+     * an item without translation having a single row with a null language.
+     */
+    public static final class Builder implements IItemTranslationRowHandler
+    {
+        private static final int INITIAL_ITEMS = 64;
+
+        private final long _lVersion;
+        private int [ ] _ids = new int [ INITIAL_ITEMS];
+        private int _nCount;
+        private final PackedStrings.Builder _codes = new PackedStrings.Builder( );
+        private final PackedStrings.Builder _names = new PackedStrings.Builder( );
+        private final Map<String, PackedStrings.Builder> _mapTranslationsByLang = new HashMap<>( );
+
+        /**
+         * Constructor
+         *
+         * @param lVersion
+         *            the version of the reference, read before the rows
+         */
+        public Builder( long lVersion )
+        {
+            _lVersion = lVersion;
+        }
+
+        /**
+         * {@inheritDoc }
+         */
+        @Override
+        public void handleRow( int nIdItem, String strCode, String strName, String strLang, String strTranslation )
+        {
+            if ( _nCount == 0 || _ids [_nCount - 1] != nIdItem )
+            {
+                if ( _nCount == _ids.length )
+                {
+                    _ids = Arrays.copyOf( _ids, _ids.length * 2 );
+                }
+                _ids [_nCount++] = nIdItem;
+                _codes.add( strCode );
+                _names.add( strName );
+            }
+
+            if ( strLang != null && strTranslation != null )
+            {
+                _mapTranslationsByLang.computeIfAbsent( strLang, strKey -> new PackedStrings.Builder( ) ).set( _nCount - 1, strTranslation );
+            }
+        }
+
+        /**
+         * Builds the labels of the rows handled
+         *
+         * @return the labels
+         */
+        public ReferenceLabels build( )
+        {
+            if ( _nCount == 0 && _lVersion == 0 )
+            {
+                return EMPTY;
+            }
+
+            Map<String, PackedStrings> mapTranslationsByLang = new HashMap<>( );
+
+            for ( Map.Entry<String, PackedStrings.Builder> entry : _mapTranslationsByLang.entrySet( ) )
+            {
+                mapTranslationsByLang.put( entry.getKey( ), entry.getValue( ).build( _nCount ) );
+            }
+
+            return new ReferenceLabels( Arrays.copyOf( _ids, _nCount ), _codes.build( _nCount ), _names.build( _nCount ), mapTranslationsByLang, _lVersion );
+        }
+    }
+}
@@ -33,13 +33,16 @@
  */
 package fr.paris.lutece.plugins.referencelist.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import fr.paris.lutece.plugins.referencelist.business.Reference;
 import fr.paris.lutece.plugins.referencelist.business.ReferenceHome;
-import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
-import fr.paris.lutece.plugins.referencelist.business.ReferenceItemHome;
+import fr.paris.lutece.plugins.referencelist.service.cache.ReferenceListCacheService;
+import fr.paris.lutece.plugins.referencelist.service.metrics.ReferenceListMetrics;
 import fr.paris.lutece.util.ReferenceList;
+import jakarta.enterprise.inject.spi.CDI;
 
 /**
  *
@@ -55,6 +58,12 @@ public class ReferenceListService
     /* This class implements the Singleton design pattern. */
     private static ReferenceListService _singleton;
 
+    private ReferenceListCacheService _cacheService = CDI.current( ).select( ReferenceListCacheService.class ).get( );
+
+    private ReferenceTranslationService _translationService = CDI.current( ).select( ReferenceTranslationService.class ).get( );
+
+    private ReferenceRegistry _registry = CDI.current( ).select( ReferenceRegistry.class ).get( );
+
     /**
      * Returns the instance of ReferenceListService
      * 
@@ -98,7 +107,7 @@ public class ReferenceListService
      */
     public ReferenceList getReferenceList( String referenceName, String lang )
     {
-        int idReference = ReferenceHome.findPrimaryKeyByName( referenceName );
+        int idReference = _registry.getIdByName( referenceName );
 
         return getReferenceList( idReference, lang );
     }
@@ -116,7 +125,10 @@ public class ReferenceListService
     }
 
     /**
-     * Returns the list of all ReferenceItems of a Reference id with translated value
+     * Returns the list of all ReferenceItems of a Reference id with translated value. <br>
+     * The list is copied from the cached one at each call : a {@link ReferenceList} is a mutable list of mutable items, which callers commonly modify, for
+     * instance to check the selected items with {@link ReferenceList#checkItems}, so the cached items can not be handed out. Callers needing only a few labels
+     * should use {@link #getLabel} or {@link #getLabels}, served from the labels kept in memory without copying the whole reference.
      * 
      * @param idReference
      *            the reference id
@@ -126,22 +138,98 @@ public class ReferenceListService
      */
     public ReferenceList getReferenceList( int idReference, String lang )
     {
-        List<ReferenceItem> listReferenceItems = null;
+        long lStart = ReferenceListMetrics.start( );
+        ReferenceList cachedList = _cacheService.getReferenceList( idReference, lang );
 
+        if ( cachedList == null )
+        {
+            cachedList = loadReferenceList( idReference, lang );
+        }
+
+        // The cached list is shared : callers get their own copy since they may check or modify the items
         ReferenceList list = new ReferenceList( );
 
-        if ( lang == null || lang.isEmpty( ) )
+        for ( fr.paris.lutece.util.ReferenceItem item : cachedList )
         {
-            listReferenceItems = ReferenceItemHome.getReferenceItemsList( idReference );
+            list.addItem( item.getCode( ), item.getName( ) );
         }
-        else
+
+        ReferenceListMetrics.stop( ReferenceListMetrics.TIMER_GET_REFERENCE_LIST, lStart );
+
+        return list;
+    }
+
+    /**
+     * Puts the list of a Reference id in a language in cache if it is not there yet
+     * 
+     * @param idReference
+     *            the reference id
+     * @param lang
+     *            the language, null for the default values
+     */
+    void warmUp( int idReference, String lang )
+    {
+        if ( _cacheService.getReferenceList( idReference, lang ) == null )
         {
-            listReferenceItems = ReferenceItemHome.getReferenceItemsList( idReference, lang );
+            loadReferenceList( idReference, lang );
         }
+    }
+
+    /**
+     * Returns the label of a Reference Item in a language, without building the whole list of the reference
+     * 
+     * @param referenceName
+     *            the reference name
+     * @param code
+     *            the item code
+     * @param lang
+     *            the language, null or empty for the default name
+     * @return the translated label, the default name if the item is not translated in that language, or null if the code does not exist
+     */
+    public String getLabel( String referenceName, String code, String lang )
+    {
+        int idReference = _registry.getIdByName( referenceName );
+
+        return _translationService.translate( idReference, code, lang );
+    }
+
+    /**
+     * Returns the labels of a set of Reference Items in a language, without building the whole list of the reference
+     * 
+     * @param referenceName
+     *            the reference name
+     * @param codes
+     *            the item codes
+     * @param lang
+     *            the language, null or empty for the default names
+     * @return the labels by code in the iteration order of the codes. Unknown codes are omitted.
+     */
+    public Map<String, String> getLabels( String referenceName, Collection<String> codes, String lang )
+    {
+        int idReference = _registry.getIdByName( referenceName );
+
+        return _translationService.translate( idReference, lang, codes );
+    }
+
+    /**
+     * Builds the list of all ReferenceItems of a Reference id with translated value from the labels of the reference and puts it in cache
+     * 
+     * @param idReference
+     *            the reference id
+     * @param lang
+     *            the language
+     * @return the list of all References Items
+     */
+    private ReferenceList loadReferenceList( int idReference, String lang )
+    {
+        ReferenceLabels labels = _translationService.getLabels( idReference );
+        ReferenceList list = labels.toReferenceList( lang );
+        _cacheService.putReferenceList( idReference, lang, list );
 
-        for ( ReferenceItem ref : listReferenceItems )
+        // checked once put : the labels are dropped before the cached lists, so an invalidation running meanwhile either is seen here or removes the list
+        if ( !_translationService.isCurrent( idReference, labels ) )
         {
-            list.addItem( String.valueOf( ref.getCode( ) ), ref.getName( ) );
+            _cacheService.removeReferenceList( idReference, lang );
         }
 
         return list;
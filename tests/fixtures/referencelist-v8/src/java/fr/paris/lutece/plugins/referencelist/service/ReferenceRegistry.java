@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import fr.paris.lutece.plugins.referencelist.business.Reference;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceHome;
+import fr.paris.lutece.portal.service.event.EventAction;
+import fr.paris.lutece.portal.service.event.Type;
+import fr.paris.lutece.portal.service.util.AppPropertiesService;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.servlet.ServletContext;
+
+/**
+ * Keeps all the references in memory, by id and by name, so that the name based APIs do not query the database. The references are loaded at startup and
+ * kept up to date by the events fired by ReferenceHome. <br>
+ * A name which is not known is looked up in the database, in case the reference was created by another instance of the application, then remembered as
+ * unknown for a while so that a misconfigured caller does not query the database on every call.
+ */
+@ApplicationScoped
+public class ReferenceRegistry
+{
+    /** Id returned for an unknown name, as ReferenceHome.findPrimaryKeyByName does */
+    public static final int NOT_FOUND = 0;
+
+    private static final String PROPERTY_UNKNOWN_NAMES_TTL = "referencelist.registry.unknownNames.ttl";
+    private static final String PROPERTY_UNKNOWN_NAMES_MAX_SIZE = "referencelist.registry.unknownNames.maxSize";
+    private static final int DEFAULT_UNKNOWN_NAMES_TTL = 60;
+    private static final int DEFAULT_UNKNOWN_NAMES_MAX_SIZE = 1000;
+
+    private final Map<Integer, Reference> _mapReferencesById = new ConcurrentHashMap<>( );
+    private final Map<String, Integer> _mapIdsByName = new ConcurrentHashMap<>( );
+    private final Map<String, Long> _mapUnknownNames = new ConcurrentHashMap<>( );
+    private long _lUnknownNameTtlNanos;
+    private int _nUnknownNamesMaxSize;
+
+    /**
+     * Loads all the references
+     */
+    @PostConstruct
+    public void init( )
+    {
+        _lUnknownNameTtlNanos = TimeUnit.SECONDS.toNanos( AppPropertiesService.getPropertyInt( PROPERTY_UNKNOWN_NAMES_TTL, DEFAULT_UNKNOWN_NAMES_TTL ) );
+        _nUnknownNamesMaxSize = Math.max( 1, AppPropertiesService.getPropertyInt( PROPERTY_UNKNOWN_NAMES_MAX_SIZE, DEFAULT_UNKNOWN_NAMES_MAX_SIZE ) );
+
+        reload( );
+    }
+
+    /**
+     * Creates the registry when the application starts, so that the references are loaded before the first request
+     *
+     * @param context
+     *            the servlet context
+     */
+    public void onStartup( @Observes @Initialized( ApplicationScoped.class ) ServletContext context )
+    {
+        // the references are loaded by init
+    }
+
+    /**
+     * Reloads all the references from the database
+     */
+    public void reload( )
+    {
+        _mapReferencesById.clear( );
+        _mapIdsByName.clear( );
+        _mapUnknownNames.clear( );
+
+        for ( Reference reference : ReferenceHome.getReferencesList( ) )
+        {
+            register( reference );
+        }
+    }
+
+    /**
+     * Returns the id of a reference given its name
+     *
+     * @param strName
+     *            the reference name
+     * @return the reference id, or {@link #NOT_FOUND} if there is no reference with this name
+     */
+    public int getIdByName( String strName )
+    {
+        if ( strName == null )
+        {
+            return NOT_FOUND;
+        }
+
+        Integer nId = _mapIdsByName.get( strName );
+
+        if ( nId != null )
+        {
+            return nId;
+        }
+
+        Long lExpiry = _mapUnknownNames.get( strName );
+
+        if ( lExpiry != null && lExpiry - System.nanoTime( ) > 0 )
+        {
+            return NOT_FOUND;
+        }
+
+        int nIdReference = ReferenceHome.findPrimaryKeyByName( strName );
+
+        if ( nIdReference == NOT_FOUND )
+        {
+            rememberUnknownName( strName );
+        }
+        else
+        {
+            _mapUnknownNames.remove( strName );
+            Reference reference = ReferenceHome.findByPrimaryKey( nIdReference );
+
+            if ( reference != null )
+            {
+                register( reference );
+            }
+        }
+
+        return nIdReference;
+    }
+
+    /**
+     * Returns a reference given its id
+     *
+     * @param nIdReference
+     *            the reference id
+     * @return the reference, or null if it does not exist. The returned object is shared and must not be modified.
+     */
+    public Reference getReference( int nIdReference )
+    {
+        Reference reference = _mapReferencesById.get( nIdReference );
+
+        if ( reference == null )
+        {
+            reference = ReferenceHome.findByPrimaryKey( nIdReference );
+
+            if ( reference != null )
+            {
+                register( reference );
+            }
+        }
+
+        return reference;
+    }
+
+    /**
+     * Registers a created reference
+     *
+     * @param event
+     *            the event
+     */
+    public void onReferenceCreated( @Observes @Type( EventAction.CREATE ) ReferenceEvent event )
+    {
+        onReferenceChanged( event.getReference( ) );
+    }
+
+    /**
+     * Registers a modified reference, under its new name
+     *
+     * @param event
+     *            the event
+     */
+    public void onReferenceUpdated( @Observes @Type( EventAction.UPDATE ) ReferenceEvent event )
+    {
+        onReferenceChanged( event.getReference( ) );
+    }
+
+    /**
+     * Unregisters a removed reference
+     *
+     * @param event
+     *            the event
+     */
+    public void onReferenceRemoved( @Observes @Type( EventAction.REMOVE ) ReferenceEvent event )
+    {
+        if ( event.getReference( ) != null )
+        {
+            unregister( event.getReference( ).getId( ) );
+        }
+    }
+
+    /**
+     * Registers a created or modified reference
+     *
+     * @param reference
+     *            the reference
+     */
+    private void onReferenceChanged( Reference reference )
+    {
+        if ( reference != null )
+        {
+            unregister( reference.getId( ) );
+            _mapUnknownNames.remove( reference.getName( ) );
+            register( copy( reference ) );
+        }
+    }
+
+    /**
+     * Adds a reference to the maps
+     *
+     * @param reference
+     *            the reference
+     */
+    private void register( Reference reference )
+    {
+        _mapReferencesById.put( reference.getId( ), reference );
+
+        if ( reference.getName( ) != null )
+        {
+            // the first reference wins if the same name is used twice, as with the database query
+            _mapIdsByName.merge( reference.getName( ), reference.getId( ), Math::min );
+        }
+    }
+
+    /**
+     * Removes a reference from the maps
+     *
+     * @param nIdReference
+     *            the reference id
+     */
+    private void unregister( int nIdReference )
+    {
+        Reference reference = _mapReferencesById.remove( nIdReference );
+
+        if ( reference != null && reference.getName( ) != null )
+        {
+            _mapIdsByName.remove( reference.getName( ), nIdReference );
+        }
+    }
+
+    /**
+     * Remembers that a name does not match any reference
+     *
+     * @param strName
+     *            the name
+     */
+    private void rememberUnknownName( String strName )
+    {
+        if ( _mapUnknownNames.size( ) >= _nUnknownNamesMaxSize )
+        {
+            _mapUnknownNames.clear( );
+        }
+
+        _mapUnknownNames.put( strName, System.nanoTime( ) + _lUnknownNameTtlNanos );
+    }
+
+    /**
+     * Copies a reference, so that the registry is not affected by later changes of the caller's object
+     *
+     * @param reference
+     *            the reference
+     * @return the copy
+     */
+    private static Reference copy( Reference reference )
+    {
+        Reference copy = new Reference( );
+        copy.setId( reference.getId( ) );
+        copy.setName( reference.getName( ) );
+        copy.setDescription( reference.getDescription( ) );
+
+        return copy;
+    }
+}
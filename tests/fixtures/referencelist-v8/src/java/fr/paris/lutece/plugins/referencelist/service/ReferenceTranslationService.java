@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import fr.paris.lutece.plugins.referencelist.business.Reference;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceChangeHome;
+import fr.paris.lutece.plugins.referencelist.business.TranslationItemHome;
+import fr.paris.lutece.plugins.referencelist.service.cache.ReferenceListCacheService;
+import fr.paris.lutece.portal.service.event.EventAction;
+import fr.paris.lutece.portal.service.event.Type;
+import fr.paris.lutece.portal.service.util.AppLogService;
+import fr.paris.lutece.portal.service.util.AppPropertiesService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+/**
+ * Serves the labels of the reference items in every language from memory. All the items and translations of a reference are read with a single query
+ * straight into the compact {@link ReferenceLabels} the first time the reference is requested, then kept until one of its items, one of its translations or
+ * the reference itself changes. <br>
+ * The labels of all the references can be loaded at once with {@link #loadAll()}, reading all the items and translations with a single query.
+ */
+@ApplicationScoped
+public class ReferenceTranslationService
+{
+    private static final String PROPERTY_FETCH_SIZE = "referencelist.bulkload.fetchSize";
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+
+    private final LoadingMap<Integer, ReferenceLabels> _mapLabels = new LoadingMap<>( );
+    private final Set<Set<Integer>> _setRunningLoads = ConcurrentHashMap.newKeySet( );
+
+    @Inject
+    private ReferenceListCacheService _cacheService;
+
+    @Inject
+    private ReferenceRegistry _registry;
+
+    /**
+     * Returns the labels of a reference, loading them if needed
+     *
+     * @param nIdReference
+     *            the reference id
+     * @return the labels, empty if the reference has no item
+     */
+    public ReferenceLabels getLabels( int nIdReference )
+    {
+        // loaded outside of the lock of the map, so that a large reference does not block the others
+        return _mapLabels.get( nIdReference, nId -> {
+            // the version is read first, so that the labels are never older than their version
+            ReferenceLabels.Builder builder = new ReferenceLabels.Builder( ReferenceChangeHome.getVersion( nId ) );
+            TranslationItemHome.readItemsWithTranslations( nId, builder );
+
+            return builder.build( );
+        } );
+    }
+
+    /**
+     * Tells whether some labels are still the ones kept in memory for a reference, i.e. the reference did not change since they were read
+     *
+     * @param nIdReference
+     *            the reference id
+     * @param labels
+     *            the labels
+     * @return true if the labels are current
+     */
+    public boolean isCurrent( int nIdReference, ReferenceLabels labels )
+    {
+        return _mapLabels.getIfPresent( nIdReference ) == labels;
+    }
+
+    /**
+     * Loads the labels of all the references with a single query. The labels already in memory are kept.
+     *
+     * @return the number of references loaded
+     */
+    public int loadAll( )
+    {
+        // the references changed while the rows are read may be loaded with stale labels : they are not kept
+        Set<Integer> setInvalidatedIds = ConcurrentHashMap.newKeySet( );
+        _setRunningLoads.add( setInvalidatedIds );
+
+        try
+        {
+            long lStart = System.currentTimeMillis( );
+            ReferenceBulkLoader loader = ReferenceBulkLoader.load( AppPropertiesService.getPropertyInt( PROPERTY_FETCH_SIZE, DEFAULT_FETCH_SIZE ) );
+            int nLoaded = 0;
+
+            for ( Map.Entry<Integer, ReferenceLabels> entry : loader.getLabels( ).entrySet( ) )
+            {
+                if ( _mapLabels.putIfAbsent( entry.getKey( ), entry.getValue( ) ) == null )
+                {
+                    // checked once put, an invalidation running meanwhile either is seen here or removes the labels itself
+                    if ( setInvalidatedIds.contains( entry.getKey( ) ) )
+                    {
+                        _mapLabels.remove( entry.getKey( ), entry.getValue( ) );
+                    }
+                    else
+                    {
+                        nLoaded++;
+                    }
+                }
+            }
+
+            AppLogService.info( "Labels of " + loader.getLabels( ).size( ) + " references read from " + loader.getRowCount( ) + " rows in "
+                    + ( System.currentTimeMillis( ) - lStart ) + " ms" );
+
+            return nLoaded;
+        }
+        finally
+        {
+            _setRunningLoads.remove( setInvalidatedIds );
+        }
+    }
+
+    /**
+     * Returns the label of a code in a language, falling back to the default name when the item is not translated in that language
+     *
+     * @param nIdReference
+     *            the reference id
+     * @param strCode
+     *            the item code
+     * @param strLang
+     *            the language, null or empty for the default name
+     * @return the label, or null if the code does not exist
+     */
+    public String translate( int nIdReference, String strCode, String strLang )
+    {
+        return getLabels( nIdReference ).getLabel( strCode, strLang );
+    }
+
+    /**
+     * Returns the labels of a set of codes in a language, falling back to the default names when the items are not translated in that language
+     *
+     * @param strReferenceName
+     *            the reference name
+     * @param strLang
+     *            the language, null or empty for the default names
+     * @param codes
+     *            the item codes
+     * @return the labels by code in the iteration order of the codes. Unknown codes are omitted.
+     */
+    public Map<String, String> translate( String strReferenceName, String strLang, Collection<String> codes )
+    {
+        return translate( _registry.getIdByName( strReferenceName ), strLang, codes );
+    }
+
+    /**
+     * Returns the labels of a set of codes in a language, falling back to the default names when the items are not translated in that language
+     *
+     * @param nIdReference
+     *            the reference id
+     * @param strLang
+     *            the language, null or empty for the default names
+     * @param codes
+     *            the item codes
+     * @return the labels by code in the iteration order of the codes. Unknown codes are omitted.
+     */
+    public Map<String, String> translate( int nIdReference, String strLang, Collection<String> codes )
+    {
+        ReferenceLabels labels = getLabels( nIdReference );
+        Map<String, String> mapLabels = new LinkedHashMap<>( codes.size( ) * 4 / 3 + 1 );
+
+        for ( String strCode : codes )
+        {
+            String strLabel = labels.getLabel( strCode, strLang );
+
+            if ( strLabel != null )
+            {
+                mapLabels.put( strCode, strLabel );
+            }
+        }
+
+        return mapLabels;
+    }
+
+    /**
+     * Drops the labels of a reference. The cached lists built from them are dropped as well, so that they are not rebuilt from stale labels.
+     *
+     * @param nIdReference
+     *            the reference id
+     */
+    public void invalidate( int nIdReference )
+    {
+        for ( Set<Integer> setInvalidatedIds : _setRunningLoads )
+        {
+            setInvalidatedIds.add( nIdReference );
+        }
+
+        _mapLabels.remove( nIdReference );
+        _cacheService.invalidateReference( nIdReference );
+    }
+
+    /**
+     * Drops the labels of the reference of a created, modified or removed translation
+     *
+     * @param event
+     *            the event
+     */
+    public void onTranslationItemEvent( @Observes TranslationItemEvent event )
+    {
+        invalidate( event.getIdReference( ) );
+    }
+
+    /**
+     * Drops the labels of a removed reference
+     *
+     * @param event
+     *            the event
+     */
+    public void onReferenceRemoved( @Observes @Type( EventAction.REMOVE ) ReferenceEvent event )
+    {
+        Reference reference = event.getReference( );
+
+        if ( reference != null )
+        {
+            invalidate( reference.getId( ) );
+        }
+    }
+}
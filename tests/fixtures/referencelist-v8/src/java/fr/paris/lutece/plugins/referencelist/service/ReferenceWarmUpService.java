@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.StringUtils;
+
+import fr.paris.lutece.plugins.referencelist.business.ReferenceHome;
+import fr.paris.lutece.portal.service.i18n.I18nService;
+import fr.paris.lutece.portal.service.util.AppLogService;
+import fr.paris.lutece.portal.service.util.AppPropertiesService;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.servlet.ServletContext;
+
+/**
+ * Loads all the references in memory when the application starts, so that the first requests do not pay for the loading. <br>
+ * The warm-up is disabled by default. Once enabled, the labels of all the references are read in background with a single query, then their lists in the
+ * default values and in each language of the referencelist.languages message are built by a bounded pool of threads. The application is reported as
+ * ready once all the references are loaded.
+ */
+@ApplicationScoped
+public class ReferenceWarmUpService
+{
+    private static final String PROPERTY_ENABLED = "referencelist.warmup.enabled";
+    private static final String PROPERTY_THREADS = "referencelist.warmup.threads";
+    private static final String PROPERTY_LANGUAGES = "referencelist.languages";
+    private static final int DEFAULT_THREADS = 4;
+    private static final String THREAD_NAME_PREFIX = "referencelist-warmup-";
+    private static final String LANGUAGES_SEPARATOR = ",";
+
+    private final AtomicInteger _nWarmedCount = new AtomicInteger( );
+    private final AtomicInteger _nFailedCount = new AtomicInteger( );
+    private volatile boolean _bReady = true;
+    private volatile int _nTotalCount;
+    private volatile long _lDurationMillis;
+    private ExecutorService _executor;
+
+    @Inject
+    private ReferenceTranslationService _translationService;
+
+    /**
+     * Starts the warm-up when the application starts, if it is enabled
+     *
+     * @param context
+     *            the servlet context
+     */
+    public void onStartup( @Observes @Initialized( ApplicationScoped.class ) ServletContext context )
+    {
+        if ( AppPropertiesService.getPropertyBoolean( PROPERTY_ENABLED, false ) )
+        {
+            start( );
+        }
+    }
+
+    /**
+     * Loads all the references in background. Does nothing if a warm-up is running already.
+     *
+     * @return a future completed once all the references are loaded
+     */
+    public synchronized CompletableFuture<Void> start( )
+    {
+        if ( !_bReady )
+        {
+            return CompletableFuture.completedFuture( null );
+        }
+
+        List<Integer> listIdReferences = ReferenceHome.getIdReferencesList( );
+        List<String> listLanguages = getLanguages( );
+        ReferenceTranslationService translationService = _translationService;
+        int nThreads = Math.max( 1, AppPropertiesService.getPropertyInt( PROPERTY_THREADS, DEFAULT_THREADS ) );
+        AtomicInteger nThreadNumber = new AtomicInteger( );
+        long lStart = System.nanoTime( );
+
+        _bReady = false;
+        _nTotalCount = listIdReferences.size( );
+        _nWarmedCount.set( 0 );
+        _nFailedCount.set( 0 );
+        _executor = Executors.newFixedThreadPool( nThreads, runnable -> {
+            Thread thread = new Thread( runnable, THREAD_NAME_PREFIX + nThreadNumber.incrementAndGet( ) );
+            thread.setDaemon( true );
+            return thread;
+        } );
+
+        AppLogService.info( "Warming up " + listIdReferences.size( ) + " references in languages " + listLanguages + " with " + nThreads + " threads" );
+
+        ExecutorService executor = _executor;
+
+        return CompletableFuture.runAsync( translationService::loadAll, executor ).exceptionally( e -> {
+            // the references are then loaded one by one
+            AppLogService.error( "Bulk loading of the references failed : " + e.getMessage( ), e );
+            return null;
+        } ).thenCompose( result -> {
+            List<CompletableFuture<Void>> listFutures = new ArrayList<>( listIdReferences.size( ) );
+
+            for ( Integer nIdReference : listIdReferences )
+            {
+                listFutures.add( CompletableFuture.runAsync( ( ) -> warmUp( nIdReference, listLanguages ), executor ) );
+            }
+
+            return CompletableFuture.allOf( listFutures.toArray( new CompletableFuture [ 0] ) );
+        } ).whenComplete( ( result, e ) -> {
+            _lDurationMillis = TimeUnit.NANOSECONDS.toMillis( System.nanoTime( ) - lStart );
+            _bReady = true;
+            executor.shutdown( );
+            AppLogService.info( "Warm-up of the references done in " + _lDurationMillis + " ms : " + _nWarmedCount.get( ) + " loaded, " + _nFailedCount.get( )
+                    + " failed" );
+        } );
+    }
+
+    /**
+     * Stops a running warm-up
+     */
+    @PreDestroy
+    public synchronized void shutdown( )
+    {
+        if ( _executor != null )
+        {
+            _executor.shutdownNow( );
+        }
+    }
+
+    /**
+     * Tells whether the references are loaded. Always true when the warm-up is disabled.
+     *
+     * @return true if no warm-up is running
+     */
+    public boolean isReady( )
+    {
+        return _bReady;
+    }
+
+    /**
+     * Returns the number of references to load by the last warm-up
+     *
+     * @return the number of references
+     */
+    public int getTotalCount( )
+    {
+        return _nTotalCount;
+    }
+
+    /**
+     * Returns the number of references loaded by the last warm-up
+     *
+     * @return the number of references loaded
+     */
+    public int getWarmedCount( )
+    {
+        return _nWarmedCount.get( );
+    }
+
+    /**
+     * Returns the number of references the last warm-up failed to load
+     *
+     * @return the number of failures
+     */
+    public int getFailedCount( )
+    {
+        return _nFailedCount.get( );
+    }
+
+    /**
+     * Returns the duration of the last warm-up
+     *
+     * @return the duration in milliseconds, 0 if no warm-up is done
+     */
+    public long getDurationMillis( )
+    {
+        return _lDurationMillis;
+    }
+
+    /**
+     * Loads a reference : its lists from its labels, read if the bulk loading did not
+     *
+     * @param nIdReference
+     *            the reference id
+     * @param listLanguages
+     *            the languages of the lists, null for the default values
+     */
+    private void warmUp( int nIdReference, List<String> listLanguages )
+    {
+        long lStart = System.nanoTime( );
+
+        try
+        {
+            ReferenceListService listService = ReferenceListService.getInstance( );
+
+            for ( String strLang : listLanguages )
+            {
+                listService.warmUp( nIdReference, strLang );
+            }
+
+            _nWarmedCount.incrementAndGet( );
+            AppLogService.info( "Reference " + nIdReference + " warmed up in " + TimeUnit.NANOSECONDS.toMillis( System.nanoTime( ) - lStart ) + " ms" );
+        }
+        catch( Exception e )
+        {
+            _nFailedCount.incrementAndGet( );
+            AppLogService.error( "Warm-up of reference " + nIdReference + " failed : " + e.getMessage( ), e );
+        }
+    }
+
+    /**
+     * Returns the languages of the lists to load : the default values first, then the languages of the referencelist.languages message
+     *
+     * @return the languages, null for the default values
+     */
+    private static List<String> getLanguages( )
+    {
+        Set<String> setLanguages = new LinkedHashSet<>( );
+        setLanguages.add( null );
+
+        String strLanguages = I18nService.getLocalizedString( PROPERTY_LANGUAGES, I18nService.getDefaultLocale( ) );
+
+        for ( String strLang : strLanguages.split( LANGUAGES_SEPARATOR ) )
+        {
+            if ( StringUtils.isNotBlank( strLang ) )
+            {
+                setLanguages.add( strLang.trim( ) );
+            }
+        }
+
+        return new ArrayList<>( setLanguages );
+    }
+}
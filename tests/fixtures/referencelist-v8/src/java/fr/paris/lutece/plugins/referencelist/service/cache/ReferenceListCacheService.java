@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service.cache;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import fr.paris.lutece.plugins.referencelist.business.Reference;
+import fr.paris.lutece.plugins.referencelist.service.ReferenceEvent;
+import fr.paris.lutece.plugins.referencelist.service.TranslationItemEvent;
+import fr.paris.lutece.portal.service.cache.AbstractCacheableService;
+import fr.paris.lutece.portal.service.event.EventAction;
+import fr.paris.lutece.portal.service.event.Type;
+import fr.paris.lutece.util.ReferenceList;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+
+/**
+ * Cache of the prebuilt {@link ReferenceList} served by the ReferenceListService, keyed by reference id and language. Entries are invalidated per reference
+ * when one of its items, one of its translations or the reference itself changes.
+ */
+@ApplicationScoped
+public class ReferenceListCacheService extends AbstractCacheableService<String, Object>
+{
+    private static final String CACHE_NAME = "referencelist.referenceListCacheService";
+    private static final String KEY_PREFIX = "referencelist.list.";
+    private static final String KEY_SEPARATOR = ".";
+    private static final String KEY_DEFAULT_LANG = "default";
+
+    // keys put in cache by reference, so that a reference is invalidated without scanning the keys of the whole cache
+    private final Map<Integer, Set<String>> _mapKeys = new ConcurrentHashMap<>( );
+    private final LongAdder _hitCount = new LongAdder( );
+    private final LongAdder _missCount = new LongAdder( );
+    private final LongAdder _evictionCount = new LongAdder( );
+
+    /**
+     * Initializes the cache
+     */
+    @PostConstruct
+    public void init( )
+    {
+        initCache( CACHE_NAME, String.class, Object.class );
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public String getName( )
+    {
+        return CACHE_NAME;
+    }
+
+    /**
+     * Returns the cache key of the list of a reference in a given language
+     *
+     * @param nIdReference
+     *            the reference id
+     * @param strLang
+     *            the language, null or empty for the default values
+     * @return the cache key
+     */
+    public static String getReferenceListCacheKey( int nIdReference, String strLang )
+    {
+        return getReferenceCacheKeyPrefix( nIdReference ) + ( ( strLang == null || strLang.isEmpty( ) ) ? KEY_DEFAULT_LANG : strLang );
+    }
+
+    /**
+     * Returns the prefix shared by all the cache keys of a reference
+     *
+     * @param nIdReference
+     *            the reference id
+     * @return the prefix
+     */
+    private static String getReferenceCacheKeyPrefix( int nIdReference )
+    {
+        return KEY_PREFIX + nIdReference + KEY_SEPARATOR;
+    }
+
+    /**
+     * Returns the cached list of a reference in a given language. The returned list is shared and must not be modified.
+     *
+     * @param nIdReference
+     *            the reference id
+     * @param strLang
+     *            the language
+     * @return the cached list or null if not in cache
+     */
+    public ReferenceList getReferenceList( int nIdReference, String strLang )
+    {
+        ReferenceList list = (ReferenceList) get( getReferenceListCacheKey( nIdReference, strLang ) );
+
+        if ( list == null )
+        {
+            _missCount.increment( );
+        }
+        else
+        {
+            _hitCount.increment( );
+        }
+
+        return list;
+    }
+
+    /**
+     * Puts the list of a reference in a given language in cache. The list must not be modified afterwards.
+     *
+     * @param nIdReference
+     *            the reference id
+     * @param strLang
+     *            the language
+     * @param list
+     *            the list
+     */
+    public void putReferenceList( int nIdReference, String strLang, ReferenceList list )
+    {
+        if ( !isCacheEnable( ) )
+        {
+            return;
+        }
+
+        String strKey = getReferenceListCacheKey( nIdReference, strLang );
+
+        // put while holding the keys of the reference, so that an invalidation either removes this list or runs once it is registered
+        _mapKeys.compute( nIdReference, ( nId, setKeys ) -> {
+            Set<String> setReferenceKeys = ( setKeys == null ) ? new HashSet<>( ) : setKeys;
+            setReferenceKeys.add( strKey );
+            put( strKey, list );
+
+            return setReferenceKeys;
+        } );
+    }
+
+    /**
+     * Removes the cached list of a reference in a given language
+     *
+     * @param nIdReference
+     *            the reference id
+     * @param strLang
+     *            the language
+     */
+    public void removeReferenceList( int nIdReference, String strLang )
+    {
+        if ( isCacheEnable( ) )
+        {
+            remove( getReferenceListCacheKey( nIdReference, strLang ) );
+        }
+    }
+
+    /**
+     * Removes all the cached lists of a reference, whatever the language
+     *
+     * @param nIdReference
+     *            the reference id
+     */
+    public void invalidateReference( int nIdReference )
+    {
+        if ( !isCacheEnable( ) )
+        {
+            return;
+        }
+
+        _mapKeys.computeIfPresent( nIdReference, ( nId, setKeys ) -> {
+            for ( String strKey : setKeys )
+            {
+                remove( strKey );
+                _evictionCount.increment( );
+            }
+
+            return null;
+        } );
+    }
+
+    /**
+     * Returns the number of lists served from the cache
+     *
+     * @return the hit count
+     */
+    public long getHitCount( )
+    {
+        return _hitCount.sum( );
+    }
+
+    /**
+     * Returns the number of lists not found in the cache
+     *
+     * @return the miss count
+     */
+    public long getMissCount( )
+    {
+        return _missCount.sum( );
+    }
+
+    /**
+     * Returns the number of lists removed from the cache after a change
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount( )
+    {
+        return _evictionCount.sum( );
+    }
+
+    /**
+     * Invalidates the lists of a modified reference
+     *
+     * @param event
+     *            the event
+     */
+    public void onReferenceUpdated( @Observes @Type( EventAction.UPDATE ) ReferenceEvent event )
+    {
+        invalidateReference( event.getReference( ) );
+    }
+
+    /**
+     * Invalidates the lists of a removed reference
+     *
+     * @param event
+     *            the event
+     */
+    public void onReferenceRemoved( @Observes @Type( EventAction.REMOVE ) ReferenceEvent event )
+    {
+        invalidateReference( event.getReference( ) );
+    }
+
+    /**
+     * Invalidates the lists of the reference of a created, modified or removed translation
+     *
+     * @param event
+     *            the event
+     */
+    public void onTranslationItemEvent( @Observes TranslationItemEvent event )
+    {
+        invalidateReference( event.getIdReference( ) );
+    }
+
+    /**
+     * Invalidates the lists of a reference
+     *
+     * @param reference
+     *            the reference
+     */
+    private void invalidateReference( Reference reference )
+    {
+        if ( reference != null )
+        {
+            invalidateReference( reference.getId( ) );
+        }
+    }
+}
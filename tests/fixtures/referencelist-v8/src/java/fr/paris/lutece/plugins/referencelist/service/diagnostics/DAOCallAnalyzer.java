@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service.diagnostics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Analyzes the DAO calls : flags the slow calls, and counts the calls of each DAO method within the request or the job running on the current thread to
+ * flag the ones repeated too many times. The Home method calling the DAO and its caller are read from the stack, only for the calls flagged.
+ */
+final class DAOCallAnalyzer
+{
+    private static final String PLUGIN_PACKAGE = "fr.paris.lutece.plugins.referencelist.";
+    private static final String INSTRUMENTATION_PACKAGE = PLUGIN_PACKAGE + "service.metrics.";
+    private static final String DIAGNOSTICS_PACKAGE = PLUGIN_PACKAGE + "service.diagnostics.";
+    private static final String CALLED_BY = " called by ";
+    private static final String UNKNOWN_CALLER = "unknown";
+    private static final int MAX_FRAMES = 16;
+
+    private final long _lSlowNanos;
+    private final int _nRepeatThreshold;
+    private final int _nMaxFindings;
+    private final Consumer<DAOCallFinding> _reporter;
+    private final ThreadLocal<Scope> _scope = new ThreadLocal<>( );
+    private final Deque<DAOCallFinding> _findings = new ArrayDeque<>( );
+
+    /**
+     * Constructor
+     *
+     * @param lSlowMillis
+     *            the duration above which a call is slow
+     * @param nRepeatThreshold
+     *            the number of calls of a DAO method within a scope from which they are flagged
+     * @param nMaxFindings
+     *            the number of findings kept
+     * @param reporter
+     *            receives each finding as it is made
+     */
+    DAOCallAnalyzer( long lSlowMillis, int nRepeatThreshold, int nMaxFindings, Consumer<DAOCallFinding> reporter )
+    {
+        _lSlowNanos = TimeUnit.MILLISECONDS.toNanos( lSlowMillis );
+        _nRepeatThreshold = nRepeatThreshold;
+        _nMaxFindings = nMaxFindings;
+        _reporter = reporter;
+    }
+
+    /**
+     * Opens a scope on the current thread. Scopes may be nested : the calls are counted until the outermost one is closed.
+     *
+     * @param strName
+     *            the name of the request or the job
+     */
+    void open( String strName )
+    {
+        Scope scope = _scope.get( );
+
+        if ( scope == null )
+        {
+            _scope.set( new Scope( strName ) );
+        }
+        else
+        {
+            scope._nDepth++;
+        }
+    }
+
+    /**
+     * Closes the scope of the current thread, flagging the DAO methods called too many times once the outermost scope is closed
+     */
+    void close( )
+    {
+        Scope scope = _scope.get( );
+
+        if ( scope == null )
+        {
+            return;
+        }
+
+        if ( scope._nDepth > 0 )
+        {
+            scope._nDepth--;
+            return;
+        }
+
+        _scope.remove( );
+
+        for ( Map.Entry<String, StatementStats> entry : scope._mapStatements.entrySet( ) )
+        {
+            StatementStats stats = entry.getValue( );
+
+            if ( stats._nCount >= _nRepeatThreshold )
+            {
+                report( new DAOCallFinding( DAOCallFinding.TYPE_REPEATED, entry.getKey( ), scope._strName, stats._nCount,
+                        TimeUnit.NANOSECONDS.toMillis( stats._lTotalNanos ), stats._strCaller ) );
+            }
+        }
+    }
+
+    /**
+     * Analyzes a DAO call
+     *
+     * @param strStatement
+     *            the DAO method
+     * @param lNanos
+     *            the duration of the call
+     */
+    void onCall( String strStatement, long lNanos )
+    {
+        Scope scope = _scope.get( );
+
+        if ( lNanos >= _lSlowNanos )
+        {
+            report( new DAOCallFinding( DAOCallFinding.TYPE_SLOW, strStatement, ( scope != null ) ? scope._strName : null, 1,
+                    TimeUnit.NANOSECONDS.toMillis( lNanos ), findCaller( ) ) );
+        }
+
+        if ( scope != null )
+        {
+            StatementStats stats = scope._mapStatements.computeIfAbsent( strStatement, strKey -> new StatementStats( ) );
+            stats._nCount++;
+            stats._lTotalNanos += lNanos;
+
+            // the stack is read once per repeated statement
+            if ( stats._nCount == _nRepeatThreshold )
+            {
+                stats._strCaller = findCaller( );
+            }
+        }
+    }
+
+    /**
+     * Returns the last findings, the most recent first
+     *
+     * @return the findings
+     */
+    List<DAOCallFinding> getFindings( )
+    {
+        synchronized( _findings )
+        {
+            return new ArrayList<>( _findings );
+        }
+    }
+
+    /**
+     * Clears the findings
+     */
+    void clear( )
+    {
+        synchronized( _findings )
+        {
+            _findings.clear( );
+        }
+    }
+
+    /**
+     * Keeps and reports a finding
+     *
+     * @param finding
+     *            the finding
+     */
+    private void report( DAOCallFinding finding )
+    {
+        synchronized( _findings )
+        {
+            _findings.addFirst( finding );
+
+            while ( _findings.size( ) > _nMaxFindings )
+            {
+                _findings.removeLast( );
+            }
+        }
+
+        _reporter.accept( finding );
+    }
+
+    /**
+     * Finds the Home method calling the DAO and the method of another class calling it, usually a service or a JspBean
+     *
+     * @return the callers, innermost first
+     */
+    static String findCaller( )
+    {
+        List<StackWalker.StackFrame> listFrames = StackWalker.getInstance( )
+                .walk( frames -> frames.filter( frame -> isPluginCode( frame.getClassName( ) ) ).limit( MAX_FRAMES ).collect( Collectors.toList( ) ) );
+
+        if ( listFrames.isEmpty( ) )
+        {
+            return UNKNOWN_CALLER;
+        }
+
+        StackWalker.StackFrame home = listFrames.get( 0 );
+
+        for ( StackWalker.StackFrame frame : listFrames )
+        {
+            if ( !frame.getClassName( ).equals( home.getClassName( ) ) )
+            {
+                return format( home ) + CALLED_BY + format( frame );
+            }
+        }
+
+        return format( home );
+    }
+
+    /**
+     * Tells whether a class belongs to the plugin, apart from the instrumentation of the DAOs
+     *
+     * @param strClassName
+     *            the class name
+     * @return true for the classes of the plugin calling the DAOs
+     */
+    private static boolean isPluginCode( String strClassName )
+    {
+        return strClassName.startsWith( PLUGIN_PACKAGE ) && !strClassName.startsWith( INSTRUMENTATION_PACKAGE )
+                && !strClassName.startsWith( DIAGNOSTICS_PACKAGE );
+    }
+
+    /**
+     * Formats a frame as class.method:line
+     *
+     * @param frame
+     *            the frame
+     * @return the formatted frame
+     */
+    private static String format( StackWalker.StackFrame frame )
+    {
+        String strClassName = frame.getClassName( );
+
+        return strClassName.substring( strClassName.lastIndexOf( '.' ) + 1 ) + "." + frame.getMethodName( ) + ":" + frame.getLineNumber( );
+    }
+
+    /**
+     * The calls made within a request or a job
+     */
+    private static final class Scope
+    {
+        private final String _strName;
+        private final Map<String, StatementStats> _mapStatements = new HashMap<>( );
+        private int _nDepth;
+
+        /**
+         * Constructor
+         *
+         * @param strName
+         *            the name of the request or the job
+         */
+        private Scope( String strName )
+        {
+            _strName = strName;
+        }
+    }
+
+    /**
+     * The calls of a DAO method within a scope
+     */
+    private static final class StatementStats
+    {
+        private int _nCount;
+        private long _lTotalNanos;
+        private String _strCaller = UNKNOWN_CALLER;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service.diagnostics;
+
+import java.util.List;
+
+import fr.paris.lutece.portal.service.util.AppLogService;
+import fr.paris.lutece.portal.service.util.AppPropertiesService;
+
+/**
+ * Diagnostic mode of the DAO layer, disabled by default. Once enabled by the referencelist.diagnostics.enabled property, each DAO call goes through the
+ * wrapper of the DAOs and :
+ * <ul>
+ * <li>a call slower than referencelist.diagnostics.slowThreshold milliseconds is reported at once,</li>
+ * <li>a DAO method called referencelist.diagnostics.repeatThreshold times or more within a single HTTP request or job, usually in a loop over items, is
+ * reported at the end of the request or the job.</li>
+ * </ul>
+ * The findings name the Home method calling the DAO and its caller. They are logged and the last ones are displayed on the metrics page.
+ */
+public final class DAOCallDiagnostics
+{
+    private static final String PROPERTY_ENABLED = "referencelist.diagnostics.enabled";
+    private static final String PROPERTY_SLOW_THRESHOLD = "referencelist.diagnostics.slowThreshold";
+    private static final String PROPERTY_REPEAT_THRESHOLD = "referencelist.diagnostics.repeatThreshold";
+    private static final String PROPERTY_MAX_FINDINGS = "referencelist.diagnostics.maxFindings";
+    private static final int DEFAULT_SLOW_THRESHOLD = 500;
+    private static final int DEFAULT_REPEAT_THRESHOLD = 50;
+    private static final int DEFAULT_MAX_FINDINGS = 100;
+
+    private static final boolean ENABLED = AppPropertiesService.getPropertyBoolean( PROPERTY_ENABLED, false );
+    private static final DAOCallAnalyzer ANALYZER = new DAOCallAnalyzer( AppPropertiesService.getPropertyInt( PROPERTY_SLOW_THRESHOLD, DEFAULT_SLOW_THRESHOLD ),
+            Math.max( 2, AppPropertiesService.getPropertyInt( PROPERTY_REPEAT_THRESHOLD, DEFAULT_REPEAT_THRESHOLD ) ),
+            Math.max( 1, AppPropertiesService.getPropertyInt( PROPERTY_MAX_FINDINGS, DEFAULT_MAX_FINDINGS ) ), finding -> AppLogService.info( finding ) );
+
+    private DAOCallDiagnostics( )
+    {
+    }
+
+    /**
+     * Tells whether the DAO calls are analyzed
+     *
+     * @return true if enabled
+     */
+    public static boolean isEnabled( )
+    {
+        return ENABLED;
+    }
+
+    /**
+     * Starts counting the DAO calls of a request or a job on the current thread
+     *
+     * @param strName
+     *            the name of the request or the job
+     */
+    public static void open( String strName )
+    {
+        if ( ENABLED )
+        {
+            ANALYZER.open( strName );
+        }
+    }
+
+    /**
+     * Ends the request or the job of the current thread and reports the DAO methods called too many times
+     */
+    public static void close( )
+    {
+        if ( ENABLED )
+        {
+            ANALYZER.close( );
+        }
+    }
+
+    /**
+     * Analyzes a DAO call. Called by the wrapper of the DAOs.
+     *
+     * @param strStatement
+     *            the DAO method
+     * @param lNanos
+     *            the duration of the call
+     */
+    public static void onCall( String strStatement, long lNanos )
+    {
+        if ( ENABLED )
+        {
+            ANALYZER.onCall( strStatement, lNanos );
+        }
+    }
+
+    /**
+     * Returns the last findings, the most recent first
+     *
+     * @return the findings
+     */
+    public static List<DAOCallFinding> getFindings( )
+    {
+        return ANALYZER.getFindings( );
+    }
+
+    /**
+     * Clears the findings
+     */
+    public static void clear( )
+    {
+        ANALYZER.clear( );
+    }
+}
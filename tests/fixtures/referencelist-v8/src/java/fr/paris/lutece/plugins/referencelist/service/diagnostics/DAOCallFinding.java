@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service.diagnostics;
+
+/**
+ * A suspicious use of a DAO : a slow call, or the same statement repeated many times within a single request or job
+ */
+public final class DAOCallFinding
+{
+    /** A call slower than the threshold */
+    public static final String TYPE_SLOW = "slow";
+
+    /** A statement repeated more than the threshold within a request or a job, usually a call in a loop */
+    public static final String TYPE_REPEATED = "repeated";
+
+    private final String _strType;
+    private final String _strStatement;
+    private final String _strScope;
+    private final int _nCount;
+    private final long _lDurationMillis;
+    private final String _strCaller;
+    private final long _lTimestamp;
+
+    /**
+     * Constructor
+     *
+     * @param strType
+     *            the type of finding
+     * @param strStatement
+     *            the DAO method, standing for the shape of the statement
+     * @param strScope
+     *            the request or the job, null if the call was made outside of them
+     * @param nCount
+     *            the number of calls
+     * @param lDurationMillis
+     *            the duration of the calls
+     * @param strCaller
+     *            the Home method calling the DAO and its caller
+     */
+    DAOCallFinding( String strType, String strStatement, String strScope, int nCount, long lDurationMillis, String strCaller )
+    {
+        _strType = strType;
+        _strStatement = strStatement;
+        _strScope = strScope;
+        _nCount = nCount;
+        _lDurationMillis = lDurationMillis;
+        _strCaller = strCaller;
+        _lTimestamp = System.currentTimeMillis( );
+    }
+
+    /**
+     * Returns the type of finding
+     *
+     * @return {@link #TYPE_SLOW} or {@link #TYPE_REPEATED}
+     */
+    public String getType( )
+    {
+        return _strType;
+    }
+
+    /**
+     * Returns the DAO method, standing for the shape of the statement
+     *
+     * @return the statement
+     */
+    public String getStatement( )
+    {
+        return _strStatement;
+    }
+
+    /**
+     * Returns the request or the job the calls were made in
+     *
+     * @return the scope, null if the call was made outside of a request or a job
+     */
+    public String getScope( )
+    {
+        return _strScope;
+    }
+
+    /**
+     * Returns the number of calls
+     *
+     * @return 1 for a slow call, the number of repetitions otherwise
+     */
+    public int getCount( )
+    {
+        return _nCount;
+    }
+
+    /**
+     * Returns the duration of the calls
+     *
+     * @return the duration of the slow call, or the total duration of the repeated calls, in milliseconds
+     */
+    public long getDurationMillis( )
+    {
+        return _lDurationMillis;
+    }
+
+    /**
+     * Returns the Home method calling the DAO and its caller
+     *
+     * @return the caller
+     */
+    public String getCaller( )
+    {
+        return _strCaller;
+    }
+
+    /**
+     * Returns the time of the finding
+     *
+     * @return the time in milliseconds since the epoch
+     */
+    public long getTimestamp( )
+    {
+        return _lTimestamp;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public String toString( )
+    {
+        StringBuilder sbFinding = new StringBuilder( );
+
+        if ( TYPE_SLOW.equals( _strType ) )
+        {
+            sbFinding.append( "Slow DAO call " ).append( _strStatement ).append( " : " ).append( _lDurationMillis ).append( " ms" );
+        }
+        else
+        {
+            sbFinding.append( "Repeated DAO call " ).append( _strStatement ).append( " : " ).append( _nCount ).append( " calls, " ).append( _lDurationMillis )
+                    .append( " ms" );
+        }
+
+        if ( _strScope != null )
+        {
+            sbFinding.append( " in " ).append( _strScope );
+        }
+
+        return sbFinding.append( " from " ).append( _strCaller ).toString( );
+    }
+}
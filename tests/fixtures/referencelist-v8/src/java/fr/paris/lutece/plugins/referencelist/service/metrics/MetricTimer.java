@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the calls of an operation and keeps the distribution of their durations. The durations are counted in buckets whose bounds are powers of two
+ * microseconds : recording a duration is a few atomic additions, the percentiles are estimated within a factor of two.
+ */
+public final class MetricTimer
+{
+    private static final int BUCKET_COUNT = 32;
+    private static final long NANOS_PER_MICRO = 1000L;
+
+    private final String _strName;
+    private final LongAdder _count = new LongAdder( );
+    private final LongAdder _totalNanos = new LongAdder( );
+    private final LongAccumulator _maxNanos = new LongAccumulator( Math::max, 0L );
+    private final AtomicLongArray _buckets = new AtomicLongArray( BUCKET_COUNT );
+
+    /**
+     * Constructor
+     *
+     * @param strName
+     *            the name of the timer
+     */
+    MetricTimer( String strName )
+    {
+        _strName = strName;
+    }
+
+    /**
+     * Returns the name of the timer
+     *
+     * @return the name
+     */
+    public String getName( )
+    {
+        return _strName;
+    }
+
+    /**
+     * Records the duration of a call
+     *
+     * @param lNanos
+     *            the duration in nanoseconds
+     */
+    public void record( long lNanos )
+    {
+        long lDuration = Math.max( 0L, lNanos );
+
+        _count.increment( );
+        _totalNanos.add( lDuration );
+        _maxNanos.accumulate( lDuration );
+        _buckets.incrementAndGet( getBucket( lDuration ) );
+    }
+
+    /**
+     * Returns the number of calls
+     *
+     * @return the count
+     */
+    public long getCount( )
+    {
+        return _count.sum( );
+    }
+
+    /**
+     * Returns the time spent in all the calls
+     *
+     * @return the total duration in nanoseconds
+     */
+    public long getTotalNanos( )
+    {
+        return _totalNanos.sum( );
+    }
+
+    /**
+     * Returns the mean duration of a call
+     *
+     * @return the mean duration in microseconds, 0 if there was no call
+     */
+    public long getMeanMicros( )
+    {
+        long lCount = getCount( );
+
+        return ( lCount == 0 ) ? 0L : getTotalNanos( ) / lCount / NANOS_PER_MICRO;
+    }
+
+    /**
+     * Returns the longest duration of a call
+     *
+     * @return the maximum duration in microseconds
+     */
+    public long getMaxMicros( )
+    {
+        return _maxNanos.get( ) / NANOS_PER_MICRO;
+    }
+
+    /**
+     * Estimates a percentile of the durations : the upper bound of the bucket holding it, or the maximum duration if it is lower
+     *
+     * @param dPercentile
+     *            the percentile, between 0 and 1
+     * @return the estimated duration in microseconds, 0 if there was no call
+     */
+    public long getPercentileMicros( double dPercentile )
+    {
+        long [ ] counts = new long [ BUCKET_COUNT];
+        long lTotal = 0;
+
+        for ( int i = 0; i < BUCKET_COUNT; i++ )
+        {
+            counts [i] = _buckets.get( i );
+            lTotal += counts [i];
+        }
+
+        if ( lTotal == 0 )
+        {
+            return 0L;
+        }
+
+        long lRank = Math.max( 1L, (long) Math.ceil( dPercentile * lTotal ) );
+        long lCumulated = 0;
+
+        for ( int i = 0; i < BUCKET_COUNT - 1; i++ )
+        {
+            lCumulated += counts [i];
+
+            if ( lCumulated >= lRank )
+            {
+                return Math.min( 1L << i, getMaxMicros( ) );
+            }
+        }
+
+        return getMaxMicros( );
+    }
+
+    /**
+     * Clears the recorded calls
+     */
+    void reset( )
+    {
+        _count.reset( );
+        _totalNanos.reset( );
+        _maxNanos.reset( );
+
+        for ( int i = 0; i < BUCKET_COUNT; i++ )
+        {
+            _buckets.set( i, 0L );
+        }
+    }
+
+    /**
+     * Returns the bucket of a duration : 0 below one microsecond, then n for the durations from 2^(n-1) included to 2^n microseconds excluded
+     *
+     * @param lNanos
+     *            the duration in nanoseconds
+     * @return the bucket
+     */
+    static int getBucket( long lNanos )
+    {
+        return Math.min( BUCKET_COUNT - 1, Long.SIZE - Long.numberOfLeadingZeros( lNanos / NANOS_PER_MICRO ) );
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service.metrics;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import fr.paris.lutece.plugins.referencelist.service.diagnostics.DAOCallDiagnostics;
+import fr.paris.lutece.portal.service.util.AppPropertiesService;
+import jakarta.enterprise.inject.spi.CDI;
+import jakarta.enterprise.inject.spi.ObserverMethod;
+
+/**
+ * Timers and counters of the hot paths of the plugin : the DAO calls, the building of the reference lists, the stages of the imports and the notification
+ * of the item events. <br>
+ * The metrics are disabled by default. Once enabled by the referencelist.metrics.enabled property, they are displayed on the metrics page of the reference
+ * management. When disabled, the DAOs are not wrapped and each measure point costs a test of a constant.
+ */
+public final class ReferenceListMetrics
+{
+    // Timers
+    public static final String TIMER_GET_REFERENCE_LIST = "service.getReferenceList";
+    public static final String TIMER_IMPORT_FILE_CHECK = "import.fileCheck";
+    public static final String TIMER_IMPORT_PARSE = "import.parse";
+    public static final String TIMER_IMPORT_COMPARE = "import.compare";
+    public static final String TIMER_IMPORT_WRITE = "import.write";
+    private static final String TIMER_DAO_PREFIX = "dao.";
+
+    // Counters
+    public static final String COUNTER_IMPORT_ROWS = "import.rows";
+    public static final String COUNTER_ITEM_EVENTS = "events.item.fired";
+    public static final String COUNTER_ITEM_NOTIFICATIONS = "events.item.notifications";
+    public static final String COUNTER_BATCH_EVENTS = "events.batch.fired";
+    public static final String COUNTER_BATCH_ITEMS = "events.batch.items";
+    public static final String COUNTER_BATCH_NOTIFICATIONS = "events.batch.notifications";
+
+    private static final String PROPERTY_ENABLED = "referencelist.metrics.enabled";
+    private static final boolean ENABLED = AppPropertiesService.getPropertyBoolean( PROPERTY_ENABLED, false );
+    private static final String NAME_SEPARATOR = ".";
+
+    private static final Map<String, MetricTimer> _mapTimers = new ConcurrentHashMap<>( );
+    private static final Map<String, MetricCounter> _mapCounters = new ConcurrentHashMap<>( );
+    private static final Map<String, Integer> _mapAsyncObserverCounts = new ConcurrentHashMap<>( );
+
+    private ReferenceListMetrics( )
+    {
+    }
+
+    /**
+     * Tells whether the metrics are recorded
+     *
+     * @return true if enabled
+     */
+    public static boolean isEnabled( )
+    {
+        return ENABLED;
+    }
+
+    /**
+     * Returns a timer, created on first use
+     *
+     * @param strName
+     *            the name of the timer
+     * @return the timer
+     */
+    public static MetricTimer getTimer( String strName )
+    {
+        return _mapTimers.computeIfAbsent( strName, MetricTimer::new );
+    }
+
+    /**
+     * Returns a counter, created on first use
+     *
+     * @param strName
+     *            the name of the counter
+     * @return the counter
+     */
+    public static MetricCounter getCounter( String strName )
+    {
+        return _mapCounters.computeIfAbsent( strName, MetricCounter::new );
+    }
+
+    /**
+     * Starts measuring a call
+     *
+     * @return the start time to pass to {@link #stop(String, long)}, 0 if the metrics are disabled
+     */
+    public static long start( )
+    {
+        return ENABLED ? System.nanoTime( ) : 0L;
+    }
+
+    /**
+     * Records the duration of a call
+     *
+     * @param strTimer
+     *            the name of the timer
+     * @param lStart
+     *            the start time returned by {@link #start()}
+     */
+    public static void stop( String strTimer, long lStart )
+    {
+        if ( ENABLED )
+        {
+            getTimer( strTimer ).record( System.nanoTime( ) - lStart );
+        }
+    }
+
+    /**
+     * Adds to a counter
+     *
+     * @param strCounter
+     *            the name of the counter
+     * @param lValue
+     *            the value to add
+     */
+    public static void count( String strCounter, long lValue )
+    {
+        if ( ENABLED )
+        {
+            getCounter( strCounter ).add( lValue );
+        }
+    }
+
+    /**
+     * Counts an event fired asynchronously and the notifications it causes, one per asynchronous observer
+     *
+     * @param strEventCounter
+     *            the name of the counter of the events
+     * @param strNotificationCounter
+     *            the name of the counter of the notifications
+     * @param event
+     *            the event
+     * @param qualifiers
+     *            the qualifiers the event is fired with
+     */
+    public static void countAsyncEvent( String strEventCounter, String strNotificationCounter, Object event, Annotation... qualifiers )
+    {
+        if ( ENABLED )
+        {
+            getCounter( strEventCounter ).add( 1 );
+            getCounter( strNotificationCounter ).add( getAsyncObserverCount( event, qualifiers ) );
+        }
+    }
+
+    /**
+     * Returns the number of asynchronous observers of an event, resolved once per type of event and qualifiers
+     *
+     * @param event
+     *            the event
+     * @param qualifiers
+     *            the qualifiers the event is fired with
+     * @return the number of observers
+     */
+    private static int getAsyncObserverCount( Object event, Annotation... qualifiers )
+    {
+        return _mapAsyncObserverCounts.computeIfAbsent( event.getClass( ).getName( ) + Arrays.toString( qualifiers ), strKey -> (int) CDI.current( )
+                .getBeanManager( ).resolveObserverMethods( event, qualifiers ).stream( ).filter( ObserverMethod::isAsync ).count( ) );
+    }
+
+    /**
+     * Returns the timers sorted by name
+     *
+     * @return the timers
+     */
+    public static List<MetricTimer> getTimers( )
+    {
+        List<MetricTimer> listTimers = new ArrayList<>( _mapTimers.values( ) );
+        listTimers.sort( Comparator.comparing( MetricTimer::getName ) );
+
+        return listTimers;
+    }
+
+    /**
+     * Returns the counters sorted by name
+     *
+     * @return the counters
+     */
+    public static List<MetricCounter> getCounters( )
+    {
+        List<MetricCounter> listCounters = new ArrayList<>( _mapCounters.values( ) );
+        listCounters.sort( Comparator.comparing( MetricCounter::getName ) );
+
+        return listCounters;
+    }
+
+    /**
+     * Returns the number of rows written by the imports per second spent writing them
+     *
+     * @return the throughput, 0 if nothing was imported
+     */
+    public static long getImportRowsPerSecond( )
+    {
+        long lNanos = getTimer( TIMER_IMPORT_WRITE ).getTotalNanos( );
+
+        return ( lNanos == 0 ) ? 0L : getCounter( COUNTER_IMPORT_ROWS ).getCount( ) * TimeUnit.SECONDS.toNanos( 1 ) / lNanos;
+    }
+
+    /**
+     * Clears all the timers and counters
+     */
+    public static void reset( )
+    {
+        _mapTimers.values( ).forEach( MetricTimer::reset );
+        _mapCounters.values( ).forEach( MetricCounter::reset );
+    }
+
+    /**
+     * Wraps a DAO so that each of its methods is timed, if the metrics are enabled
+     *
+     * @param <T>
+     *            the interface of the DAO
+     * @param daoInterface
+     *            the interface of the DAO
+     * @param dao
+     *            the DAO
+     * @return the wrapped DAO, or the DAO itself if neither the metrics nor the diagnostics of the DAO calls are enabled
+     */
+    public static <T> T instrument( Class<T> daoInterface, T dao )
+    {
+        if ( ENABLED || DAOCallDiagnostics.isEnabled( ) )
+        {
+            return wrap( daoInterface, dao, ENABLED );
+        }
+
+        return dao;
+    }
+
+    /**
+     * Wraps a DAO so that each of its methods is timed
+     *
+     * @param <T>
+     *            the interface of the DAO
+     * @param daoInterface
+     *            the interface of the DAO
+     * @param dao
+     *            the DAO
+     * @return the wrapped DAO
+     */
+    static <T> T wrap( Class<T> daoInterface, T dao )
+    {
+        return wrap( daoInterface, dao, true );
+    }
+
+    /**
+     * Wraps a DAO so that each of its calls is passed to the diagnostics of the DAO calls, and timed if requested
+     *
+     * @param <T>
+     *            the interface of the DAO
+     * @param daoInterface
+     *            the interface of the DAO
+     * @param dao
+     *            the DAO
+     * @param bTimed
+     *            true to time the calls
+     * @return the wrapped DAO
+     */
+    private static <T> T wrap( Class<T> daoInterface, T dao, boolean bTimed )
+    {
+        return daoInterface.cast( Proxy.newProxyInstance( daoInterface.getClassLoader( ), new Class<?> [ ] {
+                daoInterface
+        }, new TimedInvocationHandler( daoInterface.getSimpleName( ), dao, bTimed ) ) );
+    }
+
+    /**
+     * Times the calls of the methods of a DAO, a timer per method name, and passes them to the diagnostics of the DAO calls
+     */
+    private static final class TimedInvocationHandler implements InvocationHandler
+    {
+        private final String _strPrefix;
+        private final Object _dao;
+        private final boolean _bTimed;
+        private final Map<Method, String> _mapNames = new ConcurrentHashMap<>( );
+        private final Map<Method, MetricTimer> _mapTimers = new ConcurrentHashMap<>( );
+
+        /**
+         * Constructor
+         *
+         * @param strDaoName
+         *            the name of the DAO in the timer names
+         * @param dao
+         *            the DAO
+         * @param bTimed
+         *            true to time the calls
+         */
+        TimedInvocationHandler( String strDaoName, Object dao, boolean bTimed )
+        {
+            _strPrefix = TIMER_DAO_PREFIX + strDaoName + NAME_SEPARATOR;
+            _dao = dao;
+            _bTimed = bTimed;
+        }
+
+        /**
+         * {@inheritDoc }
+         */
+        @Override
+        public Object invoke( Object proxy, Method method, Object [ ] args ) throws Throwable
+        {
+            if ( method.getDeclaringClass( ) == Object.class )
+            {
+                return method.invoke( _dao, args );
+            }
+
+            String strName = _mapNames.computeIfAbsent( method, m -> _strPrefix + m.getName( ) );
+            long lStart = System.nanoTime( );
+
+            try
+            {
+                return method.invoke( _dao, args );
+            }
+            catch( InvocationTargetException e )
+            {
+                throw e.getCause( );
+            }
+            finally
+            {
+                long lDuration = System.nanoTime( ) - lStart;
+
+                if ( _bTimed )
+                {
+                    _mapTimers.computeIfAbsent( method, m -> getTimer( strName ) ).record( lDuration );
+                }
+
+                DAOCallDiagnostics.onCall( strName, lDuration );
+            }
+        }
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sorted arrays of the normalized labels and codes of the items of a reference in one language. A prefix is searched by a binary search followed by a
+ * scan of the matching keys. The labels are indexed from their start and from each of their following words, so that a search also matches inside the
+ * labels. This class is immutable.
+ */
+final class LabelIndex
+{
+    private static final Comparator<Entry> COMPARATOR_ENTRIES = Comparator.comparing( entry -> entry._strKey );
+
+    // labels and codes from their start, ranked before the matches inside the labels
+    private final String [ ] _startKeys;
+    private final int [ ] _startSlots;
+    // labels from their second word on
+    private final String [ ] _wordKeys;
+    private final int [ ] _wordSlots;
+
+    /**
+     * Constructor
+     *
+     * @param listStarts
+     *            the sorted entries of the starts of the labels and codes
+     * @param listWords
+     *            the sorted entries of the words of the labels
+     */
+    private LabelIndex( List<Entry> listStarts, List<Entry> listWords )
+    {
+        _startKeys = new String [ listStarts.size( )];
+        _startSlots = new int [ listStarts.size( )];
+        _wordKeys = new String [ listWords.size( )];
+        _wordSlots = new int [ listWords.size( )];
+
+        unpack( listStarts, _startKeys, _startSlots );
+        unpack( listWords, _wordKeys, _wordSlots );
+    }
+
+    /**
+     * Builds the index of a set of items
+     *
+     * @param codes
+     *            the codes of the items, by slot
+     * @param labels
+     *            the labels of the items, by slot
+     * @return the index
+     */
+    static LabelIndex build( String [ ] codes, String [ ] labels )
+    {
+        List<Entry> listStarts = new ArrayList<>( codes.length * 2 );
+        List<Entry> listWords = new ArrayList<>( codes.length );
+
+        for ( int nSlot = 0; nSlot < codes.length; nSlot++ )
+        {
+            addEntries( nSlot, codes [nSlot], labels [nSlot], listStarts, listWords );
+        }
+
+        listStarts.sort( COMPARATOR_ENTRIES );
+        listWords.sort( COMPARATOR_ENTRIES );
+
+        return new LabelIndex( listStarts, listWords );
+    }
+
+    /**
+     * Builds the index of a changed set of items from this index, normalizing only the changed items
+     *
+     * @param slotMap
+     *            the new slot of each slot of this index, -1 for the items removed or changed
+     * @param changedSlots
+     *            the new slots of the created and changed items
+     * @param codes
+     *            the new codes of the items, by new slot
+     * @param labels
+     *            the new labels of the items, by new slot
+     * @return the new index
+     */
+    LabelIndex update( int [ ] slotMap, int [ ] changedSlots, String [ ] codes, String [ ] labels )
+    {
+        List<Entry> listStarts = new ArrayList<>( changedSlots.length * 2 );
+        List<Entry> listWords = new ArrayList<>( changedSlots.length );
+
+        for ( int nSlot : changedSlots )
+        {
+            addEntries( nSlot, codes [nSlot], labels [nSlot], listStarts, listWords );
+        }
+
+        listStarts.sort( COMPARATOR_ENTRIES );
+        listWords.sort( COMPARATOR_ENTRIES );
+
+        return new LabelIndex( merge( _startKeys, _startSlots, slotMap, listStarts ), merge( _wordKeys, _wordSlots, slotMap, listWords ) );
+    }
+
+    /**
+     * Searches the items whose label or code starts with a prefix, then the items having a word of their label starting with it
+     *
+     * @param strPrefix
+     *            the normalized prefix
+     * @param nMax
+     *            the maximum number of items
+     * @param result
+     *            receives the slots of the items found, at least nMax long
+     * @return the number of items found
+     */
+    int search( String strPrefix, int nMax, int [ ] result )
+    {
+        int nFound = scan( _startKeys, _startSlots, strPrefix, nMax, result, 0 );
+
+        return scan( _wordKeys, _wordSlots, strPrefix, nMax, result, nFound );
+    }
+
+    /**
+     * Adds the slots of the keys starting with a prefix, skipping the slots already found
+     *
+     * @param keys
+     *            the sorted keys
+     * @param slots
+     *            the slots of the keys
+     * @param strPrefix
+     *            the prefix
+     * @param nMax
+     *            the maximum number of slots
+     * @param result
+     *            the slots found
+     * @param nFound
+     *            the number of slots already found
+     * @return the number of slots found
+     */
+    private static int scan( String [ ] keys, int [ ] slots, String strPrefix, int nMax, int [ ] result, int nFound )
+    {
+        int nPosition = Arrays.binarySearch( keys, strPrefix );
+        int nCount = nFound;
+
+        for ( int i = ( nPosition < 0 ) ? -nPosition - 1 : nPosition; i < keys.length && nCount < nMax && keys [i].startsWith( strPrefix ); i++ )
+        {
+            if ( !contains( result, nCount, slots [i] ) )
+            {
+                result [nCount++] = slots [i];
+            }
+        }
+
+        return nCount;
+    }
+
+    /**
+     * Tells whether a slot is among the first values of an array. The arrays searched are as small as a page of results.
+     *
+     * @param values
+     *            the array
+     * @param nLength
+     *            the number of values to look at
+     * @param nSlot
+     *            the slot
+     * @return true if found
+     */
+    private static boolean contains( int [ ] values, int nLength, int nSlot )
+    {
+        for ( int i = 0; i < nLength; i++ )
+        {
+            if ( values [i] == nSlot )
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Adds the entries of an item
+     *
+     * @param nSlot
+     *            the slot of the item
+     * @param strCode
+     *            the code
+     * @param strLabel
+     *            the label
+     * @param listStarts
+     *            the entries of the starts
+     * @param listWords
+     *            the entries of the words
+     */
+    private static void addEntries( int nSlot, String strCode, String strLabel, List<Entry> listStarts, List<Entry> listWords )
+    {
+        String strNormalizedLabel = SearchNormalizer.normalize( strLabel );
+        String strNormalizedCode = SearchNormalizer.normalize( strCode );
+
+        if ( !strNormalizedLabel.isEmpty( ) )
+        {
+            listStarts.add( new Entry( strNormalizedLabel, nSlot ) );
+        }
+
+        if ( !strNormalizedCode.isEmpty( ) && !strNormalizedCode.equals( strNormalizedLabel ) )
+        {
+            listStarts.add( new Entry( strNormalizedCode, nSlot ) );
+        }
+
+        for ( int nWord = SearchNormalizer.nextWord( strNormalizedLabel, 0 ); nWord > 0; nWord = SearchNormalizer.nextWord( strNormalizedLabel, nWord ) )
+        {
+            listWords.add( new Entry( strNormalizedLabel.substring( nWord ), nSlot ) );
+        }
+    }
+
+    /**
+     * Merges the remaining entries of this index with sorted new entries
+     *
+     * @param keys
+     *            the keys of this index
+     * @param slots
+     *            the slots of the keys
+     * @param slotMap
+     *            the new slot of each slot, -1 for the slots dropped
+     * @param listNew
+     *            the sorted new entries
+     * @return the merged entries
+     */
+    private static List<Entry> merge( String [ ] keys, int [ ] slots, int [ ] slotMap, List<Entry> listNew )
+    {
+        List<Entry> listMerged = new ArrayList<>( keys.length + listNew.size( ) );
+        int nNew = 0;
+
+        for ( int i = 0; i < keys.length; i++ )
+        {
+            int nSlot = slotMap [slots [i]];
+
+            if ( nSlot < 0 )
+            {
+                continue;
+            }
+
+            while ( nNew < listNew.size( ) && listNew.get( nNew )._strKey.compareTo( keys [i] ) < 0 )
+            {
+                listMerged.add( listNew.get( nNew++ ) );
+            }
+            listMerged.add( new Entry( keys [i], nSlot ) );
+        }
+
+        listMerged.addAll( listNew.subList( nNew, listNew.size( ) ) );
+
+        return listMerged;
+    }
+
+    /**
+     * Copies sorted entries into parallel arrays
+     *
+     * @param listEntries
+     *            the entries
+     * @param keys
+     *            receives the keys
+     * @param slots
+     *            receives the slots
+     */
+    private static void unpack( List<Entry> listEntries, String [ ] keys, int [ ] slots )
+    {
+        for ( int i = 0; i < listEntries.size( ); i++ )
+        {
+            keys [i] = listEntries.get( i )._strKey;
+            slots [i] = listEntries.get( i )._nSlot;
+        }
+    }
+
+    /**
+     * Key of an item in the index
+     */
+    private static final class Entry
+    {
+        private final String _strKey;
+        private final int _nSlot;
+
+        Entry( String strKey, int nSlot )
+        {
+            _strKey = strKey;
+            _nSlot = nSlot;
+        }
+    }
+}
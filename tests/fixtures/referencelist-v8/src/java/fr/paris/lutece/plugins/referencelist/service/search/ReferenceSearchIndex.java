@@ -0,0 +1,390 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import fr.paris.lutece.plugins.referencelist.business.IItemTranslationRowHandler;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+import fr.paris.lutece.plugins.referencelist.business.TranslationItemHome;
+
+/**
+ * Typeahead search over the items of a reference, on their codes and on their labels in every language. The items are kept in parallel arrays, by slot,
+ * and the {@link LabelIndex} of a language is built the first time the language is searched. <br>
+ * This class is immutable : a change of the items produces a new index sharing the work already done, see {@link #apply(List, List, Set)}.
+ */
+public final class ReferenceSearchIndex
+{
+    private static final String DEFAULT_LANG = "";
+
+    private final int _nIdReference;
+    private final int [ ] _ids;
+    private final String [ ] _codes;
+    private final String [ ] _names;
+    private final Map<String, String [ ]> _mapTranslationsByLang;
+    private final Map<String, LabelIndex> _mapIndexesByLang = new ConcurrentHashMap<>( );
+
+    /**
+     * Constructor
+     *
+     * @param nIdReference
+     *            the reference id
+     * @param ids
+     *            the ids of the items, by slot
+     * @param codes
+     *            the codes of the items, by slot
+     * @param names
+     *            the default names of the items, by slot
+     * @param mapTranslationsByLang
+     *            the translations of the items by language, by slot. A null translation falls back to the default name.
+     */
+    ReferenceSearchIndex( int nIdReference, int [ ] ids, String [ ] codes, String [ ] names, Map<String, String [ ]> mapTranslationsByLang )
+    {
+        _nIdReference = nIdReference;
+        _ids = ids;
+        _codes = codes;
+        _names = names;
+        _mapTranslationsByLang = mapTranslationsByLang;
+    }
+
+    /**
+     * Loads the index of a reference with a single query
+     *
+     * @param nIdReference
+     *            the reference id
+     * @return the index, empty if the reference has no item
+     */
+    public static ReferenceSearchIndex load( int nIdReference )
+    {
+        RowCollector collector = new RowCollector( );
+        TranslationItemHome.readItemsWithTranslations( nIdReference, collector );
+
+        return collector.toIndex( nIdReference );
+    }
+
+    /**
+     * Returns the number of items
+     *
+     * @return the number of items
+     */
+    public int size( )
+    {
+        return _ids.length;
+    }
+
+    /**
+     * Searches the items whose label in a language or code starts with a text, then the items having a word of their label starting with it. The search
+     * ignores case and accents.
+     *
+     * @param strQuery
+     *            the text typed
+     * @param strLang
+     *            the language of the labels, null or empty for the default names
+     * @param nMax
+     *            the maximum number of items
+     * @return the items found, with their label in the language as name
+     */
+    public List<ReferenceItem> search( String strQuery, String strLang, int nMax )
+    {
+        String strPrefix = SearchNormalizer.normalize( strQuery );
+
+        if ( strPrefix.isEmpty( ) || nMax <= 0 )
+        {
+            return Collections.emptyList( );
+        }
+
+        String strIndexLang = getIndexLang( strLang );
+        int [ ] slots = new int [ nMax];
+        int nFound = getLabelIndex( strIndexLang ).search( strPrefix, nMax, slots );
+        List<ReferenceItem> listItems = new ArrayList<>( nFound );
+
+        for ( int i = 0; i < nFound; i++ )
+        {
+            ReferenceItem item = new ReferenceItem( );
+            item.setId( _ids [slots [i]] );
+            item.setIdreference( _nIdReference );
+            item.setCode( _codes [slots [i]] );
+            item.setName( getLabel( strIndexLang, slots [i] ) );
+            listItems.add( item );
+        }
+
+        return listItems;
+    }
+
+    /**
+     * Builds the index of the items once changed. The translations of the changed items are kept, the created items have none. The indexes of the languages
+     * already built are updated by normalizing only the changed items. Applying a change already in the index leaves it unchanged.
+     *
+     * @param listCreated
+     *            the created items of the reference
+     * @param listUpdated
+     *            the updated items of the reference
+     * @param setRemovedIds
+     *            the ids of the removed items of the reference
+     * @return the new index
+     */
+    public ReferenceSearchIndex apply( List<ReferenceItem> listCreated, List<ReferenceItem> listUpdated, Set<Integer> setRemovedIds )
+    {
+        Map<Integer, ReferenceItem> mapChanged = new LinkedHashMap<>( );
+
+        for ( ReferenceItem item : listCreated )
+        {
+            mapChanged.put( item.getId( ), item );
+        }
+
+        for ( ReferenceItem item : listUpdated )
+        {
+            mapChanged.put( item.getId( ), item );
+        }
+
+        int nMaxSize = _ids.length + mapChanged.size( );
+        int [ ] ids = new int [ nMaxSize];
+        String [ ] codes = new String [ nMaxSize];
+        String [ ] names = new String [ nMaxSize];
+        int [ ] slotMap = new int [ _ids.length];
+        int [ ] changedSlots = new int [ mapChanged.size( )];
+        int [ ] translationSources = new int [ nMaxSize];
+        int nSize = 0;
+        int nChanged = 0;
+
+        for ( int nSlot = 0; nSlot < _ids.length; nSlot++ )
+        {
+            ReferenceItem changed = mapChanged.remove( _ids [nSlot] );
+
+            if ( setRemovedIds.contains( _ids [nSlot] ) )
+            {
+                slotMap [nSlot] = -1;
+                continue;
+            }
+
+            ids [nSize] = _ids [nSlot];
+            translationSources [nSize] = nSlot;
+
+            if ( changed == null )
+            {
+                codes [nSize] = _codes [nSlot];
+                names [nSize] = _names [nSlot];
+                slotMap [nSlot] = nSize;
+            }
+            else
+            {
+                codes [nSize] = changed.getCode( );
+                names [nSize] = changed.getName( );
+                slotMap [nSlot] = -1;
+                changedSlots [nChanged++] = nSize;
+            }
+            nSize++;
+        }
+
+        for ( ReferenceItem created : mapChanged.values( ) )
+        {
+            if ( setRemovedIds.contains( created.getId( ) ) )
+            {
+                continue;
+            }
+
+            ids [nSize] = created.getId( );
+            codes [nSize] = created.getCode( );
+            names [nSize] = created.getName( );
+            translationSources [nSize] = -1;
+            changedSlots [nChanged++] = nSize;
+            nSize++;
+        }
+
+        Map<String, String [ ]> mapTranslationsByLang = new HashMap<>( );
+
+        for ( Map.Entry<String, String [ ]> entry : _mapTranslationsByLang.entrySet( ) )
+        {
+            String [ ] translations = new String [ nSize];
+
+            for ( int nSlot = 0; nSlot < nSize; nSlot++ )
+            {
+                translations [nSlot] = ( translationSources [nSlot] < 0 ) ? null : entry.getValue( ) [translationSources [nSlot]];
+            }
+            mapTranslationsByLang.put( entry.getKey( ), translations );
+        }
+
+        ReferenceSearchIndex index = new ReferenceSearchIndex( _nIdReference, Arrays.copyOf( ids, nSize ), Arrays.copyOf( codes, nSize ),
+                Arrays.copyOf( names, nSize ), mapTranslationsByLang );
+        int [ ] changed = Arrays.copyOf( changedSlots, nChanged );
+
+        for ( Map.Entry<String, LabelIndex> entry : _mapIndexesByLang.entrySet( ) )
+        {
+            index._mapIndexesByLang.put( entry.getKey( ), entry.getValue( ).update( slotMap, changed, index._codes, index.getLabels( entry.getKey( ) ) ) );
+        }
+
+        return index;
+    }
+
+    /**
+     * Returns the language of the index used for a language : the default names are used for a language without any translation
+     *
+     * @param strLang
+     *            the language
+     * @return the language of the index
+     */
+    private String getIndexLang( String strLang )
+    {
+        return ( strLang != null && _mapTranslationsByLang.containsKey( strLang ) ) ? strLang : DEFAULT_LANG;
+    }
+
+    /**
+     * Returns the label index of a language, building it if needed
+     *
+     * @param strIndexLang
+     *            the language of the index
+     * @return the label index
+     */
+    private LabelIndex getLabelIndex( String strIndexLang )
+    {
+        return _mapIndexesByLang.computeIfAbsent( strIndexLang, strLang -> LabelIndex.build( _codes, getLabels( strLang ) ) );
+    }
+
+    /**
+     * Returns the labels of the items in the language of an index
+     *
+     * @param strIndexLang
+     *            the language of the index
+     * @return the labels, by slot
+     */
+    private String [ ] getLabels( String strIndexLang )
+    {
+        String [ ] translations = _mapTranslationsByLang.get( strIndexLang );
+
+        if ( translations == null )
+        {
+            return _names;
+        }
+
+        String [ ] labels = new String [ _names.length];
+
+        for ( int nSlot = 0; nSlot < labels.length; nSlot++ )
+        {
+            labels [nSlot] = ( translations [nSlot] != null ) ? translations [nSlot] : _names [nSlot];
+        }
+
+        return labels;
+    }
+
+    /**
+     * Returns the label of an item in the language of an index
+     *
+     * @param strIndexLang
+     *            the language of the index
+     * @param nSlot
+     *            the slot of the item
+     * @return the label
+     */
+    private String getLabel( String strIndexLang, int nSlot )
+    {
+        String [ ] translations = _mapTranslationsByLang.get( strIndexLang );
+
+        return ( translations != null && translations [nSlot] != null ) ? translations [nSlot] : _names [nSlot];
+    }
+
+    /**
+     * Collects the rows of the items with their translations, ordered by item
+     */
+    private static final class RowCollector implements IItemTranslationRowHandler
+    {
+        private final List<Integer> _listIds = new ArrayList<>( );
+        private final List<String> _listCodes = new ArrayList<>( );
+        private final List<String> _listNames = new ArrayList<>( );
+        private final Map<String, Map<Integer, String>> _mapTranslationsByLang = new HashMap<>( );
+
+        /**
+         * {@inheritDoc }
+         */
+        @Override
+        public void handleRow( int nIdItem, String strCode, String strName, String strLang, String strTranslation )
+        {
+            int nLast = _listIds.size( ) - 1;
+
+            if ( nLast < 0 || _listIds.get( nLast ) != nIdItem )
+            {
+                _listIds.add( nIdItem );
+                _listCodes.add( strCode );
+                _listNames.add( strName );
+                nLast++;
+            }
+
+            if ( strLang != null )
+            {
+                _mapTranslationsByLang.computeIfAbsent( strLang, strKey -> new HashMap<>( ) ).put( nLast, strTranslation );
+            }
+        }
+
+        /**
+         * Builds the index of the rows collected
+         *
+         * @param nIdReference
+         *            the reference id
+         * @return the index
+         */
+        ReferenceSearchIndex toIndex( int nIdReference )
+        {
+            int nSize = _listIds.size( );
+            int [ ] ids = new int [ nSize];
+
+            for ( int nSlot = 0; nSlot < nSize; nSlot++ )
+            {
+                ids [nSlot] = _listIds.get( nSlot );
+            }
+
+            Map<String, String [ ]> mapTranslationsByLang = new HashMap<>( );
+
+            for ( Map.Entry<String, Map<Integer, String>> entry : _mapTranslationsByLang.entrySet( ) )
+            {
+                String [ ] translations = new String [ nSize];
+
+                for ( Map.Entry<Integer, String> translation : entry.getValue( ).entrySet( ) )
+                {
+                    translations [translation.getKey( )] = translation.getValue( );
+                }
+                mapTranslationsByLang.put( entry.getKey( ), translations );
+            }
+
+            return new ReferenceSearchIndex( nIdReference, ids, _listCodes.toArray( new String [ nSize] ), _listNames.toArray( new String [ nSize] ),
+                    mapTranslationsByLang );
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import fr.paris.lutece.plugins.referencelist.business.Reference;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+import fr.paris.lutece.plugins.referencelist.service.LoadingMap;
+import fr.paris.lutece.plugins.referencelist.service.ReferenceEvent;
+import fr.paris.lutece.plugins.referencelist.service.ReferenceItemBatchEvent;
+import fr.paris.lutece.plugins.referencelist.service.ReferenceRegistry;
+import fr.paris.lutece.plugins.referencelist.service.TranslationItemEvent;
+import fr.paris.lutece.portal.service.event.EventAction;
+import fr.paris.lutece.portal.service.event.Type;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.ObservesAsync;
+import jakarta.inject.Inject;
+
+/**
+ * Typeahead search over the items of the references, for the forms using references too large to be rendered as a select. The {@link ReferenceSearchIndex}
+ * of a reference is loaded the first time the reference is searched, then updated from the item events. A change of a translation drops the index of its
+ * reference, so does a change of more than half of the items of a reference, such as an import.
+ */
+@ApplicationScoped
+public class ReferenceSearchService
+{
+    private final LoadingMap<Integer, ReferenceSearchIndex> _mapIndexes = new LoadingMap<>( );
+
+    @Inject
+    private ReferenceRegistry _registry;
+
+    /**
+     * Searches the items of a reference whose label or code starts with a text, then the items having a word of their label starting with it
+     *
+     * @param strReferenceName
+     *            the reference name
+     * @param strQuery
+     *            the text typed
+     * @param strLang
+     *            the language of the labels, null or empty for the default names
+     * @param nMax
+     *            the maximum number of items
+     * @return the items found with their label as name, empty if the reference does not exist
+     */
+    public List<ReferenceItem> search( String strReferenceName, String strQuery, String strLang, int nMax )
+    {
+        int nIdReference = _registry.getIdByName( strReferenceName );
+
+        if ( nIdReference == ReferenceRegistry.NOT_FOUND )
+        {
+            return Collections.emptyList( );
+        }
+
+        return search( nIdReference, strQuery, strLang, nMax );
+    }
+
+    /**
+     * Searches the items of a reference whose label or code starts with a text, then the items having a word of their label starting with it
+     *
+     * @param nIdReference
+     *            the reference id
+     * @param strQuery
+     *            the text typed
+     * @param strLang
+     *            the language of the labels, null or empty for the default names
+     * @param nMax
+     *            the maximum number of items
+     * @return the items found with their label as name
+     */
+    public List<ReferenceItem> search( int nIdReference, String strQuery, String strLang, int nMax )
+    {
+        return getIndex( nIdReference ).search( strQuery, strLang, nMax );
+    }
+
+    /**
+     * Returns the index of a reference, loading it if needed
+     *
+     * @param nIdReference
+     *            the reference id
+     * @return the index
+     */
+    public ReferenceSearchIndex getIndex( int nIdReference )
+    {
+        // loaded outside of the lock of the map, so that a large reference does not block the others
+        return _mapIndexes.get( nIdReference, ReferenceSearchIndex::load );
+    }
+
+    /**
+     * Drops the index of a reference
+     *
+     * @param nIdReference
+     *            the reference id
+     */
+    public void invalidate( int nIdReference )
+    {
+        _mapIndexes.remove( nIdReference );
+    }
+
+    /**
+     * Applies a set of item changes to the indexes loaded
+     *
+     * @param event
+     *            the event
+     */
+    public void onReferenceItemBatch( @ObservesAsync ReferenceItemBatchEvent event )
+    {
+        for ( Integer nIdReference : event.getReferenceIds( ) )
+        {
+            List<ReferenceItem> listCreated = filter( event.getCreatedItems( ), nIdReference );
+            List<ReferenceItem> listUpdated = filter( event.getUpdatedItems( ), nIdReference );
+            Set<Integer> setRemovedIds = new HashSet<>( );
+
+            for ( ReferenceItem item : filter( event.getRemovedItems( ), nIdReference ) )
+            {
+                setRemovedIds.add( item.getId( ) );
+            }
+
+            int nChanges = listCreated.size( ) + listUpdated.size( ) + setRemovedIds.size( );
+
+            // an index loaded meanwhile may miss these changes : it is not kept
+            _mapIndexes.computeIfPresent( nIdReference,
+                    ( nId, index ) -> ( nChanges > index.size( ) / 2 ) ? null : index.apply( listCreated, listUpdated, setRemovedIds ) );
+        }
+    }
+
+    /**
+     * Drops the index of the reference of a created, modified or removed translation
+     *
+     * @param event
+     *            the event
+     */
+    public void onTranslationItemEvent( @Observes TranslationItemEvent event )
+    {
+        invalidate( event.getIdReference( ) );
+    }
+
+    /**
+     * Drops the index of a removed reference
+     *
+     * @param event
+     *            the event
+     */
+    public void onReferenceRemoved( @Observes @Type( EventAction.REMOVE ) ReferenceEvent event )
+    {
+        Reference reference = event.getReference( );
+
+        if ( reference != null )
+        {
+            invalidate( reference.getId( ) );
+        }
+    }
+
+    /**
+     * Returns the items of a reference among a list of items
+     *
+     * @param listItems
+     *            the items, may be null
+     * @param nIdReference
+     *            the reference id
+     * @return the items of the reference
+     */
+    private static List<ReferenceItem> filter( List<ReferenceItem> listItems, int nIdReference )
+    {
+        List<ReferenceItem> listFiltered = new ArrayList<>( );
+
+        if ( listItems != null )
+        {
+            for ( ReferenceItem item : listItems )
+            {
+                if ( item != null && item.getIdreference( ) == nIdReference )
+                {
+                    listFiltered.add( item );
+                }
+            }
+        }
+
+        return listFiltered;
+    }
+}
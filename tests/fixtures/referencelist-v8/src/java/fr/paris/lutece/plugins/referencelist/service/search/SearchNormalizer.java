@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service.search;
+
+import java.text.Normalizer;
+
+/**
+ * Normalizes the texts indexed and searched by the {@link ReferenceSearchIndex}, so that the search is case and accent insensitive
+ */
+public final class SearchNormalizer
+{
+    private static final char WORD_SEPARATOR = ' ';
+
+    /**
+     * Private constructor - this class need not be instantiated
+     */
+    private SearchNormalizer( )
+    {
+    }
+
+    /**
+     * Returns the searchable form of a text : lower case, without accents, each run of characters other than letters and digits replaced by a single space
+     *
+     * @param strText
+     *            the text
+     * @return the searchable form, empty if the text is null
+     */
+    public static String normalize( String strText )
+    {
+        if ( strText == null )
+        {
+            return "";
+        }
+
+        String strDecomposed = isAscii( strText ) ? strText : Normalizer.normalize( strText, Normalizer.Form.NFD );
+        StringBuilder sbNormalized = new StringBuilder( strDecomposed.length( ) );
+        boolean bSeparator = false;
+
+        for ( int i = 0; i < strDecomposed.length( ); i++ )
+        {
+            char c = strDecomposed.charAt( i );
+
+            if ( Character.isLetterOrDigit( c ) )
+            {
+                if ( bSeparator && sbNormalized.length( ) > 0 )
+                {
+                    sbNormalized.append( WORD_SEPARATOR );
+                }
+                bSeparator = false;
+                sbNormalized.append( Character.toLowerCase( c ) );
+            }
+            else
+                if ( !isMark( c ) )
+                {
+                    bSeparator = true;
+                }
+        }
+
+        return sbNormalized.toString( );
+    }
+
+    /**
+     * Returns the position of the word following a position in a normalized text
+     *
+     * @param strNormalized
+     *            the normalized text
+     * @param nFrom
+     *            the position to search from
+     * @return the position of the first character of the next word, -1 if there is none
+     */
+    static int nextWord( String strNormalized, int nFrom )
+    {
+        int nSeparator = strNormalized.indexOf( WORD_SEPARATOR, nFrom );
+
+        return ( nSeparator < 0 ) ? -1 : nSeparator + 1;
+    }
+
+    /**
+     * Tells whether a text holds only ASCII characters, which need no decomposition
+     *
+     * @param strText
+     *            the text
+     * @return true if the text is ASCII
+     */
+    private static boolean isAscii( String strText )
+    {
+        for ( int i = 0; i < strText.length( ); i++ )
+        {
+            if ( strText.charAt( i ) > 0x7F )
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Tells whether a character is a combining mark, such as the accents left by the decomposition
+     *
+     * @param c
+     *            the character
+     * @return true if the character is a mark
+     */
+    private static boolean isMark( char c )
+    {
+        int nType = Character.getType( c );
+
+        return nType == Character.NON_SPACING_MARK || nType == Character.COMBINING_SPACING_MARK || nType == Character.ENCLOSING_MARK;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service.snapshot;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Writes a snapshot of a reference : a header, the items in the order they are read from the database, then a trailer. Implementations must not keep more
+ * than a bounded number of items in memory.
+ */
+abstract class AbstractSnapshotWriter
+{
+    /** Version of the layout of the snapshots, written in their header */
+    static final int FORMAT_VERSION = 1;
+
+    /**
+     * Writes the header
+     *
+     * @param nIdReference
+     *            the reference id
+     * @param strReferenceName
+     *            the reference name
+     * @throws IOException
+     *             if an error occurs
+     */
+    abstract void writeHeader( int nIdReference, String strReferenceName ) throws IOException;
+
+    /**
+     * Writes an item
+     *
+     * @param nId
+     *            the item id
+     * @param strCode
+     *            the item code
+     * @param strName
+     *            the default name of the item
+     * @param mapTranslations
+     *            the translated names by language. The map is reused for the next item and must not be kept.
+     * @throws IOException
+     *             if an error occurs
+     */
+    abstract void writeItem( int nId, String strCode, String strName, Map<String, String> mapTranslations ) throws IOException;
+
+    /**
+     * Writes the trailer and flushes the content. The underlying stream is not closed.
+     *
+     * @param nCount
+     *            the number of items written
+     * @param strETag
+     *            the etag of the snapshot
+     * @throws IOException
+     *             if an error occurs
+     */
+    abstract void writeTrailer( int nCount, String strETag ) throws IOException;
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service.snapshot;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import fr.paris.lutece.plugins.referencelist.business.IItemTranslationRowHandler;
+
+/**
+ * Reads a snapshot written in the {@link SnapshotFormat#BINARY} format, one block at a time
+ */
+public class BinarySnapshotReader
+{
+    private final DataInputStream _in;
+    private int _nIdReference;
+    private String _strReferenceName;
+    private int _nCount;
+    private String _strETag;
+
+    /**
+     * Constructor
+     *
+     * @param in
+     *            the gzip compressed snapshot
+     * @throws IOException
+     *             if an error occurs
+     */
+    public BinarySnapshotReader( InputStream in ) throws IOException
+    {
+        _in = new DataInputStream( new GZIPInputStream( in ) );
+    }
+
+    /**
+     * Reads the snapshot. The items are passed to the handler as the rows of the database : once per translation, or once with a null language if the item
+     * has no translation.
+     *
+     * @param handler
+     *            the handler of the items
+     * @return the number of items
+     * @throws IOException
+     *             if an error occurs or the content is not a snapshot
+     */
+    public int read( IItemTranslationRowHandler handler ) throws IOException
+    {
+        if ( _in.readInt( ) != BinarySnapshotWriter.MAGIC || _in.readInt( ) != AbstractSnapshotWriter.FORMAT_VERSION )
+        {
+            throw new IOException( "Not a reference snapshot" );
+        }
+
+        _nIdReference = _in.readInt( );
+        _strReferenceName = readString( );
+
+        int nBlockSize;
+
+        while ( ( nBlockSize = _in.readInt( ) ) > 0 )
+        {
+            readBlock( nBlockSize, handler );
+        }
+
+        _nCount = _in.readInt( );
+        _strETag = readString( );
+
+        return _nCount;
+    }
+
+    /**
+     * Reads a block
+     *
+     * @param nBlockSize
+     *            the number of items of the block
+     * @param handler
+     *            the handler of the items
+     * @throws IOException
+     *             if an error occurs
+     */
+    private void readBlock( int nBlockSize, IItemTranslationRowHandler handler ) throws IOException
+    {
+        int [ ] ids = new int [ nBlockSize];
+
+        for ( int i = 0; i < nBlockSize; i++ )
+        {
+            ids [i] = _in.readInt( );
+        }
+
+        String [ ] codes = readColumn( nBlockSize );
+        String [ ] names = readColumn( nBlockSize );
+        int nLangCount = _in.readInt( );
+        String [ ] langs = new String [ nLangCount];
+        String [ ] [ ] translations = new String [ nLangCount] [ ];
+
+        for ( int l = 0; l < nLangCount; l++ )
+        {
+            langs [l] = readString( );
+            translations [l] = readColumn( nBlockSize );
+        }
+
+        for ( int i = 0; i < nBlockSize; i++ )
+        {
+            boolean bTranslated = false;
+
+            for ( int l = 0; l < nLangCount; l++ )
+            {
+                if ( translations [l] [i] != null )
+                {
+                    handler.handleRow( ids [i], codes [i], names [i], langs [l], translations [l] [i] );
+                    bTranslated = true;
+                }
+            }
+
+            if ( !bTranslated )
+            {
+                handler.handleRow( ids [i], codes [i], names [i], null, null );
+            }
+        }
+    }
+
+    /**
+     * Reads a column
+     *
+     * @param nBlockSize
+     *            the number of items of the block
+     * @return the values
+     * @throws IOException
+     *             if an error occurs
+     */
+    private String [ ] readColumn( int nBlockSize ) throws IOException
+    {
+        int [ ] lengths = new int [ nBlockSize];
+        String [ ] values = new String [ nBlockSize];
+
+        for ( int i = 0; i < nBlockSize; i++ )
+        {
+            lengths [i] = _in.readInt( );
+        }
+
+        for ( int i = 0; i < nBlockSize; i++ )
+        {
+            if ( lengths [i] >= 0 )
+            {
+                byte [ ] bytes = new byte [ lengths [i]];
+                _in.readFully( bytes );
+                values [i] = new String( bytes, StandardCharsets.UTF_8 );
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Reads a string
+     *
+     * @return the string
+     * @throws IOException
+     *             if an error occurs
+     */
+    private String readString( ) throws IOException
+    {
+        byte [ ] bytes = new byte [ _in.readInt( )];
+        _in.readFully( bytes );
+
+        return new String( bytes, StandardCharsets.UTF_8 );
+    }
+
+    /**
+     * Returns the id of the reference, once read
+     *
+     * @return the reference id
+     */
+    public int getIdReference( )
+    {
+        return _nIdReference;
+    }
+
+    /**
+     * Returns the name of the reference, once read
+     *
+     * @return the reference name
+     */
+    public String getReferenceName( )
+    {
+        return _strReferenceName;
+    }
+
+    /**
+     * Returns the number of items, once read
+     *
+     * @return the number of items
+     */
+    public int getCount( )
+    {
+        return _nCount;
+    }
+
+    /**
+     * Returns the etag of the snapshot, once read
+     *
+     * @return the etag
+     */
+    public String getETag( )
+    {
+        return _strETag;
+    }
+}
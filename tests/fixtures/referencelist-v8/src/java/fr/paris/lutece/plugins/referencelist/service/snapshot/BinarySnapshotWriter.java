@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service.snapshot;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes a snapshot in a binary columnar layout. The items are written by blocks of at most {@link #BLOCK_SIZE} items, each block storing its columns one
+ * after the other, so that a block is the only part of the snapshot held in memory :
+ *
+ * <pre>
+ * header  : int MAGIC, int format version, int reference id, string reference name
+ * block   : int item count (n &gt; 0)
+ *           int[n] ids
+ *           column codes, column names
+ *           int language count, then for each language : string language, column translations
+ * end     : int 0, int total item count, string etag
+ * column  : int[n] byte lengths of the values (-1 for null), then the UTF-8 bytes of the values
+ * string  : int byte length, then the UTF-8 bytes
+ * </pre>
+ *
+ * All the ints are big-endian.
+ */
+class BinarySnapshotWriter extends AbstractSnapshotWriter
+{
+    /** First bytes of a binary snapshot : "RLS1" */
+    static final int MAGIC = 0x524C5331;
+    static final int BLOCK_SIZE = 4096;
+
+    private final DataOutputStream _out;
+    private final int [ ] _ids = new int [ BLOCK_SIZE];
+    private final String [ ] _codes = new String [ BLOCK_SIZE];
+    private final String [ ] _names = new String [ BLOCK_SIZE];
+    private final Map<String, String [ ]> _mapTranslationsByLang = new LinkedHashMap<>( );
+    private int _nBlockSize;
+
+    /**
+     * Constructor
+     *
+     * @param out
+     *            the stream to write to
+     */
+    BinarySnapshotWriter( OutputStream out )
+    {
+        _out = new DataOutputStream( out );
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    void writeHeader( int nIdReference, String strReferenceName ) throws IOException
+    {
+        _out.writeInt( MAGIC );
+        _out.writeInt( FORMAT_VERSION );
+        _out.writeInt( nIdReference );
+        writeString( strReferenceName );
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    void writeItem( int nId, String strCode, String strName, Map<String, String> mapTranslations ) throws IOException
+    {
+        _ids [_nBlockSize] = nId;
+        _codes [_nBlockSize] = strCode;
+        _names [_nBlockSize] = strName;
+
+        for ( Map.Entry<String, String> translation : mapTranslations.entrySet( ) )
+        {
+            _mapTranslationsByLang.computeIfAbsent( translation.getKey( ), strLang -> new String [ BLOCK_SIZE] ) [_nBlockSize] = translation.getValue( );
+        }
+
+        _nBlockSize++;
+
+        if ( _nBlockSize == BLOCK_SIZE )
+        {
+            writeBlock( );
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    void writeTrailer( int nCount, String strETag ) throws IOException
+    {
+        writeBlock( );
+        _out.writeInt( 0 );
+        _out.writeInt( nCount );
+        writeString( strETag );
+        _out.flush( );
+    }
+
+    /**
+     * Writes the pending items as a block
+     *
+     * @throws IOException
+     *             if an error occurs
+     */
+    private void writeBlock( ) throws IOException
+    {
+        if ( _nBlockSize == 0 )
+        {
+            return;
+        }
+
+        _out.writeInt( _nBlockSize );
+
+        for ( int i = 0; i < _nBlockSize; i++ )
+        {
+            _out.writeInt( _ids [i] );
+        }
+
+        writeColumn( _codes );
+        writeColumn( _names );
+        _out.writeInt( _mapTranslationsByLang.size( ) );
+
+        for ( Map.Entry<String, String [ ]> translations : _mapTranslationsByLang.entrySet( ) )
+        {
+            writeString( translations.getKey( ) );
+            writeColumn( translations.getValue( ) );
+        }
+
+        _mapTranslationsByLang.clear( );
+        Arrays.fill( _codes, null );
+        Arrays.fill( _names, null );
+        _nBlockSize = 0;
+    }
+
+    /**
+     * Writes the values of the pending items for a column
+     *
+     * @param values
+     *            the values
+     * @throws IOException
+     *             if an error occurs
+     */
+    private void writeColumn( String [ ] values ) throws IOException
+    {
+        byte [ ] [ ] bytes = new byte [ _nBlockSize] [ ];
+
+        for ( int i = 0; i < _nBlockSize; i++ )
+        {
+            bytes [i] = ( values [i] == null ) ? null : values [i].getBytes( StandardCharsets.UTF_8 );
+            _out.writeInt( ( bytes [i] == null ) ? -1 : bytes [i].length );
+        }
+
+        for ( int i = 0; i < _nBlockSize; i++ )
+        {
+            if ( bytes [i] != null )
+            {
+                _out.write( bytes [i] );
+            }
+        }
+    }
+
+    /**
+     * Writes a string
+     *
+     * @param strValue
+     *            the string
+     * @throws IOException
+     *             if an error occurs
+     */
+    private void writeString( String strValue ) throws IOException
+    {
+        byte [ ] bytes = strValue.getBytes( StandardCharsets.UTF_8 );
+
+        _out.writeInt( bytes.length );
+        _out.write( bytes );
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service.snapshot;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+/**
+ * Writes a snapshot as JSON lines :
+ *
+ * <pre>
+ * {"reference":{"format":1,"id":1,"name":"civility"}}
+ * {"id":12,"code":"mister","name":"Mister","translations":{"fr":"Monsieur"}}
+ * ...
+ * {"end":{"count":2,"etag":"..."}}
+ * </pre>
+ */
+class JsonLinesSnapshotWriter extends AbstractSnapshotWriter
+{
+    private static final JsonFactory JSON_FACTORY = new JsonFactory( ).disable( JsonGenerator.Feature.AUTO_CLOSE_TARGET );
+    private static final SerializedString LINE_SEPARATOR = new SerializedString( "\n" );
+
+    private final JsonGenerator _generator;
+
+    /**
+     * Constructor
+     *
+     * @param out
+     *            the stream to write to
+     * @throws IOException
+     *             if an error occurs
+     */
+    JsonLinesSnapshotWriter( OutputStream out ) throws IOException
+    {
+        _generator = JSON_FACTORY.createGenerator( out );
+        _generator.setRootValueSeparator( LINE_SEPARATOR );
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    void writeHeader( int nIdReference, String strReferenceName ) throws IOException
+    {
+        _generator.writeStartObject( );
+        _generator.writeObjectFieldStart( "reference" );
+        _generator.writeNumberField( "format", FORMAT_VERSION );
+        _generator.writeNumberField( "id", nIdReference );
+        _generator.writeStringField( "name", strReferenceName );
+        _generator.writeEndObject( );
+        _generator.writeEndObject( );
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    void writeItem( int nId, String strCode, String strName, Map<String, String> mapTranslations ) throws IOException
+    {
+        _generator.writeStartObject( );
+        _generator.writeNumberField( "id", nId );
+        _generator.writeStringField( "code", strCode );
+        _generator.writeStringField( "name", strName );
+
+        if ( !mapTranslations.isEmpty( ) )
+        {
+            _generator.writeObjectFieldStart( "translations" );
+
+            for ( Map.Entry<String, String> translation : mapTranslations.entrySet( ) )
+            {
+                _generator.writeStringField( translation.getKey( ), translation.getValue( ) );
+            }
+
+            _generator.writeEndObject( );
+        }
+
+        _generator.writeEndObject( );
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    void writeTrailer( int nCount, String strETag ) throws IOException
+    {
+        _generator.writeStartObject( );
+        _generator.writeObjectFieldStart( "end" );
+        _generator.writeNumberField( "count", nCount );
+        _generator.writeStringField( "etag", strETag );
+        _generator.writeEndObject( );
+        _generator.writeEndObject( );
+        _generator.writeRaw( '\n' );
+        _generator.close( );
+    }
+}
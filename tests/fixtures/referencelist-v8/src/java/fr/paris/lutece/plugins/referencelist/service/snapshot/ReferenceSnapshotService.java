@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service.snapshot;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+
+import fr.paris.lutece.plugins.referencelist.business.IItemTranslationRowHandler;
+import fr.paris.lutece.plugins.referencelist.business.Reference;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceChangeHome;
+import fr.paris.lutece.plugins.referencelist.business.TranslationItemHome;
+import fr.paris.lutece.plugins.referencelist.service.ReferenceRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Exports a whole reference with all its translations as a gzip compressed snapshot. The rows are streamed from the database to the output as they are
+ * read, no more than one item (or one block of items for the binary format) being held in memory. <br>
+ * Each snapshot ends with an etag, built from the name of the reference and from its persisted version, which is incremented by every change of its
+ * items or translations. The etag is also available through {@link #getETag(int)}, with a single query and without reading the items, so that a consumer
+ * can skip the download of an unchanged reference.
+ */
+@ApplicationScoped
+public class ReferenceSnapshotService
+{
+    private static final int BUFFER_SIZE = 65536;
+    private static final String ETAG_SEPARATOR = "-";
+
+    @Inject
+    private ReferenceRegistry _registry;
+
+    /**
+     * Writes the snapshot of a reference
+     *
+     * @param nIdReference
+     *            the reference id
+     * @param format
+     *            the format of the snapshot
+     * @param out
+     *            the stream to write to. It is not closed.
+     * @return the etag of the snapshot, or null if the reference does not exist and nothing was written
+     * @throws IOException
+     *             if the snapshot can not be written
+     */
+    public String export( int nIdReference, SnapshotFormat format, OutputStream out ) throws IOException
+    {
+        Reference reference = _registry.getReference( nIdReference );
+
+        if ( reference == null )
+        {
+            return null;
+        }
+
+        // the version is read first, so that the items are never older than the etag
+        String strETag = getETag( reference, ReferenceChangeHome.getVersion( nIdReference ) );
+        GZIPOutputStream gzip = new GZIPOutputStream( out, BUFFER_SIZE );
+        AbstractSnapshotWriter writer = ( format == SnapshotFormat.BINARY ) ? new BinarySnapshotWriter( gzip ) : new JsonLinesSnapshotWriter( gzip );
+
+        writer.writeHeader( reference.getId( ), reference.getName( ) );
+
+        SnapshotBuilder builder = new SnapshotBuilder( writer );
+
+        try
+        {
+            TranslationItemHome.readItemsWithTranslations( reference.getId( ), builder );
+            builder.endItem( );
+        }
+        catch( UncheckedIOException e )
+        {
+            throw e.getCause( );
+        }
+
+        writer.writeTrailer( builder.getCount( ), strETag );
+        gzip.finish( );
+
+        return strETag;
+    }
+
+    /**
+     * Returns the etag of the snapshot of a reference, without building the snapshot
+     *
+     * @param nIdReference
+     *            the reference id
+     * @return the etag, or null if the reference does not exist
+     */
+    public String getETag( int nIdReference )
+    {
+        Reference reference = _registry.getReference( nIdReference );
+
+        if ( reference == null )
+        {
+            return null;
+        }
+
+        return getETag( reference, ReferenceChangeHome.getVersion( nIdReference ) );
+    }
+
+    /**
+     * Builds the etag of a reference at a version. The name is part of it, since it is written in the snapshot but is not versioned.
+     *
+     * @param reference
+     *            the reference
+     * @param lVersion
+     *            the version
+     * @return the etag
+     */
+    private static String getETag( Reference reference, long lVersion )
+    {
+        return reference.getId( ) + ETAG_SEPARATOR + lVersion + ETAG_SEPARATOR + Integer.toHexString( reference.getName( ).hashCode( ) );
+    }
+
+    /**
+     * Groups the rows of each item and passes the items to the writer
+     */
+    private static final class SnapshotBuilder implements IItemTranslationRowHandler
+    {
+        private final AbstractSnapshotWriter _writer;
+        private final Map<String, String> _mapTranslations = new TreeMap<>( );
+        private int _nCount;
+        private boolean _bPending;
+        private int _nId;
+        private String _strCode;
+        private String _strName;
+
+        /**
+         * Constructor
+         *
+         * @param writer
+         *            the writer
+         */
+        SnapshotBuilder( AbstractSnapshotWriter writer )
+        {
+            _writer = writer;
+        }
+
+        /**
+         * {@inheritDoc }
+         */
+        @Override
+        public void handleRow( int nIdItem, String strCode, String strName, String strLang, String strTranslation )
+        {
+            if ( !_bPending || nIdItem != _nId )
+            {
+                endItem( );
+                _bPending = true;
+                _nId = nIdItem;
+                _strCode = strCode;
+                _strName = strName;
+            }
+
+            if ( strLang != null )
+            {
+                _mapTranslations.put( strLang, strTranslation );
+            }
+        }
+
+        /**
+         * Passes the pending item to the writer
+         */
+        void endItem( )
+        {
+            if ( !_bPending )
+            {
+                return;
+            }
+
+            try
+            {
+                _writer.writeItem( _nId, _strCode, _strName, _mapTranslations );
+            }
+            catch( IOException e )
+            {
+                throw new UncheckedIOException( e );
+            }
+
+            _mapTranslations.clear( );
+            _bPending = false;
+            _nCount++;
+        }
+
+        /**
+         * Returns the number of items read
+         *
+         * @return the number of items
+         */
+        int getCount( )
+        {
+            return _nCount;
+        }
+    }
+}
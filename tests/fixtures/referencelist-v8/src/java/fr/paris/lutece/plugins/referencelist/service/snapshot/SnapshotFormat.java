@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service.snapshot;
+
+/**
+ * Formats of the snapshots of a reference. Both formats are gzip compressed.
+ */
+public enum SnapshotFormat
+{
+    /** One JSON object per line : a header, one line per item with its translations, then a trailer */
+    JSON_LINES( "application/x-ndjson", "jsonl.gz" ),
+
+    /** Blocks of items stored column by column, see {@link BinarySnapshotWriter} */
+    BINARY( "application/octet-stream", "rls.gz" );
+
+    private final String _strContentType;
+    private final String _strExtension;
+
+    /**
+     * Constructor
+     *
+     * @param strContentType
+     *            the content type of the uncompressed content
+     * @param strExtension
+     *            the file extension
+     */
+    SnapshotFormat( String strContentType, String strExtension )
+    {
+        _strContentType = strContentType;
+        _strExtension = strExtension;
+    }
+
+    /**
+     * Returns the content type of the uncompressed content
+     *
+     * @return the content type
+     */
+    public String getContentType( )
+    {
+        return _strContentType;
+    }
+
+    /**
+     * Returns the file extension
+     *
+     * @return the file extension
+     */
+    public String getExtension( )
+    {
+        return _strExtension;
+    }
+}
@@ -33,15 +33,27 @@
  */
 package fr.paris.lutece.plugins.referencelist.web;
 
+import fr.paris.lutece.plugins.referencelist.business.Reference;
 import fr.paris.lutece.portal.service.util.AppPropertiesService;
 import fr.paris.lutece.portal.util.mvc.admin.MVCAdminJspBean;
+import fr.paris.lutece.portal.web.util.LocalizedDelegatePaginator;
 import fr.paris.lutece.portal.web.util.LocalizedPaginator;
 import fr.paris.lutece.util.html.AbstractPaginator;
 import fr.paris.lutece.util.url.UrlItem;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
+
+import org.apache.commons.lang3.math.NumberUtils;
+
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 /**
  * ReferenceListManage JSP Bean abstract class for JSP Bean
@@ -63,6 +75,13 @@ public abstract class AbstractReferenceListManageJspBean extends MVCAdminJspBean
     private static final String MARK_PAGINATOR = "paginator";
     private static final String MARK_NB_ITEMS_PER_PAGE = "nb_items_per_page";
 
+    // Export
+    private static final String CONTENT_TYPE_CSV = "text/csv";
+    private static final String HEADER_CONTENT_DISPOSITION = "Content-Disposition";
+    private static final String EXPORT_EXTENSION = ".csv";
+    private static final int EXPORT_BUFFER_SIZE = 65536;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
     // Variables
     private String _strCurrentPageIndex;
     private int _nItemsPerPage;
@@ -100,4 +119,78 @@ public abstract class AbstractReferenceListManageJspBean extends MVCAdminJspBean
 
         return model;
     }
+
+    /**
+     * Return a model that contains one page of a list loaded on demand and the paginator infos. Only the items of the displayed page are loaded.
+     * 
+     * @param request
+     *            The HTTP request
+     * @param strBookmark
+     *            The bookmark
+     * @param nItemsCount
+     *            The total number of items
+     * @param pageLoader
+     *            The loader of a page, given the number of items to skip and the page size
+     * @param strManageJsp
+     *            The JSP
+     * @return The model
+     */
+    protected <T> Map<String, Object> getPaginatedListModel( HttpServletRequest request, String strBookmark, int nItemsCount,
+            BiFunction<Integer, Integer, List<T>> pageLoader, String strManageJsp )
+    {
+        _strCurrentPageIndex = AbstractPaginator.getPageIndex( request, AbstractPaginator.PARAMETER_PAGE_INDEX, _strCurrentPageIndex );
+        int defaultItemsPerPage = AppPropertiesService.getPropertyInt( PROPERTY_DEFAULT_LIST_ITEM_PER_PAGE, 50 );
+        _nItemsPerPage = AbstractPaginator.getItemsPerPage( request, AbstractPaginator.PARAMETER_ITEMS_PER_PAGE, _nItemsPerPage, defaultItemsPerPage );
+
+        // keep the page index in the range of the list, which may have shrunk since the last display
+        int nPageCount = Math.max( 1, ( nItemsCount + _nItemsPerPage - 1 ) / _nItemsPerPage );
+        int nPageIndex = Math.min( Math.max( 1, NumberUtils.toInt( _strCurrentPageIndex, 1 ) ), nPageCount );
+        _strCurrentPageIndex = String.valueOf( nPageIndex );
+
+        List<T> listPageItems = pageLoader.apply( ( nPageIndex - 1 ) * _nItemsPerPage, _nItemsPerPage );
+
+        UrlItem url = new UrlItem( strManageJsp );
+        String strUrl = url.getUrl( );
+
+        // PAGINATOR
+        LocalizedDelegatePaginator<T> paginator = new LocalizedDelegatePaginator<>( listPageItems, _nItemsPerPage, strUrl, PARAMETER_PAGE_INDEX,
+                _strCurrentPageIndex, nItemsCount, getLocale( ) );
+
+        Map<String, Object> model = getModel( );
+
+        model.put( MARK_NB_ITEMS_PER_PAGE, String.valueOf( _nItemsPerPage ) );
+        model.put( MARK_PAGINATOR, paginator );
+        model.put( strBookmark, paginator.getPageItems( ) );
+
+        return model;
+    }
+
+    /**
+     * Prepares the response to download a CSV file and returns a writer on its content. The content is sent as it is written.
+     * 
+     * @param response
+     *            The HTTP response
+     * @param reference
+     *            The exported reference, which names the file
+     * @param strSuffix
+     *            The suffix of the file name
+     * @return The writer, to be flushed by the caller
+     * @throws IOException
+     *             if the response can not be written
+     */
+    protected static Writer getCSVExportWriter( HttpServletResponse response, Reference reference, String strSuffix ) throws IOException
+    {
+        String strFileName = reference.getName( ).replaceAll( "[^A-Za-z0-9._-]", "_" ) + strSuffix + EXPORT_EXTENSION;
+
+        response.setContentType( CONTENT_TYPE_CSV );
+        response.setCharacterEncoding( StandardCharsets.UTF_8.name( ) );
+        response.setHeader( HEADER_CONTENT_DISPOSITION, "attachment; filename=\"" + strFileName + "\"" );
+
+        Writer writer = new BufferedWriter( new OutputStreamWriter( response.getOutputStream( ), StandardCharsets.UTF_8 ), EXPORT_BUFFER_SIZE );
+
+        // skipped by the import, tells spreadsheets that the file is UTF-8
+        writer.write( BYTE_ORDER_MARK );
+
+        return writer;
+    }
 }
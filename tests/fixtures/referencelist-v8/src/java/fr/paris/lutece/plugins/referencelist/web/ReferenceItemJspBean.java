@@ -34,16 +34,26 @@
 package fr.paris.lutece.plugins.referencelist.web;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.InputStream;
+import java.io.Writer;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 
 import fr.paris.lutece.plugins.referencelist.business.CompareResult;
+import fr.paris.lutece.plugins.referencelist.business.ImportJob;
+import fr.paris.lutece.plugins.referencelist.business.Reference;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceHome;
 import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItemDiff;
 import fr.paris.lutece.plugins.referencelist.business.ReferenceItemHome;
+import fr.paris.lutece.plugins.referencelist.service.CSVParseResult;
+import fr.paris.lutece.plugins.referencelist.service.ImportJobService;
 import fr.paris.lutece.plugins.referencelist.service.ReferenceImport;
+import fr.paris.lutece.plugins.referencelist.service.ReferenceItemCSVExport;
 import fr.paris.lutece.plugins.referencelist.service.ReferenceItemPrepareImport;
 import fr.paris.lutece.portal.service.i18n.I18nService;
 import fr.paris.lutece.portal.service.message.AdminMessage;
@@ -55,8 +65,10 @@ import fr.paris.lutece.portal.util.mvc.commons.annotations.View;
 import fr.paris.lutece.portal.web.upload.MultipartHttpServletRequest;
 import fr.paris.lutece.util.url.UrlItem;
 import jakarta.enterprise.context.SessionScoped;
+import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 /**
  * This class provides the user interface to manage ReferenceItem features ( manage, create, modify, remove )
@@ -72,18 +84,26 @@ public class ReferenceItemJspBean extends AbstractReferenceListManageJspBean
     private static final String TEMPLATE_CREATE_REFERENCEITEM = "/admin/plugins/referencelist/create_referenceitem.html";
     private static final String TEMPLATE_MODIFY_REFERENCEITEM = "/admin/plugins/referencelist/modify_referenceitem.html";
     private static final String TEMPLATE_IMPORT_REFERENCEITEM = "/admin/plugins/referencelist/import_referenceitem.html";
+    private static final String TEMPLATE_IMPORT_PROGRESS = "/admin/plugins/referencelist/import_progress.html";
     // Parameters
     private static final String PARAMETER_ID_REFERENCEITEM = "id";
+    private static final String PARAMETER_ID_IMPORT_JOB = "id_import_job";
+    private static final String PARAMETER_ID_REFERENCE_EXPORT = "idReference";
 
     // Properties for page titles
     private static final String PROPERTY_PAGE_TITLE_MANAGE_REFERENCEITEMS = "referencelist.manage_referenceitems.pageTitle";
     private static final String PROPERTY_PAGE_TITLE_MODIFY_REFERENCEITEM = "referencelist.modify_referenceitem.pageTitle";
     private static final String PROPERTY_PAGE_TITLE_CREATE_REFERENCEITEM = "referencelist.create_referenceitem.pageTitle";
     private static final String PROPERTY_PAGE_TITLE_IMPORT_REFERENCEITEM = "referencelist.import_referenceitems.pageTitle";
+    private static final String PROPERTY_PAGE_TITLE_IMPORT_PROGRESS = "referencelist.import_progress.pageTitle";
     // Markers
     private static final String MARK_REFERENCEITEM_LIST = "referenceitem_list";
     private static final String MARK_IMPORT_ERROR_BASE64 = "import_error_base64";
     private static final String MARK_REFERENCEITEM = "referenceitem";
+    private static final String MARK_IMPORT_JOB = "import_job";
+
+    // Export
+    private static final String EXPORT_SUFFIX = "_items";
 
     private static final String JSP_MANAGE_REFERENCEITEMS = "jsp/admin/plugins/referencelist/ManageReferenceItems.jsp";
 
@@ -100,6 +120,7 @@ public class ReferenceItemJspBean extends AbstractReferenceListManageJspBean
     private static final String VIEW_IMPORT_REFERENCEITEM = "importReferenceItem";
     private static final String VIEW_MODIFY_REFERENCEITEM = "modifyReferenceItem";
     private static final String VIEW_CONFIRM_IMPORT_REFERENCEITEM = "confirmImportReferenceItem";
+    private static final String VIEW_IMPORT_PROGRESS = "importProgress";
 
     // Actions
     private static final String ACTION_CHECK_IMPORT_REFERENCEITEM = "importReferenceItem";
@@ -118,12 +139,19 @@ public class ReferenceItemJspBean extends AbstractReferenceListManageJspBean
     private static final String INFO_REFERENCEITEM_FILE_ERROR = "referencelist.info.referenceitem.fileError";
     private static final String INFO_REFERENCEITEM_IMPORT_EMPTY = "referencelist.info.referenceitem.import.empty";
     private static final String INFO_REFERENCEITEM_IMPORT_REFUSED = "referencelist.info.referenceitem.import.refused";
+    private static final String INFO_REFERENCEITEM_IMPORT_BUSY = "referencelist.info.referenceitem.import.busy";
+    private static final String INFO_REFERENCEITEM_IMPORT_EXPIRED = "referencelist.info.referenceitem.import.expired";
 
     // Session variable to store working values
     private ReferenceItem _referenceitem;
     private int _idReference;
     private static final String PARAMETER_ID_REFERENCE = "id";
-    private CompareResult _compareResult;
+    private int _nIdImportJob;
+    // ids of the import jobs prepared in this session, the only ones whose progress may be shown
+    private final Set<Integer> _setImportJobs = new HashSet<>( );
+
+    @Inject
+    private ImportJobService _importJobService;
 
     /**
      * Build the Manage View
@@ -138,8 +166,8 @@ public class ReferenceItemJspBean extends AbstractReferenceListManageJspBean
         _referenceitem = null;
         _idReference = Integer.parseInt( request.getParameter( PARAMETER_ID_REFERENCE ) );
 
-        List<ReferenceItem> listReferenceItems = ReferenceItemHome.getReferenceItemsList( _idReference );
-        Map<String, Object> model = getPaginatedListModel( request, MARK_REFERENCEITEM_LIST, listReferenceItems,
+        Map<String, Object> model = getPaginatedListModel( request, MARK_REFERENCEITEM_LIST, ReferenceItemHome.countReferenceItems( _idReference ),
+                ( nOffset, nLimit ) -> ReferenceItemHome.getReferenceItemsList( _idReference, nOffset, nLimit ),
                 JSP_MANAGE_REFERENCEITEMS + "?idReference=" + _idReference );
 
         model.put( PARAMETER_ID_REFERENCE, _idReference );
@@ -178,9 +206,9 @@ public class ReferenceItemJspBean extends AbstractReferenceListManageJspBean
     public String checkImportReferenceItem( HttpServletRequest request ) throws IOException
     {
 
-        List<ReferenceItem> candidateItems = new ArrayList<>( );
-
         int refId = _idReference;
+        CompareResult compareResult = null;
+
         if ( request instanceof MultipartHttpServletRequest )
         {
             // Check File
@@ -190,8 +218,16 @@ public class ReferenceItemJspBean extends AbstractReferenceListManageJspBean
                 addError( INFO_REFERENCEITEM_FILE_ERROR, getLocale( ) );
                 return redirectView( request, VIEW_IMPORT_REFERENCEITEM );
             }
-            // Check File errors
-            String errorsMessage = ReferenceItemPrepareImport.isErrorInCSVFile( csvFile.getInputStream( ) );
+
+            // Check File errors and compare the candidateItems to the current items in a single read
+            ReferenceItemDiff diff = new ReferenceItemDiff( ReferenceItemHome.getReferenceItemsList( refId ) );
+            CSVParseResult parseResult;
+            try ( InputStream inputStream = csvFile.getInputStream( ) )
+            {
+                parseResult = ReferenceItemPrepareImport.parseCSVFile( inputStream, refId, diff::acceptAll );
+            }
+
+            String errorsMessage = ReferenceItemPrepareImport.getErrorsBase64( parseResult );
             if ( errorsMessage != null )
             {
                 Map<String, Object> model = getModel( );
@@ -199,13 +235,14 @@ public class ReferenceItemJspBean extends AbstractReferenceListManageJspBean
                 return getPage( "PROPERTY_PAGE_TITLE_IMPORT_REFERENCEITEM", TEMPLATE_IMPORT_REFERENCEITEM, model );
             }
 
-            // CandidateItems to Import
-            candidateItems = ReferenceItemPrepareImport.findCandidateItems( csvFile.getInputStream( ), refId );
-
+            if ( parseResult.getCandidateCount( ) > 0 )
+            {
+                compareResult = diff.getResult( );
+            }
         }
 
         // Check if there is candidateitems to import
-        if ( CollectionUtils.isEmpty( candidateItems ) )
+        if ( compareResult == null )
         {
             addError( INFO_REFERENCEITEM_IMPORT_EMPTY, getLocale( ) );
             return redirectView( request, VIEW_IMPORT_REFERENCEITEM );
@@ -215,16 +252,19 @@ public class ReferenceItemJspBean extends AbstractReferenceListManageJspBean
         {
 
             // call confirmation
-            _compareResult = ReferenceItemHome.compareReferenceItems( candidateItems, refId );
-            String tmpmsg = _compareResult.createMessage( getLocale( ) );
+            String tmpmsg = compareResult.createMessage( getLocale( ) );
 
-            if ( CollectionUtils.isEmpty( _compareResult.getInsertListCandidateReferenceItems( ) )
-                    && CollectionUtils.isEmpty( _compareResult.getUpdateListCandidateReferenceItems( ) ) )
+            if ( CollectionUtils.isEmpty( compareResult.getInsertListCandidateReferenceItems( ) )
+                    && CollectionUtils.isEmpty( compareResult.getUpdateListCandidateReferenceItems( ) ) )
             {
                 addError( I18nService.getLocalizedString( INFO_REFERENCEITEM_NOTIMPORTED, getLocale( ) ) + tmpmsg );
                 return redirectView( request, VIEW_IMPORT_REFERENCEITEM );
             }
 
+            // only the job id is kept in session, the lists are held by the job service until the confirmation
+            _nIdImportJob = _importJobService.prepare( refId, compareResult ).getId( );
+            _setImportJobs.add( _nIdImportJob );
+
             return redirectView( request, VIEW_CONFIRM_IMPORT_REFERENCEITEM );
         }
 
@@ -240,8 +280,14 @@ public class ReferenceItemJspBean extends AbstractReferenceListManageJspBean
     @View( value = VIEW_CONFIRM_IMPORT_REFERENCEITEM, securityTokenAction = ACTION_DO_IMPORT_REFERENCEITEM )
     public String getConfirmImportReferenceItem( HttpServletRequest request )
     {
+        CompareResult compareResult = _importJobService.getPendingResult( _nIdImportJob );
+        if ( compareResult == null )
+        {
+            addError( INFO_REFERENCEITEM_IMPORT_EXPIRED, getLocale( ) );
+            return redirectView( request, VIEW_IMPORT_REFERENCEITEM );
+        }
 
-        String tmpmsg = _compareResult.createMessage( getLocale( ) );
+        String tmpmsg = compareResult.createMessage( getLocale( ) );
         Object [ ] messageArgs = {
                 tmpmsg
         };
@@ -257,32 +303,68 @@ public class ReferenceItemJspBean extends AbstractReferenceListManageJspBean
     }
 
     /**
-     * Returns the corresponding view after import
+     * Submits the confirmed import as a background job
      *
      * @param request
      *            The Http request
-     * @return the html code of the referenceitem form
+     * @return the progress view of the import
      */
     @Action( ACTION_DO_IMPORT_REFERENCEITEM )
     public String doImportReferenceItem( HttpServletRequest request )
     {
+        ImportJob importJob = _importJobService.getImportJob( _nIdImportJob );
 
-        boolean doImportCSV = ReferenceImport.doImportCSV( _compareResult, _idReference, getUser( ) );
+        if ( importJob == null || _importJobService.getPendingResult( _nIdImportJob ) == null )
+        {
+            addError( INFO_REFERENCEITEM_IMPORT_EXPIRED, getLocale( ) );
+            return redirectView( request, VIEW_IMPORT_REFERENCEITEM );
+        }
 
-        if ( !doImportCSV )
+        // the rights are checked on the reference of the job, whatever the reference currently managed in the session
+        if ( !ReferenceImport.isImportAuthorized( importJob.getIdReference( ), getUser( ) ) )
         {
             // User don't have sufficient rights.
             addError( I18nService.getLocalizedString( INFO_REFERENCEITEM_IMPORT_REFUSED, getLocale( ) ) );
             return redirectView( request, VIEW_IMPORT_REFERENCEITEM );
+        }
 
+        if ( !_importJobService.submit( _nIdImportJob ) )
+        {
+            // too many imports queued
+            addError( INFO_REFERENCEITEM_IMPORT_BUSY, getLocale( ) );
+            return redirectView( request, VIEW_CONFIRM_IMPORT_REFERENCEITEM );
         }
-        else
+
+        return redirect( request, VIEW_IMPORT_PROGRESS, PARAMETER_ID_IMPORT_JOB, _nIdImportJob );
+    }
+
+    /**
+     * Returns the progress of an import job prepared in this session. The page refreshes itself until the job is finished.
+     *
+     * @param request
+     *            The Http request
+     * @return the html code of the progress of the import
+     */
+    @View( VIEW_IMPORT_PROGRESS )
+    public String getImportProgress( HttpServletRequest request )
+    {
+        int nIdImportJob = NumberUtils.toInt( request.getParameter( PARAMETER_ID_IMPORT_JOB ), _nIdImportJob );
+        ImportJob importJob = _setImportJobs.contains( nIdImportJob ) ? _importJobService.getImportJob( nIdImportJob ) : null;
+
+        if ( importJob == null || !ReferenceImport.isImportAuthorized( importJob.getIdReference( ), getUser( ) ) )
         {
-            // import success
-            addInfo( INFO_REFERENCEITEM_IMPORTED, getLocale( ) );
             return redirect( request, VIEW_MANAGE_REFERENCEITEMS, PARAMETER_ID_REFERENCE, _idReference );
         }
 
+        if ( ImportJob.STATUS_DONE.equals( importJob.getStatus( ) ) )
+        {
+            addInfo( INFO_REFERENCEITEM_IMPORTED, getLocale( ) );
+        }
+
+        Map<String, Object> model = getModel( );
+        model.put( MARK_IMPORT_JOB, importJob );
+
+        return getPage( PROPERTY_PAGE_TITLE_IMPORT_PROGRESS, TEMPLATE_IMPORT_PROGRESS, model );
     }
 
     /**
@@ -410,4 +492,30 @@ public class ReferenceItemJspBean extends AbstractReferenceListManageJspBean
         addInfo( INFO_REFERENCEITEM_UPDATED, getLocale( ) );
         return redirect( request, VIEW_MANAGE_REFERENCEITEMS, PARAMETER_ID_REFERENCE, _idReference );
     }
+
+    /**
+     * Writes the items of a reference as a CSV file, in the layout of the import. The rows are streamed to the response as they are read.
+     * 
+     * @param request
+     *            The HTTP request
+     * @param response
+     *            The HTTP response
+     * @throws IOException
+     *             if the response can not be written
+     */
+    public void doExportReferenceItems( HttpServletRequest request, HttpServletResponse response ) throws IOException
+    {
+        Reference reference = ReferenceHome.findByPrimaryKey( NumberUtils.toInt( request.getParameter( PARAMETER_ID_REFERENCE_EXPORT ) ) );
+
+        if ( reference == null )
+        {
+            response.sendError( HttpServletResponse.SC_NOT_FOUND );
+
+            return;
+        }
+
+        Writer writer = getCSVExportWriter( response, reference, EXPORT_SUFFIX );
+
+        new ReferenceItemCSVExport( ).exportItems( reference.getId( ), writer );
+    }
 }
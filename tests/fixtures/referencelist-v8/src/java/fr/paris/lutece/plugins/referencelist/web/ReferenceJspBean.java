@@ -38,6 +38,9 @@ import java.util.Map;
 
 import fr.paris.lutece.plugins.referencelist.business.Reference;
 import fr.paris.lutece.plugins.referencelist.business.ReferenceHome;
+import fr.paris.lutece.plugins.referencelist.service.cache.ReferenceListCacheService;
+import fr.paris.lutece.plugins.referencelist.service.diagnostics.DAOCallDiagnostics;
+import fr.paris.lutece.plugins.referencelist.service.metrics.ReferenceListMetrics;
 import fr.paris.lutece.portal.service.i18n.I18nService;
 import fr.paris.lutece.portal.service.message.AdminMessage;
 import fr.paris.lutece.portal.service.message.AdminMessageService;
@@ -46,6 +49,7 @@ import fr.paris.lutece.portal.util.mvc.commons.annotations.Action;
 import fr.paris.lutece.portal.util.mvc.commons.annotations.View;
 import fr.paris.lutece.util.url.UrlItem;
 import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -63,15 +67,26 @@ public class ReferenceJspBean extends AbstractReferenceListManageJspBean
     private static final String TEMPLATE_MANAGE_REFERENCES = "/admin/plugins/referencelist/manage_references.html";
     private static final String TEMPLATE_CREATE_REFERENCE = "/admin/plugins/referencelist/create_reference.html";
     private static final String TEMPLATE_MODIFY_REFERENCE = "/admin/plugins/referencelist/modify_reference.html";
+    private static final String TEMPLATE_MANAGE_METRICS = "/admin/plugins/referencelist/manage_metrics.html";
     // Parameters
     private static final String PARAMETER_ID_REFERENCE = "id";
     // Properties for page titles
     private static final String PROPERTY_PAGE_TITLE_MANAGE_REFERENCES = "referencelist.manage_references.pageTitle";
     private static final String PROPERTY_PAGE_TITLE_MODIFY_REFERENCE = "referencelist.modify_reference.pageTitle";
     private static final String PROPERTY_PAGE_TITLE_CREATE_REFERENCE = "referencelist.create_reference.pageTitle";
+    private static final String PROPERTY_PAGE_TITLE_MANAGE_METRICS = "referencelist.manage_metrics.pageTitle";
     // Markers
     private static final String MARK_REFERENCE_LIST = "reference_list";
     private static final String MARK_REFERENCE = "reference";
+    private static final String MARK_METRICS_ENABLED = "metrics_enabled";
+    private static final String MARK_TIMERS = "timers";
+    private static final String MARK_COUNTERS = "counters";
+    private static final String MARK_IMPORT_ROWS_PER_SECOND = "import_rows_per_second";
+    private static final String MARK_CACHE_HITS = "cache_hits";
+    private static final String MARK_CACHE_MISSES = "cache_misses";
+    private static final String MARK_CACHE_EVICTIONS = "cache_evictions";
+    private static final String MARK_DIAGNOSTICS_ENABLED = "diagnostics_enabled";
+    private static final String MARK_FINDINGS = "findings";
     private static final String JSP_MANAGE_REFERENCES = "jsp/admin/plugins/referencelist/ManageReferences.jsp";
     // Properties
     private static final String MESSAGE_CONFIRM_REMOVE_REFERENCE = "referencelist.message.confirmRemoveReference";
@@ -81,15 +96,22 @@ public class ReferenceJspBean extends AbstractReferenceListManageJspBean
     private static final String VIEW_MANAGE_REFERENCES = "manageReferences";
     private static final String VIEW_CREATE_REFERENCE = "createReference";
     private static final String VIEW_MODIFY_REFERENCE = "modifyReference";
+    private static final String VIEW_METRICS = "metrics";
     // Actions
     private static final String ACTION_CREATE_REFERENCE = "createReference";
     private static final String ACTION_MODIFY_REFERENCE = "modifyReference";
     private static final String ACTION_REMOVE_REFERENCE = "removeReference";
     private static final String ACTION_CONFIRM_REMOVE_REFERENCE = "confirmRemoveReference";
+    private static final String ACTION_RESET_METRICS = "resetMetrics";
     // Infos
     private static final String INFO_REFERENCE_CREATED = "referencelist.info.reference.created";
     private static final String INFO_REFERENCE_UPDATED = "referencelist.info.reference.updated";
     private static final String INFO_REFERENCE_REMOVED = "referencelist.info.reference.removed";
+    private static final String INFO_REFERENCE_ITEMS_REMOVED = "referencelist.info.reference.items.removed";
+    private static final String INFO_METRICS_RESET = "referencelist.info.metrics.reset";
+
+    @Inject
+    private ReferenceListCacheService _cacheService;
 
     /**
      * Build the Manage View
@@ -176,8 +198,16 @@ public class ReferenceJspBean extends AbstractReferenceListManageJspBean
     public String doRemoveReference( HttpServletRequest request )
     {
         int nId = Integer.parseInt( request.getParameter( PARAMETER_ID_REFERENCE ) );
-        ReferenceHome.remove( nId );
+        int nItemsRemoved = ReferenceHome.purge( nId, ReferenceHome.getPurgeChunkSize( ), nItems -> {
+        } );
         addInfo( INFO_REFERENCE_REMOVED, getLocale( ) );
+
+        if ( nItemsRemoved > 0 )
+        {
+            addInfo( I18nService.getLocalizedString( INFO_REFERENCE_ITEMS_REMOVED, new Object [ ] {
+                    nItemsRemoved
+            }, getLocale( ) ) );
+        }
         return redirectView( request, VIEW_MANAGE_REFERENCES );
     }
 
@@ -219,4 +249,43 @@ public class ReferenceJspBean extends AbstractReferenceListManageJspBean
         addInfo( INFO_REFERENCE_UPDATED, getLocale( ) );
         return redirectView( request, VIEW_MANAGE_REFERENCES );
     }
+
+    /**
+     * Returns the metrics of the plugin
+     *
+     * @param request
+     *            The Http request
+     * @return The page
+     */
+    @View( VIEW_METRICS )
+    public String getMetrics( HttpServletRequest request )
+    {
+        Map<String, Object> model = getModel( );
+        model.put( MARK_METRICS_ENABLED, ReferenceListMetrics.isEnabled( ) );
+        model.put( MARK_TIMERS, ReferenceListMetrics.getTimers( ) );
+        model.put( MARK_COUNTERS, ReferenceListMetrics.getCounters( ) );
+        model.put( MARK_IMPORT_ROWS_PER_SECOND, ReferenceListMetrics.getImportRowsPerSecond( ) );
+        model.put( MARK_CACHE_HITS, _cacheService.getHitCount( ) );
+        model.put( MARK_CACHE_MISSES, _cacheService.getMissCount( ) );
+        model.put( MARK_CACHE_EVICTIONS, _cacheService.getEvictionCount( ) );
+        model.put( MARK_DIAGNOSTICS_ENABLED, DAOCallDiagnostics.isEnabled( ) );
+        model.put( MARK_FINDINGS, DAOCallDiagnostics.getFindings( ) );
+        return getPage( PROPERTY_PAGE_TITLE_MANAGE_METRICS, TEMPLATE_MANAGE_METRICS, model );
+    }
+
+    /**
+     * Clears the metrics of the plugin
+     *
+     * @param request
+     *            The Http request
+     * @return the jsp URL to display the metrics
+     */
+    @Action( ACTION_RESET_METRICS )
+    public String doResetMetrics( HttpServletRequest request )
+    {
+        ReferenceListMetrics.reset( );
+        DAOCallDiagnostics.clear( );
+        addInfo( INFO_METRICS_RESET, getLocale( ) );
+        return redirectView( request, VIEW_METRICS );
+    }
 }
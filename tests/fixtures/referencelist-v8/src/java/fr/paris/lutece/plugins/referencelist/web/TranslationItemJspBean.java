@@ -33,17 +33,24 @@
  */
 package fr.paris.lutece.plugins.referencelist.web;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import jakarta.enterprise.context.RequestScoped;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 
+import fr.paris.lutece.plugins.referencelist.business.Reference;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceHome;
 import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
 import fr.paris.lutece.plugins.referencelist.business.ReferenceItemHome;
 import fr.paris.lutece.plugins.referencelist.business.TranslationItem;
 import fr.paris.lutece.plugins.referencelist.business.TranslationItemHome;
+import fr.paris.lutece.plugins.referencelist.service.ReferenceItemCSVExport;
 import fr.paris.lutece.portal.service.i18n.I18nService;
 import fr.paris.lutece.portal.util.mvc.admin.annotations.Controller;
 import fr.paris.lutece.portal.util.mvc.commons.annotations.Action;
@@ -51,6 +58,7 @@ import fr.paris.lutece.portal.util.mvc.commons.annotations.View;
 import fr.paris.lutece.util.ReferenceList;
 import jakarta.inject.Named;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 
 /**
@@ -102,6 +110,9 @@ public class TranslationItemJspBean extends AbstractReferenceListManageJspBean
 
     private static final String PROPERTY_LANGUAGES = "referencelist.languages";
 
+    /* Export */
+    private static final String EXPORT_SUFFIX = "_translations";
+
     /**
      * Handles the removal form of a translationitem
      *
@@ -250,6 +261,7 @@ public class TranslationItemJspBean extends AbstractReferenceListManageJspBean
 
         List<TranslationItem> listTranslationItems = TranslationItemHome.getTranslationItemList( nIdReference );
         Map<String, Object> model = getPaginatedListModel( request, MARK_MANAGE, listTranslationItems, JSP_MANAGE );
+        model.put( PARAMETER_ID_REFERENCE, nIdReference );
 
         return getPage( PROPERTY_PAGE_TITLE_MANAGE, TEMPLATE_MANAGE, model );
     }
@@ -310,4 +322,40 @@ public class TranslationItemJspBean extends AbstractReferenceListManageJspBean
 
         return selectItems;
     }
+
+    /**
+     * Writes the items of a reference as a CSV file with one column per configured language. The rows are streamed to the response as they are read.
+     * 
+     * @param request
+     *            The HTTP request
+     * @param response
+     *            The HTTP response
+     * @throws IOException
+     *             if the response can not be written
+     */
+    public void doExportTranslations( HttpServletRequest request, HttpServletResponse response ) throws IOException
+    {
+        Reference reference = ReferenceHome.findByPrimaryKey( NumberUtils.toInt( request.getParameter( PARAMETER_ID_REFERENCE ) ) );
+
+        if ( reference == null )
+        {
+            response.sendError( HttpServletResponse.SC_NOT_FOUND );
+
+            return;
+        }
+
+        List<String> listLangs = new ArrayList<>( );
+
+        for ( String strLang : I18nService.getLocalizedString( PROPERTY_LANGUAGES, getLocale( ) ).split( "," ) )
+        {
+            if ( StringUtils.isNotBlank( strLang ) )
+            {
+                listLangs.add( strLang.trim( ) );
+            }
+        }
+
+        Writer writer = getCSVExportWriter( response, reference, EXPORT_SUFFIX );
+
+        new ReferenceItemCSVExport( ).exportTranslations( reference.getId( ), listLangs, writer );
+    }
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import fr.paris.lutece.plugins.referencelist.business.CompareResult;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItemDiff;
+
+/**
+ * Hot paths of the CSV import, without the database : the validation and extraction of the file done by ReferenceItemPrepareImport.isErrorInCSVFile and
+ * findCandidateItems, and the comparison of the candidates with the existing items done by ReferenceItemHome.compareReferenceItems once the items are
+ * loaded. The candidates rename one item out of ten and add one new item out of ten. <br>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.includes=ReferenceImportBenchmark
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 2 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class ReferenceImportBenchmark
+{
+    private static final int ID_REFERENCE = 1;
+    private static final int BATCH_SIZE = 1000;
+
+    @Param( {
+            ReferentialGenerator.SIZE_1K, ReferentialGenerator.SIZE_100K, ReferentialGenerator.SIZE_1M
+    } )
+    private int _nSize;
+
+    private byte [ ] _content;
+    private List<ReferenceItem> _listExistingItems;
+    private List<ReferenceItem> _listCandidateItems;
+
+    /**
+     * Generates the file, the existing items and the candidates
+     */
+    @Setup
+    public void setUp( )
+    {
+        _content = ReferentialGenerator.generateCSV( _nSize );
+        _listExistingItems = ReferentialGenerator.generateItems( ID_REFERENCE, _nSize );
+        _listCandidateItems = new ArrayList<>( _nSize );
+
+        for ( ReferenceItem existingItem : _listExistingItems )
+        {
+            ReferenceItem candidateItem = new ReferenceItem( );
+            candidateItem.setIdreference( ID_REFERENCE );
+            candidateItem.setCode( existingItem.getCode( ) );
+            candidateItem.setName( ( existingItem.getId( ) % 10 == 0 ) ? existingItem.getName( ) + " renamed" : existingItem.getName( ) );
+            _listCandidateItems.add( candidateItem );
+
+            if ( existingItem.getId( ) % 10 == 5 )
+            {
+                ReferenceItem newItem = new ReferenceItem( );
+                newItem.setIdreference( ID_REFERENCE );
+                newItem.setCode( existingItem.getCode( ) + "-new" );
+                newItem.setName( existingItem.getName( ) + " new" );
+                _listCandidateItems.add( newItem );
+            }
+        }
+    }
+
+    /**
+     * Validation of the file, as done by isErrorInCSVFile
+     *
+     * @param blackhole
+     *            the blackhole
+     * @throws IOException
+     *             if the file could not be read
+     */
+    @Benchmark
+    public void validateFile( Blackhole blackhole ) throws IOException
+    {
+        CSVParseResult result = new ReferenceItemCSVParser( ';', BATCH_SIZE ).parse( new ByteArrayInputStream( _content ), ID_REFERENCE, listBatch -> {
+        } );
+        blackhole.consume( result.getErrors( ) );
+    }
+
+    /**
+     * Extraction of the candidate items, as done by findCandidateItems
+     *
+     * @param blackhole
+     *            the blackhole
+     * @throws IOException
+     *             if the file could not be read
+     */
+    @Benchmark
+    public void extractCandidates( Blackhole blackhole ) throws IOException
+    {
+        List<ReferenceItem> listItems = new ArrayList<>( _nSize );
+        new ReferenceItemCSVParser( ';', BATCH_SIZE ).parse( new ByteArrayInputStream( _content ), ID_REFERENCE, listItems::addAll );
+        blackhole.consume( listItems );
+    }
+
+    /**
+     * Comparison of the candidates with the existing items
+     *
+     * @param blackhole
+     *            the blackhole
+     */
+    @Benchmark
+    public void compareItems( Blackhole blackhole )
+    {
+        ReferenceItemDiff diff = new ReferenceItemDiff( _listExistingItems );
+        diff.acceptAll( _listCandidateItems );
+
+        CompareResult result = diff.getResult( );
+        blackhole.consume( result.getUpdateCount( ) );
+        blackhole.consume( result.getInsertCount( ) );
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+
+/**
+ * Compares the single pass parser with the former two passes Scanner and String.split implementation. Both sides detect the duplicate names with a hash
+ * set, so that only the reading and the splitting are compared. <br>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.includes=ReferenceItemCSVParserBenchmark
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 2 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class ReferenceItemCSVParserBenchmark
+{
+    private static final String SEPARATOR = ";";
+    private static final int NUMOFCOLS = 2;
+
+    @Param( {
+            ReferentialGenerator.SIZE_1M
+    } )
+    private int _nLines;
+
+    private byte [ ] _content;
+
+    /**
+     * Generates the file
+     */
+    @Setup
+    public void setUp( )
+    {
+        _content = ReferentialGenerator.generateCSV( _nLines );
+    }
+
+    /**
+     * Single pass parser
+     *
+     * @param blackhole
+     *            the blackhole
+     * @throws IOException
+     *             if the file could not be read
+     */
+    @Benchmark
+    public void streamingParser( Blackhole blackhole ) throws IOException
+    {
+        CSVParseResult result = new ReferenceItemCSVParser( ';', 1000 ).parse( new ByteArrayInputStream( _content ), 1, blackhole::consume );
+        blackhole.consume( result.getCandidateCount( ) );
+    }
+
+    /**
+     * Former implementation : a validation pass then an extraction pass
+     *
+     * @param blackhole
+     *            the blackhole
+     */
+    @Benchmark
+    public void scannerTwoPasses( Blackhole blackhole )
+    {
+        blackhole.consume( scannerPass( false ) );
+        blackhole.consume( scannerPass( true ) );
+    }
+
+    /**
+     * Reads the file the way ReferenceItemPrepareImport used to
+     *
+     * @param bKeepItems
+     *            true to build the candidate items
+     * @return the candidate items
+     */
+    private List<ReferenceItem> scannerPass( boolean bKeepItems )
+    {
+        List<ReferenceItem> listItems = new ArrayList<>( );
+        Set<String> setNames = new HashSet<>( );
+
+        try ( Scanner scanner = new Scanner( new InputStreamReader( new ByteArrayInputStream( _content ) ) ) )
+        {
+            while ( scanner.hasNextLine( ) )
+            {
+                String [ ] strFields = scanner.nextLine( ).split( SEPARATOR );
+
+                if ( strFields.length == NUMOFCOLS && setNames.add( strFields [1] ) && bKeepItems )
+                {
+                    ReferenceItem item = new ReferenceItem( );
+                    item.setCode( strFields [0] );
+                    item.setName( strFields [1] );
+                    listItems.add( item );
+                }
+            }
+        }
+
+        return listItems;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import fr.paris.lutece.plugins.referencelist.business.TranslationItem;
+
+/**
+ * Hot paths of ReferenceListService once the rows of the reference are loaded : building the labels of a reference, the translated list returned by
+ * getReferenceList and the label lookups of getLabel and getLabels. <br>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.includes=ReferenceListBenchmark
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 2 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class ReferenceListBenchmark
+{
+    private static final String LANG = "fr";
+    private static final int LOOKUPS = 1000;
+
+    @Param( {
+            ReferentialGenerator.SIZE_1K, ReferentialGenerator.SIZE_100K, ReferentialGenerator.SIZE_1M
+    } )
+    private int _nSize;
+
+    private List<TranslationItem> _listRows;
+    private ReferenceLabels _labels;
+    private List<String> _listCodes;
+
+    /**
+     * Generates the rows and the codes to look up
+     */
+    @Setup
+    public void setUp( )
+    {
+        _listRows = ReferentialGenerator.generateTranslationRows( _nSize, LANG, "de" );
+        _labels = ReferenceLabels.build( _listRows );
+        _listCodes = new ArrayList<>( LOOKUPS );
+
+        Random random = new Random( 42 );
+
+        for ( int i = 0; i < LOOKUPS; i++ )
+        {
+            _listCodes.add( ReferentialGenerator.code( random.nextInt( _nSize ) ) );
+        }
+    }
+
+    /**
+     * Builds the labels of the reference from its rows
+     *
+     * @return the labels
+     */
+    @Benchmark
+    public ReferenceLabels buildLabels( )
+    {
+        return ReferenceLabels.build( _listRows );
+    }
+
+    /**
+     * Builds the translated list of the reference
+     *
+     * @return the list
+     */
+    @Benchmark
+    public Object buildReferenceList( )
+    {
+        return _labels.toReferenceList( LANG );
+    }
+
+    /**
+     * Resolves a set of codes one by one
+     *
+     * @param blackhole
+     *            the blackhole
+     */
+    @Benchmark
+    public void lookupLabels( Blackhole blackhole )
+    {
+        for ( String strCode : _listCodes )
+        {
+            blackhole.consume( _labels.getLabel( strCode, LANG ) );
+        }
+    }
+}
@@ -9,11 +9,14 @@
 DROP TABLE IF EXISTS referencelist_reference;
 CREATE TABLE referencelist_reference (
 id_reference int AUTO_INCREMENT ,
-name long varchar NOT NULL,
+name varchar(255) NOT NULL,
 description long varchar NOT NULL,
+version bigint default '0' NOT NULL,
 PRIMARY KEY (id_reference)
 );
 
+CREATE INDEX idx_referencelist_reference_name ON referencelist_reference (name);
+
 --
 -- Structure for table referencelist_item
 --
@@ -21,12 +24,15 @@ PRIMARY KEY (id_reference)
 DROP TABLE IF EXISTS referencelist_item;
 CREATE TABLE referencelist_item (
 id_reference_item int AUTO_INCREMENT,
-name long varchar NOT NULL,
-code long varchar NOT NULL,
+name varchar(255) NOT NULL,
+code varchar(255) NOT NULL,
 idreference int default '0' NOT NULL,
 PRIMARY KEY (id_reference_item)
 );
 
+CREATE INDEX idx_referencelist_item_reference_code ON referencelist_item (idreference, code);
+CREATE INDEX idx_referencelist_item_reference_name ON referencelist_item (idreference, name);
+
 --
 -- Structure for table referencelist_translation
 --
@@ -39,3 +45,40 @@ CREATE TABLE referencelist_translation (
 	id_reference_item int NOT NULL,
 	PRIMARY KEY (id_translation)
 );
+
+CREATE INDEX idx_referencelist_translation_item_lang ON referencelist_translation (id_reference_item, lang);
+
+--
+-- Structure for table referencelist_import_job
+--
+
+DROP TABLE IF EXISTS referencelist_import_job;
+CREATE TABLE referencelist_import_job (
+id_import_job int AUTO_INCREMENT,
+id_reference int default '0' NOT NULL,
+node varchar(255) NOT NULL,
+status varchar(20) NOT NULL,
+rows_total int default '0' NOT NULL,
+rows_processed int default '0' NOT NULL,
+error_message varchar(255),
+date_creation timestamp NULL,
+date_update timestamp NULL,
+PRIMARY KEY (id_import_job)
+);
+
+--
+-- Structure for table referencelist_change
+--
+
+DROP TABLE IF EXISTS referencelist_change;
+CREATE TABLE referencelist_change (
+id_change int AUTO_INCREMENT,
+idreference int NOT NULL,
+version bigint NOT NULL,
+id_reference_item int NOT NULL,
+code varchar(255) NOT NULL,
+action char(1) NOT NULL,
+PRIMARY KEY (id_change)
+);
+
+CREATE INDEX idx_referencelist_change_reference_version ON referencelist_change (idreference, version);
@@ -0,0 +1,63 @@
+-- liquibase formatted sql
+-- changeset referencelist:update_db_referencelist-2.0.0-2.1.0.sql
+-- preconditions onFail:MARK_RAN onError:WARN
+
+--
+-- Structure for table referencelist_import_job
+--
+
+DROP TABLE IF EXISTS referencelist_import_job;
+CREATE TABLE referencelist_import_job (
+id_import_job int AUTO_INCREMENT,
+id_reference int default '0' NOT NULL,
+node varchar(255) NOT NULL,
+status varchar(20) NOT NULL,
+rows_total int default '0' NOT NULL,
+rows_processed int default '0' NOT NULL,
+error_message varchar(255),
+date_creation timestamp NULL,
+date_update timestamp NULL,
+PRIMARY KEY (id_import_job)
+);
+
+-- changeset referencelist:update_db_referencelist-2.0.0-2.1.0.sql-indexes
+-- preconditions onFail:HALT onError:HALT
+-- precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM referencelist_reference WHERE CHAR_LENGTH(name) > 255
+-- precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM referencelist_item WHERE CHAR_LENGTH(name) > 255 OR CHAR_LENGTH(code) > 255
+
+--
+-- Bounded columns and secondary indexes for the lookups by reference, code, name and language.
+-- The upgrade stops before any change if a reference name or an item code or name is longer than 255 characters :
+-- such values must be shortened first, they are neither truncated nor left to fail the changeset midway.
+--
+
+ALTER TABLE referencelist_reference MODIFY name varchar(255) NOT NULL;
+ALTER TABLE referencelist_item MODIFY name varchar(255) NOT NULL;
+ALTER TABLE referencelist_item MODIFY code varchar(255) NOT NULL;
+
+CREATE INDEX idx_referencelist_reference_name ON referencelist_reference (name);
+CREATE INDEX idx_referencelist_item_reference_code ON referencelist_item (idreference, code);
+CREATE INDEX idx_referencelist_item_reference_name ON referencelist_item (idreference, name);
+CREATE INDEX idx_referencelist_translation_item_lang ON referencelist_translation (id_reference_item, lang);
+
+-- changeset referencelist:update_db_referencelist-2.0.0-2.1.0.sql-changes
+-- preconditions onFail:MARK_RAN onError:WARN
+
+--
+-- Version of the references and change log for incremental synchronization
+--
+
+ALTER TABLE referencelist_reference ADD version bigint default '0' NOT NULL;
+
+DROP TABLE IF EXISTS referencelist_change;
+CREATE TABLE referencelist_change (
+id_change int AUTO_INCREMENT,
+idreference int NOT NULL,
+version bigint NOT NULL,
+id_reference_item int NOT NULL,
+code varchar(255) NOT NULL,
+action char(1) NOT NULL,
+PRIMARY KEY (id_change)
+);
+
+CREATE INDEX idx_referencelist_change_reference_version ON referencelist_change (idreference, version);
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.business;
+
+import fr.paris.lutece.test.LuteceTestCase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This is the business class test for the object ImportJob
+ */
+public class ImportJobBusinessTest extends LuteceTestCase
+{
+    private static final int IDREFERENCE1 = 1;
+    private static final int ROWS_TOTAL = 100;
+    private static final String ERROR_MESSAGE = "Error";
+    private static final String NODE1 = "node1";
+    private static final String NODE2 = "node2";
+
+    /**
+     * test ImportJob
+     */
+    @Test
+    void testBusiness( )
+    {
+        // Initialize an object
+        ImportJob importJob = new ImportJob( );
+        importJob.setIdReference( IDREFERENCE1 );
+        importJob.setNode( NODE1 );
+        importJob.setStatus( ImportJob.STATUS_PENDING );
+        importJob.setRowsTotal( ROWS_TOTAL );
+
+        // Create test
+        ImportJobHome.create( importJob );
+        ImportJob importJobStored = ImportJobHome.findByPrimaryKey( importJob.getId( ) );
+        assertEquals( importJob.getIdReference( ), importJobStored.getIdReference( ) );
+        assertEquals( NODE1, importJobStored.getNode( ) );
+        assertEquals( ImportJob.STATUS_PENDING, importJobStored.getStatus( ) );
+        assertEquals( ROWS_TOTAL, importJobStored.getRowsTotal( ) );
+        assertNotNull( importJobStored.getDateCreation( ) );
+        assertFalse( importJobStored.isFinished( ) );
+
+        // Update test
+        importJob.setStatus( ImportJob.STATUS_DONE );
+        importJob.setRowsProcessed( ROWS_TOTAL );
+        ImportJobHome.update( importJob );
+        importJobStored = ImportJobHome.findByPrimaryKey( importJob.getId( ) );
+        assertEquals( ImportJob.STATUS_DONE, importJobStored.getStatus( ) );
+        assertEquals( 100, importJobStored.getPercent( ) );
+        assertTrue( importJobStored.isFinished( ) );
+
+        // Unfinished jobs test
+        ImportJob importJobRunning = new ImportJob( );
+        importJobRunning.setIdReference( IDREFERENCE1 );
+        importJobRunning.setNode( NODE1 );
+        importJobRunning.setStatus( ImportJob.STATUS_RUNNING );
+        ImportJobHome.create( importJobRunning );
+        ImportJob importJobOtherNode = new ImportJob( );
+        importJobOtherNode.setIdReference( IDREFERENCE1 );
+        importJobOtherNode.setNode( NODE2 );
+        importJobOtherNode.setStatus( ImportJob.STATUS_RUNNING );
+        ImportJobHome.create( importJobOtherNode );
+        ImportJobHome.failUnfinished( NODE1, ERROR_MESSAGE );
+        importJobStored = ImportJobHome.findByPrimaryKey( importJobRunning.getId( ) );
+        assertEquals( ImportJob.STATUS_FAILED, importJobStored.getStatus( ) );
+        assertEquals( ERROR_MESSAGE, importJobStored.getErrorMessage( ) );
+        assertEquals( ImportJob.STATUS_RUNNING, ImportJobHome.findByPrimaryKey( importJobOtherNode.getId( ) ).getStatus( ) );
+        assertEquals( ImportJob.STATUS_DONE, ImportJobHome.findByPrimaryKey( importJob.getId( ) ).getStatus( ) );
+    }
+}
@@ -33,6 +33,10 @@
  */
 package fr.paris.lutece.plugins.referencelist.business;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import fr.paris.lutece.test.LuteceTestCase;
 import org.junit.jupiter.api.Test;
 
@@ -81,4 +85,43 @@ public class ReferenceBusinessTest extends LuteceTestCase
 
     }
 
+    /**
+     * test the removal of a reference by chunks of items
+     */
+    @Test
+    void testPurge( )
+    {
+        Reference reference = new Reference( );
+        reference.setName( NAME1 );
+        reference.setDescription( DESCRIPTION1 );
+        ReferenceHome.create( reference );
+
+        int nIdTranslation = 0;
+
+        for ( int i = 0; i < 5; i++ )
+        {
+            ReferenceItem item = new ReferenceItem( );
+            item.setIdreference( reference.getId( ) );
+            item.setCode( "code" + i );
+            item.setName( "name" + i );
+            ReferenceItemHome.create( item );
+
+            TranslationItem translation = new TranslationItem( );
+            translation.setLang( "fr" );
+            translation.setTranslation( "nom" + i );
+            translation.setIdItem( item.getId( ) );
+            TranslationItemHome.create( translation );
+            nIdTranslation = translation.getId( );
+        }
+
+        List<Integer> listProgress = new ArrayList<>( );
+        int nItemsRemoved = ReferenceHome.purge( reference.getId( ), 2, listProgress::add );
+
+        assertEquals( 5, nItemsRemoved );
+        assertEquals( Arrays.asList( 2, 4, 5 ), listProgress );
+        assertEquals( 0, ReferenceItemHome.countReferenceItems( reference.getId( ) ) );
+        assertNull( TranslationItemHome.findByPrimaryKey( nIdTranslation ) );
+        assertNull( ReferenceHome.findByPrimaryKey( reference.getId( ) ) );
+    }
+
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.business;
+
+import java.util.List;
+
+import fr.paris.lutece.portal.service.event.EventAction;
+import fr.paris.lutece.portal.service.plugin.PluginService;
+import fr.paris.lutece.test.LuteceTestCase;
+import jakarta.enterprise.inject.spi.CDI;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This is the business class test for the versions and the change log of the references
+ */
+public class ReferenceChangeBusinessTest extends LuteceTestCase
+{
+    private static final String CODE = "change.code";
+    private static final String NAME1 = "Name1";
+    private static final String NAME2 = "Name2";
+
+    /**
+     * test the versions and the change log
+     */
+    @Test
+    void testBusiness( )
+    {
+        Reference reference = new Reference( );
+        reference.setName( "changes" );
+        reference.setDescription( "Change log test" );
+        ReferenceHome.create( reference );
+        assertEquals( 0, ReferenceChangeHome.getVersion( reference.getId( ) ) );
+
+        // Create test
+        ReferenceItem item = new ReferenceItem( );
+        item.setCode( CODE );
+        item.setName( NAME1 );
+        item.setIdreference( reference.getId( ) );
+        ReferenceItemHome.create( item );
+        long lCreated = ReferenceChangeHome.getVersion( reference.getId( ) );
+        assertEquals( 1, lCreated );
+
+        // Update test
+        item.setName( NAME2 );
+        ReferenceItemHome.update( item );
+        long lUpdated = ReferenceChangeHome.getVersion( reference.getId( ) );
+        assertEquals( lCreated + 1, lUpdated );
+
+        List<ReferenceChange> listChanges = ReferenceChangeHome.getChanges( reference.getId( ), 0, lUpdated );
+        assertEquals( 1, listChanges.size( ) );
+        assertEquals( EventAction.CREATE, listChanges.get( 0 ).getAction( ) );
+        assertEquals( NAME2, listChanges.get( 0 ).getName( ) );
+
+        listChanges = ReferenceChangeHome.getChanges( reference.getId( ), lCreated, lUpdated );
+        assertEquals( 1, listChanges.size( ) );
+        assertEquals( EventAction.UPDATE, listChanges.get( 0 ).getAction( ) );
+        assertTrue( ReferenceChangeHome.getChanges( reference.getId( ), lUpdated, lUpdated ).isEmpty( ) );
+
+        // Translation test
+        TranslationItem translation = new TranslationItem( );
+        translation.setLang( "fr" );
+        translation.setTranslation( NAME1 );
+        translation.setIdItem( item.getId( ) );
+        TranslationItemHome.create( translation );
+        long lTranslated = ReferenceChangeHome.getVersion( reference.getId( ) );
+        assertEquals( lUpdated + 1, lTranslated );
+        assertEquals( EventAction.UPDATE, ReferenceChangeHome.getChanges( reference.getId( ), lUpdated, lTranslated ).get( 0 ).getAction( ) );
+
+        // Delete test
+        ReferenceItemHome.remove( item.getId( ) );
+        long lRemoved = ReferenceChangeHome.getVersion( reference.getId( ) );
+        listChanges = ReferenceChangeHome.getChanges( reference.getId( ), lTranslated, lRemoved );
+        assertEquals( 1, listChanges.size( ) );
+        assertEquals( EventAction.REMOVE, listChanges.get( 0 ).getAction( ) );
+        assertEquals( CODE, listChanges.get( 0 ).getCode( ) );
+        assertNull( listChanges.get( 0 ).getName( ) );
+        assertTrue( ReferenceChangeHome.getChanges( reference.getId( ), 0, lRemoved ).isEmpty( ) );
+
+        // Pruned versions test : only the changes made after the last pruned version are served
+        CDI.current( ).select( IReferenceChangeDAO.class ).get( ).deleteUpTo( reference.getId( ), lTranslated, PluginService.getPlugin( "referencelist" ) );
+        assertNull( ReferenceChangeHome.getChanges( reference.getId( ), lUpdated, lRemoved ) );
+        assertEquals( 1, ReferenceChangeHome.getChanges( reference.getId( ), lTranslated, lRemoved ).size( ) );
+
+        // Unknown versions test
+        assertNull( ReferenceChangeHome.getChanges( reference.getId( ), -1, lRemoved ) );
+        assertNull( ReferenceChangeHome.getChanges( reference.getId( ), lRemoved + 1, lRemoved ) );
+
+        // Reset test : the changes made before the reset are not served anymore, the following ones are
+        long lReset = ReferenceChangeHome.reset( reference.getId( ) );
+        assertEquals( lRemoved + 1, lReset );
+        assertNull( ReferenceChangeHome.getChanges( reference.getId( ), lRemoved, lReset ) );
+        assertTrue( ReferenceChangeHome.getChanges( reference.getId( ), lReset, lReset ).isEmpty( ) );
+        ReferenceItemHome.create( item );
+        assertEquals( 1, ReferenceChangeHome.getChanges( reference.getId( ), lReset, ReferenceChangeHome.getVersion( reference.getId( ) ) ).size( ) );
+
+        ReferenceHome.remove( reference.getId( ) );
+    }
+}
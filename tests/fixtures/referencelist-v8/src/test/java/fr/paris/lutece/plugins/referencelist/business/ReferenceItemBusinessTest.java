@@ -84,6 +84,38 @@ public class ReferenceItemBusinessTest extends LuteceTestCase
         referenceItemStored = ReferenceItemHome.findByPrimaryKey( referenceItem.getId( ) );
         assertNull( referenceItemStored );
 
+        // Delete twice test : an item already removed is ignored
+        ReferenceItemHome.remove( referenceItem.getId( ) );
+
+    }
+
+    /**
+     * test the paged list of the items of a reference
+     */
+    @Test
+    void testPaging( )
+    {
+        Reference reference = new Reference( );
+        reference.setName( "PagingTest" );
+        reference.setDescription( "PagingTest" );
+        ReferenceHome.create( reference );
+
+        for ( int i = 0; i < 5; i++ )
+        {
+            ReferenceItem referenceItem = new ReferenceItem( );
+            referenceItem.setName( NAME1 + i );
+            referenceItem.setCode( CODE1 + i );
+            referenceItem.setIdreference( reference.getId( ) );
+            ReferenceItemHome.create( referenceItem );
+        }
+
+        assertEquals( 5, ReferenceItemHome.countReferenceItems( reference.getId( ) ) );
+        assertEquals( 2, ReferenceItemHome.getReferenceItemsList( reference.getId( ), 0, 2 ).size( ) );
+        assertEquals( CODE1 + 4, ReferenceItemHome.getReferenceItemsList( reference.getId( ), 4, 2 ).get( 0 ).getCode( ) );
+        assertEquals( 0, ReferenceItemHome.getReferenceItemsList( reference.getId( ), 5, 2 ).size( ) );
+
+        ReferenceHome.remove( reference.getId( ) );
+        assertEquals( 0, ReferenceItemHome.countReferenceItems( reference.getId( ) ) );
     }
 
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.business;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import fr.paris.lutece.test.LuteceTestCase;
+
+/**
+ * This is the test class for the ReferenceItemDiff
+ */
+public class ReferenceItemDiffTest extends LuteceTestCase
+{
+    @Test
+    void testDiff( )
+    {
+        List<ReferenceItem> listExistingItems = new ArrayList<>( );
+        listExistingItems.add( newItem( 1, "fr", "France" ) );
+        listExistingItems.add( newItem( 2, "be", "Belgique" ) );
+        listExistingItems.add( newItem( 3, "it", "Italie" ) );
+        // same code twice in the table : the first one wins
+        listExistingItems.add( newItem( 4, "fr", "FRANCE" ) );
+
+        ReferenceItemDiff diff = new ReferenceItemDiff( listExistingItems );
+
+        List<ReferenceItem> listFirstBatch = new ArrayList<>( );
+        listFirstBatch.add( newItem( 0, "fr", "France" ) );
+        listFirstBatch.add( newItem( 0, "be", "Belgium" ) );
+        diff.acceptAll( listFirstBatch );
+        diff.accept( newItem( 0, "es", "Espagne" ) );
+
+        CompareResult result = diff.getResult( );
+
+        assertEquals( 1, result.getInsertCount( ) );
+        assertEquals( "es", result.getInsertListCandidateReferenceItems( ).get( 0 ).getCode( ) );
+        assertEquals( 1, result.getUpdateCount( ) );
+        assertEquals( 2, result.getUpdateListCandidateReferenceItems( ).get( 0 ).getId( ) );
+        assertEquals( 1, result.getDuplicateCount( ) );
+        assertTrue( result.getDuplicateListCandidateReferenceItems( ).isEmpty( ) );
+        assertEquals( 1, result.getDeleteCount( ) );
+        assertEquals( "it", result.getDeleteListCandidateReferenceItems( ).get( 0 ).getCode( ) );
+    }
+
+    private static ReferenceItem newItem( int nId, String strCode, String strName )
+    {
+        ReferenceItem item = new ReferenceItem( );
+        item.setId( nId );
+        item.setCode( strCode );
+        item.setName( strName );
+
+        return item;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.business;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import fr.paris.lutece.plugins.referencelist.service.BenchmarkReport;
+import fr.paris.lutece.plugins.referencelist.service.ReferenceListService;
+import fr.paris.lutece.plugins.referencelist.service.ReferenceTranslationService;
+import fr.paris.lutece.plugins.referencelist.service.ReferentialGenerator;
+import fr.paris.lutece.portal.service.plugin.Plugin;
+import fr.paris.lutece.portal.service.plugin.PluginService;
+import fr.paris.lutece.test.LuteceTestCase;
+import fr.paris.lutece.util.sql.DAOUtil;
+import jakarta.enterprise.inject.spi.CDI;
+
+/**
+ * Measures the latency of the DAO lookups and list loads, and of the ReferenceListService lists and labels, on a large referential stored in the test
+ * database. Only run with the benchmark profile : mvn test -Pbenchmark -Dreferencelist.benchmark.items=1000000 <br>
+ * With -Dreferencelist.benchmark.dropIndexes=true the lookups are measured again without the secondary indexes, which are then recreated. The indexes are
+ * dropped with the MySQL syntax.
+ */
+@EnabledIfSystemProperty( named = "referencelist.benchmark", matches = "true" )
+public class ReferenceQueryBenchmarkTest extends LuteceTestCase
+{
+    private static final String PROPERTY_ITEMS = "referencelist.benchmark.items";
+    private static final String PROPERTY_DROP_INDEXES = "referencelist.benchmark.dropIndexes";
+    private static final int DEFAULT_ITEMS = 1000000;
+    private static final int REFERENCES = 100;
+    private static final int TRANSLATED_ITEMS = 1000;
+    private static final int BATCH_SIZE = 1000;
+    private static final int ITERATIONS = 50;
+    private static final String LANG = "fr";
+
+    private static final String [ ] [ ] INDEXES = {
+            {
+                    "idx_referencelist_reference_name", "referencelist_reference", "name"
+            }, {
+                    "idx_referencelist_item_reference_code", "referencelist_item", "idreference, code"
+            }, {
+                    "idx_referencelist_item_reference_name", "referencelist_item", "idreference, name"
+            }, {
+                    "idx_referencelist_translation_item_lang", "referencelist_translation", "id_reference_item, lang"
+            }
+    };
+
+    /**
+     * Loads the referential and logs the median latency of each lookup
+     */
+    @Test
+    void testQueryLatency( )
+    {
+        int nItemsPerReference = Math.max( 1, Integer.getInteger( PROPERTY_ITEMS, DEFAULT_ITEMS ) / REFERENCES );
+        List<Reference> listReferences = new ArrayList<>( REFERENCES );
+
+        for ( int i = 0; i < REFERENCES; i++ )
+        {
+            Reference reference = ReferentialGenerator.createReference( "BenchmarkQuery" + i );
+            ReferenceItemHome.createAndUpdate( ReferentialGenerator.generateItems( reference.getId( ), nItemsPerReference ), new ArrayList<>( ), BATCH_SIZE );
+            listReferences.add( reference );
+        }
+
+        Reference reference = listReferences.get( REFERENCES / 2 );
+        List<ReferenceItem> listItems = ReferenceItemHome.getReferenceItemsList( reference.getId( ) );
+
+        for ( int i = 0; i < Math.min( TRANSLATED_ITEMS, listItems.size( ) ); i++ )
+        {
+            ReferentialGenerator.createTranslation( listItems.get( i ).getId( ), LANG, listItems.get( i ).getName( ) + "-" + LANG );
+        }
+
+        try
+        {
+            measure( "ReferenceQueryBenchmarkTest", reference, nItemsPerReference );
+
+            if ( Boolean.getBoolean( PROPERTY_DROP_INDEXES ) )
+            {
+                dropIndexes( );
+
+                try
+                {
+                    measure( "ReferenceQueryBenchmarkTest-withoutIndexes", reference, nItemsPerReference );
+                }
+                finally
+                {
+                    createIndexes( );
+                }
+            }
+        }
+        finally
+        {
+            for ( Reference ref : listReferences )
+            {
+                ReferenceHome.remove( ref.getId( ) );
+            }
+        }
+    }
+
+    private static void measure( String strBenchmark, Reference reference, int nItemsPerReference )
+    {
+        int nIdReference = reference.getId( );
+        ReferenceTranslationService translationService = CDI.current( ).select( ReferenceTranslationService.class ).get( );
+
+        long lByName = median( i -> ReferenceHome.findPrimaryKeyByName( reference.getName( ) ) );
+        long lItemByName = median( i -> ReferenceItemHome.findByReferenceName( nIdReference, ReferentialGenerator.name( ( i * 7919 ) % nItemsPerReference ) ) );
+        long lItems = median( i -> ReferenceItemHome.getReferenceItemsList( nIdReference ) );
+        long lTranslated = median( i -> ReferenceItemHome.getReferenceItemsList( nIdReference, LANG ) );
+        long lTranslations = median( i -> TranslationItemHome.getItemsWithTranslations( nIdReference ) );
+        long lListCold = median( i -> {
+            translationService.invalidate( nIdReference );
+            ReferenceListService.getInstance( ).getReferenceList( nIdReference, LANG );
+        } );
+        long lListWarm = median( i -> ReferenceListService.getInstance( ).getReferenceList( nIdReference, LANG ) );
+        long lLabel = median(
+                i -> ReferenceListService.getInstance( ).getLabel( reference.getName( ), ReferentialGenerator.code( ( i * 7919 ) % nItemsPerReference ), LANG ) );
+
+        new BenchmarkReport( strBenchmark ).parameter( "items", REFERENCES * nItemsPerReference ).parameter( "itemsPerReference", nItemsPerReference )
+                .result( "referenceByName.medianMicros", lByName ).result( "itemByName.medianMicros", lItemByName )
+                .result( "itemsOfReference.medianMicros", lItems ).result( "translatedItems.medianMicros", lTranslated )
+                .result( "itemsWithTranslations.medianMicros", lTranslations ).result( "referenceListCold.medianMicros", lListCold )
+                .result( "referenceListWarm.medianMicros", lListWarm ).result( "label.medianMicros", lLabel ).write( );
+
+        assertEquals( nIdReference, ReferenceHome.findPrimaryKeyByName( reference.getName( ) ) );
+    }
+
+    private static long median( IntConsumer query )
+    {
+        long [ ] durations = new long [ ITERATIONS];
+
+        // warm up
+        query.accept( 0 );
+
+        for ( int i = 0; i < ITERATIONS; i++ )
+        {
+            long lStart = System.nanoTime( );
+            query.accept( i );
+            durations [i] = ( System.nanoTime( ) - lStart ) / 1000;
+        }
+
+        Arrays.sort( durations );
+
+        return durations [ITERATIONS / 2];
+    }
+
+    private static void dropIndexes( )
+    {
+        for ( String [ ] index : INDEXES )
+        {
+            execute( "DROP INDEX " + index [0] + " ON " + index [1] );
+        }
+    }
+
+    private static void createIndexes( )
+    {
+        for ( String [ ] index : INDEXES )
+        {
+            execute( "CREATE INDEX " + index [0] + " ON " + index [1] + " (" + index [2] + ")" );
+        }
+    }
+
+    private static void execute( String strSQL )
+    {
+        Plugin plugin = PluginService.getPlugin( "referencelist" );
+
+        try ( DAOUtil daoUtil = new DAOUtil( strSQL, plugin ) )
+        {
+            daoUtil.executeUpdate( );
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import fr.paris.lutece.portal.service.util.AppLogService;
+
+/**
+ * Results of a benchmark test. They are logged and written as a JSON file named after the benchmark in the directory given by the
+ * referencelist.benchmark.output system property, so that runs of different releases can be compared.
+ */
+public final class BenchmarkReport
+{
+    private static final String PROPERTY_OUTPUT = "referencelist.benchmark.output";
+    private static final String DEFAULT_OUTPUT = "target/benchmark";
+
+    private final String _strBenchmark;
+    private final Map<String, Object> _mapParameters = new LinkedHashMap<>( );
+    private final Map<String, Long> _mapResults = new LinkedHashMap<>( );
+
+    /**
+     * Creates a report
+     *
+     * @param strBenchmark
+     *            the benchmark name, used as file name
+     */
+    public BenchmarkReport( String strBenchmark )
+    {
+        _strBenchmark = strBenchmark;
+    }
+
+    /**
+     * Records a parameter of the run
+     *
+     * @param strName
+     *            the parameter name
+     * @param value
+     *            the value
+     * @return this report
+     */
+    public BenchmarkReport parameter( String strName, Object value )
+    {
+        _mapParameters.put( strName, value );
+
+        return this;
+    }
+
+    /**
+     * Records a result
+     *
+     * @param strMetric
+     *            the metric name, including its unit
+     * @param lValue
+     *            the value
+     * @return this report
+     */
+    public BenchmarkReport result( String strMetric, long lValue )
+    {
+        _mapResults.put( strMetric, lValue );
+
+        return this;
+    }
+
+    /**
+     * Logs the results and writes the JSON file
+     */
+    public void write( )
+    {
+        String strJson = toJson( );
+        AppLogService.info( "Benchmark " + _strBenchmark + " : " + strJson );
+
+        try
+        {
+            Path pathOutput = Paths.get( System.getProperty( PROPERTY_OUTPUT, DEFAULT_OUTPUT ) );
+            Files.createDirectories( pathOutput );
+            Files.write( pathOutput.resolve( _strBenchmark + ".json" ), strJson.getBytes( StandardCharsets.UTF_8 ) );
+        }
+        catch( IOException e )
+        {
+            AppLogService.error( "Unable to write the results of the benchmark " + _strBenchmark, e );
+        }
+    }
+
+    /**
+     * Serializes the report
+     *
+     * @return the JSON content
+     */
+    String toJson( )
+    {
+        StringBuilder sbJson = new StringBuilder( );
+        sbJson.append( "{\"benchmark\":" ).append( quote( _strBenchmark ) );
+        sbJson.append( ",\"date\":" ).append( quote( Instant.now( ).toString( ) ) );
+        sbJson.append( ",\"parameters\":{" );
+        appendEntries( sbJson, _mapParameters );
+        sbJson.append( "},\"results\":{" );
+        appendEntries( sbJson, _mapResults );
+        sbJson.append( "}}" );
+
+        return sbJson.toString( );
+    }
+
+    private static void appendEntries( StringBuilder sbJson, Map<String, ?> map )
+    {
+        boolean bFirst = true;
+
+        for ( Map.Entry<String, ?> entry : map.entrySet( ) )
+        {
+            if ( !bFirst )
+            {
+                sbJson.append( ',' );
+            }
+
+            bFirst = false;
+            sbJson.append( quote( entry.getKey( ) ) ).append( ':' );
+            sbJson.append( ( entry.getValue( ) instanceof Number ) ? entry.getValue( ).toString( ) : quote( String.valueOf( entry.getValue( ) ) ) );
+        }
+    }
+
+    private static String quote( String strValue )
+    {
+        return "\"" + strValue.replace( "\\", "\\\\" ).replace( "\"", "\\\"" ) + "\"";
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import org.junit.jupiter.api.Test;
+
+import fr.paris.lutece.test.LuteceTestCase;
+
+/**
+ * This is the test class for the DuplicateDetector
+ */
+public class DuplicateDetectorTest extends LuteceTestCase
+{
+    private static final int VALUES = 10000;
+
+    /**
+     * test the detection with and without switching to the compact mode
+     */
+    @Test
+    void testDetection( )
+    {
+        checkDetection( new DuplicateDetector( 0 ), false );
+        checkDetection( new DuplicateDetector( 100 ), true );
+    }
+
+    private void checkDetection( DuplicateDetector detector, boolean bCompact )
+    {
+        for ( int i = 0; i < VALUES; i++ )
+        {
+            assertEquals( DuplicateDetector.NOT_FOUND, detector.add( "value" + i, i + 1 ) );
+        }
+
+        assertEquals( bCompact, detector.isCompact( ) );
+
+        for ( int i = 0; i < VALUES; i++ )
+        {
+            assertEquals( i + 1, detector.add( "value" + i, VALUES + i + 1 ) );
+        }
+
+        assertEquals( DuplicateDetector.NOT_FOUND, detector.add( "value" + VALUES, 2 * VALUES + 1 ) );
+    }
+}
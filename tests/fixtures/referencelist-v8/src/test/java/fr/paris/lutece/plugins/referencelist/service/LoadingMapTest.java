@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import fr.paris.lutece.test.LuteceTestCase;
+
+/**
+ * This is the test class for the map of values loaded on demand
+ */
+public class LoadingMapTest extends LuteceTestCase
+{
+    private static final String VALUE = "value";
+
+    /**
+     * test that a value requested by several threads is loaded once, without blocking the other keys
+     *
+     * @throws Exception
+     */
+    @Test
+    void testSingleLoad( ) throws Exception
+    {
+        LoadingMap<Integer, String> map = new LoadingMap<>( );
+        AtomicInteger nLoads = new AtomicInteger( );
+        CountDownLatch started = new CountDownLatch( 1 );
+        CountDownLatch release = new CountDownLatch( 1 );
+        ExecutorService executor = Executors.newFixedThreadPool( 2 );
+
+        try
+        {
+            Future<String> first = executor.submit( ( ) -> map.get( 1, nKey -> {
+                nLoads.incrementAndGet( );
+                started.countDown( );
+                awaitQuietly( release );
+                return VALUE;
+            } ) );
+            assertTrue( started.await( 10, TimeUnit.SECONDS ) );
+            Future<String> second = executor.submit( ( ) -> map.get( 1, nKey -> {
+                nLoads.incrementAndGet( );
+                return "other";
+            } ) );
+
+            // another key is not blocked by the running load
+            assertEquals( "2", map.get( 2, String::valueOf ) );
+
+            release.countDown( );
+            assertEquals( VALUE, first.get( 10, TimeUnit.SECONDS ) );
+            assertEquals( VALUE, second.get( 10, TimeUnit.SECONDS ) );
+            assertEquals( 1, nLoads.get( ) );
+            assertEquals( VALUE, map.getIfPresent( 1 ) );
+        }
+        finally
+        {
+            executor.shutdownNow( );
+        }
+    }
+
+    /**
+     * test that a value removed while it is loaded is not kept
+     */
+    @Test
+    void testRemoveWhileLoading( )
+    {
+        LoadingMap<Integer, String> map = new LoadingMap<>( );
+
+        String strValue = map.get( 1, nKey -> {
+            map.remove( nKey );
+            return VALUE;
+        } );
+
+        assertEquals( VALUE, strValue );
+        assertNull( map.getIfPresent( 1 ) );
+
+        map.get( 1, nKey -> {
+            map.computeIfPresent( nKey, ( k, v ) -> v );
+            return VALUE;
+        } );
+        assertNull( map.getIfPresent( 1 ) );
+
+        assertEquals( VALUE, map.get( 1, nKey -> VALUE ) );
+        assertEquals( VALUE, map.getIfPresent( 1 ) );
+    }
+
+    /**
+     * test that a failed load is not kept and may be retried
+     */
+    @Test
+    void testFailedLoad( )
+    {
+        LoadingMap<Integer, String> map = new LoadingMap<>( );
+
+        try
+        {
+            map.get( 1, nKey -> {
+                throw new IllegalStateException( "failed" );
+            } );
+            fail( "the error of the load should be thrown" );
+        }
+        catch( IllegalStateException e )
+        {
+            assertEquals( "failed", e.getMessage( ) );
+        }
+
+        assertNull( map.getIfPresent( 1 ) );
+        assertEquals( VALUE, map.get( 1, nKey -> VALUE ) );
+    }
+
+    /**
+     * Waits for a latch, ignoring the interruptions
+     *
+     * @param latch
+     *            the latch
+     */
+    private static void awaitQuietly( CountDownLatch latch )
+    {
+        try
+        {
+            latch.await( 10, TimeUnit.SECONDS );
+        }
+        catch( InterruptedException e )
+        {
+            Thread.currentThread( ).interrupt( );
+        }
+    }
+}
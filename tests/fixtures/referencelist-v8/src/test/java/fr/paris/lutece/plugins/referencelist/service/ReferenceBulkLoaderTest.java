@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import fr.paris.lutece.plugins.referencelist.business.Reference;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceHome;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItemHome;
+import fr.paris.lutece.plugins.referencelist.business.TranslationItem;
+import fr.paris.lutece.plugins.referencelist.business.TranslationItemHome;
+import fr.paris.lutece.test.LuteceTestCase;
+
+/**
+ * This is the test class for the ReferenceBulkLoader
+ */
+public class ReferenceBulkLoaderTest extends LuteceTestCase
+{
+    /**
+     * test that the rows of several references are split by reference, and that the references without any item get empty labels
+     */
+    @Test
+    void testRows( )
+    {
+        Map<Integer, Long> mapVersions = new HashMap<>( );
+        mapVersions.put( 1, 3L );
+        mapVersions.put( 2, 5L );
+        mapVersions.put( 3, 7L );
+
+        ReferenceBulkLoader loader = new ReferenceBulkLoader( mapVersions );
+        loader.handleRow( 1, 10, "a", "A", "en", "A-en" );
+        loader.handleRow( 1, 10, "a", "A", "fr", "A-fr" );
+        loader.handleRow( 1, 11, "b", "B", null, null );
+        loader.handleRow( 3, 30, "a", "C", "fr", "C-fr" );
+        loader.finish( );
+
+        Map<Integer, ReferenceLabels> mapLabels = loader.getLabels( );
+
+        assertEquals( 3, mapLabels.size( ) );
+        assertEquals( 4, loader.getRowCount( ) );
+
+        assertEquals( 2, mapLabels.get( 1 ).size( ) );
+        assertEquals( 3L, mapLabels.get( 1 ).getVersion( ) );
+        assertEquals( "A-fr", mapLabels.get( 1 ).getLabel( "a", "fr" ) );
+        assertEquals( "B", mapLabels.get( 1 ).getLabel( "b", "fr" ) );
+
+        assertEquals( 0, mapLabels.get( 2 ).size( ) );
+        assertEquals( 5L, mapLabels.get( 2 ).getVersion( ) );
+
+        assertEquals( 1, mapLabels.get( 3 ).size( ) );
+        assertEquals( "C-fr", mapLabels.get( 3 ).getLabel( "a", "fr" ) );
+        assertEquals( "C", mapLabels.get( 3 ).getLabel( "a", "en" ) );
+    }
+
+    /**
+     * test that the labels read with the single query are the ones read reference by reference
+     */
+    @Test
+    void testLoad( )
+    {
+        Reference reference = new Reference( );
+        reference.setName( "BulkLoaderTest" + System.nanoTime( ) );
+        reference.setDescription( "BulkLoaderTest" );
+        ReferenceHome.create( reference );
+
+        for ( int i = 0; i < 5; i++ )
+        {
+            ReferenceItem item = new ReferenceItem( );
+            item.setCode( "code" + i );
+            item.setName( "name" + i );
+            item.setIdreference( reference.getId( ) );
+            ReferenceItemHome.create( item );
+
+            if ( i % 2 == 0 )
+            {
+                TranslationItem translation = new TranslationItem( );
+                translation.setIdItem( item.getId( ) );
+                translation.setLang( "fr" );
+                translation.setTranslation( "nom" + i );
+                TranslationItemHome.create( translation );
+            }
+        }
+
+        // a small fetch size makes the driver fetch the rows by several blocks
+        ReferenceLabels labels = ReferenceBulkLoader.load( 2 ).getLabels( ).get( reference.getId( ) );
+
+        ReferenceLabels.Builder builder = new ReferenceLabels.Builder( 0 );
+        TranslationItemHome.readItemsWithTranslations( reference.getId( ), builder );
+        ReferenceLabels expected = builder.build( );
+
+        assertEquals( 5, labels.size( ) );
+        assertEquals( expected.size( ), labels.size( ) );
+
+        for ( int i = 0; i < expected.size( ); i++ )
+        {
+            assertEquals( expected.getCode( i ), labels.getCode( i ) );
+            assertEquals( expected.getLabelAt( i, "fr" ), labels.getLabelAt( i, "fr" ) );
+        }
+
+        assertEquals( "nom2", labels.getLabel( "code2", "fr" ) );
+        assertEquals( "name3", labels.getLabel( "code3", "fr" ) );
+
+        ReferenceHome.remove( reference.getId( ) );
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import fr.paris.lutece.plugins.referencelist.business.CompareResult;
+import fr.paris.lutece.plugins.referencelist.business.Reference;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceHome;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItemHome;
+import fr.paris.lutece.test.LuteceTestCase;
+
+/**
+ * Compares the throughput of the row by row import and of the batched import, and measures the comparison of an import file with the stored items. Only
+ * run with the benchmark profile : mvn test -Pbenchmark
+ * -Dreferencelist.benchmark.rows=200000
+ */
+@EnabledIfSystemProperty( named = "referencelist.benchmark", matches = "true" )
+public class ReferenceImportBenchmarkTest extends LuteceTestCase
+{
+    private static final String PROPERTY_ROWS = "referencelist.benchmark.rows";
+    private static final int DEFAULT_ROWS = 10000;
+    private static final int BATCH_SIZE = 1000;
+
+    /**
+     * Imports the same number of rows with both paths and logs the rows per second
+     */
+    @Test
+    void testImportThroughput( )
+    {
+        int nRows = Integer.getInteger( PROPERTY_ROWS, DEFAULT_ROWS );
+
+        // row by row
+        Reference referenceRowByRow = ReferentialGenerator.createReference( "BenchmarkRowByRow" );
+        List<ReferenceItem> listItems = ReferentialGenerator.generateItems( referenceRowByRow.getId( ), nRows );
+        long lStart = System.nanoTime( );
+        for ( ReferenceItem item : listItems )
+        {
+            ReferenceItemHome.create( item );
+        }
+        long lRowByRow = System.nanoTime( ) - lStart;
+
+        // batched
+        Reference referenceBatch = ReferentialGenerator.createReference( "BenchmarkBatch" );
+        listItems = ReferentialGenerator.generateItems( referenceBatch.getId( ), nRows );
+        lStart = System.nanoTime( );
+        ReferenceItemHome.createAndUpdate( listItems, new ArrayList<>( ), BATCH_SIZE );
+        long lBatch = System.nanoTime( ) - lStart;
+
+        // batched update
+        for ( ReferenceItem item : listItems )
+        {
+            item.setName( item.getName( ) + "-updated" );
+        }
+        lStart = System.nanoTime( );
+        ReferenceItemHome.createAndUpdate( new ArrayList<>( ), listItems, BATCH_SIZE );
+        long lBatchUpdate = System.nanoTime( ) - lStart;
+
+        // comparison of a file with the stored items, which were all renamed by the batched update
+        List<ReferenceItem> listCandidateItems = ReferentialGenerator.generateItems( referenceBatch.getId( ), nRows );
+        lStart = System.nanoTime( );
+        CompareResult compareResult = ReferenceItemHome.compareReferenceItems( listCandidateItems, referenceBatch.getId( ) );
+        long lCompare = System.nanoTime( ) - lStart;
+
+        new BenchmarkReport( "ReferenceImportBenchmarkTest" ).parameter( "rows", nRows ).parameter( "batchSize", BATCH_SIZE )
+                .result( "rowByRowInsert.rowsPerSecond", rowsPerSecond( nRows, lRowByRow ) ).result( "batchInsert.rowsPerSecond", rowsPerSecond( nRows, lBatch ) )
+                .result( "batchUpdate.rowsPerSecond", rowsPerSecond( nRows, lBatchUpdate ) )
+                .result( "compare.rowsPerSecond", rowsPerSecond( nRows, lCompare ) ).write( );
+
+        assertEquals( nRows, compareResult.getUpdateCount( ) );
+
+        assertEquals( nRows, ReferenceItemHome.getReferenceItemsList( referenceBatch.getId( ) ).size( ) );
+        assertTrue( listItems.get( 0 ).getId( ) > 0 );
+
+        ReferenceHome.remove( referenceRowByRow.getId( ) );
+        ReferenceHome.remove( referenceBatch.getId( ) );
+    }
+
+    private static long rowsPerSecond( int nRows, long lNanos )
+    {
+        return ( lNanos > 0 ) ? ( nRows * 1_000_000_000L ) / lNanos : nRows;
+    }
+}
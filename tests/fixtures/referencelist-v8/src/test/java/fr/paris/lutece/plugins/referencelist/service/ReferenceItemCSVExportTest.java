@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import fr.paris.lutece.plugins.referencelist.business.Reference;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceHome;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+import fr.paris.lutece.test.LuteceTestCase;
+
+/**
+ * This is the test class for the ReferenceItemCSVExport
+ */
+public class ReferenceItemCSVExportTest extends LuteceTestCase
+{
+    /**
+     * test the items and translations layouts
+     * 
+     * @throws IOException
+     *             if an error occurs
+     */
+    @Test
+    void testExport( ) throws IOException
+    {
+        Reference reference = ReferentialGenerator.createReference( "CSVExportTest" + System.nanoTime( ) );
+
+        try
+        {
+            ReferenceItem mister = ReferentialGenerator.createItem( reference.getId( ), "mister", "Mister" );
+            ReferentialGenerator.createItem( reference.getId( ), "other", "Other; \"quoted\"" );
+            ReferentialGenerator.createTranslation( mister.getId( ), "fr", "Monsieur" );
+            ReferentialGenerator.createTranslation( mister.getId( ), "es", "Senor" );
+
+            ReferenceItemCSVExport export = new ReferenceItemCSVExport( ';' );
+            StringWriter writer = new StringWriter( );
+
+            assertEquals( 2, export.exportItems( reference.getId( ), writer ) );
+            assertEquals( "mister;Mister\r\nother;\"Other; \"\"quoted\"\"\"\r\n", writer.toString( ) );
+
+            writer = new StringWriter( );
+
+            assertEquals( 2, export.exportTranslations( reference.getId( ), Arrays.asList( "fr", "de" ), writer ) );
+            assertEquals( "code;name;fr;de\r\nmister;Mister;Monsieur;\r\nother;\"Other; \"\"quoted\"\"\";;\r\n", writer.toString( ) );
+        }
+        finally
+        {
+            ReferenceHome.remove( reference.getId( ) );
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+import fr.paris.lutece.test.LuteceTestCase;
+
+/**
+ * This is the test class for the ReferenceItemCSVParser
+ */
+public class ReferenceItemCSVParserTest extends LuteceTestCase
+{
+    private static final int ID_REFERENCE = 1;
+
+    /**
+     * test the parsing of valid files
+     */
+    @Test
+    void testParse( ) throws IOException
+    {
+        String strCSV = "\uFEFFfr;France\r\nbe;\"Belgique; Royaume de\"\n\"it\";\"L'\"\"Italie\"\"\"\nch;\"Suisse\nConfédération\"\nes;Espagne;";
+        List<List<ReferenceItem>> listBatches = new ArrayList<>( );
+
+        CSVParseResult result = new ReferenceItemCSVParser( ';', 2 ).parse( new ByteArrayInputStream( strCSV.getBytes( StandardCharsets.UTF_8 ) ),
+                ID_REFERENCE, listBatches::add );
+
+        assertFalse( result.hasErrors( ) );
+        assertEquals( 5, result.getRecordCount( ) );
+        assertEquals( 5, result.getCandidateCount( ) );
+        assertEquals( 3, listBatches.size( ) );
+
+        List<ReferenceItem> listItems = new ArrayList<>( );
+        listBatches.forEach( listItems::addAll );
+        assertEquals( "fr", listItems.get( 0 ).getCode( ) );
+        assertEquals( "Belgique; Royaume de", listItems.get( 1 ).getName( ) );
+        assertEquals( "L'\"Italie\"", listItems.get( 2 ).getName( ) );
+        assertEquals( "Suisse\nConfédération", listItems.get( 3 ).getName( ) );
+        assertEquals( "Espagne", listItems.get( 4 ).getName( ) );
+        assertEquals( ID_REFERENCE, listItems.get( 4 ).getIdreference( ) );
+    }
+
+    /**
+     * test the errors and the delimiter
+     */
+    @Test
+    void testErrors( ) throws IOException
+    {
+        String strCSV = "fr\tFrance\nbe\tBelgique\tEurope\nfr2\tFrance\n\nit\tItalie";
+        List<ReferenceItem> listItems = new ArrayList<>( );
+
+        CSVParseResult result = new ReferenceItemCSVParser( '\t', 10 ).parse( new ByteArrayInputStream( strCSV.getBytes( StandardCharsets.UTF_16 ) ),
+                ID_REFERENCE, listItems::addAll );
+
+        assertEquals( 5, result.getRecordCount( ) );
+        assertEquals( 3, result.getErrorCount( ) );
+        assertTrue( result.getErrors( ).contains( "line 2 " ) );
+        assertTrue( result.getErrors( ).contains( "Duplicate name on line 3 (first occurrence on line 1)" ) );
+        assertTrue( result.getErrors( ).contains( "line 4 " ) );
+        assertEquals( 2, listItems.size( ) );
+    }
+
+    /**
+     * test the detection of the duplicate codes
+     */
+    @Test
+    void testDuplicateCodes( ) throws IOException
+    {
+        String strCSV = "fr;France\nbe;Belgique\nfr;République française\nbe;Belgique";
+        List<ReferenceItem> listItems = new ArrayList<>( );
+
+        CSVParseResult result = new ReferenceItemCSVParser( ';', 10, true, 1 ).parse( new ByteArrayInputStream( strCSV.getBytes( StandardCharsets.UTF_8 ) ),
+                ID_REFERENCE, listItems::addAll );
+
+        assertEquals( 3, result.getErrorCount( ) );
+        assertTrue( result.getErrors( ).contains( "Duplicate code on line 3 (first occurrence on line 1)" ) );
+        assertTrue( result.getErrors( ).contains( "Duplicate name on line 4 (first occurrence on line 2)" ) );
+        assertTrue( result.getErrors( ).contains( "Duplicate code on line 4 (first occurrence on line 2)" ) );
+        assertEquals( 2, listItems.size( ) );
+    }
+
+    /**
+     * test the rejection of the values which do not fit in the database columns
+     */
+    @Test
+    void testLength( ) throws IOException
+    {
+        String strCSV = "fr;France\nbe;" + "B".repeat( 256 ) + "\nit;Italie";
+        List<ReferenceItem> listItems = new ArrayList<>( );
+
+        CSVParseResult result = new ReferenceItemCSVParser( ';', 10 ).parse( new ByteArrayInputStream( strCSV.getBytes( StandardCharsets.UTF_8 ) ), ID_REFERENCE,
+                listItems::addAll );
+
+        assertEquals( 1, result.getErrorCount( ) );
+        assertTrue( result.getErrors( ).contains( "line 2 " ) );
+        assertEquals( 2, listItems.size( ) );
+    }
+
+    /**
+     * test the rejection of a quoted field not closed before the end of the file
+     */
+    @Test
+    void testUnterminatedQuote( ) throws IOException
+    {
+        String strCSV = "fr;France\nbe;\"Belgique\nit;Italie\n";
+        List<ReferenceItem> listItems = new ArrayList<>( );
+
+        CSVParseResult result = new ReferenceItemCSVParser( ';', 10 ).parse( new ByteArrayInputStream( strCSV.getBytes( StandardCharsets.UTF_8 ) ), ID_REFERENCE,
+                listItems::addAll );
+
+        assertEquals( 1, result.getErrorCount( ) );
+        assertTrue( result.getErrors( ).contains( "line 2 : Quoted field opened on line 2 is not closed" ) );
+        assertEquals( 1, listItems.size( ) );
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import org.junit.jupiter.api.Test;
+
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+import fr.paris.lutece.portal.service.event.EventAction;
+import fr.paris.lutece.test.LuteceTestCase;
+
+/**
+ * This is the test class for the ReferenceItemChangeSet
+ */
+public class ReferenceItemChangeSetTest extends LuteceTestCase
+{
+    /**
+     * test the merge of the successive events of the same item
+     */
+    @Test
+    void testMerge( )
+    {
+        ReferenceItemChangeSet changeSet = new ReferenceItemChangeSet( );
+
+        // created then updated : created with the last values
+        changeSet.add( EventAction.CREATE, item( 1, "v1" ) );
+        changeSet.add( EventAction.UPDATE, item( 1, "v2" ) );
+        // created then removed : nothing
+        changeSet.add( EventAction.CREATE, item( 2, "v1" ) );
+        changeSet.add( EventAction.REMOVE, item( 2, "v1" ) );
+        // updated twice : updated with the last values
+        changeSet.add( EventAction.UPDATE, item( 3, "v1" ) );
+        changeSet.add( EventAction.UPDATE, item( 3, "v2" ) );
+        // updated then removed : removed
+        changeSet.add( EventAction.UPDATE, item( 4, "v1" ) );
+        changeSet.add( EventAction.REMOVE, item( 4, "v1" ) );
+        // removed then created again : updated
+        changeSet.add( EventAction.REMOVE, item( 5, "v1" ) );
+        changeSet.add( EventAction.CREATE, item( 5, "v2" ) );
+        // unknown item
+        changeSet.add( EventAction.REMOVE, null );
+
+        assertEquals( 4, changeSet.size( ) );
+
+        ReferenceItemBatchEvent event = changeSet.toBatchEvent( );
+
+        assertEquals( 1, event.getCreatedItems( ).size( ) );
+        assertEquals( "v2", event.getCreatedItems( ).get( 0 ).getName( ) );
+        assertEquals( 2, event.getUpdatedItems( ).size( ) );
+        assertEquals( 3, event.getUpdatedItems( ).get( 0 ).getId( ) );
+        assertEquals( "v2", event.getUpdatedItems( ).get( 0 ).getName( ) );
+        assertEquals( 5, event.getUpdatedItems( ).get( 1 ).getId( ) );
+        assertEquals( "v2", event.getUpdatedItems( ).get( 1 ).getName( ) );
+        assertEquals( 1, event.getRemovedItems( ).size( ) );
+        assertEquals( 4, event.getRemovedItems( ).get( 0 ).getId( ) );
+        assertEquals( 1, event.getReferenceIds( ).size( ) );
+    }
+
+    /**
+     * test an empty change set
+     */
+    @Test
+    void testEmpty( )
+    {
+        ReferenceItemChangeSet changeSet = new ReferenceItemChangeSet( );
+
+        assertTrue( changeSet.isEmpty( ) );
+        assertEquals( 0, changeSet.toBatchEvent( ).size( ) );
+    }
+
+    /**
+     * Creates an item
+     *
+     * @param nId
+     *            the id
+     * @param strName
+     *            the name
+     * @return the item
+     */
+    private static ReferenceItem item( int nId, String strName )
+    {
+        ReferenceItem item = new ReferenceItem( );
+        item.setId( nId );
+        item.setIdreference( 1 );
+        item.setCode( "code" + nId );
+        item.setName( strName );
+
+        return item;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+import fr.paris.lutece.test.LuteceTestCase;
+
+/**
+ * Compares the heap used by the items of a reference kept as a list of ReferenceItem and as ReferenceLabels. Only run with the benchmark profile : mvn test
+ * -Pbenchmark -Dreferencelist.benchmark.rows=2000000
+ */
+@EnabledIfSystemProperty( named = "referencelist.benchmark", matches = "true" )
+public class ReferenceLabelsMemoryBenchmarkTest extends LuteceTestCase
+{
+    private static final String PROPERTY_ROWS = "referencelist.benchmark.rows";
+    private static final int DEFAULT_ROWS = 200000;
+    private static final String LANG = "en";
+
+    /**
+     * Builds the same items with both representations and logs the bytes used per item
+     */
+    @Test
+    void testFootprint( )
+    {
+        int nRows = Integer.getInteger( PROPERTY_ROWS, DEFAULT_ROWS );
+
+        long lBefore = usedMemory( );
+        List<ReferenceItem> listItems = new ArrayList<>( nRows );
+        for ( int i = 0; i < nRows; i++ )
+        {
+            ReferenceItem item = new ReferenceItem( );
+            item.setId( i + 1 );
+            item.setIdreference( 1 );
+            item.setCode( "code." + i );
+            item.setName( "Libellé de l'élément " + i );
+            listItems.add( item );
+        }
+        long lList = usedMemory( ) - lBefore;
+        assertEquals( nRows, listItems.size( ) );
+        listItems = null;
+
+        lBefore = usedMemory( );
+        ReferenceLabels.Builder builder = new ReferenceLabels.Builder( 0 );
+        for ( int i = 0; i < nRows; i++ )
+        {
+            builder.handleRow( i + 1, "code." + i, "Libellé de l'élément " + i, null, null );
+        }
+        ReferenceLabels labels = builder.build( );
+        builder = null;
+        long lLabels = usedMemory( ) - lBefore;
+        assertEquals( nRows, labels.size( ) );
+
+        // a translated language on top of the default names
+        builder = new ReferenceLabels.Builder( 0 );
+        for ( int i = 0; i < nRows; i++ )
+        {
+            builder.handleRow( i + 1, "code." + i, "Libellé de l'élément " + i, LANG, "Item label " + i );
+        }
+        ReferenceLabels labelsTranslated = builder.build( );
+        builder = null;
+
+        new BenchmarkReport( "reference-labels-memory" ).parameter( "rows", nRows ).result( "listBytesPerItem", lList / nRows )
+                .result( "labelsBytesPerItem", lLabels / nRows ).result( "labelsFootprintBytesPerItem", labels.getFootprint( ) / nRows )
+                .result( "labelsTranslatedFootprintBytesPerItem", labelsTranslated.getFootprint( ) / nRows ).write( );
+    }
+
+    /**
+     * Returns the heap used once the garbage collector has run
+     *
+     * @return the number of bytes
+     */
+    private static long usedMemory( )
+    {
+        Runtime runtime = Runtime.getRuntime( );
+
+        for ( int i = 0; i < 3; i++ )
+        {
+            System.gc( );
+        }
+
+        return runtime.totalMemory( ) - runtime.freeMemory( );
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import fr.paris.lutece.plugins.referencelist.business.TranslationItem;
+import fr.paris.lutece.test.LuteceTestCase;
+import fr.paris.lutece.util.ReferenceList;
+
+/**
+ * This is the test class for the ReferenceLabels
+ */
+public class ReferenceLabelsTest extends LuteceTestCase
+{
+    private static final String LANG_FR = "fr";
+    private static final String LANG_DE = "de";
+
+    /**
+     * test the labels with the default names, full and partial translations
+     */
+    @Test
+    void testLabels( )
+    {
+        List<TranslationItem> listRows = new ArrayList<>( );
+        listRows.add( row( 1, "title.mister", "Mr", LANG_FR, "M." ) );
+        listRows.add( row( 1, "title.mister", "Mr", LANG_DE, "Herr" ) );
+        listRows.add( row( 2, "title.madam", "Mrs", LANG_DE, "Frau" ) );
+        listRows.add( row( 3, "title.none", "None", null, null ) );
+        listRows.add( row( 4, "title.mister", "Duplicate", null, null ) );
+
+        ReferenceLabels labels = ReferenceLabels.build( listRows );
+
+        assertEquals( 4, labels.size( ) );
+        assertEquals( "M.", labels.getLabel( "title.mister", LANG_FR ) );
+        assertEquals( "Herr", labels.getLabel( "title.mister", LANG_DE ) );
+        assertEquals( "Mr", labels.getLabel( "title.mister", null ) );
+        assertEquals( "Mrs", labels.getLabel( "title.madam", LANG_FR ) );
+        assertEquals( "None", labels.getLabel( "title.none", "es" ) );
+        assertNull( labels.getLabel( "title.unknown", LANG_FR ) );
+        assertNull( labels.getLabel( null, LANG_FR ) );
+
+        ReferenceList list = labels.toReferenceList( LANG_FR );
+
+        assertEquals( 4, list.size( ) );
+        assertEquals( "title.madam", list.get( 1 ).getCode( ) );
+        assertEquals( "Mrs", list.get( 1 ).getName( ) );
+        assertEquals( "Duplicate", list.get( 3 ).getName( ) );
+
+        assertEquals( 0, ReferenceLabels.build( new ArrayList<>( ) ).size( ) );
+    }
+
+    /**
+     * test the positional access and the version of the labels
+     */
+    @Test
+    void testPositions( )
+    {
+        List<TranslationItem> listRows = new ArrayList<>( );
+        listRows.add( row( 1, "title.mister", "Mr", LANG_FR, "M." ) );
+        listRows.add( row( 2, "title.madam", "Mrs", null, null ) );
+
+        ReferenceLabels labels = ReferenceLabels.build( listRows, 3 );
+
+        assertEquals( 3, labels.getVersion( ) );
+        assertEquals( "title.madam", labels.getCode( 1 ) );
+        assertEquals( "M.", labels.getLabelAt( 0, LANG_FR ) );
+        assertEquals( "Mr", labels.getLabelAt( 0, LANG_DE ) );
+        assertEquals( "Mrs", labels.getLabelAt( 1, LANG_FR ) );
+        assertEquals( 5, ReferenceLabels.build( new ArrayList<>( ), 5 ).getVersion( ) );
+    }
+
+    /**
+     * test the packed storage of many codes, including non ASCII and missing translations
+     */
+    @Test
+    void testCompactStorage( )
+    {
+        ReferenceLabels.Builder builder = new ReferenceLabels.Builder( 0 );
+        int nSize = 5000;
+
+        for ( int i = 0; i < nSize; i++ )
+        {
+            builder.handleRow( i + 1, "code." + i, "Libellé " + i, ( i % 3 == 0 ) ? LANG_DE : null, ( i % 3 == 0 ) ? "Bezeichnung " + i : null );
+        }
+
+        ReferenceLabels labels = builder.build( );
+
+        assertEquals( nSize, labels.size( ) );
+
+        for ( int i = 0; i < nSize; i++ )
+        {
+            assertEquals( "Libellé " + i, labels.getLabel( "code." + i, null ) );
+            assertEquals( ( i % 3 == 0 ) ? "Bezeichnung " + i : "Libellé " + i, labels.getLabel( "code." + i, LANG_DE ) );
+        }
+
+        assertFalse( labels.contains( "code." + nSize ) );
+        assertFalse( labels.contains( null ) );
+        assertEquals( 43, labels.getItem( 42, LANG_DE ).getId( ) );
+        assertEquals( "code.42", labels.getItem( 42, LANG_DE ).getCode( ) );
+        assertEquals( "Bezeichnung 42", labels.getItem( 42, LANG_DE ).getName( ) );
+        assertTrue( labels.getFootprint( ) > 0 );
+    }
+
+    private static TranslationItem row( int nIdItem, String strCode, String strName, String strLang, String strTranslation )
+    {
+        TranslationItem row = new TranslationItem( );
+        row.setIdItem( nIdItem );
+        row.setCode( strCode );
+        row.setName( strName );
+        row.setLang( strLang );
+        row.setTranslation( strTranslation );
+
+        return row;
+    }
+}
@@ -33,8 +33,10 @@
  */
 package fr.paris.lutece.plugins.referencelist.service;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 
 import fr.paris.lutece.plugins.referencelist.business.Reference;
 import fr.paris.lutece.plugins.referencelist.business.ReferenceHome;
@@ -42,8 +44,10 @@ import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
 import fr.paris.lutece.plugins.referencelist.business.ReferenceItemHome;
 import fr.paris.lutece.plugins.referencelist.business.TranslationItem;
 import fr.paris.lutece.plugins.referencelist.business.TranslationItemHome;
+import fr.paris.lutece.plugins.referencelist.service.cache.ReferenceListCacheService;
 import fr.paris.lutece.test.LuteceTestCase;
 import fr.paris.lutece.util.ReferenceList;
+import jakarta.enterprise.inject.spi.CDI;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -158,4 +162,127 @@ public class ReferenceListServiceTest extends LuteceTestCase
         }
     }
 
+    /**
+     * tests that the lists are served from the cache, protected from callers modifications and invalidated by translation changes
+     * 
+     */
+    @Test
+    void testCache( )
+    {
+        int idReference = prepareReferences( );
+        ReferenceListCacheService cacheService = CDI.current( ).select( ReferenceListCacheService.class ).get( );
+        ReferenceTranslationService translationService = CDI.current( ).select( ReferenceTranslationService.class ).get( );
+
+        long lLookupCount = cacheService.getHitCount( ) + cacheService.getMissCount( );
+        ReferenceList list = ReferenceListService.getInstance( ).getReferenceList( idReference, LANG_FR );
+
+        // modifying the returned list must not alter the cached one
+        list.get( 0 ).setName( FR_MISTER + FR_MADAM );
+
+        list = ReferenceListService.getInstance( ).getReferenceList( idReference, LANG_FR );
+        assertEquals( lLookupCount + 2, cacheService.getHitCount( ) + cacheService.getMissCount( ) );
+
+        for ( fr.paris.lutece.util.ReferenceItem item : list )
+        {
+            assertEquals( item.getName( ), hashReferenceItems.get( item.getCode( ) ).getName( ) );
+        }
+
+        // a new translation evicts the cached lists of the reference
+        addTranslations( );
+
+        list = ReferenceListService.getInstance( ).getReferenceList( idReference, LANG_FR );
+
+        for ( fr.paris.lutece.util.ReferenceItem item : list )
+        {
+            assertEquals( item.getName( ), hashTranslations.get( item.getCode( ) ).getTranslation( ) );
+        }
+
+        // a modified item is served at once, without waiting for the batch event
+        ReferenceItem itemMister = hashReferenceItems.get( CODE_MISTER );
+        itemMister.setName( DEFAULT_MISTER + "." );
+        ReferenceItemHome.update( itemMister );
+        assertEquals( DEFAULT_MISTER + ".", translationService.translate( idReference, CODE_MISTER, null ) );
+
+        // labels read before an invalidation are not current anymore, so a list built from them is not kept in cache
+        ReferenceLabels labels = translationService.getLabels( idReference );
+        assertTrue( translationService.isCurrent( idReference, labels ) );
+
+        translationService.invalidate( idReference );
+        assertFalse( translationService.isCurrent( idReference, labels ) );
+
+        // the lists of a reference are invalidated in every language, without touching the lists of the other references
+        if ( cacheService.isCacheEnable( ) )
+        {
+            int idOtherReference = prepareReferences( );
+            ReferenceListService.getInstance( ).getReferenceList( idReference, LANG_FR );
+            ReferenceListService.getInstance( ).getReferenceList( idReference, null );
+            ReferenceListService.getInstance( ).getReferenceList( idOtherReference, LANG_FR );
+
+            long lEvictionCount = cacheService.getEvictionCount( );
+            cacheService.invalidateReference( idReference );
+
+            assertEquals( lEvictionCount + 2, cacheService.getEvictionCount( ) );
+            assertNull( cacheService.getReferenceList( idReference, LANG_FR ) );
+            assertNull( cacheService.getReferenceList( idReference, null ) );
+            assertNotNull( cacheService.getReferenceList( idOtherReference, LANG_FR ) );
+        }
+    }
+
+    /**
+     * tests the bulk translation, including items only translated in another language
+     * 
+     */
+    @Test
+    void testTranslate( )
+    {
+        int idReference = prepareReferences( );
+        ReferenceTranslationService translationService = CDI.current( ).select( ReferenceTranslationService.class ).get( );
+
+        TranslationItem translationItem = hashTranslations.get( CODE_MISTER );
+        translationItem.setLang( "de" );
+        translationItem.setTranslation( "Herr" );
+        addTranslations( );
+
+        Map<String, String> mapLabels = translationService.translate( idReference, LANG_FR, Arrays.asList( CODE_MADAM, CODE_MISTER, "title.unknown" ) );
+
+        assertEquals( 2, mapLabels.size( ) );
+        assertEquals( FR_MADAM, mapLabels.get( CODE_MADAM ) );
+        assertEquals( DEFAULT_MISTER, mapLabels.get( CODE_MISTER ) );
+        assertEquals( "Herr", translationService.translate( idReference, CODE_MISTER, "de" ) );
+
+        ReferenceList list = ReferenceListService.getInstance( ).getReferenceList( idReference, LANG_FR );
+        assertEquals( 2, list.size( ) );
+
+        // a modified translation is served at once
+        translationItem.setTranslation( "Herrn" );
+        TranslationItemHome.update( translationItem );
+        assertEquals( "Herrn", translationService.translate( idReference, CODE_MISTER, "de" ) );
+    }
+
+    /**
+     * tests the point and batch label lookups by reference name
+     * 
+     */
+    @Test
+    void testLabels( )
+    {
+        int idReference = prepareReferences( );
+        addTranslations( );
+
+        Reference reference = ReferenceHome.findByPrimaryKey( idReference );
+        reference.setName( "civilites" + idReference );
+        ReferenceHome.update( reference );
+
+        ReferenceListService service = ReferenceListService.getInstance( );
+
+        assertEquals( FR_MADAM, service.getLabel( reference.getName( ), CODE_MADAM, LANG_FR ) );
+        assertEquals( DEFAULT_MADAM, service.getLabel( reference.getName( ), CODE_MADAM, null ) );
+        assertNull( service.getLabel( reference.getName( ), "title.unknown", LANG_FR ) );
+
+        Map<String, String> mapLabels = service.getLabels( reference.getName( ), Arrays.asList( CODE_MISTER, CODE_MADAM ), LANG_FR );
+
+        assertEquals( FR_MISTER, mapLabels.get( CODE_MISTER ) );
+        assertEquals( FR_MADAM, mapLabels.get( CODE_MADAM ) );
+    }
+
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import org.junit.jupiter.api.Test;
+
+import fr.paris.lutece.plugins.referencelist.business.Reference;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceHome;
+import fr.paris.lutece.test.LuteceTestCase;
+import jakarta.enterprise.inject.spi.CDI;
+
+/**
+ * This is the test class for the ReferenceRegistry
+ */
+public class ReferenceRegistryTest extends LuteceTestCase
+{
+    /**
+     * test that the registry follows the creation, the renaming and the removal of a reference
+     */
+    @Test
+    void testRegistry( )
+    {
+        ReferenceRegistry registry = CDI.current( ).select( ReferenceRegistry.class ).get( );
+        String strName = "RegistryTest" + System.nanoTime( );
+
+        assertEquals( ReferenceRegistry.NOT_FOUND, registry.getIdByName( strName ) );
+
+        Reference reference = new Reference( );
+        reference.setName( strName );
+        reference.setDescription( strName );
+        ReferenceHome.create( reference );
+
+        // the creation clears the unknown name
+        assertEquals( reference.getId( ), registry.getIdByName( strName ) );
+        assertEquals( strName, registry.getReference( reference.getId( ) ).getName( ) );
+
+        reference.setName( strName + "-renamed" );
+        ReferenceHome.update( reference );
+
+        assertEquals( ReferenceRegistry.NOT_FOUND, registry.getIdByName( strName ) );
+        assertEquals( reference.getId( ), registry.getIdByName( strName + "-renamed" ) );
+
+        ReferenceHome.remove( reference.getId( ) );
+
+        assertEquals( ReferenceRegistry.NOT_FOUND, registry.getIdByName( strName + "-renamed" ) );
+        assertNull( registry.getReference( reference.getId( ) ) );
+    }
+}
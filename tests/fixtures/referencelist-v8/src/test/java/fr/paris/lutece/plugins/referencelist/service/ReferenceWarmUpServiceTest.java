@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import fr.paris.lutece.plugins.referencelist.business.Reference;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceHome;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItemHome;
+import fr.paris.lutece.plugins.referencelist.service.cache.ReferenceListCacheService;
+import fr.paris.lutece.test.LuteceTestCase;
+import jakarta.enterprise.inject.spi.CDI;
+
+/**
+ * This is the test class for the ReferenceWarmUpService
+ */
+public class ReferenceWarmUpServiceTest extends LuteceTestCase
+{
+    /**
+     * test that the warm-up loads all the references before reporting the application as ready
+     *
+     * @throws Exception
+     *             if the warm-up does not end in time
+     */
+    @Test
+    void testWarmUp( ) throws Exception
+    {
+        Reference reference = new Reference( );
+        reference.setName( "WarmUpTest" + System.nanoTime( ) );
+        reference.setDescription( "WarmUpTest" );
+        ReferenceHome.create( reference );
+
+        ReferenceItem item = new ReferenceItem( );
+        item.setCode( "code" );
+        item.setName( "name" );
+        item.setIdreference( reference.getId( ) );
+        ReferenceItemHome.create( item );
+
+        ReferenceWarmUpService warmUpService = CDI.current( ).select( ReferenceWarmUpService.class ).get( );
+        ReferenceListCacheService cacheService = CDI.current( ).select( ReferenceListCacheService.class ).get( );
+        cacheService.invalidateReference( reference.getId( ) );
+
+        assertTrue( warmUpService.isReady( ) );
+
+        warmUpService.start( ).get( 30, TimeUnit.SECONDS );
+
+        assertTrue( warmUpService.isReady( ) );
+        assertEquals( 0, warmUpService.getFailedCount( ) );
+        assertEquals( warmUpService.getTotalCount( ), warmUpService.getWarmedCount( ) );
+        assertTrue( warmUpService.getWarmedCount( ) >= 1 );
+
+        if ( cacheService.isCacheEnable( ) )
+        {
+            assertEquals( "name", cacheService.getReferenceList( reference.getId( ), null ).get( 0 ).getName( ) );
+        }
+
+        ReferenceHome.remove( reference.getId( ) );
+    }
+}
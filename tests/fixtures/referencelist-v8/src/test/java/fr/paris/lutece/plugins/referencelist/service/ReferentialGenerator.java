@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.paris.lutece.plugins.referencelist.business.Reference;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceHome;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItemHome;
+import fr.paris.lutece.plugins.referencelist.business.TranslationItem;
+import fr.paris.lutece.plugins.referencelist.business.TranslationItemHome;
+
+/**
+ * Generates synthetic referentials for the tests and the benchmarks, and stores the fixtures of the tests. The content only depends on the size, so that
+ * results of different runs can be compared. Item i has the code "code{i}" and the name "name {i}".
+ */
+public final class ReferentialGenerator
+{
+    /** Sizes of the referentials used by the benchmarks */
+    public static final String SIZE_1K = "1000";
+    public static final String SIZE_100K = "100000";
+    public static final String SIZE_1M = "1000000";
+
+    private static final String SEPARATOR = ";";
+    private static final String LINE_BREAK = "\r\n";
+
+    /**
+     * Private constructor
+     */
+    private ReferentialGenerator( )
+    {
+    }
+
+    /**
+     * Returns the code of an item
+     *
+     * @param nIndex
+     *            the index of the item
+     * @return the code
+     */
+    public static String code( int nIndex )
+    {
+        return "code" + nIndex;
+    }
+
+    /**
+     * Returns the name of an item
+     *
+     * @param nIndex
+     *            the index of the item
+     * @return the name
+     */
+    public static String name( int nIndex )
+    {
+        return "name " + nIndex;
+    }
+
+    /**
+     * Generates the items of a referential
+     *
+     * @param nIdReference
+     *            the reference id
+     * @param nSize
+     *            the number of items
+     * @return the items, with ids starting at 1
+     */
+    public static List<ReferenceItem> generateItems( int nIdReference, int nSize )
+    {
+        List<ReferenceItem> listItems = new ArrayList<>( nSize );
+
+        for ( int i = 0; i < nSize; i++ )
+        {
+            ReferenceItem item = new ReferenceItem( );
+            item.setId( i + 1 );
+            item.setIdreference( nIdReference );
+            item.setCode( code( i ) );
+            item.setName( name( i ) );
+            listItems.add( item );
+        }
+
+        return listItems;
+    }
+
+    /**
+     * Creates a reference
+     *
+     * @param strName
+     *            the name, also used as description
+     * @return the reference
+     */
+    public static Reference createReference( String strName )
+    {
+        Reference reference = new Reference( );
+        reference.setName( strName );
+        reference.setDescription( strName );
+        ReferenceHome.create( reference );
+
+        return reference;
+    }
+
+    /**
+     * Creates an item
+     *
+     * @param nIdReference
+     *            the reference id
+     * @param strCode
+     *            the code
+     * @param strName
+     *            the name
+     * @return the item
+     */
+    public static ReferenceItem createItem( int nIdReference, String strCode, String strName )
+    {
+        ReferenceItem item = new ReferenceItem( );
+        item.setIdreference( nIdReference );
+        item.setCode( strCode );
+        item.setName( strName );
+
+        return ReferenceItemHome.create( item );
+    }
+
+    /**
+     * Creates a translation
+     *
+     * @param nIdItem
+     *            the item id
+     * @param strLang
+     *            the language
+     * @param strTranslation
+     *            the translation
+     */
+    public static void createTranslation( int nIdItem, String strLang, String strTranslation )
+    {
+        TranslationItem translation = new TranslationItem( );
+        translation.setIdItem( nIdItem );
+        translation.setLang( strLang );
+        translation.setTranslation( strTranslation );
+        TranslationItemHome.create( translation );
+    }
+
+    /**
+     * Generates the CSV import file of a referential
+     *
+     * @param nSize
+     *            the number of lines
+     * @return the file content, UTF-8 encoded
+     */
+    public static byte [ ] generateCSV( int nSize )
+    {
+        StringBuilder sbContent = new StringBuilder( nSize * 24 );
+
+        for ( int i = 0; i < nSize; i++ )
+        {
+            sbContent.append( code( i ) ).append( SEPARATOR ).append( name( i ) ).append( LINE_BREAK );
+        }
+
+        return sbContent.toString( ).getBytes( StandardCharsets.UTF_8 );
+    }
+
+    /**
+     * Generates the rows of the items of a referential joined with their translations, as loaded by the ReferenceTranslationService. Every other item is
+     * translated in each language.
+     *
+     * @param nSize
+     *            the number of items
+     * @param languages
+     *            the languages
+     * @return the rows
+     */
+    public static List<TranslationItem> generateTranslationRows( int nSize, String... languages )
+    {
+        List<TranslationItem> listRows = new ArrayList<>( nSize * ( 1 + languages.length / 2 ) );
+
+        for ( int i = 0; i < nSize; i++ )
+        {
+            if ( i % 2 == 0 && languages.length > 0 )
+            {
+                for ( String strLang : languages )
+                {
+                    listRows.add( row( i, strLang, name( i ) + " " + strLang ) );
+                }
+            }
+            else
+            {
+                listRows.add( row( i, null, null ) );
+            }
+        }
+
+        return listRows;
+    }
+
+    /**
+     * Builds a row
+     *
+     * @param nIndex
+     *            the index of the item
+     * @param strLang
+     *            the language, null if the item is not translated
+     * @param strTranslation
+     *            the translation
+     * @return the row
+     */
+    private static TranslationItem row( int nIndex, String strLang, String strTranslation )
+    {
+        TranslationItem row = new TranslationItem( );
+        row.setIdItem( nIndex + 1 );
+        row.setCode( code( nIndex ) );
+        row.setName( name( nIndex ) );
+        row.setLang( strLang );
+        row.setTranslation( strTranslation );
+
+        return row;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service.diagnostics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import fr.paris.lutece.test.LuteceTestCase;
+
+/**
+ * This is the test class for the analysis of the DAO calls
+ */
+public class DAOCallAnalyzerTest extends LuteceTestCase
+{
+    private static final String STATEMENT_FIND = "dao.IReferenceItemDAO.load";
+    private static final String STATEMENT_LIST = "dao.IReferenceItemDAO.selectReferenceItemsList";
+
+    /**
+     * test that a statement repeated within a scope is reported once the scope is closed
+     */
+    @Test
+    void testRepeated( )
+    {
+        List<DAOCallFinding> listReported = new ArrayList<>( );
+        DAOCallAnalyzer analyzer = new DAOCallAnalyzer( 1000L, 10, 5, listReported::add );
+
+        analyzer.open( "/jsp/admin/test" );
+        analyzer.onCall( STATEMENT_LIST, 1_000L );
+
+        // a nested scope does not end the counting
+        analyzer.open( "nested" );
+        for ( int i = 0; i < 12; i++ )
+        {
+            analyzer.onCall( STATEMENT_FIND, 1_000_000L );
+        }
+        analyzer.close( );
+        assertTrue( listReported.isEmpty( ) );
+
+        analyzer.close( );
+        assertEquals( 1, listReported.size( ) );
+
+        DAOCallFinding finding = listReported.get( 0 );
+        assertEquals( DAOCallFinding.TYPE_REPEATED, finding.getType( ) );
+        assertEquals( STATEMENT_FIND, finding.getStatement( ) );
+        assertEquals( "/jsp/admin/test", finding.getScope( ) );
+        assertEquals( 12, finding.getCount( ) );
+        assertEquals( 12L, finding.getDurationMillis( ) );
+        assertNotNull( finding.getCaller( ) );
+
+        // calls outside of a scope are not counted
+        for ( int i = 0; i < 12; i++ )
+        {
+            analyzer.onCall( STATEMENT_FIND, 1_000L );
+        }
+        analyzer.close( );
+        assertEquals( 1, listReported.size( ) );
+        assertEquals( 1, analyzer.getFindings( ).size( ) );
+    }
+
+    /**
+     * test that a slow call is reported at once and that only the last findings are kept
+     */
+    @Test
+    void testSlow( )
+    {
+        List<DAOCallFinding> listReported = new ArrayList<>( );
+        DAOCallAnalyzer analyzer = new DAOCallAnalyzer( 100L, 10, 2, listReported::add );
+
+        analyzer.onCall( STATEMENT_LIST, 99_000_000L );
+        assertTrue( listReported.isEmpty( ) );
+
+        analyzer.onCall( STATEMENT_LIST, 150_000_000L );
+        assertEquals( 1, listReported.size( ) );
+        assertEquals( DAOCallFinding.TYPE_SLOW, listReported.get( 0 ).getType( ) );
+        assertEquals( 150L, listReported.get( 0 ).getDurationMillis( ) );
+        assertNull( listReported.get( 0 ).getScope( ) );
+
+        analyzer.onCall( STATEMENT_FIND, 200_000_000L );
+        analyzer.onCall( STATEMENT_FIND, 300_000_000L );
+
+        List<DAOCallFinding> listFindings = analyzer.getFindings( );
+        assertEquals( 2, listFindings.size( ) );
+        assertEquals( 300L, listFindings.get( 0 ).getDurationMillis( ) );
+        assertEquals( 200L, listFindings.get( 1 ).getDurationMillis( ) );
+
+        analyzer.clear( );
+        assertTrue( analyzer.getFindings( ).isEmpty( ) );
+    }
+}
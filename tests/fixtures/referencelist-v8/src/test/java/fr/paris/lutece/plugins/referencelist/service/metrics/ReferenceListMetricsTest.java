@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service.metrics;
+
+import java.util.concurrent.Callable;
+
+import org.junit.jupiter.api.Test;
+
+import fr.paris.lutece.test.LuteceTestCase;
+
+/**
+ * This is the test class for the metrics
+ */
+public class ReferenceListMetricsTest extends LuteceTestCase
+{
+    /**
+     * test the buckets and the percentiles of a timer
+     */
+    @Test
+    void testTimer( )
+    {
+        assertEquals( 0, MetricTimer.getBucket( 999L ) );
+        assertEquals( 1, MetricTimer.getBucket( 1_000L ) );
+        assertEquals( 2, MetricTimer.getBucket( 2_000L ) );
+        assertEquals( 2, MetricTimer.getBucket( 3_999L ) );
+        assertEquals( 3, MetricTimer.getBucket( 4_000L ) );
+        assertEquals( 31, MetricTimer.getBucket( Long.MAX_VALUE ) );
+
+        MetricTimer timer = new MetricTimer( "test" );
+        assertEquals( 0L, timer.getPercentileMicros( 0.5 ) );
+
+        // 90 calls of 10 µs and 10 calls of 1 ms
+        for ( int i = 0; i < 90; i++ )
+        {
+            timer.record( 10_000L );
+        }
+        for ( int i = 0; i < 10; i++ )
+        {
+            timer.record( 1_000_000L );
+        }
+
+        assertEquals( 100L, timer.getCount( ) );
+        assertEquals( 109L, timer.getMeanMicros( ) );
+        assertEquals( 1000L, timer.getMaxMicros( ) );
+        assertEquals( 16L, timer.getPercentileMicros( 0.5 ) );
+        assertEquals( 16L, timer.getPercentileMicros( 0.9 ) );
+        assertEquals( 1000L, timer.getPercentileMicros( 0.95 ) );
+        assertEquals( 1000L, timer.getPercentileMicros( 1.0 ) );
+
+        timer.reset( );
+        assertEquals( 0L, timer.getCount( ) );
+        assertEquals( 0L, timer.getPercentileMicros( 0.99 ) );
+    }
+
+    /**
+     * test that a wrapped DAO is timed per method and throws the exceptions of the DAO
+     *
+     * @throws Exception
+     *             if the call fails
+     */
+    @Test
+    void testWrap( ) throws Exception
+    {
+        Callable<String> dao = ( ) -> "result";
+        @SuppressWarnings( "unchecked" )
+        Callable<String> wrapped = ReferenceListMetrics.wrap( Callable.class, dao );
+        MetricTimer timer = ReferenceListMetrics.getTimer( "dao.Callable.call" );
+        long lCount = timer.getCount( );
+
+        assertEquals( "result", wrapped.call( ) );
+        assertEquals( "result", wrapped.call( ) );
+        assertEquals( lCount + 2, timer.getCount( ) );
+
+        Callable<String> failing = ( ) -> {
+            throw new IllegalStateException( "failure" );
+        };
+        @SuppressWarnings( "unchecked" )
+        Callable<String> wrappedFailing = ReferenceListMetrics.wrap( Callable.class, failing );
+
+        try
+        {
+            wrappedFailing.call( );
+            fail( "the exception of the DAO is expected" );
+        }
+        catch( IllegalStateException e )
+        {
+            assertEquals( "failure", e.getMessage( ) );
+        }
+
+        assertEquals( lCount + 3, timer.getCount( ) );
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service.search;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+import fr.paris.lutece.test.LuteceTestCase;
+
+/**
+ * This is the test class for the ReferenceSearchIndex
+ */
+public class ReferenceSearchIndexTest extends LuteceTestCase
+{
+    private static final int ID_REFERENCE = 1;
+    private static final String LANG_EN = "en";
+
+    /**
+     * test the normalization of the texts
+     */
+    @Test
+    void testNormalize( )
+    {
+        assertEquals( "elysee", SearchNormalizer.normalize( "Élysée" ) );
+        assertEquals( "rue de l etoile", SearchNormalizer.normalize( "  Rue de l'Étoile " ) );
+        assertEquals( "", SearchNormalizer.normalize( null ) );
+    }
+
+    /**
+     * test the search on the labels and codes
+     */
+    @Test
+    void testSearch( )
+    {
+        ReferenceSearchIndex index = buildIndex( );
+
+        // case and accent insensitive prefix, the starts of the labels first
+        assertEquals( Arrays.asList( "75056", "75108" ), codes( index.search( "PAR", null, 10 ) ) );
+        // prefix of a word inside the label
+        assertEquals( Arrays.asList( "75108" ), codes( index.search( "elysee", null, 10 ) ) );
+        // prefix of the code
+        assertEquals( Arrays.asList( "13055" ), codes( index.search( "130", null, 10 ) ) );
+        // maximum number of results
+        assertEquals( 1, index.search( "par", null, 1 ).size( ) );
+        assertTrue( index.search( " ", null, 10 ).isEmpty( ) );
+
+        // translated labels, the default names for the items not translated
+        List<ReferenceItem> listItems = index.search( "marseil", LANG_EN, 10 );
+        assertEquals( 1, listItems.size( ) );
+        assertEquals( "Marseilles", listItems.get( 0 ).getName( ) );
+        assertEquals( "Paris", index.search( "paris", LANG_EN, 10 ).get( 0 ).getName( ) );
+        assertTrue( index.search( "marseilles", null, 10 ).isEmpty( ) );
+    }
+
+    /**
+     * test the update of the index from item changes
+     */
+    @Test
+    void testApply( )
+    {
+        ReferenceSearchIndex index = buildIndex( );
+        index.search( "x", null, 10 );
+        index.search( "x", LANG_EN, 10 );
+
+        ReferenceSearchIndex updated = index.apply( Collections.singletonList( item( 4, "69123", "Lyon" ) ),
+                Collections.singletonList( item( 3, "13055", "Marseille Provence" ) ), Collections.singleton( 2 ) );
+
+        assertEquals( 4, updated.size( ) );
+        assertEquals( Arrays.asList( "69123" ), codes( updated.search( "lyon", null, 10 ) ) );
+        assertEquals( Arrays.asList( "13055" ), codes( updated.search( "provence", null, 10 ) ) );
+        assertEquals( Arrays.asList( "75056" ), codes( updated.search( "par", null, 10 ) ) );
+        // the translations of the updated items are kept
+        assertEquals( "Marseilles", updated.search( "marseil", LANG_EN, 10 ).get( 0 ).getName( ) );
+        assertEquals( "Lyon", updated.search( "lyon", LANG_EN, 10 ).get( 0 ).getName( ) );
+        // the index it was built from is unchanged
+        assertEquals( 4, index.size( ) );
+
+        // applying the same changes again does not change the index
+        ReferenceSearchIndex again = updated.apply( Collections.singletonList( item( 4, "69123", "Lyon" ) ), Collections.emptyList( ),
+                Collections.singleton( 2 ) );
+        assertEquals( 4, again.size( ) );
+        assertEquals( 1, again.search( "lyon", null, 10 ).size( ) );
+    }
+
+    private static ReferenceSearchIndex buildIndex( )
+    {
+        Map<String, String [ ]> mapTranslations = new HashMap<>( );
+        mapTranslations.put( LANG_EN, new String [ ] {
+                null, null, "Marseilles", null
+        } );
+
+        return new ReferenceSearchIndex( ID_REFERENCE, new int [ ] {
+                1, 2, 3, 5
+        }, new String [ ] {
+                "75056", "75108", "13055", "2A004"
+        }, new String [ ] {
+                "Paris", "Paris 8e - Élysée", "Marseille", "Ajaccio"
+        }, mapTranslations );
+    }
+
+    private static ReferenceItem item( int nId, String strCode, String strName )
+    {
+        ReferenceItem item = new ReferenceItem( );
+        item.setId( nId );
+        item.setIdreference( ID_REFERENCE );
+        item.setCode( strCode );
+        item.setName( strName );
+
+        return item;
+    }
+
+    private static List<String> codes( List<ReferenceItem> listItems )
+    {
+        return listItems.stream( ).map( ReferenceItem::getCode ).collect( Collectors.toList( ) );
+    }
+}
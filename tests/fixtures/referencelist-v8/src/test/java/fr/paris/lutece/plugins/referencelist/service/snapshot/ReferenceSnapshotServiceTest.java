@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2002-2026, City of Paris
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  1. Redistributions of source code must retain the above copyright notice
+ *     and the following disclaimer.
+ *
+ *  2. Redistributions in binary form must reproduce the above copyright notice
+ *     and the following disclaimer in the documentation and/or other materials
+ *     provided with the distribution.
+ *
+ *  3. Neither the name of 'Mairie de Paris' nor 'Lutece' nor the names of its
+ *     contributors may be used to endorse or promote products derived from
+ *     this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * License 1.0
+ */
+package fr.paris.lutece.plugins.referencelist.service.snapshot;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import fr.paris.lutece.plugins.referencelist.business.Reference;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceHome;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItem;
+import fr.paris.lutece.plugins.referencelist.business.ReferenceItemHome;
+import fr.paris.lutece.plugins.referencelist.service.ReferentialGenerator;
+import fr.paris.lutece.test.LuteceTestCase;
+import jakarta.enterprise.inject.spi.CDI;
+
+/**
+ * This is the test class for the ReferenceSnapshotService
+ */
+public class ReferenceSnapshotServiceTest extends LuteceTestCase
+{
+    private static final String LANG_FR = "fr";
+
+    /**
+     * test the export of a reference in both formats and the etag
+     * 
+     * @throws IOException
+     *             if an error occurs
+     */
+    @Test
+    void testExport( ) throws IOException
+    {
+        ReferenceSnapshotService service = CDI.current( ).select( ReferenceSnapshotService.class ).get( );
+        Reference reference = ReferentialGenerator.createReference( "SnapshotTest" + System.nanoTime( ) );
+
+        try
+        {
+            ReferenceItem mister = ReferentialGenerator.createItem( reference.getId( ), "mister", "Mister" );
+            ReferentialGenerator.createItem( reference.getId( ), "madam", "Madam" );
+            ReferentialGenerator.createTranslation( mister.getId( ), LANG_FR, "Monsieur" );
+
+            ByteArrayOutputStream json = new ByteArrayOutputStream( );
+            String strETag = service.export( reference.getId( ), SnapshotFormat.JSON_LINES, json );
+
+            assertEquals( strETag, service.getETag( reference.getId( ) ) );
+
+            List<JsonNode> listLines = readJsonLines( json.toByteArray( ) );
+
+            assertEquals( 4, listLines.size( ) );
+            assertEquals( reference.getName( ), listLines.get( 0 ).get( "reference" ).get( "name" ).asText( ) );
+            assertEquals( "mister", listLines.get( 1 ).get( "code" ).asText( ) );
+            assertEquals( "Monsieur", listLines.get( 1 ).get( "translations" ).get( LANG_FR ).asText( ) );
+            assertNull( listLines.get( 2 ).get( "translations" ) );
+            assertEquals( 2, listLines.get( 3 ).get( "end" ).get( "count" ).asInt( ) );
+            assertEquals( strETag, listLines.get( 3 ).get( "end" ).get( "etag" ).asText( ) );
+
+            ByteArrayOutputStream binary = new ByteArrayOutputStream( );
+            assertEquals( strETag, service.export( reference.getId( ), SnapshotFormat.BINARY, binary ) );
+
+            Map<String, String> mapRows = new TreeMap<>( );
+            BinarySnapshotReader reader = new BinarySnapshotReader( new ByteArrayInputStream( binary.toByteArray( ) ) );
+
+            assertEquals( 2, reader.read( ( nIdItem, strCode, strName, strLang, strTranslation ) -> mapRows.put( strCode + "/" + strLang,
+                    ( strTranslation != null ) ? strTranslation : strName ) ) );
+            assertEquals( reference.getId( ), reader.getIdReference( ) );
+            assertEquals( strETag, reader.getETag( ) );
+            assertEquals( "Monsieur", mapRows.get( "mister/fr" ) );
+            assertEquals( "Madam", mapRows.get( "madam/null" ) );
+
+            // any change gives a new etag
+            mister.setName( "Mr" );
+            ReferenceItemHome.update( mister );
+
+            assertNotEquals( strETag, service.getETag( reference.getId( ) ) );
+        }
+        finally
+        {
+            ReferenceHome.remove( reference.getId( ) );
+        }
+
+        assertNull( service.export( reference.getId( ), SnapshotFormat.BINARY, new ByteArrayOutputStream( ) ) );
+    }
+
+    /**
+     * test a binary snapshot spanning several blocks
+     * 
+     * @throws IOException
+     *             if an error occurs
+     */
+    @Test
+    void testBinaryBlocks( ) throws IOException
+    {
+        int nCount = BinarySnapshotWriter.BLOCK_SIZE * 2 + 10;
+        ByteArrayOutputStream out = new ByteArrayOutputStream( );
+
+        try ( GZIPOutputStream gzip = new GZIPOutputStream( out ) )
+        {
+            BinarySnapshotWriter writer = new BinarySnapshotWriter( gzip );
+            writer.writeHeader( 1, "blocks" );
+
+            for ( int i = 0; i < nCount; i++ )
+            {
+                // only the items of the last block are translated
+                writer.writeItem( i, "code" + i, "name" + i,
+                        ( i > BinarySnapshotWriter.BLOCK_SIZE * 2 ) ? Collections.singletonMap( LANG_FR, "nom" + i ) : Collections.emptyMap( ) );
+            }
+
+            writer.writeTrailer( nCount, "etag" );
+        }
+
+        List<String> listRows = new ArrayList<>( );
+        BinarySnapshotReader reader = new BinarySnapshotReader( new ByteArrayInputStream( out.toByteArray( ) ) );
+
+        assertEquals( nCount, reader.read( ( nIdItem, strCode, strName, strLang, strTranslation ) -> listRows
+                .add( nIdItem + ";" + strCode + ";" + strName + ";" + strLang + ";" + strTranslation ) ) );
+        assertEquals( nCount, listRows.size( ) );
+        assertEquals( "0;code0;name0;null;null", listRows.get( 0 ) );
+        assertEquals( ( nCount - 1 ) + ";code" + ( nCount - 1 ) + ";name" + ( nCount - 1 ) + ";fr;nom" + ( nCount - 1 ), listRows.get( nCount - 1 ) );
+        assertEquals( "etag", reader.getETag( ) );
+    }
+
+    /**
+     * Parses a gzip compressed JSON lines content
+     * 
+     * @param content
+     *            the content
+     * @return the lines
+     * @throws IOException
+     *             if an error occurs
+     */
+    private static List<JsonNode> readJsonLines( byte [ ] content ) throws IOException
+    {
+        ObjectMapper mapper = new ObjectMapper( );
+        List<JsonNode> listLines = new ArrayList<>( );
+
+        try ( BufferedReader reader = new BufferedReader(
+                new InputStreamReader( new GZIPInputStream( new ByteArrayInputStream( content ) ), StandardCharsets.UTF_8 ) ) )
+        {
+            String strLine;
+
+            while ( ( strLine = reader.readLine( ) ) != null )
+            {
+                listLines.add( mapper.readTree( strLine ) );
+            }
+        }
+
+        return listLines;
+    }
+}
@@ -0,0 +1,3 @@
+<%@ page errorPage="../../ErrorPage.jsp" trimDirectiveWhitespaces="true" %>
+${ referenceItemJspBean.init( pageContext.request, 'REFERENCELIST_MANAGEMENT' ) }
+${ referenceItemJspBean.doExportReferenceItems( pageContext.request, pageContext.response ) }
@@ -0,0 +1,3 @@
+<%@ page errorPage="../../ErrorPage.jsp" trimDirectiveWhitespaces="true" %>
+${ translationItemJspBean.init( pageContext.request, 'REFERENCELIST_MANAGEMENT' ) }
+${ translationItemJspBean.doExportTranslations( pageContext.request, pageContext.response ) }